@@ -0,0 +1,130 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link AttributeDefinition#validateOperation(ModelNode)} and
+ * {@link AttributeDefinition#validateAndSet(ModelNode, ModelNode)} for an {@code add} operation with a mix of
+ * attribute types, validators, alternatives and expressions, as done by every add handler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AttributeValidationBenchmark {
+
+    private static final AttributeDefinition NAME = new SimpleAttributeDefinitionBuilder("name", ModelType.STRING)
+            .setValidator(new StringLengthValidator(1))
+            .build();
+    private static final AttributeDefinition PORT = new SimpleAttributeDefinitionBuilder("port", ModelType.INT, true)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(0, 65535, true, true))
+            .build();
+    private static final AttributeDefinition ENABLED = new SimpleAttributeDefinitionBuilder("enabled", ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.TRUE)
+            .build();
+    private static final AttributeDefinition MODE = new SimpleAttributeDefinitionBuilder("mode", ModelType.STRING, true)
+            .setAllowedValues("SYNC", "ASYNC", "NONE")
+            .setDefaultValue(new ModelNode("SYNC"))
+            .build();
+    private static final AttributeDefinition TIMEOUT = new SimpleAttributeDefinitionBuilder("timeout", ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setAlternatives("timeout-seconds")
+            .build();
+    private static final AttributeDefinition TIMEOUT_SECONDS = new SimpleAttributeDefinitionBuilder("timeout-seconds", ModelType.INT, true)
+            .setAlternatives("timeout")
+            .build();
+    private static final AttributeDefinition ALIASES = new StringListAttributeDefinition.Builder("aliases")
+            .setRequired(false)
+            .setAllowExpression(true)
+            .build();
+    private static final AttributeDefinition CREDENTIAL = ObjectTypeAttributeDefinition.Builder.of("credential",
+                    new SimpleAttributeDefinitionBuilder("store", ModelType.STRING).build(),
+                    new SimpleAttributeDefinitionBuilder("alias", ModelType.STRING, true).setAllowExpression(true).build())
+            .setRequired(false)
+            .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = {
+            NAME, PORT, ENABLED, MODE, TIMEOUT, TIMEOUT_SECONDS, ALIASES, CREDENTIAL
+    };
+
+    private ModelNode operation;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        operation = new ModelNode();
+        operation.get(NAME.getName()).set("benchmark");
+        operation.get(PORT.getName()).set(new ValueExpression("${jboss.benchmark.port:8080}"));
+        operation.get(ENABLED.getName()).set(true);
+        operation.get(MODE.getName()).set("ASYNC");
+        operation.get(TIMEOUT.getName()).set(30000L);
+        operation.get(ALIASES.getName()).add("one").add("two").add(new ValueExpression("${jboss.benchmark.alias:three}"));
+        operation.get(CREDENTIAL.getName(), "store").set("store");
+        operation.get(CREDENTIAL.getName(), "alias").set("alias");
+    }
+
+    @Benchmark
+    public ModelNode validateOperation() throws OperationFailedException {
+        ModelNode last = null;
+        for (AttributeDefinition attribute : ATTRIBUTES) {
+            last = attribute.validateOperation(operation);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public ModelNode validateAndSet() throws OperationFailedException {
+        final ModelNode model = new ModelNode();
+        for (AttributeDefinition attribute : ATTRIBUTES) {
+            attribute.validateAndSet(operation, model);
+        }
+        return model;
+    }
+}
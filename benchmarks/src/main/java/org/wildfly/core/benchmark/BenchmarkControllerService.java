@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractControllerService;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.CapabilityRegistry;
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
+import org.jboss.as.controller.access.management.ManagementSecurityIdentitySupplier;
+import org.jboss.as.controller.audit.AuditLogger;
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
+import org.jboss.as.controller.persistence.NullConfigurationPersister;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+
+/**
+ * A model controller booted with {@code subsystem=benchmark} holding a configurable number of {@code item=*}
+ * children, each of which registers a capability. Shared by the benchmarks that go through the
+ * {@link ModelController}.
+ */
+final class BenchmarkControllerService extends AbstractControllerService {
+
+    static final PathElement SUBSYSTEM_PATH = PathElement.pathElement(SUBSYSTEM, "benchmark");
+    static final PathElement ITEM_PATH = PathElement.pathElement("item");
+
+    static final RuntimeCapability<Void> ITEM_CAPABILITY = RuntimeCapability.Builder.of("org.wildfly.benchmark.item", true, Void.class)
+            .build();
+
+    static final SimpleAttributeDefinition VALUE = new SimpleAttributeDefinitionBuilder("value", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .build();
+    static final SimpleAttributeDefinition COUNT = new SimpleAttributeDefinitionBuilder("count", ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1))
+            .build();
+    static final SimpleAttributeDefinition ENABLED = new SimpleAttributeDefinitionBuilder("enabled", ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.TRUE)
+            .build();
+    static final AttributeDefinition[] ITEM_ATTRIBUTES = { VALUE, COUNT, ENABLED };
+
+    private final int itemCount;
+    private final CapabilityRegistry capabilityRegistry;
+    private final CountDownLatch latch = new CountDownLatch(2);
+    private volatile ServiceContainer container;
+
+    private BenchmarkControllerService(final int itemCount, final CapabilityRegistry capabilityRegistry) {
+        super(ProcessType.EMBEDDED_SERVER, new RunningModeControl(RunningMode.NORMAL), new NullConfigurationPersister(),
+                new ControlledProcessState(true),
+                ResourceBuilder.Factory.create(PathElement.pathElement("root"), NonResolvingResourceDescriptionResolver.INSTANCE).build(),
+                null, ExpressionResolver.SIMPLE, AuditLogger.NO_OP_LOGGER, new DelegatingConfigurableAuthorizer(),
+                new ManagementSecurityIdentitySupplier(), capabilityRegistry);
+        this.itemCount = itemCount;
+        this.capabilityRegistry = capabilityRegistry;
+    }
+
+    /**
+     * Boots a controller whose model holds {@code itemCount} items.
+     */
+    static BenchmarkControllerService create(final int itemCount) {
+        final BenchmarkControllerService service = new BenchmarkControllerService(itemCount, new CapabilityRegistry(true));
+        final ServiceContainer container = ServiceContainer.Factory.create("benchmark");
+        container.subTarget().addService(ServiceName.of("benchmark", "controller")).setInstance(service).install();
+        service.container = container;
+        try {
+            if (!service.latch.await(5, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Model controller did not boot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return service;
+    }
+
+    void shutdown() {
+        container.shutdown();
+        try {
+            container.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static PathAddress itemAddress(final int index) {
+        return PathAddress.pathAddress(SUBSYSTEM_PATH, PathElement.pathElement(ITEM_PATH.getKey(), "item" + index));
+    }
+
+    static String itemCapabilityName(final int index) {
+        return ITEM_CAPABILITY.getDynamicName(itemAddress(index));
+    }
+
+    static ModelNode createItemAddOperation(final int index) {
+        final ModelNode op = Util.createAddOperation(itemAddress(index));
+        op.get(VALUE.getName()).set("value" + index);
+        op.get(COUNT.getName()).set(index);
+        return op;
+    }
+
+    /**
+     * Executes the operation, failing if it does not succeed so a broken benchmark does not just measure failures.
+     */
+    ModelNode execute(final ModelNode operation) {
+        final ModelNode response = getValue().execute(operation, null, null, null);
+        if (FAILED.equals(response.get(OUTCOME).asString())) {
+            throw new IllegalStateException(response.get(FAILURE_DESCRIPTION).asString());
+        }
+        return response;
+    }
+
+    CapabilityRegistry getCapabilityRegistry() {
+        return capabilityRegistry;
+    }
+
+    @Override
+    public void start(final StartContext context) throws StartException {
+        super.start(context);
+        latch.countDown();
+    }
+
+    @Override
+    protected void bootThreadDone() {
+        super.bootThreadDone();
+        latch.countDown();
+    }
+
+    @Override
+    protected boolean boot(final List<ModelNode> bootOperations, final boolean rollbackOnRuntimeFailure)
+            throws ConfigurationPersistenceException {
+        bootOperations.add(Util.createAddOperation(PathAddress.pathAddress(SUBSYSTEM_PATH)));
+        for (int i = 0; i < itemCount; i++) {
+            bootOperations.add(createItemAddOperation(i));
+        }
+        return super.boot(bootOperations, rollbackOnRuntimeFailure);
+    }
+
+    @Override
+    protected void initModel(final ManagementModel managementModel, final Resource modelControllerResource) {
+        final ManagementResourceRegistration root = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(root, ProcessType.EMBEDDED_SERVER);
+        GlobalNotifications.registerGlobalNotifications(root, ProcessType.EMBEDDED_SERVER);
+
+        final ManagementResourceRegistration subsystem = root.registerSubModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(SUBSYSTEM_PATH, NonResolvingResourceDescriptionResolver.INSTANCE)
+                        .setAddHandler(new ModelOnlyAddStepHandler())
+                        .setRemoveHandler(ModelOnlyRemoveStepHandler.INSTANCE)));
+        final ManagementResourceRegistration item = subsystem.registerSubModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(ITEM_PATH, NonResolvingResourceDescriptionResolver.INSTANCE)
+                        .setAddHandler(new ModelOnlyAddStepHandler(ITEM_ATTRIBUTES))
+                        .setRemoveHandler(ModelOnlyRemoveStepHandler.INSTANCE)
+                        .setCapabilities(ITEM_CAPABILITY)));
+        final ModelOnlyWriteAttributeHandler writeHandler = new ModelOnlyWriteAttributeHandler(ITEM_ATTRIBUTES);
+        for (AttributeDefinition attribute : ITEM_ATTRIBUTES) {
+            item.registerReadWriteAttribute(attribute, null, writeHandler);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.CapabilityRegistry;
+import org.jboss.as.controller.capability.registry.CapabilityScope;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.msc.service.ServiceName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link CapabilityRegistry} as it is used by a running process: write operations that register and
+ * remove a capability, each of which publishes the operation's changes, and capability lookups against the
+ * published registry, alone and concurrently with such writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CapabilityRegistryBenchmark {
+
+    @Param({"100", "3000"})
+    int capabilities;
+
+    private BenchmarkControllerService controller;
+    private CapabilityRegistry registry;
+    private String[] capabilityNames;
+
+    /** Per-thread position in {@link #capabilityNames}, so lookups spread over the registry. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        String next(final String[] names) {
+            final String result = names[next];
+            next = (next + 1) % names.length;
+            return result;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        controller = BenchmarkControllerService.create(capabilities);
+        registry = controller.getCapabilityRegistry();
+        capabilityNames = new String[capabilities];
+        for (int i = 0; i < capabilities; i++) {
+            capabilityNames[i] = BenchmarkControllerService.itemCapabilityName(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        controller.shutdown();
+    }
+
+    /**
+     * Adds and then removes an item that is not part of the booted model, so both operations change the registry.
+     */
+    @Benchmark
+    public void addAndRemoveCapability() {
+        controller.execute(BenchmarkControllerService.createItemAddOperation(capabilities));
+        controller.execute(Util.createRemoveOperation(BenchmarkControllerService.itemAddress(capabilities)));
+    }
+
+    @Benchmark
+    public boolean hasCapability(final Cursor cursor) {
+        return registry.hasCapability(cursor.next(capabilityNames), CapabilityScope.GLOBAL);
+    }
+
+    @Benchmark
+    public ServiceName getCapabilityServiceName(final Cursor cursor) {
+        return registry.getCapabilityServiceName(cursor.next(capabilityNames), CapabilityScope.GLOBAL, Void.class);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedWrites() {
+        addAndRemoveCapability();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public ServiceName mixedLookups(final Cursor cursor) {
+        return getCapabilityServiceName(cursor);
+    }
+}
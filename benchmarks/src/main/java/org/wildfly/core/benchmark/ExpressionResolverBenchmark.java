@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ValueExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code ExpressionResolverImpl} resolving the kinds of expressions found in configuration files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExpressionResolverBenchmark {
+
+    private static final String PROPERTY = "org.wildfly.benchmark.expression";
+
+    private final ExpressionResolver resolver = ExpressionResolver.SIMPLE;
+    private ModelNode plain;
+    private ModelNode systemProperty;
+    private ModelNode defaultValue;
+    private ModelNode nested;
+    private ModelNode composite;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty(PROPERTY, "resolved");
+        plain = new ModelNode("no expression");
+        systemProperty = new ModelNode(new ValueExpression("${" + PROPERTY + "}"));
+        defaultValue = new ModelNode(new ValueExpression("${org.wildfly.benchmark.undefined:default}"));
+        nested = new ModelNode(new ValueExpression("${org.wildfly.benchmark.undefined:${" + PROPERTY + "}}"));
+        composite = new ModelNode(new ValueExpression("${jboss.home.dir:/opt}/standalone/${" + PROPERTY + "}/data"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Benchmark
+    public ModelNode plain() throws OperationFailedException {
+        return resolver.resolveExpressions(plain);
+    }
+
+    @Benchmark
+    public ModelNode systemProperty() throws OperationFailedException {
+        return resolver.resolveExpressions(systemProperty);
+    }
+
+    @Benchmark
+    public ModelNode defaultValue() throws OperationFailedException {
+        return resolver.resolveExpressions(defaultValue);
+    }
+
+    @Benchmark
+    public ModelNode nested() throws OperationFailedException {
+        return resolver.resolveExpressions(nested);
+    }
+
+    @Benchmark
+    public ModelNode composite() throws OperationFailedException {
+        return resolver.resolveExpressions(composite);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures complete management operations executed through the {@link org.jboss.as.controller.ModelController},
+ * i.e. {@code OperationContextImpl} step execution plus the global {@code read-resource}, {@code read-attribute}
+ * and {@code write-attribute} handlers, against models of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ManagementOperationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int items;
+
+    private BenchmarkControllerService controller;
+    private ModelNode readSubsystemRecursive;
+    private ModelNode readItem;
+    private ModelNode readAttribute;
+    private PathAddress writeAddress;
+    private int writeCount;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        controller = BenchmarkControllerService.create(items);
+
+        readSubsystemRecursive = Util.createEmptyOperation(READ_RESOURCE_OPERATION,
+                PathAddress.pathAddress(BenchmarkControllerService.SUBSYSTEM_PATH));
+        readSubsystemRecursive.get(RECURSIVE).set(true);
+        readSubsystemRecursive.get(INCLUDE_RUNTIME).set(true);
+
+        final PathAddress item = BenchmarkControllerService.itemAddress(items / 2);
+        readItem = Util.createEmptyOperation(READ_RESOURCE_OPERATION, item);
+        readAttribute = Util.createEmptyOperation(READ_ATTRIBUTE_OPERATION, item);
+        readAttribute.get(NAME).set(BenchmarkControllerService.VALUE.getName());
+        writeAddress = item;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        controller.shutdown();
+    }
+
+    @Benchmark
+    public ModelNode readResourceRecursive() {
+        return controller.execute(readSubsystemRecursive);
+    }
+
+    @Benchmark
+    public ModelNode readResource() {
+        return controller.execute(readItem);
+    }
+
+    @Benchmark
+    public ModelNode readAttribute() {
+        return controller.execute(readAttribute);
+    }
+
+    @Benchmark
+    public ModelNode writeAttribute() {
+        // Change the value each time so the write is never a no-op
+        return controller.execute(Util.getWriteAttributeOperation(writeAddress,
+                BenchmarkControllerService.VALUE.getName(), "value-" + writeCount++));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing {@link PathAddress}es from the forms they arrive in with operations, and comparing and hashing
+ * them as the registries and resource lookups do. Run with {@code -prof gc} to compare the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PathAddressBenchmark {
+
+    private static final String CLI_ADDRESS = "/subsystem=logging/periodic-rotating-file-handler=FILE/filter=level";
+
+    private ModelNode addressNode;
+    private PathAddress address;
+    private PathAddress equalAddress;
+    private PathAddress differentAddress;
+    private Map<PathAddress, Object> addressMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        address = PathAddress.parseCLIStyleAddress(CLI_ADDRESS);
+        addressNode = address.toModelNode();
+        // Built separately so equality has to compare the elements rather than the references
+        equalAddress = PathAddress.pathAddress(PathElement.pathElement("subsystem", "logging"),
+                PathElement.pathElement("periodic-rotating-file-handler", "FILE"), PathElement.pathElement("filter", "level"));
+        differentAddress = PathAddress.pathAddress(PathElement.pathElement("subsystem", "logging"),
+                PathElement.pathElement("periodic-rotating-file-handler", "FILE"), PathElement.pathElement("filter", "other"));
+        addressMap = new HashMap<>();
+        addressMap.put(address, address);
+        addressMap.put(differentAddress, differentAddress);
+    }
+
+    @Benchmark
+    public PathAddress parseModelNode() {
+        return PathAddress.pathAddress(addressNode);
+    }
+
+    @Benchmark
+    public PathAddress parseCLIStyle() {
+        return PathAddress.parseCLIStyleAddress(CLI_ADDRESS);
+    }
+
+    @Benchmark
+    public ModelNode toModelNode() {
+        return address.toModelNode();
+    }
+
+    @Benchmark
+    public boolean equalsSame() {
+        return address.equals(equalAddress);
+    }
+
+    @Benchmark
+    public boolean equalsDifferent() {
+        return address.equals(differentAddress);
+    }
+
+    @Benchmark
+    public int hashCodeNew() {
+        // A fresh instance, as produced for each incoming operation
+        return PathAddress.pathAddress(addressNode).hashCode();
+    }
+
+    @Benchmark
+    public Object mapLookup() {
+        // The same instance looked up repeatedly, as done while executing the steps of an operation
+        return addressMap.get(equalAddress);
+    }
+
+    @Benchmark
+    public PathAddress appendChild() {
+        return address.append(PathElement.pathElement("child", "one"));
+    }
+
+    @Benchmark
+    public PathAddress append() {
+        return address.getParent().append(PathElement.pathElement("filter", "level"));
+    }
+}
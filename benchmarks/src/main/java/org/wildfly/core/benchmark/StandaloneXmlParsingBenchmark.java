@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.extension.ExtensionRegistry;
+import org.jboss.as.controller.parsing.Namespace;
+import org.jboss.as.server.parsing.StandaloneXml;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing a standalone.xml into boot operations with {@link StandaloneXml}. The generated document has no
+ * extensions, so it covers the core server elements only: system properties, paths, interfaces, socket bindings
+ * and deployments, each repeated {@code elements} times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StandaloneXmlParsingBenchmark {
+
+    @Param({"10", "1000"})
+    int elements;
+
+    private String xml;
+    private XMLInputFactory inputFactory;
+    private XMLMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        xml = createStandaloneXml(elements);
+        inputFactory = XMLInputFactory.newInstance();
+        final ExtensionRegistry extensionRegistry = new ExtensionRegistry(ProcessType.STANDALONE_SERVER,
+                new RunningModeControl(RunningMode.NORMAL));
+        mapper = XMLMapper.Factory.create();
+        mapper.registerRootElement(new QName(Namespace.CURRENT.getUriString(), "server"),
+                new StandaloneXml(null, null, extensionRegistry));
+    }
+
+    @Benchmark
+    public List<ModelNode> parse() throws XMLStreamException {
+        final List<ModelNode> operations = new ArrayList<>();
+        final XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(xml));
+        try {
+            mapper.parseDocument(operations, reader);
+        } finally {
+            reader.close();
+        }
+        return operations;
+    }
+
+    private static String createStandaloneXml(final int count) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version='1.0' encoding='UTF-8'?>\n");
+        sb.append("<server name=\"benchmark\" xmlns=\"").append(Namespace.CURRENT.getUriString()).append("\">\n");
+        sb.append("    <system-properties>\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("        <property name=\"org.wildfly.benchmark.property").append(i)
+                    .append("\" value=\"${org.wildfly.benchmark.value").append(i).append(":value").append(i).append("}\"/>\n");
+        }
+        sb.append("    </system-properties>\n");
+        sb.append("    <paths>\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("        <path name=\"benchmark.path").append(i).append("\" path=\"benchmark/dir").append(i)
+                    .append("\" relative-to=\"jboss.server.data.dir\"/>\n");
+        }
+        sb.append("    </paths>\n");
+        sb.append("    <interfaces>\n");
+        sb.append("        <interface name=\"management\">\n");
+        sb.append("            <inet-address value=\"${jboss.bind.address.management:127.0.0.1}\"/>\n");
+        sb.append("        </interface>\n");
+        sb.append("        <interface name=\"public\">\n");
+        sb.append("            <inet-address value=\"${jboss.bind.address:127.0.0.1}\"/>\n");
+        sb.append("        </interface>\n");
+        sb.append("    </interfaces>\n");
+        sb.append("    <socket-binding-group name=\"standard-sockets\" default-interface=\"public\"")
+                .append(" port-offset=\"${jboss.socket.binding.port-offset:0}\">\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("        <socket-binding name=\"benchmark").append(i).append("\" port=\"${jboss.benchmark.port")
+                    .append(i).append(':').append(10000 + i).append("}\"/>\n");
+        }
+        sb.append("    </socket-binding-group>\n");
+        sb.append("    <deployments>\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("        <deployment name=\"app").append(i).append(".war\" runtime-name=\"app").append(i).append(".war\">\n");
+            sb.append("            <content sha1=\"").append(String.format("%040x", i)).append("\"/>\n");
+            sb.append("        </deployment>\n");
+        }
+        sb.append("    </deployments>\n");
+        sb.append("</server>\n");
+        return sb.toString();
+    }
+}
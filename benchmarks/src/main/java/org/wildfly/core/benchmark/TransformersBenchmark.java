@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.core.benchmark;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.as.controller.transform.ResourceTransformationContext;
+import org.jboss.as.controller.transform.TransformationTarget;
+import org.jboss.as.controller.transform.TransformationTargetImpl;
+import org.jboss.as.controller.transform.TransformerRegistry;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.controller.transform.description.AttributeConverter;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures transforming a subsystem's resources and operations for a legacy model version, as the domain controller
+ * does for every host and server in a mixed domain. The transformation uses the common description builder
+ * features: expression rejection, attribute conversion, renames, discards and child redirection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransformersBenchmark {
+
+    private static final PathElement SUBSYSTEM_PATH = PathElement.pathElement(SUBSYSTEM, "benchmark");
+    private static final PathElement ITEM_PATH = PathElement.pathElement("item");
+    private static final PathElement LEGACY_ITEM_PATH = PathElement.pathElement("entry");
+    private static final PathElement NEW_CHILD_PATH = PathElement.pathElement("new-child");
+    private static final ModelVersion LEGACY_VERSION = ModelVersion.create(1);
+
+    @Param({"10", "1000"})
+    int items;
+
+    private TransformationTarget target;
+    private Transformers transformers;
+    private Resource root;
+    private ManagementResourceRegistration registration;
+    private ModelNode addOperation;
+    private ModelNode writeAttributeOperation;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final ResourceTransformationDescriptionBuilder builder = TransformationDescriptionBuilder.Factory.createInstance(SUBSYSTEM_PATH);
+        builder.discardChildResource(NEW_CHILD_PATH);
+        builder.addChildRedirection(ITEM_PATH, LEGACY_ITEM_PATH)
+                .getAttributeBuilder()
+                .addRejectCheck(RejectAttributeChecker.SIMPLE_EXPRESSIONS, "value")
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, "new-attribute")
+                .setValueConverter(AttributeConverter.Factory.createHardCoded(new ModelNode(1), true), "count")
+                .addRename("enabled", "active")
+                .end();
+        final TransformationDescription description = builder.build();
+
+        final TransformerRegistry registry = TransformerRegistry.Factory.create();
+        TransformationDescription.Tools.register(description, registry.getServerRegistration(LEGACY_VERSION));
+        target = TransformationTargetImpl.create(null, registry, LEGACY_VERSION,
+                Collections.<PathAddress, ModelVersion>emptyMap(), TransformationTarget.TransformationTargetType.SERVER);
+        transformers = Transformers.Factory.create(target);
+
+        registration = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(new SimpleResourceDefinition(PathElement.pathElement("root"),
+                        NonResolvingResourceDescriptionResolver.INSTANCE));
+
+        root = Resource.Factory.create();
+        final Resource subsystem = Resource.Factory.create();
+        root.registerChild(SUBSYSTEM_PATH, subsystem);
+        for (int i = 0; i < items; i++) {
+            final Resource item = Resource.Factory.create();
+            item.getModel().get("value").set("value" + i);
+            item.getModel().get("enabled").set(true);
+            subsystem.registerChild(PathElement.pathElement(ITEM_PATH.getKey(), "item" + i), item);
+        }
+        subsystem.registerChild(PathElement.pathElement(NEW_CHILD_PATH.getKey(), "discarded"), Resource.Factory.create());
+
+        final PathAddress itemAddress = PathAddress.pathAddress(SUBSYSTEM_PATH, PathElement.pathElement(ITEM_PATH.getKey(), "new"));
+        addOperation = Util.createAddOperation(itemAddress);
+        addOperation.get("value").set("value");
+        addOperation.get("enabled").set(true);
+        writeAttributeOperation = Util.getWriteAttributeOperation(itemAddress, "enabled", false);
+    }
+
+    private ResourceTransformationContext createContext() {
+        return Transformers.Factory.create(target, root, registration, ExpressionResolver.SIMPLE, RunningMode.NORMAL,
+                ProcessType.STANDALONE_SERVER, null);
+    }
+
+    @Benchmark
+    public Resource transformResource() throws OperationFailedException {
+        return transformers.transformResource(createContext(), root);
+    }
+
+    @Benchmark
+    public OperationTransformer.TransformedOperation transformAddOperation() throws OperationFailedException {
+        return transformers.transformOperation(createContext(), addOperation);
+    }
+
+    @Benchmark
+    public OperationTransformer.TransformedOperation transformWriteAttributeOperation() throws OperationFailedException {
+        return transformers.transformOperation(createContext(), writeAttributeOperation);
+    }
+}
@@ -628,12 +628,19 @@ public abstract class AbstractControllerService implements Service<ModelControll
             @Override
             public void run() {
                 try {
+                    // write any configuration changes whose persistence was deferred
+                    configurationPersister.flush();
                     stopAsynchronous(context);
                 } finally {
                     try {
-                        authorizer.shutdown();
+                        // write the audit log records still waiting to be written in the background
+                        auditLogger.stop();
                     } finally {
-                        context.complete();
+                        try {
+                            authorizer.shutdown();
+                        } finally {
+                            context.complete();
+                        }
                     }
                 }
             }
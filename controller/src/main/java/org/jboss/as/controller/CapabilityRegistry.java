@@ -65,7 +65,8 @@ import org.jboss.msc.service.ServiceName;
  */
 public final class CapabilityRegistry implements ImmutableCapabilityRegistry, PossibleCapabilityRegistry, RuntimeCapabilityRegistry {
 
-    private final Map<CapabilityId, RuntimeCapabilityRegistration> capabilities = new HashMap<>();
+    // Concurrent so that exact-match lookups of the published registry can bypass the read lock
+    private final Map<CapabilityId, RuntimeCapabilityRegistration> capabilities = new ConcurrentHashMap<>();
     private final Map<CapabilityId, RuntimeCapabilityRegistration> pendingRemoveCapabilities = new HashMap<>();
     private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirements = new HashMap<>();
     private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> pendingRemoveRequirements = new HashMap<>();
@@ -83,6 +84,12 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     //holds reference to parent published registry
     private final CapabilityRegistry publishedFullRegistry;
     private boolean modified = false;
+    // Ids whose capability or requirement registrations changed since the last publish or rollback
+    private final Set<CapabilityId> changedCapabilities = new HashSet<>();
+    // Ids whose possible capability registrations changed since the last publish or rollback
+    private final Set<CapabilityId> changedPossibleCapabilities = new HashSet<>();
+    // Set by clear(); the next publish or rollback must copy the complete registry
+    private boolean fullCopyRequired = false;
 
     public CapabilityRegistry(boolean forServer) {
         this(forServer, null);
@@ -126,13 +133,52 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     private static void copyRequirements(Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> source,
                                          Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> dest) {
         for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : source.entrySet()) {
-            Map<String, RuntimeRequirementRegistration> mapCopy = new HashMap<>();
-            for (Map.Entry<String, RuntimeRequirementRegistration> innerEntry : entry.getValue().entrySet()) {
-                mapCopy.put(innerEntry.getKey(), new RuntimeRequirementRegistration(innerEntry.getValue()));
-            }
-            dest.put(entry.getKey(), mapCopy);
+            dest.put(entry.getKey(), copyRequirementMap(entry.getValue()));
+        }
+
+    }
+
+    private static Map<String, RuntimeRequirementRegistration> copyRequirementMap(Map<String, RuntimeRequirementRegistration> source) {
+        Map<String, RuntimeRequirementRegistration> mapCopy = new HashMap<>();
+        for (Map.Entry<String, RuntimeRequirementRegistration> innerEntry : source.entrySet()) {
+            mapCopy.put(innerEntry.getKey(), new RuntimeRequirementRegistration(innerEntry.getValue()));
+        }
+        return mapCopy;
+    }
+
+    /**
+     * Makes the registrations for the given id in {@code target} match those in {@code source}, including
+     * the capability's hard and runtime-only requirements.
+     */
+    private static void copyCapabilityEntry(CapabilityRegistry source, CapabilityRegistry target, CapabilityId id) {
+        RuntimeCapabilityRegistration reg = source.capabilities.get(id);
+        if (reg == null) {
+            target.capabilities.remove(id);
+        } else {
+            target.capabilities.put(id, new RuntimeCapabilityRegistration(reg));
+        }
+        copyRequirementEntry(source.requirements, target.requirements, id);
+        copyRequirementEntry(source.runtimeOnlyRequirements, target.runtimeOnlyRequirements, id);
+    }
+
+    private static void copyRequirementEntry(Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> source,
+                                             Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> dest,
+                                             CapabilityId id) {
+        Map<String, RuntimeRequirementRegistration> dependents = source.get(id);
+        if (dependents == null) {
+            dest.remove(id);
+        } else {
+            dest.put(id, copyRequirementMap(dependents));
         }
+    }
 
+    private static void copyPossibleCapabilityEntry(CapabilityRegistry source, CapabilityRegistry target, CapabilityId id) {
+        CapabilityRegistration<?> reg = source.possibleCapabilities.get(id);
+        if (reg == null) {
+            target.possibleCapabilities.remove(id);
+        } else {
+            target.possibleCapabilities.put(id, new CapabilityRegistration<>(reg));
+        }
     }
 
 
@@ -149,6 +195,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         try {
             CapabilityId capabilityId = capabilityRegistration.getCapabilityId();
             RegistrationPoint rp = capabilityRegistration.getOldestRegistrationPoint();
+            changedCapabilities.add(capabilityId);
             RuntimeCapabilityRegistration currentRegistration = capabilities.get(capabilityId);
             if (currentRegistration != null) {
                 // The actual capability must be the same, the capability must allow multiple registrations
@@ -212,6 +259,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             throw ControllerLogger.MGMT_OP_LOGGER.unknownCapabilityInContext(dependentId.getName(),
                     dependentId.getScope().getName());
         }
+        changedCapabilities.add(dependentId);
         Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirementMap =
                 requirement.isRuntimeOnly() ? runtimeOnlyRequirements : requirements;
 
@@ -266,6 +314,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             RuntimeCapabilityRegistration removed = null;
             RuntimeCapabilityRegistration candidate = capabilities.get(capabilityId);
             if (candidate != null) {
+                changedCapabilities.add(capabilityId);
                 RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
                 if (candidate.removeRegistrationPoint(rp)) {
 
@@ -329,6 +378,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         if (dependents != null) {
             RuntimeRequirementRegistration rrr = dependents.get(requirementRegistration.getRequiredName());
             if (rrr != null) {
+                changedCapabilities.add(requirementRegistration.getDependentId());
                 rrr.removeRegistrationPoint(requirementRegistration.getOldestRegistrationPoint());
                 if (rrr.getRegistrationPointCount() == 0) {
                     result = dependents.remove(requirementRegistration.getRequiredName());
@@ -566,6 +616,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         CapabilityRegistration<?> capabilityRegistration = new CapabilityRegistration<>(capability, CapabilityScope.GLOBAL, point);
         writeLock.lock();
         try {
+            changedPossibleCapabilities.add(capabilityId);
             possibleCapabilities.computeIfPresent(capabilityId, (capabilityId1, currentRegistration) -> {
                 RegistrationPoint rp = capabilityRegistration.getOldestRegistrationPoint();
                 // The actual capability must be the same, and we must not already have a registration
@@ -601,6 +652,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         try {
             CapabilityRegistration<?> candidate = possibleCapabilities.get(capabilityId);
             if (candidate != null) {
+                changedPossibleCapabilities.add(capabilityId);
                 RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
                 if (candidate.removeRegistrationPoint(rp)) {
                     if (candidate.getRegistrationPointCount() == 0) {
@@ -625,6 +677,10 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
 
     @Override
     public boolean hasCapability(String capabilityName, CapabilityScope scope) {
+        // Exact matches need no consistency with the rest of the registry, so check them without locking
+        if (capabilities.containsKey(new CapabilityId(capabilityName, scope))) {
+            return true;
+        }
         readLock.lock();
         try {
             return findSatisfactoryCapability(capabilityName, scope, !forServer) != null;
@@ -637,19 +693,26 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     public <T> T getCapabilityRuntimeAPI(String capabilityName, CapabilityScope scope, Class<T> apiType) {
         // Here we can't know the dependent name. So this can only be called when resolution is complete.
         assert resolutionContext.resolutionComplete;
+        RuntimeCapabilityRegistration reg = capabilities.get(new CapabilityId(capabilityName, scope));
+        if (reg != null) {
+            return getRuntimeAPI(reg, capabilityName, apiType);
+        }
         readLock.lock();
         try {
-            RuntimeCapabilityRegistration reg = getCapabilityRegistration(capabilityName, scope);
-            Object api = reg.getCapability().getRuntimeAPI();
-            if (api == null) {
-                throw ControllerLogger.MGMT_OP_LOGGER.capabilityDoesNotExposeRuntimeAPI(capabilityName);
-            }
-            return apiType.cast(api);
+            return getRuntimeAPI(getCapabilityRegistration(capabilityName, scope), capabilityName, apiType);
         } finally {
             readLock.unlock();
         }
     }
 
+    private static <T> T getRuntimeAPI(RuntimeCapabilityRegistration reg, String capabilityName, Class<T> apiType) {
+        Object api = reg.getCapability().getRuntimeAPI();
+        if (api == null) {
+            throw ControllerLogger.MGMT_OP_LOGGER.capabilityDoesNotExposeRuntimeAPI(capabilityName);
+        }
+        return apiType.cast(api);
+    }
+
     @Override
     public Set<CapabilityRegistration<?>> getCapabilities() {
         readLock.lock();
@@ -674,14 +737,17 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     public ServiceName getCapabilityServiceName(String capabilityName, CapabilityScope scope, Class<?> serviceType) {
         // Here we can't know the dependent name. So this can only be called when resolution is complete.
         assert resolutionContext.resolutionComplete;
-        readLock.lock();
-        try {
-            RuntimeCapabilityRegistration reg = getCapabilityRegistration(capabilityName, scope);
-            RuntimeCapability<?> cap = reg.getCapability();
-            return cap.getCapabilityServiceName(serviceType);
-        } finally {
-            readLock.unlock();
+        RuntimeCapabilityRegistration reg = capabilities.get(new CapabilityId(capabilityName, scope));
+        if (reg == null) {
+            readLock.lock();
+            try {
+                reg = getCapabilityRegistration(capabilityName, scope);
+            } finally {
+                readLock.unlock();
+            }
         }
+        RuntimeCapability<?> cap = reg.getCapability();
+        return cap.getCapabilityServiceName(serviceType);
     }
 
     @Override
@@ -747,8 +813,13 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             }
             publishedFullRegistry.writeLock.lock();
             try {
-                publishedFullRegistry.clear(true);
-                copy(this, publishedFullRegistry);
+                if (fullCopyRequired) {
+                    publishedFullRegistry.clear(true);
+                    copy(this, publishedFullRegistry);
+                } else {
+                    copyChanges(this, publishedFullRegistry);
+                }
+                resetChanges();
                 pendingRemoveCapabilities.clear();
                 pendingRemoveRequirements.clear();
                 modified = false;
@@ -771,8 +842,15 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         try {
             publishedFullRegistry.readLock.lock();
             try {
-                clear(true);
-                copy(publishedFullRegistry, this);
+                if (fullCopyRequired) {
+                    clear(true);
+                    copy(publishedFullRegistry, this);
+                } else {
+                    copyChanges(publishedFullRegistry, this);
+                    pendingRemoveCapabilities.clear();
+                    pendingRemoveRequirements.clear();
+                }
+                resetChanges();
                 modified = false;
             } finally {
                 publishedFullRegistry.readLock.unlock();
@@ -807,6 +885,35 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         target.resolutionContext.copy(source.resolutionContext);
     }
 
+    /**
+     * Copies only the registrations that changed in the shadow registry since it was last published or rolled
+     * back, so the cost of a publish or rollback depends on the size of the change rather than of the registry.
+     * Whichever of {@code source} and {@code target} is the shadow registry holds the set of changed ids.
+     */
+    private void copyChanges(CapabilityRegistry source, CapabilityRegistry target) {
+        assert target.writeLock.isHeldByCurrentThread();
+        for (CapabilityId id : changedCapabilities) {
+            copyCapabilityEntry(source, target, id);
+        }
+        for (CapabilityId id : changedPossibleCapabilities) {
+            copyPossibleCapabilityEntry(source, target, id);
+        }
+        target.reloadCapabilities.clear();
+        target.reloadCapabilities.addAll(source.reloadCapabilities);
+        target.restartCapabilities.clear();
+        target.restartCapabilities.addAll(source.restartCapabilities);
+        if (!forServer) {
+            target.knownContexts.addAll(source.knownContexts);
+        }
+        target.resolutionContext.copy(source.resolutionContext);
+    }
+
+    private void resetChanges() {
+        changedCapabilities.clear();
+        changedPossibleCapabilities.clear();
+        fullCopyRequired = false;
+    }
+
     /**
      * Clears capability registry
      */
@@ -827,6 +934,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             if (restartRequired) {
                 restartCapabilities.clear();
             }
+            fullCopyRequired = true;
             modified = true;
         } finally {
             writeLock.unlock();
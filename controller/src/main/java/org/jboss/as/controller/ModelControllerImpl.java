@@ -85,6 +85,7 @@ import org.jboss.as.controller.notification.NotificationSupport;
 import org.jboss.as.controller.operations.global.ReadResourceHandler;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.CopyOnWriteResourceTree;
 import org.jboss.as.controller.registry.DelegatingResource;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -707,6 +708,17 @@ class ModelControllerImpl implements ModelController {
         return managementModel.get();
     }
 
+    /**
+     * Gets a view of the currently published model that keeps exposing the same root resource after other operations
+     * publish changes. Published resource trees are not modified in place; operations that write clone the tree and
+     * publish the clone when they commit. So the view is a stable snapshot that can be read without the controller lock.
+     *
+     * @return the snapshot. Will not return {@code null}
+     */
+    ManagementModelImpl getPublishedSnapshot() {
+        return managementModel.get().getSnapshot();
+    }
+
     Resource.ResourceEntry getModelControllerResource() {
         return modelControllerResource;
     }
@@ -1140,14 +1152,26 @@ class ModelControllerImpl implements ModelController {
         private final Resource delegatingResource;
         // The capability registry
         private final CapabilityRegistry capabilityRegistry;
+        // Tracks which parts of rootResource are copies, if this model was created by cloneRootResource()
+        private final CopyOnWriteResourceTree resourceTree;
 
         private volatile boolean published;
+        // Lazily created read view of this model's own resource tree. See getSnapshot()
+        private volatile ManagementModelImpl snapshot;
 
         ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
                             final Resource rootResource,
                             final CapabilityRegistry capabilityRegistry) {
+            this(resourceRegistration, rootResource, capabilityRegistry, null);
+        }
+
+        private ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
+                                    final Resource rootResource,
+                                    final CapabilityRegistry capabilityRegistry,
+                                    final CopyOnWriteResourceTree resourceTree) {
             this.resourceRegistration = resourceRegistration;
             this.rootResource = rootResource;
+            this.resourceTree = resourceTree;
             assert capabilityRegistry != null;
             this.capabilityRegistry = capabilityRegistry;
             // What we expose depends on the state of our 'published' field. If 'true' we've been published
@@ -1231,9 +1255,9 @@ class ModelControllerImpl implements ModelController {
         */
 
         /**
-         * Creates a new {@code ManagementModelImpl} that uses a clone of this one's root {@link Resource}.
-         * The caller can safely modify that {@code Resource} without changes being exposed
-         * to other callers. Use {@link ModelControllerImpl#writeModel(ManagementModelImpl, Set, boolean, boolean, boolean)}
+         * Creates a new {@code ManagementModelImpl} that uses a copy of this one's root {@link Resource}.
+         * Only the resources obtained from the {@link #getResourceTree() resource tree} are actually copied;
+         * the caller can safely modify those without changes being exposed to other callers. Use {@link ModelControllerImpl#writeModel(ManagementModelImpl, Set, boolean, boolean, boolean)}
          * to publish changes.
          *
          * @return the new {@code ManagementModelImpl}. Will not return {@code null}
@@ -1256,12 +1280,21 @@ class ModelControllerImpl implements ModelController {
                 currentResource = rootResource;
                 currentCaps = capabilityRegistry;
             }
-            Resource clone = currentResource.clone();
-            ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
-            ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
+            CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(currentResource);
+            ManagementModelImpl result = new ManagementModelImpl(mrr, tree.getRoot(), currentCaps, tree);
+            ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, tree.getRoot(), result);
             return result;
         }
 
+        /**
+         * Gets the copy of the resource tree that must be used to modify this model's root {@link Resource}.
+         *
+         * @return the resource tree, or {@code null} if this model was not created by {@link #cloneRootResource()}
+         */
+        CopyOnWriteResourceTree getResourceTree() {
+            return resourceTree;
+        }
+
         /**
          * Compares the registered requirements to the registered capabilities, returning any missing
          * or inconsistent requirements.
@@ -1280,6 +1313,22 @@ class ModelControllerImpl implements ModelController {
                 return CapabilityRegistry.CapabilityValidation.OK;
             }
         }
+        /**
+         * Gets an unpublished view of this model's own root {@link Resource}. Unlike a published model, the view
+         * does not switch to models published later. All callers share the same view, so it must only be read.
+         *
+         * @return the view. Will not return {@code null}
+         */
+        ManagementModelImpl getSnapshot() {
+            ManagementModelImpl result = snapshot;
+            if (result == null) {
+                // Racing threads may each create one; they are equivalent
+                result = new ManagementModelImpl(resourceRegistration, rootResource, capabilityRegistry);
+                snapshot = result;
+            }
+            return result;
+        }
+
         private void publish() {
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
@@ -97,6 +97,7 @@ import org.jboss.as.controller.operations.global.ReadResourceHandler;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.CopyOnWriteResourceTree;
 import org.jboss.as.controller.registry.DelegatingImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -171,6 +172,8 @@ final class OperationContextImpl extends AbstractOperationContext {
     private volatile boolean affectsCapabilityRegistry;
 
     private volatile ModelControllerImpl.ManagementModelImpl managementModel;
+    /** Published model read by this operation while it neither holds the controller lock nor has its own copy */
+    private ModelControllerImpl.ManagementModelImpl readSnapshot;
 
     private final ModelControllerImpl.ManagementModelImpl originalModel;
 
@@ -809,6 +812,8 @@ final class OperationContextImpl extends AbstractOperationContext {
 //                }
                 exclusiveStartTime = System.nanoTime();
                 lockStep = activeStep;
+                // Reads see the model as it is while the lock is held
+                readSnapshot = null;
             } catch (InterruptedException e) {
                 cancelled = true;
                 Thread.currentThread().interrupt();
@@ -915,7 +920,23 @@ final class OperationContextImpl extends AbstractOperationContext {
             }
             throw ControllerLogger.ROOT_LOGGER.unauthorized(activeStep.operationId.name, activeStep.address, authResult.getExplanation());
         }
-        return readResourceFromRoot(managementModel, address, recursive);
+        return readResourceFromRoot(getReadModel(), address, recursive);
+    }
+
+    /**
+     * Gets the model read by {@link #readResourceFromRoot(PathAddress, boolean)}. Until this operation takes the
+     * controller lock or modifies the resource tree, it reads the model published when it first read, so a multi-step
+     * read sees a consistent tree even if other operations commit in the meantime. Afterwards no other operation can
+     * publish changes, so it reads its own model.
+     */
+    private ManagementModel getReadModel() {
+        if (lockStep != null || affectsResourceTree || isBooting()) {
+            return managementModel;
+        }
+        if (readSnapshot == null) {
+            readSnapshot = modelController.getPublishedSnapshot();
+        }
+        return readSnapshot;
     }
 
     @Override
@@ -975,13 +996,16 @@ final class OperationContextImpl extends AbstractOperationContext {
         authorize(false, runtimeOnly ? READ_WRITE_RUNTIME : READ_WRITE_CONFIG);
         ensureLocalRootResource();
         affectsModel.put(address, NULL);
-        Resource resource = this.managementModel.getRootResource();
+        final CopyOnWriteResourceTree resourceTree = this.managementModel.getResourceTree();
+        Resource resource = resourceTree.getRoot();
         for (PathElement element : address) {
             if (element.isMultiTarget()) {
                 throw ControllerLogger.ROOT_LOGGER.cannotWriteTo("*");
             }
-            resource = requireChild(resource, element, address);
+            resource = requireChildForUpdate(resourceTree, resource, element, address);
         }
+        // The caller may modify any part of the resource
+        resourceTree.prepareForUpdate(resource);
         return resource;
     }
 
@@ -1055,7 +1079,8 @@ final class OperationContextImpl extends AbstractOperationContext {
         authorizeAdd(runtimeOnly);
         ensureLocalRootResource();
         affectsModel.put(absoluteAddress, NULL);
-        Resource model = this.managementModel.getRootResource();
+        final CopyOnWriteResourceTree resourceTree = this.managementModel.getResourceTree();
+        Resource model = resourceTree.getRoot();
         final Iterator<PathElement> i = absoluteAddress.iterator();
         while (i.hasNext()) {
             final PathElement element = i.next();
@@ -1072,15 +1097,11 @@ final class OperationContextImpl extends AbstractOperationContext {
                     if(!childrenNames.contains(key)) {
                         throw ControllerLogger.ROOT_LOGGER.noChildType(key);
                     }
-                    if (index < 0) {
-                        model.registerChild(element, toAdd);
-                    } else {
-                        model.registerChild(element, index, toAdd);
-                    }
+                    resourceTree.registerChild(model, element, index, toAdd);
                     model = toAdd;
                 }
             } else {
-                model = model.getChild(element);
+                model = resourceTree.getChildForUpdate(model, element);
                 if (model == null) {
                     PathAddress ancestor = PathAddress.EMPTY_ADDRESS;
                     for (PathElement pe : absoluteAddress) {
@@ -1118,7 +1139,8 @@ final class OperationContextImpl extends AbstractOperationContext {
         authorize(false, runtimeOnly ? READ_WRITE_RUNTIME : READ_WRITE_CONFIG);
         ensureLocalRootResource();
         affectsModel.put(address, NULL);
-        Resource model = this.managementModel.getRootResource();
+        final CopyOnWriteResourceTree resourceTree = this.managementModel.getResourceTree();
+        Resource model = resourceTree.getRoot();
         final Iterator<PathElement> i = address.iterator();
         while (i.hasNext()) {
             final PathElement element = i.next();
@@ -1126,9 +1148,9 @@ final class OperationContextImpl extends AbstractOperationContext {
                 throw ControllerLogger.ROOT_LOGGER.cannotRemove("*");
             }
             if (!i.hasNext()) {
-                model = model.removeChild(element);
+                model = resourceTree.removeChild(model, element);
             } else {
-                model = requireChild(model, element, address);
+                model = requireChildForUpdate(resourceTree, model, element, address);
             }
         }
 
@@ -1262,6 +1284,13 @@ final class OperationContextImpl extends AbstractOperationContext {
         return getMutableResourceRegistration(null);
     }
 
+    private static Resource requireChildForUpdate(final CopyOnWriteResourceTree resourceTree, final Resource resource,
+                                                  final PathElement childPath, final PathAddress fullAddress) {
+        // fails if there is no such child
+        requireChild(resource, childPath, fullAddress);
+        return resourceTree.getChildForUpdate(resource, childPath);
+    }
+
     private static Resource requireChild(final Resource resource, final PathElement childPath, final PathAddress fullAddress) {
         if (resource.hasChild(childPath)) {
             return resource.requireChild(childPath);
@@ -25,12 +25,16 @@ package org.jboss.as.controller;
 import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
@@ -41,9 +45,12 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.security.auth.server.SecurityDomain;
 import org.wildfly.security.auth.server.SecurityRealm;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Special handler that executes subsystem boot operations in parallel.
+ * <p>
+ * If debug logging is enabled, the time taken by each subsystem and its slowest steps is logged for each stage.
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
@@ -128,6 +135,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         final CountDownLatch preparedLatch = new CountDownLatch(opsBySubsystem.size());
         final CountDownLatch committedLatch = new CountDownLatch(1);
         final CountDownLatch completeLatch = new CountDownLatch(opsBySubsystem.size());
+        final BootTimeline timeline = MGMT_OP_LOGGER.isDebugEnabled() ? new BootTimeline() : null;
 
         // TODO Elytron - We probably need a way to stop repeating this.
         final SecurityDomain bootSecurityDomain = SecurityDomain.builder()
@@ -148,7 +156,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             ParallelBootOperationContext pboc = bootOps.size() == 0
                     ? null
                     : createOperationContext(primaryContext, bootSecurityDomain, txControl, subsystemRuntimeOps);
-            ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.MODEL, txControl, pboc);
+            ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.MODEL, txControl, pboc, timeline);
             executor.execute(subsystemTask);
         }
 
@@ -158,6 +166,9 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
             // See if all subsystems succeeded; if not report a failure to context
             checkForSubsystemFailures(context, transactionControls, OperationContext.Stage.MODEL);
+            if (timeline != null) {
+                timeline.report(OperationContext.Stage.MODEL, transactionControls);
+            }
 
             // Add any logging subsystem steps so we get logging early in the boot
             List<ParsedBootOp> loggingOps = runtimeOpsBySubsystem.remove("logging");
@@ -288,6 +299,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 final CountDownLatch preparedLatch = new CountDownLatch(runtimeOpsBySubsystem.size());
                 final CountDownLatch committedLatch = new CountDownLatch(1);
                 final CountDownLatch completeLatch = new CountDownLatch(runtimeOpsBySubsystem.size());
+                final BootTimeline timeline = MGMT_OP_LOGGER.isDebugEnabled() ? new BootTimeline() : null;
 
                 for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsBySubsystem.entrySet()) {
                     String subsystemName = entry.getKey();
@@ -299,7 +311,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                     ParallelBootOperationContext pboc = bootOps.size() == 0
                         ? null
                         : createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
-                    ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc);
+                    ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc, timeline);
                     executor.execute(subsystemTask);
                 }
 
@@ -309,6 +321,9 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
                     // See if all subsystems succeeded; if not report a failure to context
                     checkForSubsystemFailures(context, transactionControls, OperationContext.Stage.RUNTIME);
+                    if (timeline != null) {
+                        timeline.report(OperationContext.Stage.RUNTIME, transactionControls);
+                    }
 
                 } catch (InterruptedException e) {
                     context.getFailureDescription().set(new ModelNode().set(ControllerLogger.ROOT_LOGGER.subsystemBootInterrupted()));
@@ -348,22 +363,26 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         private final OperationContext.Stage executionStage;
         private final ParallelBootTransactionControl transactionControl;
         private final ParallelBootOperationContext pboc;
+        private final BootTimeline timeline;
 
         ParallelBootTask(final String subsystemName,
                          final List<ParsedBootOp> bootOperations,
                          final OperationContext.Stage executionStage,
                          final ParallelBootTransactionControl transactionControl,
-                         final ParallelBootOperationContext pboc) {
+                         final ParallelBootOperationContext pboc,
+                         final BootTimeline timeline) {
             assert bootOperations != null || pboc != null;
             this.subsystemName = subsystemName;
             this.bootOperations = bootOperations;
             this.executionStage = executionStage;
             this.transactionControl = transactionControl;
             this.pboc = pboc;
+            this.timeline = timeline;
         }
 
         @Override
         public void run() {
+            transactionControl.startTime = System.nanoTime();
             try {
 
                 if (pboc == null) {
@@ -378,7 +397,11 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 }
                 pboc.setControllingThread();
                 for (ParsedBootOp op : bootOperations) {
-                    final OperationStepHandler osh = op.handler == null ? rootRegistration.getOperationHandler(op.address, op.operationName) : op.handler;
+                    OperationStepHandler osh = op.handler == null ? rootRegistration.getOperationHandler(op.address, op.operationName) : op.handler;
+                    // a missing handler is reported by the step itself
+                    if (timeline != null && osh != null) {
+                        osh = timeline.timed(osh, op);
+                    }
                     pboc.addStep(op.response, op.operation, osh, executionStage);
                 }
                 pboc.executeOperation();
@@ -427,6 +450,9 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         private OperationResponse response;
         private ModelController.OperationTransaction transaction;
         private boolean signalled;
+        /** When the subsystem's task started and when its operations were prepared or failed, for the boot timeline */
+        private long startTime;
+        private long preparedTime;
 
         ParallelBootTransactionControl(CountDownLatch preparedLatch, CountDownLatch committedLatch, CountDownLatch completeLatch) {
             this.preparedLatch = preparedLatch;
@@ -438,6 +464,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         public void operationFailed(ModelNode response) {
             if (!signalled) {
                 this.response = OperationResponse.Factory.createSimple(response);
+                preparedTime = System.nanoTime();
                 preparedLatch.countDown();
                 completeLatch.countDown();
                 signalled = true;
@@ -448,6 +475,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         public void operationPrepared(ModelController.OperationTransaction transaction, ModelNode result) {
             if (!signalled) {
                 this.transaction = transaction;
+                preparedTime = System.nanoTime();
                 preparedLatch.countDown();
                 signalled = true;
 
@@ -466,4 +494,62 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             completeLatch.countDown();
         }
     }
+
+    /**
+     * Records the time taken by the subsystem boot tasks of a stage and by their steps.
+     */
+    private static final class BootTimeline {
+
+        /** The number of slowest steps to report */
+        private static final int REPORTED_STEPS = 10;
+
+        private final Queue<StepTime> stepTimes = new ConcurrentLinkedQueue<>();
+
+        OperationStepHandler timed(final OperationStepHandler handler, final ParsedBootOp op) {
+            return new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    final long start = System.nanoTime();
+                    // Step execution sets the TCCL from the handler class; keep using the wrapped handler's
+                    final ClassLoader oldTccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(handler.getClass());
+                    try {
+                        handler.execute(context, operation);
+                    } finally {
+                        WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(oldTccl);
+                        stepTimes.add(new StepTime(op, System.nanoTime() - start));
+                    }
+                }
+            };
+        }
+
+        void report(final OperationContext.Stage stage, final Map<String, ParallelBootTransactionControl> transactionControls) {
+            final List<Map.Entry<String, ParallelBootTransactionControl>> subsystems = new ArrayList<>(transactionControls.entrySet());
+            subsystems.sort(Comparator.comparingLong((Map.Entry<String, ParallelBootTransactionControl> entry) -> entry.getValue().preparedTime - entry.getValue().startTime).reversed());
+            final StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, ParallelBootTransactionControl> entry : subsystems) {
+                final ParallelBootTransactionControl txControl = entry.getValue();
+                sb.append(System.lineSeparator()).append("  subsystem ").append(entry.getKey()).append(": ")
+                        .append(TimeUnit.NANOSECONDS.toMillis(txControl.preparedTime - txControl.startTime)).append(" ms");
+            }
+            final List<StepTime> steps = new ArrayList<>(stepTimes);
+            steps.sort(Comparator.comparingLong((StepTime step) -> step.time).reversed());
+            for (StepTime step : steps.subList(0, Math.min(REPORTED_STEPS, steps.size()))) {
+                sb.append(System.lineSeparator()).append("  step ").append(step.operationName).append(" ").append(step.address)
+                        .append(": ").append(TimeUnit.NANOSECONDS.toMillis(step.time)).append(" ms");
+            }
+            MGMT_OP_LOGGER.debugf("Boot timeline of stage %s subsystem operations:%s", stage, sb);
+        }
+    }
+
+    private static final class StepTime {
+        private final String operationName;
+        private final PathAddress address;
+        private final long time;
+
+        StepTime(final ParsedBootOp op, final long time) {
+            this.operationName = op.operationName;
+            this.address = op.address;
+            this.time = time;
+        }
+    }
 }
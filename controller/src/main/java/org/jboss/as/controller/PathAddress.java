@@ -27,12 +27,10 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SER
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
-import java.util.Set;
 
 import org.jboss.as.controller._private.OperationFailedRuntimeException;
 import org.jboss.as.controller.logging.ControllerLogger;
@@ -67,41 +65,24 @@ public class PathAddress implements Iterable<PathElement> {
 //            final List<Property> props = node.asPropertyList();
             // Following bit is crap TODO; uncomment above and delete below
             // when bug is fixed
-            final List<Property> props = new ArrayList<Property>();
+            final List<ModelNode> nodes = node.asList();
+            final List<PathElement> values = new ArrayList<PathElement>(nodes.size());
             String key = null;
-            for (ModelNode element : node.asList()) {
-                Property prop = null;
+            for (ModelNode element : nodes) {
                 if (element.getType() == ModelType.PROPERTY || element.getType() == ModelType.OBJECT) {
-                    prop = element.asProperty();
+                    final Property prop = element.asProperty();
+                    addElement(values, new PathElement(prop.getName(), prop.getValue().asString()));
+                    key = null;
                 } else if (key == null) {
                     key = element.asString();
                 } else {
-                    prop = new Property(key, element);
-                }
-                if (prop != null) {
-                    props.add(prop);
+                    addElement(values, new PathElement(key, element.asString()));
                     key = null;
                 }
-
             }
-            if (props.size() == 0) {
+            if (values.size() == 0) {
                 return EMPTY_ADDRESS;
             } else {
-                final Set<String> seen = new HashSet<String>();
-                final List<PathElement> values = new ArrayList<PathElement>();
-                int index = 0;
-                for (final Property prop : props) {
-                    final String name = prop.getName();
-                    if (seen.add(name)) {
-                        values.add(new PathElement(name, prop.getValue().asString()));
-                    } else {
-                        throw duplicateElement(name);
-                    }
-                    if (index == 1 && name.equals(SERVER) && seen.contains(HOST)) {
-                        seen.clear();
-                    }
-                    index++;
-                }
                 return new PathAddress(Collections.unmodifiableList(values));
             }
         } else {
@@ -114,22 +95,28 @@ public class PathAddress implements Iterable<PathElement> {
             return EMPTY_ADDRESS;
         }
         final ArrayList<PathElement> newList = new ArrayList<PathElement>(elements.size());
-        final Set<String> seen = new HashSet<String>();
-        int index = 0;
         for (PathElement element : elements) {
-            final String name = element.getKey();
-            if (seen.add(name)) {
-                newList.add(element);
-            } else {
+            addElement(newList, element);
+        }
+        return new PathAddress(Collections.unmodifiableList(newList));
+    }
+
+    /**
+     * Adds an element to a list of already checked elements, checking its key isn't already used. Keys only need to
+     * be unique within the server part of a {@code host=x/server=y} address.
+     * <p>
+     * Addresses are short, so a scan of the earlier keys is cheaper than tracking them in a set.
+     */
+    private static void addElement(final List<PathElement> elements, final PathElement element) {
+        final String name = element.getKey();
+        final int size = elements.size();
+        final int start = size >= 2 && elements.get(1).getKey().equals(SERVER) && elements.get(0).getKey().equals(HOST) ? 2 : 0;
+        for (int i = start; i < size; i++) {
+            if (elements.get(i).getKey().equals(name)) {
                 throw duplicateElement(name);
             }
-            if (index == 1 && name.equals(SERVER) && seen.contains(HOST)) {
-                seen.clear();
-            }
-            index++;
-
         }
-        return new PathAddress(Collections.unmodifiableList(newList));
+        elements.add(element);
     }
 
     public static PathAddress pathAddress(PathElement... elements) {
@@ -141,11 +128,7 @@ public class PathAddress implements Iterable<PathElement> {
     }
 
     public static PathAddress pathAddress(PathAddress parent, PathElement... elements) {
-        List<PathElement> list = new ArrayList<PathElement>(parent.pathAddressList);
-        for (PathElement element : elements) {
-            list.add(element);
-        }
-        return pathAddress(list);
+        return parent.append(elements);
     }
 
     public static PathAddress parseCLIStyleAddress(String address) throws IllegalArgumentException {
@@ -215,6 +198,8 @@ public class PathAddress implements Iterable<PathElement> {
     }
 
     private final List<PathElement> pathAddressList;
+    /** Lazily computed, as for {@link String#hashCode()}; the element list never changes */
+    private int hashCode;
 
     PathAddress(final List<PathElement> pathAddressList) {
         Assert.assertNotNull(pathAddressList);
@@ -273,10 +258,16 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the new path address
      */
     public PathAddress append(List<PathElement> additionalElements) {
+        if (additionalElements.isEmpty()) {
+            return this;
+        }
         final ArrayList<PathElement> newList = new ArrayList<PathElement>(pathAddressList.size() + additionalElements.size());
+        // Our own elements were already checked for duplicates
         newList.addAll(pathAddressList);
-        newList.addAll(additionalElements);
-        return pathAddress(newList);
+        for (PathElement element : additionalElements) {
+            addElement(newList, element);
+        }
+        return new PathAddress(Collections.unmodifiableList(newList));
     }
 
     /**
@@ -423,7 +414,12 @@ public class PathAddress implements Iterable<PathElement> {
 
     @Override
     public int hashCode() {
-        return pathAddressList.hashCode();
+        int result = hashCode;
+        if (result == 0) {
+            result = pathAddressList.hashCode();
+            hashCode = result;
+        }
+        return result;
     }
 
     /**
@@ -444,7 +440,13 @@ public class PathAddress implements Iterable<PathElement> {
      * @return {@code true} if they are equal, {@code false} otherwise
      */
     public boolean equals(PathAddress other) {
-        return this == other || other != null && pathAddressList.equals(other.pathAddressList);
+        if (this == other) {
+            return true;
+        }
+        if (other == null || hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+            return false;
+        }
+        return pathAddressList.equals(other.pathAddressList);
     }
 
     @Override
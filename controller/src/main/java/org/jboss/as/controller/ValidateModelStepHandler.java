@@ -21,12 +21,13 @@ package org.jboss.as.controller;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.jboss.as.controller.OperationContext.Stage;
 import org.jboss.as.controller.logging.ControllerLogger;
@@ -58,14 +59,16 @@ final class ValidateModelStepHandler implements OperationStepHandler {
     @Override
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
         final Map<PathAddress, ResAndReg> resolved = new HashMap<>();
+        final Map<ImmutableManagementResourceRegistration, AttributePlan[]> plans = new IdentityHashMap<>();
         for (PathAddress pa : toValidate) {
-            validateAddress(context, pa, resolved);
+            validateAddress(context, pa, resolved, plans);
         }
     }
 
     private void validateAddress(final OperationContext context,
                                  final PathAddress address,
-                                 final Map<PathAddress, ResAndReg> resolved) throws OperationFailedException {
+                                 final Map<PathAddress, ResAndReg> resolved,
+                                 final Map<ImmutableManagementResourceRegistration, AttributePlan[]> plans) throws OperationFailedException {
         final ResAndReg resAndReg = loadResource(address, resolved);
         if (resAndReg == null || resAndReg.resource == null) {
             return;
@@ -76,114 +79,69 @@ final class ValidateModelStepHandler implements OperationStepHandler {
             context.addStep(op, extraValidationStepHandler, Stage.MODEL);
         }
 
-        final ModelNode model = resAndReg.resource.getModel();
-        final Set<String> definedKeys;
-        if (model.isDefined()) {
-            final Set<String> keys = model.keys();
-            definedKeys = new HashSet<>(keys.size());
-            for (String key : keys) {
-                if (model.hasDefined(key)) {
-                    definedKeys.add(key);
-                }
-            }
-        } else {
-            definedKeys = Collections.emptySet();
+        // Many modified resources in a single operation (e.g. a boot or a large composite) share a registration,
+        // so only work out the checks for each resource type once and then just run them against each model
+        AttributePlan[] plan = plans.get(resAndReg.reg);
+        if (plan == null) {
+            plan = compilePlan(resAndReg.reg.getAttributes(PathAddress.EMPTY_ADDRESS));
+            plans.put(resAndReg.reg, plan);
         }
 
-        final Map<String, AttributeAccess> attributes = resAndReg.reg.getAttributes(PathAddress.EMPTY_ADDRESS);
-        for (final Map.Entry<String, AttributeAccess> entry : attributes.entrySet()) {
-            final AttributeAccess access = entry.getValue();
-            if (access.getStorageType() != AttributeAccess.Storage.CONFIGURATION){
-                continue;
-            }
-            String attributeName = entry.getKey();
-            final AttributeDefinition attr = access.getAttributeDefinition();
-            if (!definedKeys.contains(attributeName)) {
-                if (isRequired(attr, definedKeys)) {
-                    attemptReadMissingAttributeValueFromHandler(context, address, access, attributeName,
+        final ModelNode model = resAndReg.resource.getModel();
+        for (final AttributePlan attr : plan) {
+            final String attributeName = attr.name;
+            if (!model.hasDefined(attributeName)) {
+                if (attr.required && !hasAlternative(attr.alternatives, model)) {
+                    attemptReadMissingAttributeValueFromHandler(context, address, attr.access, attributeName,
                         new ErrorHandler() {
                             @Override
                             public void throwError() throws OperationFailedException {
-                                    String[] alternatives = attr.getAlternatives();
-                                    if (alternatives == null) {
-                                        throw ControllerLogger.ROOT_LOGGER.required(attributeName);
-                                    } else {
-                                        Set<String> requiredAlternatives = new HashSet<>();
-                                        for (int i = 0; i < alternatives.length; i++) {
-                                            AttributeDefinition requiredAttr = getAttributeDefinition(alternatives[i], attributes);
-                                            if (requiredAttr != null && requiredAttr.isRequired() && !requiredAttr.isResourceOnly()) {
-                                                requiredAlternatives.add(alternatives[i]);
-                                            }
-                                        }
-                                        throw ControllerLogger.ROOT_LOGGER.requiredWithAlternatives(attributeName, requiredAlternatives);
-                                    }
-                        }}
+                                throw attr.missingRequiredError();
+                            }
+                        }
                     );
                 }
                 // no error means undefined is ok and there's nothing more to check for this one
                 continue;
             }
 
-            String[] requires = attr.getRequires();
-            if (requires != null) {
-                for (final String required : requires) {
-                    if (!definedKeys.contains(required)) {
-                        // Check for alternatives that are in the same set of 'requires'
-                        AttributeDefinition requiredAttr = getAttributeDefinition(required, attributes);
-                        if (requiredAttr == null) {
-                            // Coding mistake in the attr AD. Don't mess up the user; just debug log
-                            ControllerLogger.ROOT_LOGGER.debugf("AttributeDefinition for %s required by %s is null",
-                                    required, attributeName);
-                        } else if (!hasAlternative(getRelevantAlteratives(requiredAttr.getAlternatives(), requires), definedKeys)) {
-                            attemptReadMissingAttributeValueFromHandler(context, address, access, attributeName, new ErrorHandler() {
-                                @Override
-                                public void throwError() throws OperationFailedException {
-                                    throw ControllerLogger.ROOT_LOGGER.requiredAttributeNotSet(required, attr.getName());
-                                }
-                            });
-                        }
+            for (final RequiredPeer required : attr.requires) {
+                if (!model.hasDefined(required.name)) {
+                    if (!required.known) {
+                        // Coding mistake in the attr AD. Don't mess up the user; just debug log
+                        ControllerLogger.ROOT_LOGGER.debugf("AttributeDefinition for %s required by %s is null",
+                                required.name, attributeName);
+                    } else if (!hasAlternative(required.relevantAlternatives, model)) {
+                        attemptReadMissingAttributeValueFromHandler(context, address, attr.access, attributeName, new ErrorHandler() {
+                            @Override
+                            public void throwError() throws OperationFailedException {
+                                throw ControllerLogger.ROOT_LOGGER.requiredAttributeNotSet(required.name, attributeName);
+                            }
+                        });
                     }
                 }
             }
 
-            if (!isAllowed(attr, definedKeys)) {
+            if (hasAlternative(attr.alternatives, model)) {
                 //TODO should really use attemptReadMissingAttributeValueFromHandler() to make this totally good, but the
                 //overhead might be bigger than is worth at the moment since we would have to invoke the extra steps for
                 //every single attribute not found (and not found should be the normal).
-                String[] alts = attr.getAlternatives();
                 StringBuilder sb = null;
-                if (alts != null) {
-                    for (String alt : alts) {
-                        if (definedKeys.contains(alt)) {
-                            if (sb == null) {
-                                sb = new StringBuilder();
-                            } else {
-                                sb.append(", ");
-                            }
-                            sb.append(alt);
+                for (String alt : attr.alternatives) {
+                    if (model.hasDefined(alt)) {
+                        if (sb == null) {
+                            sb = new StringBuilder();
+                        } else {
+                            sb.append(", ");
                         }
+                        sb.append(alt);
                     }
                 }
                 throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.invalidAttributeCombo(attributeName, sb));
             }
 
             handleObjectAttributes(model, attr, attributeName);
-
-        }
-    }
-
-    private static AttributeDefinition getAttributeDefinition(String name, final Map<String, AttributeAccess> attributes) {
-        AttributeAccess aa = attributes.get(name);
-        return aa == null ? null : aa.getAttributeDefinition();
-    }
-
-    private static AttributeDefinition getAttributeDefinition(String name, AttributeDefinition[] attrs) {
-        for (AttributeDefinition peer : attrs) {
-            if (name.equals(peer.getName())) {
-                return peer;
-            }
         }
-        return null;
     }
 
     private void attemptReadMissingAttributeValueFromHandler(final OperationContext context, final PathAddress address,
@@ -212,90 +170,64 @@ final class ValidateModelStepHandler implements OperationStepHandler {
 
     }
 
-    private void handleObjectAttributes(ModelNode model, AttributeDefinition attr, String absoluteParentName) throws OperationFailedException {
-        if (attr instanceof ObjectTypeAttributeDefinition) {
-            validateNestedAttributes(model.get(attr.getName()), (ObjectTypeAttributeDefinition) attr, absoluteParentName);
-        } else if (attr instanceof ObjectListAttributeDefinition) {
-            ObjectTypeAttributeDefinition valueType = ((ObjectListAttributeDefinition) attr).getValueType();
-            ModelNode list = model.get(attr.getName());
+    private void handleObjectAttributes(ModelNode model, AttributePlan attr, String absoluteParentName) throws OperationFailedException {
+        if (attr.nestedType == null) {
+            return;
+        }
+        final AttributeDefinition def = attr.definition;
+        if (def instanceof ObjectTypeAttributeDefinition) {
+            validateNestedAttributes(model.get(attr.name), attr.getNested(), absoluteParentName);
+        } else if (def instanceof ObjectListAttributeDefinition) {
+            ModelNode list = model.get(attr.name);
             for (int i = 0; i < list.asInt(); i++) {
-                validateNestedAttributes(list.get(i), valueType, absoluteParentName + "[" + i + "]");
+                validateNestedAttributes(list.get(i), attr.getNested(), absoluteParentName + "[" + i + "]");
             }
-        } else if (attr instanceof ObjectMapAttributeDefinition) {
-            ObjectTypeAttributeDefinition valueType = ((ObjectMapAttributeDefinition) attr).getValueType();
-            ModelNode map = model.get(attr.getName());
+        } else if (def instanceof ObjectMapAttributeDefinition) {
+            ModelNode map = model.get(attr.name);
             for (String key : map.keys()) {
-                validateNestedAttributes(map.get(key), valueType, absoluteParentName + "." + key);
+                validateNestedAttributes(map.get(key), attr.getNested(), absoluteParentName + "." + key);
             }
         }
     }
 
-    private void validateNestedAttributes(final ModelNode subModel, final ObjectTypeAttributeDefinition attr,
+    private void validateNestedAttributes(final ModelNode subModel, final AttributePlan[] subAttrs,
                                           final String absoluteParentName) throws OperationFailedException {
         if (!subModel.isDefined()) {
             return;
         }
 
-        final Set<String> keys = subModel.keys();
-        final Set<String> definedKeys = new HashSet<>(keys.size());
-        for (String key : keys) {
-            if (subModel.hasDefined(key)) {
-                definedKeys.add(key);
-            }
-        }
-        AttributeDefinition[] subAttrs = attr.getValueTypes();
-        for (AttributeDefinition subAttr : subAttrs) {
-            String subAttributeName = subAttr.getName();
-            String absoluteName = absoluteParentName + "." + subAttributeName;
-            if (!definedKeys.contains(subAttributeName)) {
-                if (isRequired(subAttr, definedKeys)) {
-                    String[] alternatives = attr.getAlternatives();
-                    if (alternatives == null) {
-                        throw ControllerLogger.ROOT_LOGGER.required(subAttributeName);
-                    } else {
-                        Set<String> requiredAlternatives = new HashSet<>();
-                        for (int i = 0; i < alternatives.length; i++) {
-                            AttributeDefinition requiredAttr = getAttributeDefinition(alternatives[i], subAttrs);
-                            if (requiredAttr != null && requiredAttr.isRequired() && !requiredAttr.isResourceOnly()) {
-                                requiredAlternatives.add(alternatives[i]);
-                            }
-                        }
-                        throw ControllerLogger.ROOT_LOGGER.requiredWithAlternatives(subAttributeName, requiredAlternatives);
-                    }
+        for (AttributePlan subAttr : subAttrs) {
+            String subAttributeName = subAttr.name;
+            if (!subModel.hasDefined(subAttributeName)) {
+                if (subAttr.required && !hasAlternative(subAttr.alternatives, subModel)) {
+                    throw subAttr.missingRequiredError();
                 }
                 // else undefined is ok and there's nothing more to check for this one
                 continue;
             }
-            String[] requires = subAttr.getRequires();
-            if (requires != null) {
-                for (final String required : requires) {
-                    if (!definedKeys.contains(required)) {
-                        // Check for alternatives that are in the same set of 'requires'
-                        AttributeDefinition requiredAttr = getAttributeDefinition(required, subAttrs);
-                        if (requiredAttr == null) {
-                            // Coding mistake in the subAttr AD. Don't mess up the user; just debug log
-                            ControllerLogger.ROOT_LOGGER.debugf("AttributeDefinition for %s required by %s of %s is null",
-                                    required, subAttributeName, absoluteParentName);
-                        } else if (!hasAlternative(getRelevantAlteratives(requiredAttr.getAlternatives(), requires), definedKeys)) {
-                            throw ControllerLogger.ROOT_LOGGER.requiredAttributeNotSet(absoluteParentName + "." + required, absoluteName);
-                        }
+            String absoluteName = absoluteParentName + "." + subAttributeName;
+            for (final RequiredPeer required : subAttr.requires) {
+                if (!subModel.hasDefined(required.name)) {
+                    if (!required.known) {
+                        // Coding mistake in the subAttr AD. Don't mess up the user; just debug log
+                        ControllerLogger.ROOT_LOGGER.debugf("AttributeDefinition for %s required by %s of %s is null",
+                                required.name, subAttributeName, absoluteParentName);
+                    } else if (!hasAlternative(required.relevantAlternatives, subModel)) {
+                        throw ControllerLogger.ROOT_LOGGER.requiredAttributeNotSet(absoluteParentName + "." + required.name, absoluteName);
                     }
                 }
             }
 
-            if (!isAllowed(subAttr, definedKeys)) {
-                String[] alts = subAttr.getAlternatives();
+            if (hasAlternative(subAttr.alternatives, subModel)) {
                 StringBuilder sb = null;
-                if (alts != null) {
-                    for (String alt : alts) {
-                        if (definedKeys.contains(alt)) {
-                            if (sb == null) {
-                                sb = new StringBuilder();
-                            } else {
-                                sb.append(", ");
-                            }
-                            sb.append(absoluteParentName).append(".").append(alt);
+                for (String alt : subAttr.alternatives) {
+                    if (subModel.hasDefined(alt)) {
+                        if (sb == null) {
+                            sb = new StringBuilder();
+                        } else {
+                            sb.append(", ");
                         }
+                        sb.append(absoluteParentName).append(".").append(alt);
                     }
                 }
                 throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.invalidAttributeCombo(absoluteName, sb));
@@ -305,26 +237,10 @@ final class ValidateModelStepHandler implements OperationStepHandler {
         }
     }
 
-    private boolean isRequired(final AttributeDefinition def, final Set<String> definedKeys) {
-        return def.isRequired() && !def.isResourceOnly() && !hasAlternative(def.getAlternatives(), definedKeys);
-    }
-
-    private boolean isAllowed(final AttributeDefinition def, final Set<String> definedKeys) {
-        final String[] alternatives = def.getAlternatives();
+    private static boolean hasAlternative(final String[] alternatives, final ModelNode model) {
         if (alternatives != null) {
             for (final String alternative : alternatives) {
-                if (definedKeys.contains(alternative)) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
-    private boolean hasAlternative(final String[] alternatives, Set<String> definedKeys) {
-        if (alternatives != null) {
-            for (final String alternative : alternatives) {
-                if (definedKeys.contains(alternative)) {
+                if (model.hasDefined(alternative)) {
                     return true;
                 }
             }
@@ -332,7 +248,7 @@ final class ValidateModelStepHandler implements OperationStepHandler {
         return false;
     }
 
-    private String[] getRelevantAlteratives(String[] alternatives, String[] relevant) {
+    private static String[] getRelevantAlteratives(String[] alternatives, String[] relevant) {
         if (alternatives == null || relevant == null || relevant.length == 0) {
             return null;
         }
@@ -348,6 +264,139 @@ final class ValidateModelStepHandler implements OperationStepHandler {
         return result.size() == 0 ? null : result.toArray(new String[result.size()]);
     }
 
+    /**
+     * Works out the checks for the {@link AttributeAccess.Storage#CONFIGURATION configuration} attributes of a
+     * resource type, so validating each resource of that type doesn't have to look up alternatives and requires again.
+     */
+    private static AttributePlan[] compilePlan(final Map<String, AttributeAccess> attributes) {
+        final List<AttributePlan> result = new ArrayList<>(attributes.size());
+        for (final Map.Entry<String, AttributeAccess> entry : attributes.entrySet()) {
+            final AttributeAccess access = entry.getValue();
+            if (access.getStorageType() != AttributeAccess.Storage.CONFIGURATION) {
+                continue;
+            }
+            final AttributeDefinition attr = access.getAttributeDefinition();
+            final Function<String, AttributeDefinition> peers = name -> {
+                AttributeAccess aa = attributes.get(name);
+                return aa == null ? null : aa.getAttributeDefinition();
+            };
+            result.add(new AttributePlan(entry.getKey(), access, attr, attr.getAlternatives(), peers));
+        }
+        return result.toArray(new AttributePlan[result.size()]);
+    }
+
+    private static AttributePlan[] compileNestedPlan(final ObjectTypeAttributeDefinition attr) {
+        final AttributeDefinition[] subAttrs = attr.getValueTypes();
+        final Function<String, AttributeDefinition> peers = name -> {
+            for (AttributeDefinition peer : subAttrs) {
+                if (name.equals(peer.getName())) {
+                    return peer;
+                }
+            }
+            return null;
+        };
+        final AttributePlan[] result = new AttributePlan[subAttrs.length];
+        for (int i = 0; i < subAttrs.length; i++) {
+            // A missing required field is reported with the alternatives of the complex attribute itself
+            result[i] = new AttributePlan(subAttrs[i].getName(), null, subAttrs[i], attr.getAlternatives(), peers);
+        }
+        return result;
+    }
+
+    /**
+     * The precomputed model validation checks for a single attribute.
+     */
+    private static final class AttributePlan {
+        private static final RequiredPeer[] NO_REQUIRES = new RequiredPeer[0];
+
+        private final String name;
+        private final AttributeAccess access;
+        private final AttributeDefinition definition;
+        private final boolean required;
+        private final String[] alternatives;
+        private final RequiredPeer[] requires;
+        private final Set<String> requiredAlternatives;
+        private final ObjectTypeAttributeDefinition nestedType;
+        /**
+         * The checks for the fields of {@link #nestedType}, only worked out once a model defines the attribute
+         */
+        private AttributePlan[] nested;
+
+        private AttributePlan(final String name, final AttributeAccess access, final AttributeDefinition definition,
+                              final String[] errorAlternatives, final Function<String, AttributeDefinition> peers) {
+            this.name = name;
+            this.access = access;
+            this.definition = definition;
+            this.required = isRequired(definition);
+            this.alternatives = definition.getAlternatives();
+
+            final String[] requires = definition.getRequires();
+            if (requires == null || requires.length == 0) {
+                this.requires = NO_REQUIRES;
+            } else {
+                this.requires = new RequiredPeer[requires.length];
+                for (int i = 0; i < requires.length; i++) {
+                    // Check for alternatives that are in the same set of 'requires'
+                    final AttributeDefinition requiredAttr = peers.apply(requires[i]);
+                    this.requires[i] = new RequiredPeer(requires[i], requiredAttr != null,
+                            requiredAttr == null ? null : getRelevantAlteratives(requiredAttr.getAlternatives(), requires));
+                }
+            }
+
+            if (required && errorAlternatives != null) {
+                final Set<String> requiredAlternatives = new HashSet<>();
+                for (String alternative : errorAlternatives) {
+                    AttributeDefinition requiredAttr = peers.apply(alternative);
+                    if (requiredAttr != null && isRequired(requiredAttr)) {
+                        requiredAlternatives.add(alternative);
+                    }
+                }
+                this.requiredAlternatives = requiredAlternatives;
+            } else {
+                this.requiredAlternatives = null;
+            }
+
+            if (definition instanceof ObjectTypeAttributeDefinition) {
+                this.nestedType = (ObjectTypeAttributeDefinition) definition;
+            } else if (definition instanceof ObjectListAttributeDefinition) {
+                this.nestedType = ((ObjectListAttributeDefinition) definition).getValueType();
+            } else if (definition instanceof ObjectMapAttributeDefinition) {
+                this.nestedType = ((ObjectMapAttributeDefinition) definition).getValueType();
+            } else {
+                this.nestedType = null;
+            }
+        }
+
+        private AttributePlan[] getNested() {
+            if (nested == null) {
+                nested = compileNestedPlan(nestedType);
+            }
+            return nested;
+        }
+
+        private static boolean isRequired(final AttributeDefinition def) {
+            return def.isRequired() && !def.isResourceOnly();
+        }
+
+        private OperationFailedException missingRequiredError() {
+            return requiredAlternatives == null
+                    ? ControllerLogger.ROOT_LOGGER.required(name)
+                    : ControllerLogger.ROOT_LOGGER.requiredWithAlternatives(name, requiredAlternatives);
+        }
+    }
+
+    private static final class RequiredPeer {
+        private final String name;
+        private final boolean known;
+        private final String[] relevantAlternatives;
+
+        private RequiredPeer(final String name, final boolean known, final String[] relevantAlternatives) {
+            this.name = name;
+            this.known = known;
+            this.relevantAlternatives = relevantAlternatives;
+        }
+    }
+
     private ResAndReg loadResource(final PathAddress address,
                                    final Map<PathAddress, ResAndReg> resolved) {
         ResAndReg resAndReg = resolved.get(PathAddress.EMPTY_ADDRESS);
@@ -28,6 +28,7 @@ import org.xnio.IoUtils;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -48,6 +49,8 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
     private final String relativeTo;
 
     private volatile File file;
+    /** The items of the current batch, or {@code null} if items are written immediately */
+    private ByteArrayOutputStream batch;
 
     public AbstractFileAuditLogHandler(String name, String formatterName, int maxFailureCount, PathManagerService pathManager, String path, String relativeTo) {
         super(name, formatterName, maxFailureCount);
@@ -89,13 +92,38 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
         file = null;
     }
 
+    @Override
+    void startBatch() {
+        batch = new ByteArrayOutputStream();
+    }
+
+    @Override
+    void writeBatch() throws IOException {
+        final ByteArrayOutputStream batch = this.batch;
+        this.batch = null;
+        // Items batched before the file was rotated are written to the new file
+        if (batch != null && batch.size() > 0 && file != null) {
+            write(batch.toByteArray());
+        }
+    }
+
     @Override
     void writeLogItem(String formattedItem) throws IOException {
+        if (batch != null) {
+            batch.write(formattedItem.getBytes(StandardCharsets.UTF_8));
+            batch.write(LINE_TERMINATOR);
+        } else {
+            write(formattedItem.getBytes(StandardCharsets.UTF_8), LINE_TERMINATOR);
+        }
+    }
+
+    private void write(byte[]... chunks) throws IOException {
         final FileOutputStream fos = new FileOutputStream(file, true);
         final BufferedOutputStream output = new BufferedOutputStream(fos);
         try {
-            output.write(formattedItem.getBytes(StandardCharsets.UTF_8));
-            output.write(LINE_TERMINATOR);
+            for (byte[] chunk : chunks) {
+                output.write(chunk);
+            }
 
             //Flush and force the file to sync
             output.flush();
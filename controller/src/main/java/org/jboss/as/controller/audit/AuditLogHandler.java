@@ -64,6 +64,10 @@ abstract class AuditLogHandler {
         this.formatter = formatter;
     }
 
+    AuditLogItemFormatter getFormatter() {
+        return formatter;
+    }
+
     String getFormatterName() {
         return formatterName;
     }
@@ -88,6 +92,32 @@ abstract class AuditLogHandler {
         }
     }
 
+    /**
+     * Called before a batch of items is written. Handlers may defer writing the items until {@link #endBatch()}.
+     */
+    void startBatch() {
+    }
+
+    /**
+     * Called after a batch of items was written.
+     */
+    void endBatch() {
+        FailureCountHandler fch = getFailureCountHandler();
+        try {
+            writeBatch();
+        } catch (Throwable t) {
+            fch.failure(t);
+        }
+    }
+
+    /**
+     * Writes the items deferred since {@link #startBatch()}. This base method does nothing.
+     *
+     * @throws IOException if the items could not be written
+     */
+    void writeBatch() throws IOException {
+    }
+
     void recycle() {
         this.failureCount = 0;
         stop();
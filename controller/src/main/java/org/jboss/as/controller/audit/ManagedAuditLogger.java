@@ -200,6 +200,24 @@ public interface ManagedAuditLogger extends AuditLogger {
         return Collections.emptyList();
     }
 
+    /**
+     * Gets the number of items waiting to be written by the background writer
+     *
+     * @return the number of queued items, or {@code 0} if items are not written in the background
+     */
+    default int getQueuedItemCount() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of items discarded because the queue of the background writer was full
+     *
+     * @return the number of discarded items
+     */
+    default long getDiscardedItemCount() {
+        return 0;
+    }
+
     /**
      * Callback for the controller to call before the controller is booted
      */
@@ -210,6 +228,13 @@ public interface ManagedAuditLogger extends AuditLogger {
      */
     void bootDone();
 
+    /**
+     * Callback for the controller to call when the controller is stopped. Writes the items still waiting to be
+     * written in the background.
+     */
+    default void stop() {
+    }
+
     /**
      * <p>The audit log handler updater. Additive changes will be used for the audit log record as a result of
      * management operations causing updates here. Removals and updates will not take effect until the current audit log
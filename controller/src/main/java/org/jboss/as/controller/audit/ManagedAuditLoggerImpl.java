@@ -24,17 +24,26 @@
 
 package org.jboss.as.controller.audit;
 
+import static java.security.AccessController.doPrivileged;
+
 import java.io.IOException;
 import java.net.InetAddress;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.jboss.as.controller.OperationContext.ResultAction;
@@ -44,6 +53,8 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.dmr.ModelNode;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Audit logger wrapper
@@ -55,6 +66,17 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     /** Maximum number of consecutive logging failures before we stop logging */
     private static final short MAX_FAILURE_COUNT = 10;
 
+    /** The number of items that may wait to be written by a background thread. Items are written by the logging thread if not positive */
+    private static final int ASYNC_QUEUE_LENGTH = Integer.parseInt(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.management.audit-log.queue-length", "0"));
+
+    /** Whether items are discarded instead of waiting for room in the queue when it is full */
+    private static final boolean DISCARD_ON_OVERFLOW = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.management.audit-log.discard-on-overflow", "false"));
+
+    /** The maximum number of items written to the handlers as a single batch */
+    private static final int MAX_BATCH_SIZE = 256;
+
     private final List<ManagedAuditLoggerImpl> childImpls;
 
     /** If we are the core audit logger, list the children */
@@ -75,15 +97,27 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
       * Must be reset to false when handler updates need to be performed */
     private final AtomicBoolean runDisabledFastPath = new AtomicBoolean(false);
 
+    /**
+     * Writes the items logged while in the LOGGING state in the background, or {@code null} if they are written synchronously.
+     * Shared by the core configuration and the configurations created from it, like the audit lock.
+     */
+    private final AsyncItemWriter asyncWriter;
+
     public ManagedAuditLoggerImpl(String asVersion, boolean server) {
+        this(asVersion, server, ASYNC_QUEUE_LENGTH, DISCARD_ON_OVERFLOW);
+    }
+
+    ManagedAuditLoggerImpl(String asVersion, boolean server, int queueLength, boolean discardOnOverflow) {
         config = new CoreAuditLogConfiguration(asVersion, server);
         childImpls = new ArrayList<ManagedAuditLoggerImpl>();
+        asyncWriter = queueLength > 0 ? new AsyncItemWriter(config.sharedConfiguration, queueLength, discardOnOverflow) : null;
     }
 
     private ManagedAuditLoggerImpl(ManagedAuditLoggerImpl src, boolean manualCommit) {
         assert src.config instanceof CoreAuditLogConfiguration : "Not an instance of CoreAuditLogConfiguration";
         config = new NewAuditLogConfiguration((CoreAuditLogConfiguration)src.config, manualCommit);
         childImpls = null;
+        asyncWriter = src.asyncWriter;
     }
 
     @Override
@@ -203,7 +237,12 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public void recycleHandler(String name) {
         config.lock();
         try {
-            config.recycleHandler(name);
+            config.lockWrite();
+            try {
+                config.recycleHandler(name);
+            } finally {
+                config.unlockWrite();
+            }
         } finally {
             config.unlock();
         }
@@ -245,10 +284,19 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
                 queuedItems.add(item);
                 break;
             case LOGGING:
-                writeLogItem(item);
+                if (asyncWriter != null) {
+                    // queued with the fair audit lock held, so the items are written in the order they were logged
+                    asyncWriter.enqueue(this, item);
+                } else {
+                    writeLogItem(item);
+                }
                 break;
             case DISABLE_NEXT:
-                writeLogItem(item);
+                if (asyncWriter != null) {
+                    asyncWriter.enqueue(this, item);
+                } else {
+                    writeLogItem(item);
+                }
                 config.setLoggerStatus(Status.DISABLED);
             case DISABLED:
                 // switch to the fast path for the next event
@@ -259,15 +307,25 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
 
     /** protected by config's audit lock */
     private void writeLogItem(AuditLogItem item) throws IOException{
-        Set<String> formatterNames = new HashSet<String>();
+        config.lockWrite();
+        try {
+            writeLogItem(config.getHandlersForLogging(), item);
+        } finally {
+            config.unlockWrite();
+        }
+    }
+
+    /** protected by config's write lock */
+    private static void writeLogItem(List<AuditLogHandler> handlers, AuditLogItem item) throws IOException{
+        Set<AuditLogItemFormatter> formatters = new HashSet<AuditLogItemFormatter>();
         try {
-            for (AuditLogHandler handler : config.getHandlersForLogging()) {
-                formatterNames.add(handler.getFormatterName());
+            for (AuditLogHandler handler : handlers) {
+                formatters.add(handler.getFormatter());
                 handler.writeLogItem(item);
             }
         } finally {
-            for (String formatterName : formatterNames) {
-                config.getFormatter(formatterName).clear();
+            for (AuditLogItemFormatter formatter : formatters) {
+                formatter.clear();
             }
         }
     }
@@ -389,7 +447,13 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     /** Call with lock taken */
     private void applyHandlerUpdates() {
         if (handlerUpdateTask != null) {
-            handlerUpdateTask.applyChanges();
+            // the handlers being replaced or removed may be in use by the asyncWriter
+            config.lockWrite();
+            try {
+                handlerUpdateTask.applyChanges();
+            } finally {
+                config.unlockWrite();
+            }
             handlerUpdateTask = null;
         }
     }
@@ -420,8 +484,13 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         config.lock();
         try {
             AuditLogHandler handler = config.getConfiguredHandler(name);
-            handler.setFormatterName(formatterName);
-            handler.setFormatter(config.getFormatter(formatterName));
+            config.lockWrite();
+            try {
+                handler.setFormatterName(formatterName);
+                handler.setFormatter(config.getFormatter(formatterName));
+            } finally {
+                config.unlockWrite();
+            }
         } finally {
             config.unlock();
         }
@@ -512,7 +581,13 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public List<ModelNode> listLastEntries(String name) {
         config.lock();
         try {
-            return config.getConfiguredHandler(name).listLastEntries();
+            // copied, as the asyncWriter adds to the entries with only the write lock taken
+            config.lockWrite();
+            try {
+                return new ArrayList<>(config.getConfiguredHandler(name).listLastEntries());
+            } finally {
+                config.unlockWrite();
+            }
         } finally {
             config.unlock();
         }
@@ -523,12 +598,209 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         config.lock();
         try {
             InMemoryAuditLogHander handler = (InMemoryAuditLogHander)config.getConfiguredHandler(name);
-            handler.setMaxHistory(maxHistory);
+            config.lockWrite();
+            try {
+                handler.setMaxHistory(maxHistory);
+            } finally {
+                config.unlockWrite();
+            }
         } finally {
             config.unlock();
         }
     }
 
+    @Override
+    public void stop() {
+        // only the core configuration stops the shared writer
+        if (asyncWriter != null && childImpls != null) {
+            asyncWriter.stop();
+        }
+    }
+
+    @Override
+    public int getQueuedItemCount() {
+        return asyncWriter == null ? 0 : asyncWriter.queue.size();
+    }
+
+    @Override
+    public long getDiscardedItemCount() {
+        return asyncWriter == null ? 0 : asyncWriter.discarded.get();
+    }
+
+    /**
+     * Writes the logged items to the handlers on a background thread, so the logging thread does not wait for the
+     * handlers. The items waiting in the queue are written as a batch, which lets file handlers sync once per batch
+     * rather than once per item.
+     * <p/>
+     * Items are queued with the audit lock held and taken from the queue with both the audit lock and the write lock
+     * held, so they are written in the order they were logged, also when a logging thread writes them to make room in
+     * the queue. The items are written to the handlers with only the write lock held, so logging threads are not held
+     * up by the I/O.
+     */
+    private static final class AsyncItemWriter implements Runnable {
+
+        private final SharedConfiguration sharedConfiguration;
+        private final int queueLength;
+        private final boolean discardOnOverflow;
+        private final BlockingQueue<QueuedItem> queue;
+        private final AtomicLong discarded = new AtomicLong();
+        private final ThreadFactory threadFactory;
+        /** Guarded by this - the thread writing the items, {@code null} until an item is logged or once stopped */
+        private Thread thread;
+
+        AsyncItemWriter(SharedConfiguration sharedConfiguration, int queueLength, boolean discardOnOverflow) {
+            this.sharedConfiguration = sharedConfiguration;
+            this.queueLength = queueLength;
+            this.discardOnOverflow = discardOnOverflow;
+            this.queue = new ArrayBlockingQueue<>(queueLength);
+            this.threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(new ThreadGroup("management-audit-log-writer"), Boolean.TRUE, null, "%G - %t", null, null);
+                }
+            });
+        }
+
+        /** Call with the audit lock taken */
+        void enqueue(ManagedAuditLoggerImpl logger, AuditLogItem item) {
+            final QueuedItem queued = new QueuedItem(logger, item);
+            while (!queue.offer(queued)) {
+                if (discardOnOverflow) {
+                    discarded.incrementAndGet();
+                    return;
+                }
+                // The writer thread cannot take items while the audit lock is held, so make room by writing them here.
+                // Like waiting for room, this holds up the other logging threads until the items are written
+                writeQueuedItems(queueLength);
+            }
+            LockSupport.unpark(start());
+        }
+
+        private synchronized Thread start() {
+            if (thread == null) {
+                thread = threadFactory.newThread(this);
+                thread.start();
+            }
+            return thread;
+        }
+
+        private synchronized boolean isRunning() {
+            return thread == Thread.currentThread();
+        }
+
+        /**
+         * Stops the writer thread once it has written its current batch, waits for it to finish and writes the items
+         * still in the queue. An item logged afterwards starts a new writer thread.
+         */
+        void stop() {
+            final Thread stopped;
+            synchronized (this) {
+                stopped = thread;
+                thread = null;
+            }
+            if (stopped != null) {
+                LockSupport.unpark(stopped);
+                try {
+                    stopped.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            while (!queue.isEmpty()) {
+                writeQueuedItems(queueLength);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (isRunning()) {
+                if (queue.isEmpty()) {
+                    // woken up by enqueue() and stop()
+                    LockSupport.park(this);
+                    continue;
+                }
+                try {
+                    writeQueuedItems(MAX_BATCH_SIZE);
+                } catch (RuntimeException e) {
+                    ControllerLogger.MGMT_OP_LOGGER.failedToUpdateAuditLog(e);
+                }
+            }
+        }
+
+        /**
+         * Takes up to {@code maxItems} items from the queue and writes them to the handlers of the configuration that
+         * logged each of them. Write failures are reported to that configuration with the audit lock taken once the
+         * batch is done.
+         */
+        private void writeQueuedItems(int maxItems) {
+            final List<QueuedItem> batch = new ArrayList<>();
+            final Map<ManagedAuditLoggerImpl, List<AuditLogHandler>> handlers = new IdentityHashMap<>();
+            final Set<AuditLogHandler> batchHandlers = Collections.newSetFromMap(new IdentityHashMap<>());
+            sharedConfiguration.lock();
+            try {
+                sharedConfiguration.lockWrite();
+                try {
+                    queue.drainTo(batch, maxItems);
+                    for (QueuedItem queued : batch) {
+                        if (!handlers.containsKey(queued.logger)) {
+                            queued.logger.applyHandlerUpdates();
+                            final List<AuditLogHandler> loggerHandlers = queued.logger.config.getHandlersForLogging();
+                            handlers.put(queued.logger, loggerHandlers);
+                            batchHandlers.addAll(loggerHandlers);
+                        }
+                    }
+                } catch (RuntimeException | Error e) {
+                    sharedConfiguration.unlockWrite();
+                    throw e;
+                }
+            } finally {
+                sharedConfiguration.unlock();
+            }
+            final List<QueuedItem> failed = new ArrayList<>();
+            final List<Exception> failures = new ArrayList<>();
+            try {
+                for (AuditLogHandler handler : batchHandlers) {
+                    handler.startBatch();
+                }
+                try {
+                    for (QueuedItem queued : batch) {
+                        try {
+                            writeLogItem(handlers.get(queued.logger), queued.item);
+                        } catch (Exception e) {
+                            failed.add(queued);
+                            failures.add(e);
+                        }
+                    }
+                } finally {
+                    for (AuditLogHandler handler : batchHandlers) {
+                        handler.endBatch();
+                    }
+                }
+            } finally {
+                sharedConfiguration.unlockWrite();
+            }
+            if (!failures.isEmpty()) {
+                sharedConfiguration.lock();
+                try {
+                    for (int i = 0; i < failures.size(); i++) {
+                        failed.get(i).logger.handleLoggingException(failures.get(i));
+                    }
+                } finally {
+                    sharedConfiguration.unlock();
+                }
+            }
+        }
+    }
+
+    private static final class QueuedItem {
+        private final ManagedAuditLoggerImpl logger;
+        private final AuditLogItem item;
+
+        QueuedItem(ManagedAuditLoggerImpl logger, AuditLogItem item) {
+            this.logger = logger;
+            this.item = item;
+        }
+    }
+
 
     /**
      * Abstract base class for core and new configuration
@@ -588,6 +860,14 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             sharedConfiguration.unlock();
         }
 
+        void lockWrite() {
+            sharedConfiguration.lockWrite();
+        }
+
+        void unlockWrite() {
+            sharedConfiguration.unlockWrite();
+        }
+
         String getAsVersion() {
             return sharedConfiguration.getAsVersion();
         }
@@ -739,6 +1019,8 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     private static class SharedConfiguration {
         /** Should be fair to maintain order. Shared among all configurations */
         private final Lock auditLock = new ReentrantLock(true);
+        /** Taken, after auditLock if both are held, while writing to the handlers or changing their state. Shared among all configurations */
+        private final Lock writeLock = new ReentrantLock();
         private final String asVersion;
         private final boolean server;
 
@@ -770,6 +1052,14 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             auditLock.unlock();
         }
 
+        void lockWrite() {
+            writeLock.lock();
+        }
+
+        void unlockWrite() {
+            writeLock.unlock();
+        }
+
         String getAsVersion() {
             return asVersion;
         }
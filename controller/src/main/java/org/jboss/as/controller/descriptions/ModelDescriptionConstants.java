@@ -158,6 +158,7 @@ public class ModelDescriptionConstants {
     public static final String DISABLED_TIME = "disabled-time";
     public static final String DISABLED_TIMESTAMP = "disabled-timestamp";
     public static final String DISABLED_DUE_TO_FAILURE = "disabled-due-to-failure";
+    public static final String DISCARDED_ITEM_COUNT = "discarded-item-count";
     public static final String DISCOVERY_OPTION = "discovery-option";
     public static final String DISCOVERY_OPTIONS = "discovery-options";
     public static final String DOMAIN = "domain";
@@ -190,6 +191,7 @@ public class ModelDescriptionConstants {
     public static final String EXCLUSIVE_RUNNING_TIME = "exclusive-running-time";
     public static final String EXECUTE_FOR_COORDINATOR = "execute-for-coordinator";
     public static final String EXECUTION_STATUS = "execution-status";
+    public static final String EXPECTED_HASH = "expected-hash";
     public static final String EXPLODE = "explode";
     public static final String EXPRESSIONS_ALLOWED = "expressions-allowed";
     public static final String EXTENSION = "extension";
@@ -287,6 +289,7 @@ public class ModelDescriptionConstants {
     public static final String LEVEL = "level";
     public static final String LDAP = "ldap";
     public static final String LDAP_CONNECTION = "ldap-connection";
+    public static final String LIMIT = "limit";
     public static final String LIST_SNAPSHOTS_OPERATION = "list-snapshots";
     public static final String LIST_MODULES = "list-modules";
     public static final String LOCAL = "local";
@@ -347,6 +350,7 @@ public class ModelDescriptionConstants {
     public static final String NOTIFICATION_TYPE = "notification-type";
     public static final String NOTIFICATIONS = "notifications";
     public static final String NO_SERVICES = "no-services";
+    public static final String OFFSET = "offset";
     /** Use this as the standard operation name field in the operation *request* ModelNode */
     public static final String OP = "operation";
     /** Use this standard operation address field in the operation *request* ModelNode */
@@ -403,6 +407,7 @@ public class ModelDescriptionConstants {
     public static final String PROVIDES = "provides";
     public static final String PROXIES = "proxies";
     public static final String QUERY = "query";
+    public static final String QUEUED_ITEM_COUNT = "queued-item-count";
     public static final String READ = "read";
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
     public static final String READ_ATTRIBUTE_GROUP_OPERATION = "read-attribute-group";
@@ -3632,4 +3632,14 @@ public interface ControllerLogger extends BasicLogger {
 
     @Message(id = 477, value = "Parameter name '%s' is invalid.")
     IllegalArgumentException invalidParameterName(String parameterName);
+
+    @Message(id = 478, value = "Truncated compressed management payload, expected %d bytes but only %d could be inflated")
+    IOException truncatedCompressedPayload(int expected, int inflated);
+
+    @LogMessage(level = WARN)
+    @Message(id = 479, value = "Invalid value '%s' for system property '%s' -- value must be a non-negative integer; using %d")
+    void invalidNonNegativeIntegerProperty(String value, String name, int defaultValue);
+
+    @Message(id = 480, value = "Invalid length %d in compressed management payload, it must be between %d and %d")
+    IOException invalidCompressedPayloadLength(int length, int min, int max);
 }
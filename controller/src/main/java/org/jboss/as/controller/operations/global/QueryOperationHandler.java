@@ -32,6 +32,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RES
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -46,13 +47,17 @@ import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.PropertiesAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.common.ControllerResolver;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.OperationResultTransformer;
 import org.jboss.as.controller.transform.OperationTransformer;
 import org.jboss.as.controller.transform.TransformationContext;
@@ -61,6 +66,13 @@ import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 
 /**
+ * Handler for the global {@code query} operation, which filters and reduces the {@code read-resource} result of
+ * each (possibly wildcard) target.
+ * <p>
+ * Where the targeted resource's {@code where} attributes are all persistent configuration attributes the filter is
+ * first checked against the resource's model, so resources that cannot match are never read. Likewise if both the
+ * {@code where} and the {@code select} attributes are all persistent configuration attributes the runtime attributes,
+ * which the reduce phase would discard anyway, are not read.
  *
  * @author Heiko Braun (c) 2011 Red Hat Inc.
  */
@@ -116,10 +128,15 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
                 ModelDescriptionConstants.READ_RESOURCE_OPERATION
         );
 
+        if (!mayMatch(parentContext, operation, mrr, where, operator)) {
+            // Leave the result undefined, as the filter phase would
+            return;
+        }
+
         final ModelNode readResourceOp = new ModelNode();
         readResourceOp.get(ADDRESS).set(operation.get(ADDRESS));
         readResourceOp.get(OP).set(READ_RESOURCE_OPERATION);
-        readResourceOp.get(INCLUDE_RUNTIME).set(true);
+        readResourceOp.get(INCLUDE_RUNTIME).set(!isConfigurationOnly(mrr, where, select));
 
         // filter/reduce phase
         parentContext.addStep(operation, new FilterReduceHandler(where, operator, select), OperationContext.Stage.MODEL);
@@ -129,6 +146,89 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
 
     }
 
+    /**
+     * Checks the filter against the persistent model of the targeted resource.
+     *
+     * @return {@code false} if the resource cannot match the filter; {@code true} if it matches or if the filter
+     *         can only be checked against the {@code read-resource} result
+     */
+    private static boolean mayMatch(final OperationContext context, final ModelNode operation,
+                                    final ImmutableManagementResourceRegistration mrr, final ModelNode where,
+                                    final Operator operator) {
+        if (!where.isDefined() || mrr.isRemote() || mrr.isRuntimeOnly()) {
+            return true;
+        }
+        final Resource resource;
+        try {
+            resource = context.readResource(PathAddress.EMPTY_ADDRESS, false);
+        } catch (Resource.NoSuchResourceException e) {
+            // Let read-resource deal with it the usual way
+            return true;
+        }
+        if (resource.isProxy() || resource.isRuntime()) {
+            return true;
+        }
+        final ModelNode model = resource.getModel();
+        final ModelNode values = new ModelNode();
+        for (String name : where.keys()) {
+            final AttributeAccess access = getConfigurationAttribute(mrr, name);
+            if (access == null) {
+                return true;
+            }
+            // As read-resource would report it, including the default
+            ModelNode value = model.hasDefined(name) ? model.get(name) : access.getAttributeDefinition().getDefaultValue();
+            if (value == null) {
+                value = new ModelNode();
+            }
+            // Don't let the filter reveal anything about attributes the caller may not read
+            AuthorizationResult authorizationResult = context.authorize(operation, name, value, EnumSet.of(Action.ActionEffect.READ_CONFIG));
+            if (authorizationResult.getDecision() != AuthorizationResult.Decision.PERMIT) {
+                return true;
+            }
+            values.get(name).set(value);
+        }
+        try {
+            return FilterReduceHandler.matchesFilter(values, where, operator);
+        } catch (OperationFailedException e) {
+            // Report it from the filter phase, as before
+            return true;
+        }
+    }
+
+    /**
+     * Whether the query only selects, and only filters on, attributes that {@code read-resource} reads from the model.
+     */
+    private static boolean isConfigurationOnly(final ImmutableManagementResourceRegistration mrr, final ModelNode where,
+                                               final ModelNode select) {
+        if (!select.isDefined() || mrr.isRemote() || mrr.isRuntimeOnly()) {
+            return false;
+        }
+        for (ModelNode name : select.asList()) {
+            if (getConfigurationAttribute(mrr, name.asString()) == null) {
+                return false;
+            }
+        }
+        if (where.isDefined()) {
+            for (String name : where.keys()) {
+                if (getConfigurationAttribute(mrr, name) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the access for an attribute whose {@code read-resource} value comes straight from the model.
+     */
+    private static AttributeAccess getConfigurationAttribute(final ImmutableManagementResourceRegistration mrr, final String name) {
+        final AttributeAccess access = mrr.getAttributeAccess(PathAddress.EMPTY_ADDRESS, name);
+        if (access == null || access.getStorageType() != AttributeAccess.Storage.CONFIGURATION || access.getReadHandler() != null) {
+            return null;
+        }
+        return access;
+    }
+
     static class FilterReduceHandler implements OperationStepHandler {
 
         private static final String UNDEFINED = "undefined";
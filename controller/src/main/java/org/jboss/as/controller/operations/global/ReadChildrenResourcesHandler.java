@@ -32,14 +32,21 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RES
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.CHILD_TYPE;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.INCLUDE_DEFAULTS;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.LIMIT;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.OFFSET;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.PROXIES;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.RECURSIVE;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.RECURSIVE_DEPTH;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationDefinition;
@@ -57,6 +64,10 @@ import org.jboss.dmr.ModelType;
 
 /**
  * {@link org.jboss.as.controller.OperationStepHandler} querying the children resources of a given "child-type".
+ * <p>
+ * The optional {@code offset} and {@code limit} parameters restrict the response to a page of the children, taken
+ * in the same order as the children appear in the response, so clients can walk resources with very many children
+ * without the whole set being read into a single response.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  */
@@ -64,7 +75,7 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
 
 
     static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(READ_CHILDREN_RESOURCES_OPERATION, ControllerResolver.getResolver("global"))
-            .setParameters(CHILD_TYPE, RECURSIVE, RECURSIVE_DEPTH, PROXIES, INCLUDE_RUNTIME, INCLUDE_DEFAULTS)
+            .setParameters(CHILD_TYPE, RECURSIVE, RECURSIVE_DEPTH, PROXIES, INCLUDE_RUNTIME, INCLUDE_DEFAULTS, OFFSET, LIMIT)
             .setReadOnly()
             .setReplyType(ModelType.LIST)
             .setReplyValueType(ModelType.OBJECT)
@@ -77,6 +88,8 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
 
         final PathAddress address = context.getCurrentAddress();
         final String childType = CHILD_TYPE.resolveModelAttribute(context, operation).asString();
+        final int offset = OFFSET.resolveModelAttribute(context, operation).asInt();
+        final ModelNode limit = LIMIT.resolveModelAttribute(context, operation);
 
         // Build up the op we're going to repeatedly execute
         final ModelNode readOp = new ModelNode();
@@ -97,6 +110,10 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
             throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.unknownChildType(childType));
         }
 
+        final Collection<String> page = (offset > 0 || limit.isDefined())
+                ? getPage(childNames, offset, limit.isDefined() ? limit.asInt() : Integer.MAX_VALUE)
+                : childNames;
+
         // Track any excluded items
         FilteredData filteredData = new FilteredData(address);
 
@@ -107,7 +124,7 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
         final ReadChildrenResourcesAssemblyHandler assemblyHandler = new ReadChildrenResourcesAssemblyHandler(resources, filteredData, address, childType);
         context.addStep(assemblyHandler, OperationContext.Stage.MODEL, true);
 
-        for (final String key : childNames) {
+        for (final String key : page) {
             final PathElement childPath = PathElement.pathElement(childType, key);
             final PathAddress childAddress = PathAddress.EMPTY_ADDRESS.append(PathElement.pathElement(childType, key));
 
@@ -129,6 +146,29 @@ public class ReadChildrenResourcesHandler implements OperationStepHandler {
         }
     }
 
+    /**
+     * Gets the names of the children to read for a paged request. The names are sorted the same way as the children
+     * in the response, so consecutive pages neither overlap nor skip children if the set of children is unchanged.
+     * Children later excluded from the response by access control still count towards the page.
+     */
+    private static Collection<String> getPage(final Set<String> childNames, final int offset, final int limit) {
+        if (offset >= childNames.size()) {
+            return Collections.emptyList();
+        }
+        final List<String> page = new ArrayList<>(Math.min(limit, childNames.size() - offset));
+        int index = 0;
+        for (String name : new TreeSet<>(childNames)) {
+            if (index++ < offset) {
+                continue;
+            }
+            page.add(name);
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
     /**
      * Assembles the response to a read-resource request from the components gathered by earlier steps.
      */
@@ -22,6 +22,7 @@
 
 package org.jboss.as.controller.persistence;
 
+import java.io.File;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -32,6 +33,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementReader;
 import org.jboss.staxmapper.XMLElementWriter;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * An XML configuration persister which backs up the old file before overwriting it.
@@ -40,8 +42,20 @@ import org.jboss.staxmapper.XMLElementWriter;
  */
 public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
 
+    /**
+     * Time in milliseconds a committed configuration change may wait before it is written, so the changes committed
+     * within that window are marshalled and written at once. Changes are written immediately if not positive.
+     */
+    private static final long PERSISTENCE_DELAY = Long.parseLong(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.configuration.persistence.delay", "0"));
+
+    /** Whether the operations parsed from the boot file are cached, so an unchanged file is not parsed on the next boot */
+    private static final boolean CACHE_BOOT_OPERATIONS = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.configuration.boot-operation-cache", "false"));
+
     private ConfigurationFile configurationFile;
     private final AtomicBoolean successfulBoot = new AtomicBoolean();
+    private final DeferredConfigurationWriter deferredWriter;
 
     /**
      * Construct a new instance.
@@ -52,8 +66,14 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
      * @param rootDeparser the root model deparser
      */
     public BackupXmlConfigurationPersister(final ConfigurationFile file, final QName rootElement, final XMLElementReader<List<ModelNode>> rootParser, final XMLElementWriter<ModelMarshallingContext> rootDeparser, final boolean suppressLoad) {
+        this(file, rootElement, rootParser, rootDeparser, suppressLoad, PERSISTENCE_DELAY);
+    }
+
+    BackupXmlConfigurationPersister(final ConfigurationFile file, final QName rootElement, final XMLElementReader<List<ModelNode>> rootParser,
+                                    final XMLElementWriter<ModelMarshallingContext> rootDeparser, final boolean suppressLoad, final long persistenceDelay) {
         super(file.getBootFile(), rootElement, rootParser, rootDeparser, suppressLoad);
         this.configurationFile = file;
+        this.deferredWriter = createDeferredWriter(file, persistenceDelay);
     }
 
     /**
@@ -70,6 +90,11 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
                                            final XMLElementWriter<ModelMarshallingContext> rootDeparser, boolean reload, boolean allowEmpty) {
         super(file.getBootFile(), rootElement, rootParser, rootDeparser, isSuppressLoad(file, reload, allowEmpty));
         this.configurationFile = file;
+        this.deferredWriter = createDeferredWriter(file, PERSISTENCE_DELAY);
+    }
+
+    private DeferredConfigurationWriter createDeferredWriter(ConfigurationFile file, long persistenceDelay) {
+        return persistenceDelay > 0 ? new DeferredConfigurationWriter(file, this, persistenceDelay) : null;
     }
 
     private static boolean isSuppressLoad(ConfigurationFile configurationFile, boolean reload, boolean allowEmpty) {
@@ -89,6 +114,12 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
         super.registerAdditionalRootElement(anotherRoot, parser);
     }
 
+    @Override
+    protected File getBootOperationCacheFile() {
+        // With git the history directory is part of the repository
+        return CACHE_BOOT_OPERATIONS && !configurationFile.useGit() ? configurationFile.getBootOperationCacheFile() : null;
+    }
+
     @Override
     public void successfulBoot() throws ConfigurationPersistenceException {
         if(successfulBoot.compareAndSet(false, true)) {
@@ -117,11 +148,23 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
                 }
             };
         }
+        if (deferredWriter != null) {
+            return deferredWriter.store(model);
+        }
         return new ConfigurationFilePersistenceResource(model, configurationFile, this);
     }
 
+    @Override
+    public void flush() {
+        if (deferredWriter != null) {
+            deferredWriter.flush();
+        }
+    }
+
     @Override
     public String snapshot(String name, String comment) throws ConfigurationPersistenceException {
+        // the snapshot must include the changes not written yet
+        flush();
         return configurationFile.snapshot(name, comment);
     }
 
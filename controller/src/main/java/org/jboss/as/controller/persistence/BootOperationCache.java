@@ -0,0 +1,221 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.Extension;
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleLoader;
+
+/**
+ * Caches the operations parsed from a configuration file, so they can be loaded without parsing the file again
+ * on the next boot.
+ * <p>
+ * The cached operations are only used if the configuration file, the classes of the root parser, the
+ * {@link FingerprintedParser#getInputsFingerprint() inputs} of the root parser and the extension modules named by the
+ * cached operations are unchanged. Changes to classes and modules are detected by the size and
+ * modification time of the jar or file they are loaded from. A cache that cannot be validated is ignored.
+ */
+final class BootOperationCache {
+
+    private static final int MAGIC = 0x626f6f74; // "boot"
+    private static final int FORMAT_VERSION = 2;
+
+    private final File configurationFile;
+    private final File cacheFile;
+    private final Class<?> rootParserClass;
+    private final String parserInputs;
+
+    /**
+     * @param configurationFile the parsed configuration file
+     * @param cacheFile the file the operations are cached in
+     * @param rootParserClass the class of the root parser
+     * @param parserInputs a fingerprint of the inputs of the root parser other than the configuration file
+     */
+    BootOperationCache(final File configurationFile, final File cacheFile, final Class<?> rootParserClass, final String parserInputs) {
+        this.configurationFile = configurationFile;
+        this.cacheFile = cacheFile;
+        this.rootParserClass = rootParserClass;
+        this.parserInputs = parserInputs;
+    }
+
+    /**
+     * Reads the cached operations.
+     *
+     * @return the operations, or {@code null} if there is no valid cache for the current configuration file
+     */
+    List<ModelNode> read() {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION
+                    || !input.readUTF().equals(digest(configurationFile))
+                    || !input.readUTF().equals(fingerprint(rootParserClass))
+                    || !input.readUTF().equals(parserInputs)) {
+                ROOT_LOGGER.debugf("Ignoring outdated boot operation cache %s", cacheFile);
+                return null;
+            }
+            final int moduleCount = input.readInt();
+            for (int i = 0; i < moduleCount; i++) {
+                final String moduleName = input.readUTF();
+                if (!input.readUTF().equals(fingerprint(moduleName))) {
+                    ROOT_LOGGER.debugf("Ignoring boot operation cache %s as module %s changed", cacheFile, moduleName);
+                    return null;
+                }
+            }
+            final int operationCount = input.readInt();
+            final List<ModelNode> operations = new ArrayList<>(operationCount);
+            for (int i = 0; i < operationCount; i++) {
+                final ModelNode operation = new ModelNode();
+                operation.readExternal(input);
+                operations.add(operation);
+            }
+            ROOT_LOGGER.debugf("Loaded %d boot operations from cache %s", operationCount, cacheFile);
+            return operations;
+        } catch (Exception e) {
+            ROOT_LOGGER.debugf(e, "Ignoring unreadable boot operation cache %s", cacheFile);
+            return null;
+        }
+    }
+
+    /**
+     * Caches the operations parsed from the configuration file. Failures are logged and otherwise ignored.
+     *
+     * @param operations the operations
+     */
+    void write(final List<ModelNode> operations) {
+        final File tempFile = FilePersistenceUtils.createTempFile(cacheFile);
+        try {
+            final Map<String, String> modules = new LinkedHashMap<>();
+            for (ModelNode operation : operations) {
+                if (!operation.hasDefined(ModelDescriptionConstants.OP_ADDR)) {
+                    continue;
+                }
+                final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+                if (address.size() == 1 && ModelDescriptionConstants.EXTENSION.equals(address.getElement(0).getKey())) {
+                    final String moduleName = address.getElement(0).getValue();
+                    modules.put(moduleName, fingerprint(moduleName));
+                }
+            }
+            final String parserFingerprint = fingerprint(rootParserClass);
+            if (parserFingerprint.isEmpty() || modules.containsValue("")) {
+                ROOT_LOGGER.debugf("Not caching boot operations of %s as its modules cannot be fingerprinted", configurationFile);
+                return;
+            }
+            cacheFile.getParentFile().mkdirs();
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeUTF(digest(configurationFile));
+                output.writeUTF(parserFingerprint);
+                output.writeUTF(parserInputs);
+                output.writeInt(modules.size());
+                for (Map.Entry<String, String> module : modules.entrySet()) {
+                    output.writeUTF(module.getKey());
+                    output.writeUTF(module.getValue());
+                }
+                output.writeInt(operations.size());
+                for (ModelNode operation : operations) {
+                    operation.writeExternal(output);
+                }
+            }
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            ROOT_LOGGER.debugf(e, "Failed to write boot operation cache %s", cacheFile);
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    private static String digest(final File file) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        try (InputStream input = new DigestInputStream(new BufferedInputStream(new FileInputStream(file)), messageDigest)) {
+            final byte[] buffer = new byte[8192];
+            while (input.read(buffer) != -1) {
+                // just digest
+            }
+        }
+        return HashUtil.bytesToHexString(messageDigest.digest());
+    }
+
+    /**
+     * @return a fingerprint of the jar or file the module's extension is loaded from, or an empty string if there is
+     *         no such file
+     */
+    private static String fingerprint(final String moduleName) throws Exception {
+        final ModuleLoader moduleLoader = Module.getCallerModuleLoader();
+        if (moduleLoader == null) {
+            return "";
+        }
+        final Module module = moduleLoader.loadModule(moduleName);
+        return fingerprint(module.getClassLoader().getResource("META-INF/services/" + Extension.class.getName()));
+    }
+
+    private static String fingerprint(final Class<?> clazz) throws IOException, URISyntaxException {
+        final String className = clazz.getName();
+        return fingerprint(clazz.getResource(className.substring(className.lastIndexOf('.') + 1) + ".class"));
+    }
+
+    private static String fingerprint(final URL resource) throws IOException, URISyntaxException {
+        if (resource == null) {
+            return "";
+        }
+        URL location = resource;
+        if ("jar".equals(resource.getProtocol())) {
+            location = ((JarURLConnection) resource.openConnection()).getJarFileURL();
+        }
+        if (!"file".equals(location.getProtocol())) {
+            return "";
+        }
+        final File file = new File(location.toURI());
+        return location + ";" + file.length() + ";" + file.lastModified();
+    }
+}
@@ -503,6 +503,11 @@ public class ConfigurationFile {
         return this.serverTempDir;
     }
 
+    /** The file in which the operations parsed from the boot file are cached */
+    File getBootOperationCacheFile() {
+        return new File(historyRoot, mainFile.getName() + ".boot-ops");
+    }
+
     /** Notification that boot has completed successfully and the configuration history should be updated */
     void successfulBoot() throws ConfigurationPersistenceException {
         synchronized (this) {
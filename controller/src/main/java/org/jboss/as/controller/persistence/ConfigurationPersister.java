@@ -106,6 +106,15 @@ public interface ConfigurationPersister {
      */
     void successfulBoot() throws ConfigurationPersistenceException;
 
+    /**
+     * Writes any configuration that was {@link PersistenceResource#commit() committed} but whose write to the
+     * backing storage was deferred. Called when the controller stops.
+     * <p>
+     * The default implementation does nothing.
+     */
+    default void flush() {
+    }
+
     /**
      * Take a snapshot of the current configuration
      *
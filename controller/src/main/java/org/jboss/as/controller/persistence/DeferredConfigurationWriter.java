@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Coalesces the configurations committed within a time window into a single write of the configuration file.
+ * The first commit after a write schedules the next write; only the latest configuration committed before it runs
+ * is marshalled and written. Configurations committed but not yet written are lost if the process dies before the
+ * write, and a failure to marshal or write the configuration is only logged, as the operations have completed by then.
+ */
+final class DeferredConfigurationWriter {
+
+    private final ConfigurationFile configurationFile;
+    private final AbstractConfigurationPersister persister;
+    private final long delay;
+    private final ScheduledThreadPoolExecutor executor;
+    /** Serializes writes, so a flush does not return while an earlier write is still in progress */
+    private final Object writeLock = new Object();
+    /** The model of the latest commit not yet written. Guarded by {@code this} */
+    private ModelNode pending;
+    /** The number of commits coalesced into {@link #pending}. Guarded by {@code this} */
+    private int coalesced;
+    /** Guarded by {@code this} */
+    private ScheduledFuture<?> scheduledWrite;
+
+    DeferredConfigurationWriter(final ConfigurationFile configurationFile, final AbstractConfigurationPersister persister, final long delay) {
+        this.configurationFile = configurationFile;
+        this.persister = persister;
+        this.delay = delay;
+        final ThreadFactory threadFactory = AccessController.doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("configuration-persister-thread"), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        this.executor = new ScheduledThreadPoolExecutor(1, threadFactory);
+        // Don't keep an idle thread around when there is nothing to write
+        executor.setKeepAliveTime(delay + 1000, TimeUnit.MILLISECONDS);
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates the resource of a store operation, whose commit defers marshalling and writing {@code model}.
+     *
+     * @param model the model to store
+     * @return a resource deferring the write of {@code model}
+     */
+    ConfigurationPersister.PersistenceResource store(final ModelNode model) {
+        return new ConfigurationPersister.PersistenceResource() {
+            @Override
+            public void commit() {
+                deferWrite(model);
+            }
+
+            @Override
+            public void rollback() {
+                // nothing was deferred yet
+            }
+        };
+    }
+
+    private synchronized void deferWrite(final ModelNode model) {
+        pending = model;
+        coalesced++;
+        if (scheduledWrite == null) {
+            scheduledWrite = executor.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the latest committed configuration, if it was not written yet.
+     */
+    void flush() {
+        synchronized (writeLock) {
+            final ModelNode model;
+            final int commits;
+            synchronized (this) {
+                model = pending;
+                commits = coalesced;
+                pending = null;
+                coalesced = 0;
+                if (scheduledWrite != null) {
+                    scheduledWrite.cancel(false);
+                    scheduledWrite = null;
+                }
+            }
+            if (model != null) {
+                final long start = System.nanoTime();
+                final ConfigurationPersister.PersistenceResource resource;
+                try {
+                    resource = new ConfigurationFilePersistenceResource(model, configurationFile, persister);
+                } catch (ConfigurationPersistenceException e) {
+                    MGMT_OP_LOGGER.failedToStoreConfiguration(e, configurationFile.getMainFile().getName());
+                    return;
+                }
+                // failures to write the file are logged by the resource
+                resource.commit();
+                MGMT_OP_LOGGER.debugf("Stored %d configuration change(s) to %s in %d ms", commits,
+                        configurationFile.getMainFile().getName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }
+    }
+}
@@ -110,6 +110,16 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             return new ArrayList<>();
         }
 
+        final File cacheFile = getBootOperationCacheFile();
+        final BootOperationCache cache = cacheFile == null ? null : new BootOperationCache(fileName, cacheFile, rootParser.getClass(),
+                rootParser instanceof FingerprintedParser ? ((FingerprintedParser) rootParser).getInputsFingerprint() : "");
+        if (cache != null) {
+            final List<ModelNode> cached = cache.read();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
         synchronized (additionalParsers) {
@@ -144,9 +154,23 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         } catch (Exception e) {
             throw ControllerLogger.ROOT_LOGGER.failedToParseConfiguration(e);
         }
+        if (cache != null) {
+            cache.write(updates);
+        }
         return updates;
     }
 
+    /**
+     * Gets the file in which the operations parsed from the configuration file are cached, so they can be loaded
+     * without parsing the file on the next boot if it is unchanged. This base method returns {@code null}, which
+     * disables the cache.
+     *
+     * @return the cache file, or {@code null} if the parsed operations should not be cached
+     */
+    protected File getBootOperationCacheFile() {
+        return null;
+    }
+
     private boolean reportValidationError(final XMLStreamException exception) {
         return new WildFlyErrorReporter(this.fileName,
                                         ControllerLogger.ROOT_LOGGER)
@@ -259,6 +259,48 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Copies the child providers to {@code copy} without copying the children registered with the default providers,
+     * so the copy and this resource share those children. Other providers are cloned, as by {@link #cloneProviders}.
+     *
+     * @param copy the copy of this resource
+     */
+    void shareProviders(AbstractModelResource copy) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                copy.registerResourceProvider(entry.getKey(), provider instanceof DefaultResourceProvider
+                        ? ((DefaultResourceProvider) provider).copy()
+                        : provider.clone());
+            }
+        }
+    }
+
+    /**
+     * Gets whether children of the given type are registered with a default provider, which
+     * {@link #shareProviders(AbstractModelResource)} shares rather than clones.
+     *
+     * @param childType the child type
+     * @return {@code true} if the children are held by a default provider
+     */
+    boolean hasDefaultProvider(String childType) {
+        return getProvider(childType) instanceof DefaultResourceProvider;
+    }
+
+    /**
+     * Replaces a child registered with a default provider, keeping its position among its siblings.
+     *
+     * @param address the address of the child
+     * @param resource the replacement
+     * @return {@code true} if the child was replaced; {@code false} if there is no such child or it is provided by
+     *         a custom {@link ResourceProvider}
+     */
+    boolean replaceChild(PathElement address, Resource resource) {
+        final ResourceProvider provider = getProvider(address.getKey());
+        return provider instanceof DefaultResourceProvider
+                && ((DefaultResourceProvider) provider).replace(address.getValue(), resource);
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
@@ -340,6 +382,24 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
             }
         }
 
+        boolean replace(String name, Resource resource) {
+            synchronized (children) {
+                if (!children.containsKey(name)) {
+                    return false;
+                }
+                children.put(name, resource);
+                return true;
+            }
+        }
+
+        DefaultResourceProvider copy() {
+            final DefaultResourceProvider provider = new DefaultResourceProvider();
+            synchronized (children) {
+                provider.children.putAll(children);
+            }
+            return provider;
+        }
+
         @Override
         public ResourceProvider clone() {
             final DefaultResourceProvider provider = new DefaultResourceProvider();
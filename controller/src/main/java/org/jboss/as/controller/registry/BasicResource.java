@@ -90,4 +90,23 @@ class BasicResource extends AbstractModelResource implements Resource {
         return clone;
     }
 
+    /**
+     * Creates a copy with its own model that shares the children of this resource.
+     *
+     * @return the copy. Will not return {@code null}
+     */
+    BasicResource copyWithSharedChildren() {
+        final BasicResource copy = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
+        for (;;) {
+            try {
+                copy.writeModel(model);
+                break;
+            } catch (ConcurrentModificationException ignore) {
+                // see clone()
+            }
+        }
+        shareProviders(copy);
+        return copy;
+    }
+
 }
@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.jboss.as.controller.PathElement;
+
+/**
+ * A private copy of a resource tree that only copies the resources that are actually modified. Resources that are not
+ * modified remain shared with the original tree, which therefore must not be modified while this copy is in use.
+ *
+ * <p>Resources of the copy may only be modified after they were obtained with {@link #getChildForUpdate} or
+ * passed to {@link #prepareForUpdate}. Children must be added to and removed from resources that are not yet
+ * private to the copy via {@link #registerChild} and {@link #removeChild}.</p>
+ *
+ * <p>Concurrency note: this class is thread safe. During boot several threads update the same copy, each of them
+ * working on a different part of the tree, so all operations on the tree are atomic.</p>
+ */
+public final class CopyOnWriteResourceTree {
+
+    /** Copies whose model is private, but whose children may still be shared with the original tree. Guarded by this */
+    private final Set<Resource> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+    /** Resources that, including all of their descendants, are private to this tree. Guarded by this */
+    private final Set<Resource> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Resource root;
+
+    private CopyOnWriteResourceTree(final Resource original) {
+        this.root = copy(original);
+    }
+
+    /**
+     * Creates a copy of a resource tree. Only the root resource is copied until resources are obtained for update.
+     *
+     * @param root the root of the tree to copy. Cannot be {@code null}
+     * @return the copy. Will not return {@code null}
+     */
+    public static CopyOnWriteResourceTree copyOf(final Resource root) {
+        return new CopyOnWriteResourceTree(root);
+    }
+
+    /**
+     * Gets the root of the copy. Children may be registered with or removed from the root via {@link #registerChild}
+     * and {@link #removeChild}.
+     *
+     * @return the root resource. Will not return {@code null}
+     */
+    public Resource getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets a child of a resource of this copy, copying the child if it is still shared with the original tree.
+     * Children may be registered with or removed from the returned resource via {@link #registerChild} and
+     * {@link #removeChild}, and its model may be modified.
+     *
+     * @param parent the parent, obtained from {@link #getRoot()} or this method
+     * @param address the address of the child, relative to the parent
+     * @return the child, or {@code null} if there is no such child
+     */
+    public synchronized Resource getChildForUpdate(final Resource parent, final PathElement address) {
+        final Resource child = parent.getChild(address);
+        if (child == null || owned.contains(child) || copied.contains(child)) {
+            return child;
+        }
+        if (owned.contains(parent) || !((AbstractModelResource) parent).hasDefaultProvider(address.getKey())) {
+            // The child was already cloned along with its parent or its provider
+            owned.add(child);
+            return child;
+        }
+        assert copied.contains(parent) : "not a resource of this tree";
+        final Resource copy = copy(child);
+        ((AbstractModelResource) parent).replaceChild(address, copy);
+        return copy;
+    }
+
+    /**
+     * Copies all descendants of a resource of this copy that are still shared with the original tree, so the
+     * resource may be handed out for arbitrary modifications.
+     *
+     * @param resource a resource obtained from {@link #getRoot()} or {@link #getChildForUpdate}
+     */
+    public synchronized void prepareForUpdate(final Resource resource) {
+        if (owned.contains(resource)) {
+            return;
+        }
+        final boolean wasCopied = copied.remove(resource);
+        assert wasCopied : "not a resource of this tree";
+        final AbstractModelResource parent = (AbstractModelResource) resource;
+        for (String childType : parent.getChildTypes()) {
+            if (!parent.hasDefaultProvider(childType)) {
+                // cloned along with the parent
+                continue;
+            }
+            for (String name : parent.getChildrenNames(childType)) {
+                final PathElement address = PathElement.pathElement(childType, name);
+                final Resource child = parent.getChild(address);
+                if (copied.contains(child)) {
+                    prepareForUpdate(child);
+                } else if (!owned.contains(child)) {
+                    parent.replaceChild(address, child.clone());
+                }
+            }
+        }
+        owned.add(resource);
+    }
+
+    /**
+     * Registers a new child with a resource of this copy. The child is private to this copy, so it is not copied
+     * when obtained for update.
+     *
+     * @param parent the parent, obtained from {@link #getRoot()} or {@link #getChildForUpdate}
+     * @param address the address of the child, relative to the parent
+     * @param index the index at which to register the child, or {@code -1} to add it at the end
+     * @param child the child to register
+     */
+    public synchronized void registerChild(final Resource parent, final PathElement address, final int index, final Resource child) {
+        if (index < 0) {
+            parent.registerChild(address, child);
+        } else {
+            parent.registerChild(address, index, child);
+        }
+        owned.add(child);
+    }
+
+    /**
+     * Removes a child from a resource of this copy.
+     *
+     * @param parent the parent, obtained from {@link #getRoot()} or {@link #getChildForUpdate}
+     * @param address the address of the child, relative to the parent
+     * @return the removed child, or {@code null} if there was no such child
+     */
+    public synchronized Resource removeChild(final Resource parent, final PathElement address) {
+        return parent.removeChild(address);
+    }
+
+    private Resource copy(final Resource resource) {
+        if (resource.getClass() == BasicResource.class) {
+            final Resource copy = ((BasicResource) resource).copyWithSharedChildren();
+            copied.add(copy);
+            return copy;
+        }
+        final Resource clone = resource.clone();
+        owned.add(clone);
+        return clone;
+    }
+}
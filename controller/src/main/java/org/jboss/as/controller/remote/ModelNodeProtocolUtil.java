@@ -0,0 +1,229 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.protocol.mgmt.ManagementChannelAssociation;
+import org.jboss.as.protocol.mgmt.ProtocolUtils;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Utility for writing and reading the {@link ModelNode} payloads of transactional requests and responses, and of the
+ * domain model sent to a registering slave host controller.
+ *
+ * If both ends of the channel have agreed on {@link TransactionalProtocolClient#SEND_COMPRESSED} each payload is preceded
+ * by a marker byte, and payloads whose {@link ModelNode#writeExternal(DataOutput) external form} exceeds a threshold are
+ * sent deflated, unless deflating does not make them smaller. Otherwise the payload is written exactly as before, so
+ * channels to older processes are unaffected.
+ */
+public final class ModelNodeProtocolUtil {
+
+    private static final byte RAW = 0x00;
+    private static final byte DEFLATED = 0x01;
+
+    /** System property setting the size in bytes from which payloads are sent deflated. */
+    static final String COMPRESSION_THRESHOLD_PROPERTY = "org.wildfly.management.compression-threshold";
+
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 16384;
+
+    /**
+     * The largest inflated payload that is accepted. The lengths in a deflated payload are read before anything is
+     * allocated, so they must be bounded rather than trusted. Larger payloads are always sent raw.
+     */
+    static final int MAX_DEFLATED_PAYLOAD_SIZE = 256 * 1024 * 1024;
+
+    /** Payloads smaller than this are not worth the cost of deflating them. */
+    private static final int COMPRESSION_THRESHOLD = parseThreshold(WildFlySecurityManager.getPropertyPrivileged(COMPRESSION_THRESHOLD_PROPERTY, null));
+
+    /**
+     * Parse the value of the {@link #COMPRESSION_THRESHOLD_PROPERTY} system property.
+     *
+     * @param value the property value, may be {@code null}
+     * @return the compression threshold
+     */
+    static int parseThreshold(final String value) {
+        if (value == null) {
+            return DEFAULT_COMPRESSION_THRESHOLD;
+        }
+        try {
+            final int threshold = Integer.parseInt(value.trim());
+            if (threshold >= 0) {
+                return threshold;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        ControllerLogger.ROOT_LOGGER.invalidNonNegativeIntegerProperty(value, COMPRESSION_THRESHOLD_PROPERTY, DEFAULT_COMPRESSION_THRESHOLD);
+        return DEFAULT_COMPRESSION_THRESHOLD;
+    }
+
+    private ModelNodeProtocolUtil() {
+    }
+
+    /**
+     * Gets whether both ends of the channel have agreed on sending compressed payloads.
+     *
+     * @param channelAssociation the channel association
+     * @return {@code true} if {@link TransactionalProtocolClient#SEND_COMPRESSED} is attached
+     */
+    public static boolean isCompressed(final ManagementChannelAssociation channelAssociation) {
+        final Boolean compressed = channelAssociation.getAttachments().getAttachment(TransactionalProtocolClient.SEND_COMPRESSED);
+        return compressed != null && compressed;
+    }
+
+    /**
+     * Write a payload.
+     *
+     * @param output the output
+     * @param node the payload
+     * @param compressed whether the remote side accepts compressed payloads
+     * @throws IOException for any error
+     */
+    public static void write(final DataOutput output, final ModelNode node, final boolean compressed) throws IOException {
+        write(output, node, compressed, COMPRESSION_THRESHOLD);
+    }
+
+    static void write(final DataOutput output, final ModelNode node, final boolean compressed, final int threshold) throws IOException {
+        if (!compressed) {
+            node.writeExternal(output);
+            return;
+        }
+        final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(raw)) {
+            node.writeExternal(dos);
+        }
+        if (raw.size() < threshold || raw.size() > MAX_DEFLATED_PAYLOAD_SIZE) {
+            writeRaw(output, raw);
+            return;
+        }
+        final ByteArrayOutputStream deflated = new ByteArrayOutputStream(raw.size() / 4);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream dos = new DeflaterOutputStream(deflated, deflater)) {
+            raw.writeTo(dos);
+        } finally {
+            deflater.end();
+        }
+        if (deflated.size() >= raw.size()) {
+            // Incompressible, the reader only accepts deflated payloads that are smaller than their inflated form
+            writeRaw(output, raw);
+            return;
+        }
+        output.writeByte(DEFLATED);
+        output.writeInt(raw.size());
+        output.writeInt(deflated.size());
+        deflated.writeTo(new DataOutputAdapter(output));
+    }
+
+    private static void writeRaw(final DataOutput output, final ByteArrayOutputStream raw) throws IOException {
+        output.writeByte(RAW);
+        raw.writeTo(new DataOutputAdapter(output));
+    }
+
+    /**
+     * Read a payload written by {@link #write(DataOutput, ModelNode, boolean)}.
+     *
+     * @param input the input
+     * @param compressed whether the payload was written for a side accepting compressed payloads
+     * @return the payload
+     * @throws IOException for any error
+     */
+    public static ModelNode read(final DataInput input, final boolean compressed) throws IOException {
+        final ModelNode node = new ModelNode();
+        if (!compressed) {
+            node.readExternal(input);
+            return node;
+        }
+        final byte marker = input.readByte();
+        if (marker == RAW) {
+            node.readExternal(input);
+            return node;
+        }
+        ProtocolUtils.expectHeader(marker, DEFLATED);
+        final int rawLength = input.readInt();
+        if (rawLength < 0 || rawLength > MAX_DEFLATED_PAYLOAD_SIZE) {
+            throw ControllerLogger.ROOT_LOGGER.invalidCompressedPayloadLength(rawLength, 0, MAX_DEFLATED_PAYLOAD_SIZE);
+        }
+        final int deflatedLength = input.readInt();
+        if (deflatedLength < 0 || deflatedLength >= rawLength) {
+            throw ControllerLogger.ROOT_LOGGER.invalidCompressedPayloadLength(deflatedLength, 0, rawLength - 1);
+        }
+        final byte[] deflated = new byte[deflatedLength];
+        input.readFully(deflated);
+        final byte[] raw = new byte[rawLength];
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            int offset = 0;
+            while (offset < raw.length && !inflater.finished()) {
+                final int inflated = inflater.inflate(raw, offset, raw.length - offset);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += inflated;
+            }
+            if (offset != raw.length) {
+                throw ControllerLogger.ROOT_LOGGER.truncatedCompressedPayload(raw.length, offset);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+        node.readExternal(new DataInputStream(new ByteArrayInputStream(raw)));
+        return node;
+    }
+
+    /** Lets {@link ByteArrayOutputStream#writeTo} copy straight into a {@link DataOutput}. */
+    private static final class DataOutputAdapter extends OutputStream {
+
+        private final DataOutput output;
+
+        private DataOutputAdapter(final DataOutput output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            output.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            output.write(b, off, len);
+        }
+    }
+}
@@ -54,6 +54,13 @@ public interface TransactionalProtocolClient {
      */
     Attachments.Key<Boolean> SEND_IN_VM = new Attachments.Key<>(Boolean.class);
 
+    /**
+     * Attachment whether large operation and response payloads may be sent compressed.
+     * <p>
+     * DC > slave HC: negotiated on registration, HostControllerRegistrationHandler > RemoteDomainConnection
+     */
+    Attachments.Key<Boolean> SEND_COMPRESSED = new Attachments.Key<>(Boolean.class);
+
     /**
      * Execute an operation. This returns a future for the final result, which will only available after the prepared
      * operation is committed.
@@ -191,7 +191,7 @@ class TransactionalProtocolClientImpl implements ManagementRequestHandlerFactory
                 inputStreamLength = streams.size();
             }
             output.write(ModelControllerProtocol.PARAM_OPERATION);
-            operation.writeExternal(output);
+            ModelNodeProtocolUtil.write(output, operation, ModelNodeProtocolUtil.isCompressed(channelAssociation));
             output.write(ModelControllerProtocol.PARAM_INPUTSTREAMS_LENGTH);
             output.writeInt(inputStreamLength);
 
@@ -213,8 +213,7 @@ class TransactionalProtocolClientImpl implements ManagementRequestHandlerFactory
         public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<OperationResponse> resultHandler, final ManagementRequestContext<ExecuteRequestContext> context) throws IOException {
             ControllerLogger.MGMT_OP_LOGGER.tracef("received response to ExecuteRequest for %d", context.getOperationId());
             final byte responseType = input.readByte();
-            final ModelNode response = new ModelNode();
-            response.readExternal(input);
+            final ModelNode response = ModelNodeProtocolUtil.read(input, ModelNodeProtocolUtil.isCompressed(channelAssociation));
             // If not prepared the operation failed
             final boolean prepared = responseType == ModelControllerProtocol.PARAM_OPERATION_PREPARED;
             final ExecuteRequestContext executeRequestContext = context.getAttachment();
@@ -298,8 +297,7 @@ class TransactionalProtocolClientImpl implements ManagementRequestHandlerFactory
             ControllerLogger.MGMT_OP_LOGGER.tracef("received response to CompleteTxRequest (%s) for %d", status != ModelControllerProtocol.PARAM_ROLLBACK, context.getOperationId());
             // We only accept operationCompleted responses
             expectHeader(input, ModelControllerProtocol.PARAM_OPERATION_COMPLETED);
-            final ModelNode responseNode = new ModelNode();
-            responseNode.readExternal(input);
+            final ModelNode responseNode = ModelNodeProtocolUtil.read(input, ModelNodeProtocolUtil.isCompressed(channelAssociation));
             // Complete the operation
             resultHandler.done(createOperationResponse(responseNode, channelAssociation, context.getOperationId()));
         }
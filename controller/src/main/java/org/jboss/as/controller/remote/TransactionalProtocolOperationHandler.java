@@ -92,7 +92,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
         switch(request.getOperationId()) {
             case ModelControllerProtocol.EXECUTE_TX_REQUEST: {
                 // Initialize the request context
-                final ExecuteRequestContext executeRequestContext = new ExecuteRequestContext(responseAttachmentSupport);
+                final ExecuteRequestContext executeRequestContext = new ExecuteRequestContext(responseAttachmentSupport, ModelNodeProtocolUtil.isCompressed(channelAssociation));
                 try {
                     executeRequestContext.operation = handlers.registerActiveOperation(request.getBatchId(), executeRequestContext, executeRequestContext);
                 } catch (IllegalStateException ise) {
@@ -102,7 +102,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                 return new ExecuteRequestHandler();
             }
             case ModelControllerProtocol.COMPLETE_TX_REQUEST: {
-                final ExecuteRequestContext executeRequestContext = new ExecuteRequestContext(responseAttachmentSupport);
+                final ExecuteRequestContext executeRequestContext = new ExecuteRequestContext(responseAttachmentSupport, ModelNodeProtocolUtil.isCompressed(channelAssociation));
                 try {
                     executeRequestContext.operation = handlers.registerActiveOperation(request.getBatchId(), executeRequestContext, executeRequestContext);
                     // WLFY-3381 Unusual case where the initial request must have lost a race with a COMPLETE_TX_REQUEST carrying a cancellation
@@ -235,9 +235,8 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
         }
 
         static ExecutableRequest parse(DataInput input, ManagementChannelAssociation channelAssociation) throws IOException {
-            final ModelNode operation = new ModelNode();
             ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_OPERATION);
-            operation.readExternal(input);
+            final ModelNode operation = ModelNodeProtocolUtil.read(input, ModelNodeProtocolUtil.isCompressed(channelAssociation));
             ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_INPUTSTREAMS_LENGTH);
             final int attachmentsLength = input.readInt();
 
@@ -400,9 +399,12 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
 
         /** Support object for managing any streams associated with the response */
         final ResponseAttachmentInputStreamSupport streamSupport;
+        /** Whether the remote side accepts compressed response payloads */
+        final boolean compressed;
 
-        ExecuteRequestContext(final ResponseAttachmentInputStreamSupport streamSupport) {
+        ExecuteRequestContext(final ResponseAttachmentInputStreamSupport streamSupport, final boolean compressed) {
             this.streamSupport = streamSupport;
+            this.compressed = compressed;
         }
 
         Integer getOperationId() {
@@ -633,7 +635,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                     // response type
                     output.writeByte(responseType);
                     // operation result
-                    response.writeExternal(output);
+                    ModelNodeProtocolUtil.write(output, response, context.getAttachment().compressed);
                     // response end
                     output.writeByte(ManagementProtocol.RESPONSE_END);
                     output.close();
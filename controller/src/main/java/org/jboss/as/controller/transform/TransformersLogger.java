@@ -61,6 +61,7 @@ public class TransformersLogger {
     private TransformationTarget target;
     private ControllerLogger logger;
     private List<LogEntry> messageQueue = Collections.synchronizedList(new LinkedList<LogEntry>());
+    private Set<String> recordedWarnings;
     private static final ConcurrentHashMap<String, TransformersLogger> loggers = new ConcurrentHashMap<String, TransformersLogger>();
 
     private TransformersLogger(TransformationTarget target) {
@@ -248,6 +249,40 @@ public class TransformersLogger {
         });
     }
 
+    /**
+     * Starts recording the warnings written by this logger, so they can be written again for another host
+     * which gets the same transformation result.
+     */
+    public void startRecordingWarnings() {
+        synchronized (messageQueue) {
+            recordedWarnings = new LinkedHashSet<String>();
+        }
+    }
+
+    /**
+     * Stops recording the warnings written by this logger.
+     *
+     * @return the warnings written since {@link #startRecordingWarnings()} was called
+     */
+    public Set<String> stopRecordingWarnings() {
+        synchronized (messageQueue) {
+            final Set<String> result = recordedWarnings == null ? Collections.<String>emptySet() : recordedWarnings;
+            recordedWarnings = null;
+            return result;
+        }
+    }
+
+    /**
+     * Writes warnings recorded by the logger of another host for this logger's target host.
+     *
+     * @param warnings the warnings, as returned by {@link #stopRecordingWarnings()}
+     */
+    public void logRecordedWarnings(Set<String> warnings) {
+        if (!warnings.isEmpty()) {
+            logger.transformationWarnings(target.getHostName(), warnings);
+        }
+    }
+
     /**
      * flushes log queue, this actually writes combined log message into system log
      */
@@ -259,6 +294,9 @@ public class TransformersLogger {
                 problems.add("\t\t" + i.next().getMessage() + "\n");
                 i.remove();
             }
+            if (recordedWarnings != null) {
+                recordedWarnings.addAll(problems);
+            }
         }
         if (!problems.isEmpty()) {
             logger.transformationWarnings(target.getHostName(), problems);
@@ -591,6 +591,45 @@ public class CapabilityRegistryTestCase extends AbstractControllerTestBase {
         Assert.assertEquals(expectedCaps(0), capabilityRegistry.getCapabilities().size());
     }
 
+    @Test
+    public void testPublishAndRollbackOfChangedRegistrations() {
+        CapabilityRegistry published = new CapabilityRegistry(true);
+        CapabilityRegistry shadow = published.createShadowCopy();
+        CapabilityId id1 = new CapabilityId(TEST_CAPABILITY1.getName(), CapabilityScope.GLOBAL);
+        CapabilityId id2 = new CapabilityId(TEST_CAPABILITY2.getName(), CapabilityScope.GLOBAL);
+
+        shadow.registerCapability(new RuntimeCapabilityRegistration(TEST_CAPABILITY1, CapabilityScope.GLOBAL,
+                new RegistrationPoint(TEST_ADDRESS1, null)));
+        Assert.assertTrue(shadow.hasCapability(id1.getName(), CapabilityScope.GLOBAL));
+        Assert.assertFalse(published.hasCapability(id1.getName(), CapabilityScope.GLOBAL));
+
+        shadow.publish();
+        Assert.assertTrue(published.hasCapability(id1.getName(), CapabilityScope.GLOBAL));
+
+        // Register a second capability and drop the first, then discard both changes
+        shadow.registerCapability(new RuntimeCapabilityRegistration(TEST_CAPABILITY2, CapabilityScope.GLOBAL,
+                new RegistrationPoint(TEST_ADDRESS2, null)));
+        Assert.assertNotNull(shadow.removeCapability(id1.getName(), CapabilityScope.GLOBAL, TEST_ADDRESS1));
+        shadow.rollback();
+        Assert.assertTrue(shadow.hasCapability(id1.getName(), CapabilityScope.GLOBAL));
+        Assert.assertFalse(shadow.hasCapability(id2.getName(), CapabilityScope.GLOBAL));
+        Assert.assertEquals(1, shadow.getCapability(id1).getRegistrationPointCount());
+
+        // The same changes are visible once published
+        shadow.registerCapability(new RuntimeCapabilityRegistration(TEST_CAPABILITY2, CapabilityScope.GLOBAL,
+                new RegistrationPoint(TEST_ADDRESS2, null)));
+        Assert.assertNotNull(shadow.removeCapability(id1.getName(), CapabilityScope.GLOBAL, TEST_ADDRESS1));
+        shadow.publish();
+        Assert.assertFalse(published.hasCapability(id1.getName(), CapabilityScope.GLOBAL));
+        Assert.assertTrue(published.hasCapability(id2.getName(), CapabilityScope.GLOBAL));
+        Assert.assertEquals(1, published.getCapabilities().size());
+
+        // A cleared shadow replaces the whole published registry
+        shadow.clear();
+        shadow.publish();
+        Assert.assertTrue(published.getCapabilities().isEmpty());
+    }
+
     // Check that subsystem=reload requiring reload prevents runtime execution of
     // subsystem=reload/child=test, since it is incorporated by the parent resource cap
     @Test
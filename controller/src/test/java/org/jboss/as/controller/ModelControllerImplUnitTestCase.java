@@ -67,6 +67,10 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -607,6 +611,40 @@ public class ModelControllerImplUnitTestCase {
         assertEquals(2, result.get(RESULT, "child").asPropertyList().size());
     }
 
+    /**
+     * Tests that a read-only operation keeps reading the model published when it first read, even if another operation
+     * commits a change in the meantime.
+     */
+    @Test
+    public void testReadOnlyOperationReadsSnapshot() throws Exception {
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set("read-twice");
+        operation.get(OP_ADDR).setEmptyList();
+        operation.get(NAME).set("attr1");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<ModelNode> future = executor.submit(() -> controller.execute(operation, null, null, null));
+            assertTrue(ReadTwiceHandler.firstRead.await(10, TimeUnit.SECONDS));
+            ModelNode result = controller.execute(getOperation("good", "attr1", 5), null, null, null);
+            assertEquals(SUCCESS, result.get(OUTCOME).asString());
+            ReadTwiceHandler.proceed.countDown();
+
+            result = future.get(10, TimeUnit.SECONDS);
+            assertEquals(SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(1, result.get(RESULT, 0).asInt());
+            assertEquals(1, result.get(RESULT, 1).asInt());
+        } finally {
+            ReadTwiceHandler.proceed.countDown();
+            executor.shutdownNow();
+        }
+
+        // A new operation reads the committed change
+        ModelNode result = controller.execute(operation, null, null, null);
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertEquals(5, result.get(RESULT, 0).asInt());
+        assertEquals(5, result.get(RESULT, 1).asInt());
+    }
+
     @Test
     public void testRemoveServiceAfterNonRollbackServiceFailure() {
 
@@ -843,6 +881,7 @@ public class ModelControllerImplUnitTestCase {
             rootRegistration.registerOperationHandler(getOD("dependent-service"), new ModelControllerImplUnitTestCase.DependentServiceHandler(),true);
             rootRegistration.registerOperationHandler(getOD("remove-dependent-service"), new ModelControllerImplUnitTestCase.RemoveDependentServiceHandler(),true);
             rootRegistration.registerOperationHandler(getOD("read-wildcards"), new ModelControllerImplUnitTestCase.WildcardReadHandler(),true);
+            rootRegistration.registerOperationHandler(getOD("read-twice"), new ModelControllerImplUnitTestCase.ReadTwiceHandler(),true);
             rootRegistration.registerOperationHandler(getOD("invalid-service-update"), new ModelControllerImplUnitTestCase.InvalidServiceUpdateHandler(),true);
             rootRegistration.registerOperationHandler(getODBuilder("deprecated-op").setDeprecated(ModelVersion.create(1)).build(), new DeprecatedHandler(), true);
 
@@ -1296,6 +1335,35 @@ public class ModelControllerImplUnitTestCase {
 
     }
 
+    /**
+     * Reads an attribute in two steps. The first time it runs, it waits between the steps until the test has changed the model.
+     */
+    static final class ReadTwiceHandler implements OperationStepHandler {
+
+        static final CountDownLatch firstRead = new CountDownLatch(1);
+        static final CountDownLatch proceed = new CountDownLatch(1);
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final String name = operation.require(NAME).asString();
+            context.getResult().add(context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel().get(name));
+            firstRead.countDown();
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    try {
+                        proceed.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new OperationFailedException(e.toString());
+                    }
+                    context.getResult().add(context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel().get(name));
+                }
+            }, OperationContext.Stage.MODEL);
+        }
+
+    }
+
     public static class InvalidServiceUpdateHandler implements OperationStepHandler {
         @Override
         public void execute(OperationContext context,final ModelNode operation) {
@@ -28,6 +28,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SER
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
+import java.util.Collections;
+
 import org.jboss.as.controller._private.OperationFailedRuntimeException;
 import org.jboss.dmr.ModelNode;
 import org.junit.Assert;
@@ -162,6 +164,41 @@ public class PathAddressTestCase {
         PathAddress.pathAddress(new ModelNode().add(SERVER, "1").add(HOST, "2").add(HOST, "*"));
     }
 
+    @Test(expected=OperationFailedRuntimeException.class)
+    public void testDuplicateFailsAppend() {
+        PathAddress.pathAddress(PathElement.pathElement("one", "1"), PathElement.pathElement("two", "2")).append("one", "3");
+    }
+
+    @Test
+    public void testAppendServerAddress() {
+        // Keys of the server part of the address are independent of the host part
+        PathAddress serverAddress = PathAddress.pathAddress(HOST, "1").append(SERVER, "2");
+        PathAddress address = serverAddress.append(HOST, "3").append(SERVER, "4");
+        Assert.assertEquals(4, address.size());
+        Assert.assertEquals(PathAddress.pathAddress(address.toModelNode()), address);
+        Assert.assertSame(serverAddress, serverAddress.append(Collections.emptyList()));
+    }
+
+    @Test
+    public void testHashCodeAndEquals() {
+        PathAddress address = PathAddress.pathAddress(new ModelNode().add("one", "1").add("two", "2").add("three", "3"));
+        PathAddress appended = PathAddress.pathAddress("one", "1").append("two", "2").append("three", "3");
+        PathAddress different = address.getParent().append("three", "4");
+
+        Assert.assertEquals(address, appended);
+        Assert.assertEquals(address.hashCode(), appended.hashCode());
+        // Repeat now the hash codes are cached
+        Assert.assertEquals(address, appended);
+        Assert.assertEquals(address.hashCode(), appended.hashCode());
+        Assert.assertEquals(address.getParent(), appended.subAddress(0, 2));
+        Assert.assertEquals(address.getParent().hashCode(), appended.subAddress(0, 2).hashCode());
+
+        Assert.assertNotEquals(address, different);
+        different.hashCode();
+        Assert.assertNotEquals(address, different);
+        Assert.assertNotEquals(different, address);
+    }
+
     @Test
     public void testParseCLIStyleAddress() {
         assertThat(PathAddress.parseCLIStyleAddress(""), is(PathAddress.EMPTY_ADDRESS));
@@ -18,7 +18,11 @@
 
 package org.jboss.as.controller;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.global.GlobalNotifications;
 import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -52,6 +56,9 @@ public class ValidateModelTestCase extends AbstractControllerTestBase {
 
 
     private static PathAddress TEST_ADDRESS = PathAddress.pathAddress("subsystem", "test");
+    private static PathAddress OTHER_ADDRESS = PathAddress.pathAddress("subsystem", "other");
+    private static PathAddress FIRST_ITEM_ADDRESS = PathAddress.pathAddress("item", "first");
+    private static PathAddress SECOND_ITEM_ADDRESS = PathAddress.pathAddress("item", "second");
 
     @Override
     protected void initModel(ManagementModel managementModel) {
@@ -60,13 +67,16 @@ public class ValidateModelTestCase extends AbstractControllerTestBase {
         GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
         // register the global notifications so there is no warning that emitted notifications are not described by the resource.
         GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+        rootRegistration.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE);
 
-        ResourceDefinition profileDefinition = createDummyProfileResourceDefinition();
+        ResourceDefinition profileDefinition = createDummyProfileResourceDefinition(TEST_ADDRESS.getElement(0));
         rootRegistration.registerSubModel(profileDefinition);
+        rootRegistration.registerSubModel(createDummyProfileResourceDefinition(OTHER_ADDRESS.getElement(0)));
+        rootRegistration.registerSubModel(createDummyProfileResourceDefinition(PathElement.pathElement("item")));
     }
 
-    private static ResourceDefinition createDummyProfileResourceDefinition() {
-        return ResourceBuilder.Factory.create(TEST_ADDRESS.getElement(0),
+    private static ResourceDefinition createDummyProfileResourceDefinition(PathElement pathElement) {
+        return ResourceBuilder.Factory.create(pathElement,
                 new NonResolvingResourceDescriptionResolver())
                 .setAddOperation(new AbstractAddStepHandler() {
 
@@ -168,4 +178,49 @@ public class ValidateModelTestCase extends AbstractControllerTestBase {
 
         executeCheckNoFailure(createOperation("remove", TEST_ADDRESS));
     }
+
+    @Test
+    public void testAlternativesInComposite() throws OperationFailedException {
+        ModelNode valid = createOperation("add", TEST_ADDRESS);
+        valid.get("alter2").set("some test value");
+        ModelNode invalid = createOperation("add", OTHER_ADDRESS);
+        invalid.get("other").set("some test value");
+        invalid.get("alter2").set("some test value");
+        executeCheckForFailure(createComposite(valid, invalid));
+
+        invalid.remove("other");
+        executeCheckNoFailure(createComposite(valid, invalid));
+
+        executeCheckNoFailure(createComposite(createOperation("remove", TEST_ADDRESS), createOperation("remove", OTHER_ADDRESS)));
+    }
+
+    @Test
+    public void testAlternativesInCompositeOfSameRegistration() throws OperationFailedException {
+        ModelNode valid = createOperation("add", FIRST_ITEM_ADDRESS);
+        valid.get("alter2").set("some test value");
+        valid.get("object", "alter2").set("some test value");
+        ModelNode invalid = createOperation("add", SECOND_ITEM_ADDRESS);
+        invalid.get("alter2").set("some test value");
+        invalid.get("object", "other").set("some test value");
+        invalid.get("object", "alter2").set("some test value");
+        executeCheckForFailure(createComposite(valid, invalid));
+
+        invalid.get("object").remove("other");
+        invalid.get("other").set("some test value");
+        executeCheckForFailure(createComposite(valid, invalid));
+
+        invalid.remove("other");
+        executeCheckNoFailure(createComposite(valid, invalid));
+
+        executeCheckNoFailure(createComposite(createOperation("remove", FIRST_ITEM_ADDRESS), createOperation("remove", SECOND_ITEM_ADDRESS)));
+    }
+
+    private static ModelNode createComposite(ModelNode... ops) {
+        ModelNode composite = Util.createEmptyOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS);
+        ModelNode steps = composite.get(STEPS);
+        for (ModelNode op : ops) {
+            steps.add(op.clone());
+        }
+        return composite;
+    }
 }
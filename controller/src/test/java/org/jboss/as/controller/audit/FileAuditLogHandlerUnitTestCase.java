@@ -25,6 +25,9 @@ package org.jboss.as.controller.audit;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.junit.After;
@@ -65,10 +68,28 @@ public class FileAuditLogHandlerUnitTestCase {
         Assert.assertEquals("Log file was rotated but shouldn't have been", 1, confDir.list().length);
     }
 
-    private void initializeHandler(boolean rotateAtStartup) {
+    @Test
+    public void testBatchWrittenAtEnd() throws IOException {
+        FileAuditLogHandler auditLogHandler = initializeHandler(false);
+        auditLogHandler.writeLogItem("one");
+        Assert.assertEquals(Arrays.asList("one"), Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+
+        auditLogHandler.startBatch();
+        auditLogHandler.writeLogItem("two");
+        auditLogHandler.writeLogItem("three");
+        Assert.assertEquals(Arrays.asList("one"), Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+        auditLogHandler.endBatch();
+        Assert.assertEquals(Arrays.asList("one", "two", "three"), Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+
+        auditLogHandler.writeLogItem("four");
+        Assert.assertEquals(Arrays.asList("one", "two", "three", "four"), Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    private FileAuditLogHandler initializeHandler(boolean rotateAtStartup) {
         FileAuditLogHandler auditLogHandler =
                 new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, rotateAtStartup);
         auditLogHandler.initialize();
+        return auditLogHandler;
     }
 
     private static File createTempDir() {
@@ -0,0 +1,211 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.core.security.AccessMechanism;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the background writer of {@link ManagedAuditLoggerImpl}.
+ */
+public class ManagedAuditLoggerImplUnitTestCase {
+
+    private final RecordingHandler handler = new RecordingHandler();
+    private ManagedAuditLoggerImpl logger;
+
+    @After
+    public void stopLogger() {
+        handler.release();
+        if (logger != null) {
+            logger.stop();
+        }
+    }
+
+    @Test
+    public void testItemsDiscardedWhenQueueIsFull() throws Exception {
+        logger = createLogger(2, true);
+        handler.block();
+        log("one");
+        handler.awaitWriting();
+
+        log("two");
+        log("three");
+        Assert.assertEquals(2, logger.getQueuedItemCount());
+        Assert.assertEquals(0, logger.getDiscardedItemCount());
+        log("four");
+        Assert.assertEquals(2, logger.getQueuedItemCount());
+        Assert.assertEquals(1, logger.getDiscardedItemCount());
+
+        handler.release();
+        logger.stop();
+        Assert.assertEquals(Arrays.asList("one", "two", "three"), handler.getWritten());
+        Assert.assertEquals(0, logger.getQueuedItemCount());
+    }
+
+    @Test
+    public void testLoggingThreadWritesWhenQueueIsFull() throws Exception {
+        logger = createLogger(2, false);
+        handler.block();
+        log("one");
+        handler.awaitWriting();
+
+        log("two");
+        log("three");
+        Thread overflow = new Thread(() -> log("four"));
+        overflow.start();
+        // waits for the writer thread to finish its batch
+        overflow.join(100);
+        Assert.assertTrue(overflow.isAlive());
+
+        handler.release();
+        overflow.join(TimeUnit.SECONDS.toMillis(10));
+        Assert.assertFalse(overflow.isAlive());
+        logger.stop();
+        Assert.assertEquals(Arrays.asList("one", "two", "three", "four"), handler.getWritten());
+        Assert.assertEquals(0, logger.getDiscardedItemCount());
+    }
+
+    @Test
+    public void testQueueWrittenOnStop() throws Exception {
+        logger = createLogger(16, false);
+        List<String> logged = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            logged.add(String.valueOf(i));
+            log(String.valueOf(i));
+        }
+        logger.stop();
+        Assert.assertEquals(0, logger.getQueuedItemCount());
+        Assert.assertEquals(logged, handler.getWritten());
+
+        // a new writer is started for items logged after stopping
+        handler.block();
+        log("after");
+        handler.awaitWriting();
+        handler.release();
+        logger.stop();
+        Assert.assertEquals("after", handler.getWritten().get(10));
+    }
+
+    @Test
+    public void testNewConfigurationSharesQueue() throws Exception {
+        logger = createLogger(4, true);
+        ManagedAuditLoggerImpl child = logger.createNewConfiguration(false);
+        child.setLoggerStatus(AuditLogger.Status.LOGGING);
+        handler.block();
+        log("one");
+        handler.awaitWriting();
+
+        log("two");
+        logJmxMethodAccess(child, "child");
+        Assert.assertEquals(2, logger.getQueuedItemCount());
+        Assert.assertEquals(2, child.getQueuedItemCount());
+    }
+
+    private ManagedAuditLoggerImpl createLogger(int queueLength, boolean discardOnOverflow) {
+        ManagedAuditLoggerImpl logger = new ManagedAuditLoggerImpl("test", true, queueLength, discardOnOverflow);
+        logger.addFormatter(new JsonAuditLogItemFormatter(RecordingHandler.FORMATTER, false, " - ", "yyyy-MM-dd HH:mm:ss", true, false, false));
+        logger.addHandler(handler);
+        logger.addHandlerReference(PathAddress.pathAddress("logger", "audit-log").append("handler", RecordingHandler.NAME));
+        logger.setLoggerStatus(AuditLogger.Status.LOGGING);
+        return logger;
+    }
+
+    private void log(String methodName) {
+        logJmxMethodAccess(logger, methodName);
+    }
+
+    private static void logJmxMethodAccess(ManagedAuditLogger logger, String methodName) {
+        logger.logJmxMethodAccess(false, "user", null, AccessMechanism.JMX, null, methodName, new String[0], new Object[0], null);
+    }
+
+    private static class RecordingHandler extends AuditLogHandler {
+        private static final String NAME = "recording";
+        private static final String FORMATTER = "recording-formatter";
+
+        private final List<String> written = Collections.synchronizedList(new ArrayList<>());
+        private volatile CountDownLatch writing = new CountDownLatch(0);
+        private volatile CountDownLatch released = new CountDownLatch(0);
+
+        RecordingHandler() {
+            super(NAME, FORMATTER, 0);
+        }
+
+        /** Makes the next item wait in {@link #writeLogItem(AuditLogItem)} until {@link #release()} is called */
+        void block() {
+            writing = new CountDownLatch(1);
+            released = new CountDownLatch(1);
+        }
+
+        void awaitWriting() throws InterruptedException {
+            Assert.assertTrue(writing.await(10, TimeUnit.SECONDS));
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        List<String> getWritten() {
+            synchronized (written) {
+                return new ArrayList<>(written);
+            }
+        }
+
+        @Override
+        void writeLogItem(AuditLogItem item) {
+            writing.countDown();
+            try {
+                released.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(((AuditLogItem.JmxAccessAuditLogItem) item).getMethodName());
+        }
+
+        @Override
+        boolean isDifferent(AuditLogHandler other) {
+            return other != this;
+        }
+
+        @Override
+        void initialize() {
+        }
+
+        @Override
+        void stop() {
+        }
+
+        @Override
+        void writeLogItem(String formattedItem) {
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.extension;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.TestModelControllerService;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.persistence.AbstractConfigurationPersister;
+import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the boot operations of several subsystems, which are executed in parallel, all end up in the model.
+ */
+public class ParallelBootTestCase {
+
+    private static final int SUBSYSTEMS = 8;
+    private static final int CHILDREN = 100;
+
+    private static final AttributeDefinition MODULE = new SimpleAttributeDefinition("module", ModelType.STRING, true);
+    private static final AttributeDefinition COUNT = new SimpleAttributeDefinition("count", ModelType.INT, true);
+    private static final AttributeDefinition VALUE = new SimpleAttributeDefinition("value", ModelType.STRING, true);
+    private static final OperationDefinition INCREMENT = new SimpleOperationDefinitionBuilder("increment", new NonResolvingResourceDescriptionResolver()).build();
+
+    private ServiceContainer container;
+    private ExecutorService executor;
+
+    @Before
+    public void setupController() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void shutdownServiceContainer() throws InterruptedException {
+        if (container != null) {
+            container.shutdown();
+            try {
+                container.awaitTermination(5, TimeUnit.SECONDS);
+            } finally {
+                container = null;
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testParallelBoot() throws Exception {
+        checkModel(boot());
+    }
+
+    @Test
+    public void testParallelBootWithTimeline() throws Exception {
+        // the boot timeline of the subsystem operations is only recorded with debug logging enabled
+        final Logger logger = Logger.getLogger("org.jboss.as.controller.management-operation");
+        final Level level = logger.getLevel();
+        logger.setLevel(Level.FINE);
+        try {
+            checkModel(boot());
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    private void checkModel(ModelController controller) {
+        final ModelNode op = Util.getEmptyOperation(READ_RESOURCE_OPERATION, new ModelNode());
+        op.get(RECURSIVE).set(true);
+        ModelNode result = controller.execute(op, null, null, null);
+        assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+        ModelNode subsystems = result.get(RESULT, SUBSYSTEM);
+        assertEquals(SUBSYSTEMS, subsystems.keys().size());
+        for (int i = 0; i < SUBSYSTEMS; i++) {
+            ModelNode subsystem = subsystems.get("s" + i);
+            // every subsystem updated its own resource once per child, from a thread shared with no other subsystem
+            assertEquals(CHILDREN, subsystem.get(COUNT.getName()).asInt());
+            assertEquals(CHILDREN, subsystem.get("child").keys().size());
+            for (int j = 0; j < CHILDREN; j++) {
+                assertEquals("s" + i + "-" + j, subsystem.get("child", String.valueOf(j), VALUE.getName()).asString());
+            }
+        }
+    }
+
+    private ModelController boot() throws InterruptedException {
+        container = ServiceContainer.Factory.create("test");
+        ServiceTarget target = container.subTarget();
+        TestModelControllerService svc = new ParallelBootModelControllerService(executor);
+        target.addService(ServiceName.of("ModelController")).setInstance(svc).install();
+        svc.awaitStartup(30, TimeUnit.SECONDS);
+        return svc.getValue();
+    }
+
+    private static class ParallelBootModelControllerService extends TestModelControllerService {
+
+        ParallelBootModelControllerService(ExecutorService executor) {
+            super(ProcessType.EMBEDDED_SERVER, new RunningModeControl(RunningMode.NORMAL), () -> executor,
+                    ParallelBootConfigurationPersister.INSTANCE, new ControlledProcessState(true),
+                    ResourceBuilder.Factory.create(PathElement.pathElement("root"), new NonResolvingResourceDescriptionResolver()).build());
+        }
+
+        @Override
+        protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
+            ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+            GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+            GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+            rootRegistration.registerSubModel(new SimpleResourceDefinition(
+                    PathElement.pathElement(EXTENSION),
+                    new NonResolvingResourceDescriptionResolver(),
+                    new FakeExtensionAddHandler(getMutableRootResourceRegistrationProvider()),
+                    ReloadRequiredRemoveStepHandler.INSTANCE) {
+                @Override
+                public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+                    resourceRegistration.registerReadOnlyAttribute(MODULE, null);
+                }
+            });
+        }
+    }
+
+    private static class FakeExtensionAddHandler extends ExtensionAddHandler {
+
+        private FakeExtensionAddHandler(MutableRootResourceRegistrationProvider rootResourceRegistrationProvider) {
+            super(new ExtensionRegistry(ProcessType.EMBEDDED_SERVER, new RunningModeControl(RunningMode.NORMAL), null, null, null, RuntimeHostControllerInfoAccessor.SERVER), true, ExtensionRegistryType.SERVER, rootResourceRegistrationProvider);
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            Resource resource = context.createResource(PathAddress.EMPTY_ADDRESS);
+            resource.getModel().get(MODULE.getName()).set(context.getCurrentAddressValue());
+        }
+
+        @Override
+        void initializeExtension(String module, ManagementResourceRegistration rootRegistration) {
+            // Called concurrently for each extension by the ParallelExtensionAddHandler
+            rootRegistration.registerSubModel(new SimpleResourceDefinition(
+                    PathElement.pathElement(SUBSYSTEM, module),
+                    new NonResolvingResourceDescriptionResolver(),
+                    new ModelOnlyAddStepHandler(),
+                    ReloadRequiredRemoveStepHandler.INSTANCE) {
+                @Override
+                public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+                    resourceRegistration.registerReadOnlyAttribute(COUNT, null);
+                }
+
+                @Override
+                public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+                    super.registerOperations(resourceRegistration);
+                    resourceRegistration.registerOperationHandler(INCREMENT, (ctx, op) -> {
+                        ModelNode model = ctx.readResourceForUpdate(PathAddress.EMPTY_ADDRESS).getModel();
+                        model.get(COUNT.getName()).set(model.get(COUNT.getName()).asInt(0) + 1);
+                    });
+                }
+
+                @Override
+                public void registerChildren(ManagementResourceRegistration resourceRegistration) {
+                    resourceRegistration.registerSubModel(new SimpleResourceDefinition(
+                            PathElement.pathElement("child"),
+                            new NonResolvingResourceDescriptionResolver(),
+                            new ModelOnlyAddStepHandler(VALUE),
+                            ReloadRequiredRemoveStepHandler.INSTANCE) {
+                        @Override
+                        public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+                            resourceRegistration.registerReadOnlyAttribute(VALUE, null);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    private static class ParallelBootConfigurationPersister extends AbstractConfigurationPersister {
+
+        private static final ParallelBootConfigurationPersister INSTANCE = new ParallelBootConfigurationPersister();
+
+        private ParallelBootConfigurationPersister() {
+            super(null);
+        }
+
+        @Override
+        public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) {
+            return NullPersistenceResource.INSTANCE;
+        }
+
+        @Override
+        public List<ModelNode> load() {
+            final List<ModelNode> bootOps = new ArrayList<>();
+            for (int i = 0; i < SUBSYSTEMS; i++) {
+                bootOps.add(Util.getEmptyOperation(ADD, new ModelNode().add(EXTENSION, "s" + i)));
+            }
+            for (int i = 0; i < SUBSYSTEMS; i++) {
+                final ModelNode subsystem = new ModelNode().add(SUBSYSTEM, "s" + i);
+                bootOps.add(Util.getEmptyOperation(ADD, subsystem));
+                for (int j = 0; j < CHILDREN; j++) {
+                    final ModelNode add = Util.getEmptyOperation(ADD, subsystem.clone().add("child", String.valueOf(j)));
+                    add.get(VALUE.getName()).set("s" + i + "-" + j);
+                    bootOps.add(add);
+                    bootOps.add(Util.getEmptyOperation(INCREMENT.getName(), subsystem));
+                }
+            }
+            return bootOps;
+        }
+
+        private static class NullPersistenceResource implements ConfigurationPersister.PersistenceResource {
+
+            private static final NullPersistenceResource INSTANCE = new NullPersistenceResource();
+
+            @Override
+            public void commit() {
+            }
+
+            @Override
+            public void rollback() {
+            }
+        }
+    }
+}
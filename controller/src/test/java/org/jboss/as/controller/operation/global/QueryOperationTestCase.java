@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.operation.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.QUERY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SELECT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WHERE;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the global {@code query} operation.
+ */
+public class QueryOperationTestCase extends AbstractControllerTestBase {
+
+    private static final AttributeDefinition ENABLED = new SimpleAttributeDefinitionBuilder("enabled", ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.TRUE)
+            .build();
+    private static final AttributeDefinition DESCRIPTION = new SimpleAttributeDefinitionBuilder("description", ModelType.STRING, true)
+            .build();
+    private static final AttributeDefinition READS = new SimpleAttributeDefinitionBuilder("reads", ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    private static final PathElement ITEM = PathElement.pathElement("item");
+
+    private final AtomicInteger metricReads = new AtomicInteger();
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        rootRegistration.registerSubModel(ResourceBuilder.Factory.create(ITEM, new NonResolvingResourceDescriptionResolver())
+                .setAddOperation(new ModelOnlyAddStepHandler(ENABLED, DESCRIPTION))
+                .setRemoveOperation(ReloadRequiredRemoveStepHandler.INSTANCE)
+                .addReadWriteAttribute(ENABLED, null, new ModelOnlyWriteAttributeHandler(ENABLED))
+                .addReadWriteAttribute(DESCRIPTION, null, new ModelOnlyWriteAttributeHandler(DESCRIPTION))
+                .addMetric(READS, (context, operation) -> context.getResult().set(metricReads.incrementAndGet()))
+                .build());
+    }
+
+    @Before
+    public void addItems() throws Exception {
+        addItem("one", true);
+        addItem("two", false);
+        addItem("three", null);
+        addItem("four", false);
+        metricReads.set(0);
+    }
+
+    private void addItem(String name, Boolean enabled) throws Exception {
+        ModelNode op = createOperation(ADD, PathAddress.pathAddress(ITEM.getKey(), name));
+        if (enabled != null) {
+            op.get(ENABLED.getName()).set(enabled);
+        }
+        op.get(DESCRIPTION.getName()).set("Item " + name);
+        executeCheckNoFailure(op);
+    }
+
+    @Test
+    public void testFilterOnConfiguration() throws Exception {
+        ModelNode query = createOperation(QUERY, PathAddress.pathAddress(ITEM));
+        query.get(WHERE, ENABLED.getName()).set(false);
+
+        ModelNode result = executeForResult(query);
+        Assert.assertEquals(setOf("two", "four"), getItemNames(result));
+        // Only the matching resources get read
+        Assert.assertEquals(2, metricReads.get());
+        for (ModelNode item : result.asList()) {
+            Assert.assertTrue(item.get(RESULT).hasDefined(READS.getName()));
+        }
+
+        // Undefined attributes are compared with their default value, as read-resource reports them
+        query.get(WHERE, ENABLED.getName()).set(true);
+        result = executeForResult(query);
+        Assert.assertEquals(setOf("one", "three"), getItemNames(result));
+    }
+
+    @Test
+    public void testSelectConfiguration() throws Exception {
+        ModelNode query = createOperation(QUERY, PathAddress.pathAddress(ITEM));
+        query.get(WHERE, ENABLED.getName()).set(false);
+        query.get(SELECT).add(DESCRIPTION.getName());
+
+        ModelNode result = executeForResult(query);
+        Assert.assertEquals(setOf("two", "four"), getItemNames(result));
+        for (ModelNode item : result.asList()) {
+            Assert.assertEquals(1, item.get(RESULT).keys().size());
+            Assert.assertTrue(item.get(RESULT).hasDefined(DESCRIPTION.getName()));
+        }
+        // Neither the where nor the select need the runtime attributes
+        Assert.assertEquals(0, metricReads.get());
+    }
+
+    @Test
+    public void testFilterOnRuntime() throws Exception {
+        ModelNode query = createOperation(QUERY, PathAddress.pathAddress(ITEM));
+        query.get(WHERE, READS.getName()).set(1);
+        query.get(SELECT).add(DESCRIPTION.getName());
+
+        ModelNode result = executeForResult(query);
+        Assert.assertEquals(1, result.asInt());
+        Assert.assertEquals(4, metricReads.get());
+    }
+
+    private static Set<String> getItemNames(ModelNode result) {
+        Set<String> names = new HashSet<>();
+        for (ModelNode item : result.asList()) {
+            names.add(PathAddress.pathAddress(item.get(OP_ADDR)).getLastElement().getValue());
+        }
+        return names;
+    }
+
+    private static Set<String> setOf(String... names) {
+        Set<String> result = new HashSet<>();
+        for (String name : names) {
+            result.add(name);
+        }
+        return result;
+    }
+}
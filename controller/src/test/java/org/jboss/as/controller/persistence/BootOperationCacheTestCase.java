@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ValueExpression;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link BootOperationCache}.
+ */
+public class BootOperationCacheTestCase {
+
+    private File dir;
+    private File configFile;
+    private File cacheFile;
+
+    @Before
+    public void createFiles() throws Exception {
+        dir = Files.createTempDirectory("boot-operation-cache").toFile();
+        configFile = new File(dir, "standalone.xml");
+        Files.write(configFile.toPath(), "<server/>".getBytes(StandardCharsets.UTF_8));
+        cacheFile = new File(new File(dir, "standalone_xml_history"), "standalone.xml.boot-ops");
+    }
+
+    @After
+    public void deleteFiles() {
+        cacheFile.delete();
+        cacheFile.getParentFile().delete();
+        configFile.delete();
+        dir.delete();
+    }
+
+    @Test
+    public void testCachedOperationsLoaded() throws Exception {
+        BootOperationCache cache = new BootOperationCache(configFile, cacheFile, BootOperationCacheTestCase.class, "");
+        Assert.assertNull(cache.read());
+
+        ModelNode add = Util.createAddOperation(PathAddress.pathAddress(PathElement.pathElement("interface", "public")));
+        add.get("inet-address").set(new ValueExpression("${jboss.bind.address:127.0.0.1}"));
+        List<ModelNode> operations = Arrays.asList(Util.createEmptyOperation("write-attribute", PathAddress.EMPTY_ADDRESS), add);
+        cache.write(operations);
+        Assert.assertTrue(cacheFile.exists());
+
+        Assert.assertEquals(operations, new BootOperationCache(configFile, cacheFile, BootOperationCacheTestCase.class, "").read());
+    }
+
+    @Test
+    public void testChangedConfigurationNotLoaded() throws Exception {
+        BootOperationCache cache = new BootOperationCache(configFile, cacheFile, BootOperationCacheTestCase.class, "");
+        cache.write(Arrays.asList(Util.createEmptyOperation("write-attribute", PathAddress.EMPTY_ADDRESS)));
+        Assert.assertNotNull(cache.read());
+
+        Files.write(configFile.toPath(), "<server name=\"changed\"/>".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNull(cache.read());
+    }
+
+    @Test
+    public void testChangedParserInputsNotLoaded() throws Exception {
+        new BootOperationCache(configFile, cacheFile, BootOperationCacheTestCase.class, "primary;NORMAL;false")
+                .write(Arrays.asList(Util.createEmptyOperation("write-attribute", PathAddress.EMPTY_ADDRESS)));
+        Assert.assertNotNull(new BootOperationCache(configFile, cacheFile, BootOperationCacheTestCase.class, "primary;NORMAL;false").read());
+
+        Assert.assertNull(new BootOperationCache(configFile, cacheFile, BootOperationCacheTestCase.class, "secondary;NORMAL;false").read());
+        Assert.assertNull(new BootOperationCache(configFile, cacheFile, BootOperationCacheTestCase.class, "primary;ADMIN_ONLY;false").read());
+    }
+
+    @Test
+    public void testExtensionsOutsideModulesNotCached() throws Exception {
+        BootOperationCache cache = new BootOperationCache(configFile, cacheFile, BootOperationCacheTestCase.class, "");
+        // Outside of a modular environment the extension modules cannot be fingerprinted
+        cache.write(Arrays.asList(Util.createAddOperation(PathAddress.pathAddress(PathElement.pathElement("extension", "org.foo")))));
+        Assert.assertFalse(cacheFile.exists());
+    }
+}
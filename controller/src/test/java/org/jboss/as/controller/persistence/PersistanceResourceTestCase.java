@@ -33,6 +33,7 @@ import static org.junit.Assert.assertThat;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -51,6 +52,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.dmr.ModelNode;
@@ -151,6 +153,36 @@ public class PersistanceResourceTestCase {
         checkFiles(null, "Four", "std", "Three", "Four", "Three");
     }
 
+    @Test
+    public void testDeferredConfigurationFile() throws Exception {
+        ConfigurationFile configurationFile = new ConfigurationFile(standardDir, "standard.xml", null, true);
+        CountingBackupXmlConfigurationPersister persister = new CountingBackupXmlConfigurationPersister(configurationFile, TimeUnit.MINUTES.toMillis(10));
+
+        persister.successfulBoot();
+        checkFiles(null, "std", "std", "std", "std");
+
+        store(persister, "One");
+        persister.store(new ModelNode("Two"), Collections.<PathAddress>emptySet()).rollback();
+        store(persister, "Three");
+        checkFiles(null, "std", "std", "std", "std");
+        // Nothing is marshalled before the write
+        Assert.assertEquals(0, persister.marshalled);
+
+        // Only the latest committed model is marshalled and written
+        persister.flush();
+        checkFiles(null, "Three", "std", "std", "Three", "std");
+        Assert.assertEquals(1, persister.marshalled);
+
+        persister.flush();
+        checkFiles(null, "Three", "std", "std", "Three", "std");
+        Assert.assertEquals(1, persister.marshalled);
+
+        store(persister, "Four");
+        persister.flush();
+        checkFiles(null, "Four", "std", "std", "Four", "std", "Three");
+        Assert.assertEquals(2, persister.marshalled);
+    }
+
     @Test
     public void testOtherPersistentConfigurationFile() throws Exception {
         assertFileContents(standardFile, "std");
@@ -899,7 +931,7 @@ public class PersistanceResourceTestCase {
         checkVersionedHistory(mainFileName == null ? "standard" : mainFileName, versions);
     }
 
-    private void store(TestConfigurationPersister persister, String s) throws Exception {
+    private void store(ConfigurationPersister persister, String s) throws Exception {
         persister.store(new ModelNode(s), Collections.<PathAddress>emptySet()).commit();
     }
 
@@ -989,4 +1021,23 @@ public class PersistanceResourceTestCase {
             return new ConfigurationFilePersistenceResource(model, configurationFile, this);
         }
     }
+
+    private static class CountingBackupXmlConfigurationPersister extends BackupXmlConfigurationPersister {
+
+        private int marshalled;
+
+        CountingBackupXmlConfigurationPersister(ConfigurationFile configurationFile, long persistenceDelay) {
+            super(configurationFile, null, null, null, false, persistenceDelay);
+        }
+
+        @Override
+        public void marshallAsXml(ModelNode model, OutputStream output) throws ConfigurationPersistenceException {
+            marshalled++;
+            try {
+                output.write(model.asString().getBytes(StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                throw new ConfigurationPersistenceException(e);
+            }
+        }
+    }
 }
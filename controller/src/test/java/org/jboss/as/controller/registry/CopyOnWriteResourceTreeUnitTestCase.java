@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.PathElement;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link CopyOnWriteResourceTree}.
+ */
+public class CopyOnWriteResourceTreeUnitTestCase {
+
+    private static final PathElement A = PathElement.pathElement("child", "a");
+    private static final PathElement B = PathElement.pathElement("child", "b");
+    private static final PathElement C = PathElement.pathElement("child", "c");
+    private static final PathElement X = PathElement.pathElement("grandchild", "x");
+
+    private Resource original;
+
+    @Before
+    public void setup() {
+        original = Resource.Factory.create();
+        original.getModel().get("attr").set(1);
+        for (PathElement element : new PathElement[] {A, B, C}) {
+            Resource child = Resource.Factory.create();
+            child.getModel().get("attr").set(element.getValue());
+            Resource grandchild = Resource.Factory.create();
+            grandchild.getModel().get("attr").set(element.getValue() + "-x");
+            child.registerChild(X, grandchild);
+            original.registerChild(element, child);
+        }
+    }
+
+    @Test
+    public void testUnmodifiedResourcesAreShared() {
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(original);
+        Resource root = tree.getRoot();
+        assertNotSame(original, root);
+        assertEquals(original.getModel(), root.getModel());
+        for (PathElement element : new PathElement[] {A, B, C}) {
+            assertSame(original.getChild(element), root.getChild(element));
+        }
+        root.getModel().get("attr").set(2);
+        assertEquals(1, original.getModel().get("attr").asInt());
+    }
+
+    @Test
+    public void testOnlyThePathIsCopied() {
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(original);
+        Resource b = tree.getChildForUpdate(tree.getRoot(), B);
+        assertNotSame(original.getChild(B), b);
+        assertSame(b, tree.getChildForUpdate(tree.getRoot(), B));
+        assertSame(original.getChild(A), tree.getRoot().getChild(A));
+        assertSame(original.getChild(C), tree.getRoot().getChild(C));
+        assertSame(original.getChild(B).getChild(X), b.getChild(X));
+
+        Resource added = Resource.Factory.create();
+        tree.registerChild(b, PathElement.pathElement("grandchild", "y"), -1, added);
+        tree.removeChild(b, X);
+        b.getModel().get("attr").set("changed");
+
+        assertTrue(original.getChild(B).hasChild(X));
+        assertFalse(original.getChild(B).hasChild(PathElement.pathElement("grandchild", "y")));
+        assertEquals("b", original.getChild(B).getModel().get("attr").asString());
+        assertSame(added, tree.getChildForUpdate(b, PathElement.pathElement("grandchild", "y")));
+        assertNull(tree.getChildForUpdate(b, X));
+    }
+
+    @Test
+    public void testChildOrderIsPreserved() {
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(original);
+        tree.getChildForUpdate(tree.getRoot(), A);
+        List<String> names = new ArrayList<>(tree.getRoot().getChildrenNames("child"));
+        assertEquals(new ArrayList<>(original.getChildrenNames("child")), names);
+    }
+
+    @Test
+    public void testPrepareForUpdateCopiesDescendants() {
+        CopyOnWriteResourceTree tree = CopyOnWriteResourceTree.copyOf(original);
+        Resource root = tree.getRoot();
+        Resource b = tree.getChildForUpdate(root, B);
+        tree.prepareForUpdate(root);
+
+        for (PathElement element : new PathElement[] {A, B, C}) {
+            Resource child = root.getChild(element);
+            assertNotSame(original.getChild(element), child);
+            assertNotSame(original.getChild(element).getChild(X), child.getChild(X));
+            child.getChild(X).getModel().get("attr").set("changed");
+            assertEquals(element.getValue() + "-x", original.getChild(element).getChild(X).getModel().get("attr").asString());
+        }
+        // the copy made before is kept
+        assertSame(b, root.getChild(B));
+        // children of a prepared resource are not copied again
+        assertSame(root.getChild(A), tree.getChildForUpdate(root, A));
+    }
+}
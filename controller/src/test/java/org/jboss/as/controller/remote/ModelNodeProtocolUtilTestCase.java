@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Test case for the utility to write and read operation and response payloads.
+ */
+public class ModelNodeProtocolUtilTestCase {
+
+    @Test
+    public void testUncompressedMatchesWriteExternal() throws Exception {
+        ModelNode node = createModel(10);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        node.writeExternal(new DataOutputStream(expected));
+
+        byte[] written = write(node, false, 0);
+        assertEquals(expected.size(), written.length);
+        assertEquals(node, read(written, false));
+    }
+
+    @Test
+    public void testBelowThreshold() throws Exception {
+        ModelNode node = createModel(10);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        node.writeExternal(new DataOutputStream(raw));
+
+        byte[] written = write(node, true, Integer.MAX_VALUE);
+        assertEquals(raw.size() + 1, written.length);
+        assertEquals(node, read(written, true));
+    }
+
+    @Test
+    public void testAboveThreshold() throws Exception {
+        ModelNode node = createModel(1000);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        node.writeExternal(new DataOutputStream(raw));
+
+        byte[] written = write(node, true, 0);
+        assertTrue(written.length < raw.size());
+        assertEquals(node, read(written, true));
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncated() throws Exception {
+        byte[] written = write(createModel(1000), true, 0);
+        // Claim a larger inflated size than was written
+        ByteBuffer.wrap(written).putInt(1, ByteBuffer.wrap(written).getInt(1) + 1);
+        read(written, true);
+    }
+
+    @Test
+    public void testIncompressibleSentRaw() throws Exception {
+        ModelNode node = new ModelNode();
+        byte[] bytes = new byte[4096];
+        new Random(1).nextBytes(bytes);
+        node.get("content").set(bytes);
+
+        byte[] written = write(node, true, 0);
+        assertEquals(0x00, written[0]);
+        assertEquals(node, read(written, true));
+    }
+
+    @Test(expected = IOException.class)
+    public void testNegativeLength() throws Exception {
+        read(deflatedHeader(-1, 10), true);
+    }
+
+    @Test(expected = IOException.class)
+    public void testLengthAboveBound() throws Exception {
+        read(deflatedHeader(ModelNodeProtocolUtil.MAX_DEFLATED_PAYLOAD_SIZE + 1, 10), true);
+    }
+
+    @Test(expected = IOException.class)
+    public void testNegativeDeflatedLength() throws Exception {
+        read(deflatedHeader(10, -1), true);
+    }
+
+    @Test(expected = IOException.class)
+    public void testDeflatedLengthNotSmaller() throws Exception {
+        read(deflatedHeader(10, 10), true);
+    }
+
+    @Test
+    public void testParseThreshold() {
+        assertEquals(16384, ModelNodeProtocolUtil.parseThreshold(null));
+        assertEquals(0, ModelNodeProtocolUtil.parseThreshold("0"));
+        assertEquals(1024, ModelNodeProtocolUtil.parseThreshold(" 1024 "));
+        assertEquals(16384, ModelNodeProtocolUtil.parseThreshold("-1"));
+        assertEquals(16384, ModelNodeProtocolUtil.parseThreshold("16k"));
+    }
+
+    private static ModelNode createModel(int count) {
+        ModelNode node = new ModelNode();
+        for (int i = 0; i < count; i++) {
+            ModelNode child = node.get("subsystem", "logging", "periodic-rotating-file-handler", "handler" + i);
+            child.get("autoflush").set(true);
+            child.get("append").set(true);
+            child.get("suffix").set(".yyyy-MM-dd");
+            child.get("file", "relative-to").set("jboss.server.log.dir");
+            child.get("file", "path").set("server" + i + ".log");
+        }
+        return node;
+    }
+
+    private static byte[] deflatedHeader(int rawLength, int deflatedLength) {
+        return ByteBuffer.allocate(9).put((byte) 0x01).putInt(rawLength).putInt(deflatedLength).array();
+    }
+
+    private static byte[] write(ModelNode node, boolean compressed, int threshold) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(os);
+        ModelNodeProtocolUtil.write(output, node, compressed, threshold);
+        output.flush();
+        return os.toByteArray();
+    }
+
+    private static ModelNode read(byte[] bytes, boolean compressed) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        ModelNode node = ModelNodeProtocolUtil.read(input, compressed);
+        assertEquals(-1, input.read());
+        return node;
+    }
+}
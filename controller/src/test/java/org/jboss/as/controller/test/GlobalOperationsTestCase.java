@@ -33,9 +33,11 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DYN
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INHERITED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LIMIT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OFFSET;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
@@ -489,6 +491,37 @@ public class GlobalOperationsTestCase extends AbstractGlobalOperationsTestCase {
         assertTrue(result.asList().isEmpty());
     }
 
+    @Test
+    public void testReadChildrenResourcesPaged() throws Exception {
+        ModelNode operation = createOperation(READ_CHILDREN_RESOURCES_OPERATION, "profile", "profileA");
+        operation.get(CHILD_TYPE).set("subsystem");
+        operation.get(LIMIT).set(1);
+
+        ModelNode result = executeForResult(operation);
+        assertEquals(ModelType.OBJECT, result.getType());
+        assertEquals(1, result.keys().size());
+        assertTrue(result.has("subsystem1"));
+
+        operation.get(OFFSET).set(1);
+        result = executeForResult(operation);
+        assertEquals(1, result.keys().size());
+        assertTrue(result.has("subsystem2"));
+
+        operation.get(OFFSET).set(2);
+        result = executeForResult(operation);
+        assertEquals(ModelType.OBJECT, result.getType());
+        assertTrue(result.keys().isEmpty());
+
+        operation.remove(LIMIT);
+        operation.get(OFFSET).set(1);
+        result = executeForResult(operation);
+        assertEquals(1, result.keys().size());
+        assertTrue(result.has("subsystem2"));
+
+        operation.get(OFFSET).set(-1);
+        executeForFailure(operation);
+    }
+
     @Test
     public void testReadChildrenResourcesRecursive() throws Exception {
         ModelNode operation = createOperation(READ_CHILDREN_RESOURCES_OPERATION, "profile", "profileA");
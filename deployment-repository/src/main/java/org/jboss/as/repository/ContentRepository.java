@@ -27,6 +27,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.jboss.vfs.VirtualFile;
@@ -76,6 +78,28 @@ public interface ContentRepository {
      */
     byte[] addContent(InputStream stream) throws IOException;
 
+    /**
+     * Add the given content to the repository, skipping the upload entirely if content with the expected hash
+     * is already present.
+     *
+     * @param stream stream from which the content can be read. Cannot be <code>null</code>
+     * @param expectedHash the hash the caller expects the content to have, or {@code null} if it is not known
+     * @return the hash of the content that will be used as an internal identifier for the content. Will not be
+     * <code>null</code>
+     * @throws IOException if there is a problem reading the stream or if the content does not match the expected hash
+     */
+    default byte[] addContent(InputStream stream, byte[] expectedHash) throws IOException {
+        if (expectedHash != null && hasContent(expectedHash)) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content %s was already present in repository, skipping upload", HashUtil.bytesToHexString(expectedHash));
+            return expectedHash;
+        }
+        byte[] hash = addContent(stream);
+        if (expectedHash != null && !Arrays.equals(expectedHash, hash)) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.unexpectedContentHash(HashUtil.bytesToHexString(hash), HashUtil.bytesToHexString(expectedHash));
+        }
+        return hash;
+    }
+
     /**
      * Adds a reference to the content.
      *
@@ -30,15 +30,19 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.security.DigestOutputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
@@ -67,8 +71,13 @@ import org.wildfly.common.Assert;
 public class ContentRepositoryImpl implements ContentRepository {
 
     protected static final String CONTENT = "content";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
     private final File repoRoot;
     private final File tmpRoot;
+    /**
+     * @deprecated this digest is shared between all callers and must be synchronized on, use {@link #getMessageDigest()} instead.
+     */
+    @Deprecated
     protected final MessageDigest messageDigest;
     private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<>();
     private final Map<String, ReentrantLock> lockedContents = new HashMap<>();
@@ -86,13 +95,26 @@ public class ContentRepositoryImpl implements ContentRepository {
         this.tmpRoot = tmpRoot;
         this.obsolescenceTimeout = obsolescenceTimeout;
         this.lockTimeout = lockTimeout;
+        this.messageDigest = createMessageDigest();
+    }
+
+    private static MessageDigest createMessageDigest() {
         try {
-            this.messageDigest = MessageDigest.getInstance("SHA-1");
+            return MessageDigest.getInstance("SHA-1");
         } catch (NoSuchAlgorithmException e) {
             throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
         }
     }
 
+    /**
+     * Creates a new SHA-1 digest for each caller, so that concurrent uploads can be hashed in parallel.
+     *
+     * @return a digest that must not be shared with another thread.
+     */
+    protected MessageDigest getMessageDigest() {
+        return createMessageDigest();
+    }
+
     private void checkDirectory(final File directory) {
         if (directory.exists()) {
             if (!directory.isDirectory()) {
@@ -120,27 +142,11 @@ public class ContentRepositoryImpl implements ContentRepository {
         byte[] sha1Bytes;
         Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
         if (stream != null) {
-            try (OutputStream fos = Files.newOutputStream(tmp)) {
-                synchronized (messageDigest) {
-                    messageDigest.reset();
-                    DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                    BufferedInputStream bis = new BufferedInputStream(stream);
-                    byte[] bytes = new byte[8192];
-                    int read;
-                    while ((read = bis.read(bytes)) > -1) {
-                        dos.write(bytes, 0, read);
-                    }
-                    fos.flush();
-                }
-                sha1Bytes = messageDigest.digest();
-            }
+            sha1Bytes = copyAndHash(stream, tmp);
         } else {//create a directory instead
             Files.delete(tmp);
             Files.createDirectory(tmp);
-            synchronized (messageDigest) {
-                messageDigest.reset();
-                sha1Bytes = HashUtil.hashPath(messageDigest, tmp);
-            }
+            sha1Bytes = HashUtil.hashPath(getMessageDigest(), tmp);
         }
         final Path realFile = getDeploymentContentFile(sha1Bytes, true);
         if (hasContent(sha1Bytes)) {
@@ -159,6 +165,27 @@ public class ContentRepositoryImpl implements ContentRepository {
         return sha1Bytes;
     }
 
+    /**
+     * Copies the stream to the target file, hashing the content as it is copied so it is only read once.
+     * The stream is not closed.
+     */
+    private byte[] copyAndHash(InputStream stream, Path target) throws IOException {
+        final MessageDigest digest = getMessageDigest();
+        final ReadableByteChannel in = stream.getClass() == FileInputStream.class ? ((FileInputStream) stream).getChannel() : Channels.newChannel(stream);
+        final ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (in.read(buffer) > -1) {
+                buffer.flip();
+                digest.update(buffer.array(), buffer.arrayOffset(), buffer.limit());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
     @Override
     public void addContentReference(ContentReference reference) {
         if(!this.readWrite) {
@@ -239,6 +266,9 @@ public class ContentRepositoryImpl implements ContentRepository {
         Path localTmp = permanentFile.resolveSibling("tmp");
         try {
             Files.move(tmpFile, permanentFile);
+        } catch (FileAlreadyExistsException faex) {
+            // the same content was added concurrently by another upload
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content was already present in repository at location %s", permanentFile.toAbsolutePath().toString());
         } catch (IOException ioex) {
             // AS7-3574. Try to avoid writing the permanent file bit by bit in we crash in the middle.
             // Copy tmpFile to another tmpfile in the same dir as the permanent file (and thus same filesystem)
@@ -421,7 +451,7 @@ public class ContentRepositoryImpl implements ContentRepository {
             Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
             Path contentDir = Files.createDirectory(tmp.resolve(CONTENT));
             unzip(contentPath, contentDir);
-            byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+            byte[] sha1Bytes = HashUtil.hashPath(getMessageDigest(), contentDir);
             final Path realFile = getDeploymentContentFile(sha1Bytes, true);
             if (hasContent(sha1Bytes)) {
                 // we've already got this content
@@ -464,7 +494,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                     deleteRecursively(targetPath);
                 }
                 unzip(sourcePath, targetPath);
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(getMessageDigest(), contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -630,7 +660,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                         }
                     }
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(getMessageDigest(), contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -667,7 +697,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                     Path targetFile = resolveSecurely(contentDir, path);
                     deleteFileWithEmptyAncestorDirectories(targetFile);
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(getMessageDigest(), contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -25,14 +25,25 @@ import static org.jboss.as.protocol.mgmt.ProtocolUtils.expectHeader;
 
 import java.io.BufferedOutputStream;
 import java.io.DataInput;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
 import org.jboss.as.protocol.StreamUtils;
@@ -41,6 +52,7 @@ import org.jboss.as.protocol.mgmt.FlushableDataOutput;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.RequestProcessingException;
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 import org.jboss.logging.BasicLogger;
 
 
@@ -51,6 +63,19 @@ import org.jboss.logging.BasicLogger;
  */
 public abstract class RemoteFileRequestAndHandler {
 
+    /**
+     * The size of the chunks used by a chunked transfer. Each chunk is followed by its SHA-1 hash so that a transfer
+     * can be resumed from the last verified chunk.
+     * <p/>
+     * In a chunked transfer the size of each entry is followed by a flag that is {@code true} for a directory. Only
+     * regular files, including empty ones, are followed by the offset they are sent from, their chunks and the SHA-1
+     * hash of the whole file. A transfer is only resumed if the SHA-1 hash of the partially received file, which the
+     * request sends with its offset, matches the start of the file being sent.
+     */
+    public static final int CHUNK_SIZE = 1024 * 1024;
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final int SHA1_LENGTH = 20;
+
     private final RemoteFileProtocolIdMapper protocol;
     private final Executor asyncExecutor;
 
@@ -71,6 +96,34 @@ public abstract class RemoteFileRequestAndHandler {
 
     }
 
+    /**
+     * Sends a request for a chunked transfer. The chunks of partially received files under the local path are
+     * reported to the sender so that it only sends the remaining chunks. If the protocol does not support chunked
+     * transfers a request for a whole file transfer is sent.
+     */
+    public void sendChunkedRequest(FlushableDataOutput output, byte rootId, String filePath, File localPath) throws IOException {
+        sendRequest(output, rootId, filePath);
+        if (!isChunkedTransferSupported()) {
+            return;
+        }
+        final Map<String, ResumePoint> resumePoints = getResumePoints(localPath);
+        output.writeByte(protocol.paramNumFiles());
+        output.writeInt(resumePoints.size());
+        for (Map.Entry<String, ResumePoint> resumePoint : resumePoints.entrySet()) {
+            output.writeByte(protocol.paramFilePath());
+            output.writeUTF(resumePoint.getKey());
+            output.writeByte(protocol.paramFileOffset());
+            output.writeLong(resumePoint.getValue().offset);
+            output.writeByte(protocol.paramChunkHash());
+            output.write(resumePoint.getValue().hash);
+        }
+    }
+
+    private boolean isChunkedTransferSupported() {
+        return protocol.paramFileOffset() != RemoteFileProtocolIdMapper.UNSUPPORTED
+                && protocol.paramChunkHash() != RemoteFileProtocolIdMapper.UNSUPPORTED;
+    }
+
     public void handleResponse(DataInput input, File localPath, BasicLogger log, ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context)
             throws IOException, CannotCreateLocalDirectoryException, DidNotReadEntireFileException{
         expectHeader(input, protocol.paramNumFiles());
@@ -122,13 +175,137 @@ public abstract class RemoteFileRequestAndHandler {
         resultHandler.done(localPath);
     }
 
+    public void handleChunkedResponse(DataInput input, File localPath, BasicLogger log, ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context)
+            throws IOException, CannotCreateLocalDirectoryException, DidNotReadEntireFileException, InvalidChunkException {
+        if (!isChunkedTransferSupported()) {
+            handleResponse(input, localPath, log, resultHandler, context);
+            return;
+        }
+        expectHeader(input, protocol.paramNumFiles());
+        int numFiles = input.readInt();
+        log.debugf("Received %d files for %s", numFiles, localPath);
+        switch (numFiles) {
+            case -1: { // Not found on DC
+                break;
+            }
+            case 0: { // Found on DC, but was an empty dir
+                if (!localPath.exists() && !localPath.mkdirs()) {
+                    throw new CannotCreateLocalDirectoryException(localPath);
+                }
+                break;
+            }
+            default: { // Found on DC
+                final MessageDigest digest = createMessageDigest();
+                final MessageDigest fileDigest = createMessageDigest();
+                final byte[] buffer = new byte[CHUNK_SIZE];
+                final byte[] hash = new byte[SHA1_LENGTH];
+                for (int i = 0; i < numFiles; i++) {
+                    expectHeader(input, protocol.fileStart());
+                    expectHeader(input, protocol.paramFilePath());
+                    final String path = input.readUTF();
+                    expectHeader(input, protocol.paramFileSize());
+                    final long length = input.readLong();
+                    final boolean directory = input.readBoolean();
+                    final File file = new File(localPath, path);
+                    if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+                        throw new CannotCreateLocalDirectoryException(localPath.getParentFile());
+                    }
+                    if (directory) {
+                        if (!file.isDirectory() && !file.mkdirs()) {
+                            throw new CannotCreateLocalDirectoryException(file);
+                        }
+                    } else {
+                        expectHeader(input, protocol.paramFileOffset());
+                        final long offset = input.readLong();
+                        log.debugf("Received file [%s] of length %d from offset %d", path, length, offset);
+                        final File partial = new File(file.getParentFile(), file.getName() + PARTIAL_SUFFIX);
+                        long totalRead = offset;
+                        try (FileChannel fileOut = FileChannel.open(partial.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                            if (fileOut.size() < offset) {
+                                throw new DidNotReadEntireFileException(offset - fileOut.size());
+                            }
+                            fileOut.truncate(offset);
+                            // the kept chunks are verified with the rest of the file once it is received
+                            fileDigest.reset();
+                            updateDigest(fileOut, offset, buffer, fileDigest);
+                            fileOut.position(offset);
+                            while (totalRead < length) {
+                                int len = (int) Math.min(length - totalRead, CHUNK_SIZE);
+                                input.readFully(buffer, 0, len);
+                                expectHeader(input, protocol.paramChunkHash());
+                                input.readFully(hash);
+                                digest.reset();
+                                digest.update(buffer, 0, len);
+                                if (!MessageDigest.isEqual(hash, digest.digest())) {
+                                    throw new InvalidChunkException(path, totalRead);
+                                }
+                                fileDigest.update(buffer, 0, len);
+                                final ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, len);
+                                while (chunk.hasRemaining()) {
+                                    fileOut.write(chunk);
+                                }
+                                totalRead += len;
+                            }
+                        }
+                        if (totalRead != length) {
+                            throw new DidNotReadEntireFileException((length - totalRead));
+                        }
+                        expectHeader(input, protocol.paramChunkHash());
+                        input.readFully(hash);
+                        if (!MessageDigest.isEqual(hash, fileDigest.digest())) {
+                            // don't resume from content that does not belong to the file
+                            Files.delete(partial.toPath());
+                            throw new InvalidChunkException(path, 0L);
+                        }
+                        Files.move(partial.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    expectHeader(input, protocol.fileEnd());
+                }
+            }
+        }
+        resultHandler.done(localPath);
+    }
+
     public void handleRequest(final DataInput input, final RootFileReader reader,
                               final ActiveOperation.ResultHandler<Void> resultHandler,
                               final ManagementRequestContext<Void> context) throws IOException {
+        handleRequest(input, reader, resultHandler, context, false);
+    }
+
+    /**
+     * Handles a request sent by {@link #sendChunkedRequest(FlushableDataOutput, byte, String, File)}.
+     */
+    public void handleChunkedRequest(final DataInput input, final RootFileReader reader,
+                                     final ActiveOperation.ResultHandler<Void> resultHandler,
+                                     final ManagementRequestContext<Void> context) throws IOException {
+        handleRequest(input, reader, resultHandler, context, isChunkedTransferSupported());
+    }
+
+    private void handleRequest(final DataInput input, final RootFileReader reader,
+                               final ActiveOperation.ResultHandler<Void> resultHandler,
+                               final ManagementRequestContext<Void> context, final boolean chunked) throws IOException {
         expectHeader(input, protocol.paramRootId());
         final byte rootId = input.readByte();
         expectHeader(input, protocol.paramFilePath());
         final String filePath = input.readUTF();
+        final Map<String, ResumePoint> resumePoints;
+        if (chunked) {
+            expectHeader(input, protocol.paramNumFiles());
+            final int numResumePoints = input.readInt();
+            resumePoints = new HashMap<>();
+            for (int i = 0; i < numResumePoints; i++) {
+                expectHeader(input, protocol.paramFilePath());
+                final String path = input.readUTF();
+                expectHeader(input, protocol.paramFileOffset());
+                final long offset = input.readLong();
+                expectHeader(input, protocol.paramChunkHash());
+                final byte[] hash = new byte[SHA1_LENGTH];
+                input.readFully(hash);
+                resumePoints.put(path, new ResumePoint(offset, hash));
+            }
+        } else {
+            resumePoints = null;
+        }
 
         ManagementRequestContext.AsyncTask<Void> task = new ManagementRequestContext.AsyncTask<Void>() {
             @Override
@@ -136,7 +313,7 @@ public abstract class RemoteFileRequestAndHandler {
                 final File localPath = reader.readRootFile(rootId, filePath);
                 FlushableDataOutput output = context.writeMessage(ManagementResponseHeader.create(context.getRequestHeader()));
                 try {
-                    writeResponse(localPath, output);
+                    writeResponse(localPath, output, resumePoints);
                     output.close();
                     resultHandler.done(null); // call stack (AsyncTaskRunner created by ManagementRequestContext) handles failures
                 } finally {
@@ -152,18 +329,21 @@ public abstract class RemoteFileRequestAndHandler {
         }
     }
 
-    private void writeResponse(final File localPath, final FlushableDataOutput output) throws IOException {
+    /**
+     * @param resumePoints the points to resume each file from for a chunked transfer, or {@code null} for a full transfer
+     */
+    void writeResponse(final File localPath, final FlushableDataOutput output, final Map<String, ResumePoint> resumePoints) throws IOException {
         output.writeByte(protocol.paramNumFiles());
         if (localPath == null || !localPath.exists()) {
             output.writeInt(-1);
         } else if (localPath.isFile()) {
             output.writeInt(1);
-            writeFile(localPath, localPath, output);
+            writeFile(localPath, localPath, output, resumePoints);
         } else {
             final List<File> childFiles = getChildFiles(localPath);
             output.writeInt(childFiles.size());
             for (File child : childFiles) {
-                writeFile(localPath, child, output);
+                writeFile(localPath, child, output, resumePoints);
             }
         }
     }
@@ -177,9 +357,7 @@ public abstract class RemoteFileRequestAndHandler {
     private void getChildFiles(final File base, final List<File> childFiles) {
         for (File child : base.listFiles()) {
             childFiles.add(child);
-            if (child.isFile() || isEmpty(child)) {
-                childFiles.add(child);
-            } else {
+            if (child.isDirectory() && !isEmpty(child)) {
                 getChildFiles(child, childFiles);
             }
         }
@@ -193,6 +371,68 @@ public abstract class RemoteFileRequestAndHandler {
         return child.getAbsolutePath().substring(parent.getAbsolutePath().length()+1);
     }
 
+    private void writeFile(final File localPath, final File file, final FlushableDataOutput output, final Map<String, ResumePoint> resumePoints) throws IOException {
+        if (resumePoints == null) {
+            writeFile(localPath, file, output);
+            return;
+        }
+        final String path = getRelativePath(localPath, file);
+        output.writeByte(protocol.fileStart());
+        output.writeByte(protocol.paramFilePath());
+        output.writeUTF(path);
+        output.writeByte(protocol.paramFileSize());
+        if (file.isDirectory()) {
+            output.writeLong(0L);
+            output.writeBoolean(true);
+            output.writeByte(protocol.fileEnd());
+            return;
+        }
+        final long length = file.length();
+        output.writeLong(length);
+        output.writeBoolean(false);
+        final ResumePoint resumePoint = resumePoints.get(path);
+        long offset = resumePoint == null ? 0L : resumePoint.offset;
+        if (offset < 0 || offset > length || offset % CHUNK_SIZE != 0) {
+            // not a chunk boundary of this file so send it all again
+            offset = 0;
+        }
+        final MessageDigest digest = createMessageDigest();
+        final MessageDigest fileDigest = createMessageDigest();
+        final byte[] buffer = new byte[(int) Math.min(CHUNK_SIZE, length)];
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (offset > 0) {
+                updateDigest(in, offset, buffer, digest, fileDigest);
+                if (!MessageDigest.isEqual(resumePoint.hash, digest.digest())) {
+                    // the partially received file is not the start of this file, e.g. because it changed since
+                    fileDigest.reset();
+                    offset = 0;
+                }
+            }
+            output.writeByte(protocol.paramFileOffset());
+            output.writeLong(offset);
+            long position = offset;
+            while (position < length) {
+                final int len = (int) Math.min(length - position, CHUNK_SIZE);
+                final ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, len);
+                while (chunk.hasRemaining()) {
+                    if (in.read(chunk, position + chunk.position()) < 0) {
+                        throw DeploymentRepositoryLogger.ROOT_LOGGER.fileTruncatedDuringTransfer(file.getAbsolutePath());
+                    }
+                }
+                digest.reset();
+                digest.update(buffer, 0, len);
+                fileDigest.update(buffer, 0, len);
+                output.write(buffer, 0, len);
+                output.writeByte(protocol.paramChunkHash());
+                output.write(digest.digest());
+                position += len;
+            }
+        }
+        output.writeByte(protocol.paramChunkHash());
+        output.write(fileDigest.digest());
+        output.writeByte(protocol.fileEnd());
+    }
+
     private void writeFile(final File localPath, final File file, final FlushableDataOutput output) throws IOException {
         output.writeByte(protocol.fileStart());
         output.writeByte(protocol.paramFilePath());
@@ -224,16 +464,140 @@ public abstract class RemoteFileRequestAndHandler {
         output.writeByte(protocol.fileEnd());
     }
 
+    /**
+     * Gets whether the local path still contains files of a chunked transfer that did not complete.
+     *
+     * @param localPath the local path the files are transferred to
+     * @return {@code true} if a chunked transfer to the path needs to be resumed
+     */
+    public static boolean isPartial(final File localPath) {
+        return !getResumeOffsets(localPath).isEmpty();
+    }
+
+    /**
+     * Gets the points to resume the partially received files under the local path from, i.e. the length of their
+     * verified chunks and the SHA-1 hash of those chunks.
+     */
+    static Map<String, ResumePoint> getResumePoints(final File localPath) throws IOException {
+        final Map<String, Long> offsets = getResumeOffsets(localPath);
+        if (offsets.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, ResumePoint> resumePoints = new HashMap<>();
+        final MessageDigest digest = createMessageDigest();
+        final byte[] buffer = new byte[CHUNK_SIZE];
+        for (Map.Entry<String, Long> offset : offsets.entrySet()) {
+            final File partial = new File(localPath, offset.getKey() + PARTIAL_SUFFIX);
+            digest.reset();
+            try (FileChannel in = FileChannel.open(partial.toPath(), StandardOpenOption.READ)) {
+                updateDigest(in, offset.getValue(), buffer, digest);
+            }
+            resumePoints.put(offset.getKey(), new ResumePoint(offset.getValue(), digest.digest()));
+        }
+        return resumePoints;
+    }
+
+    static Map<String, Long> getResumeOffsets(final File localPath) {
+        if (localPath == null || !localPath.isDirectory()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Long> offsets = new HashMap<>();
+        getResumeOffsets(localPath, localPath, offsets);
+        return offsets;
+    }
+
+    private static void getResumeOffsets(final File base, final File dir, final Map<String, Long> offsets) {
+        final File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                getResumeOffsets(base, child, offsets);
+            } else if (child.getName().endsWith(PARTIAL_SUFFIX)) {
+                final String path = child.getAbsolutePath().substring(base.getAbsolutePath().length() + 1);
+                // only whole chunks have been verified and written
+                offsets.put(path.substring(0, path.length() - PARTIAL_SUFFIX.length()), (child.length() / CHUNK_SIZE) * CHUNK_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Updates the digests with the first {@code length} bytes of the file.
+     */
+    private static void updateDigest(final FileChannel in, final long length, final byte[] buffer, final MessageDigest... digests) throws IOException {
+        long position = 0;
+        while (position < length) {
+            final ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, (int) Math.min(length - position, buffer.length));
+            while (chunk.hasRemaining()) {
+                if (in.read(chunk, position + chunk.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+            for (MessageDigest digest : digests) {
+                digest.update(buffer, 0, chunk.limit());
+            }
+            position += chunk.limit();
+        }
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+    }
+
     /**
      * Maps the expected protocol codes to the actual protocol
      */
     public interface RemoteFileProtocolIdMapper {
+        /**
+         * The id of a parameter the protocol does not support.
+         */
+        byte UNSUPPORTED = (byte) 0xFF;
+
         byte paramRootId();
         byte paramNumFiles();
         byte fileStart();
         byte paramFilePath();
         byte paramFileSize();
         byte fileEnd();
+
+        /**
+         * The id of the offset a file of a chunked transfer is resumed from. Chunked transfers fall back to whole file
+         * transfers if the protocol does not support it.
+         *
+         * @return the id, or {@link #UNSUPPORTED}
+         */
+        default byte paramFileOffset() {
+            return UNSUPPORTED;
+        }
+
+        /**
+         * The id of the hashes of a chunked transfer. Chunked transfers fall back to whole file transfers if the
+         * protocol does not support it.
+         *
+         * @return the id, or {@link #UNSUPPORTED}
+         */
+        default byte paramChunkHash() {
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * The point a partially received file of a chunked transfer is resumed from.
+     */
+    static final class ResumePoint {
+        final long offset;
+        /** The SHA-1 hash of the bytes before the offset */
+        final byte[] hash;
+
+        ResumePoint(final long offset, final byte[] hash) {
+            this.offset = offset;
+            this.hash = hash;
+        }
     }
 
     /**
@@ -274,4 +638,27 @@ public abstract class RemoteFileRequestAndHandler {
             return missing;
         }
     }
+
+    /**
+     *  Indicates a chunk of a chunked transfer did not match its hash. The offset is 0 if the whole file did not match
+     *  its hash.
+     */
+    public static class InvalidChunkException extends Exception {
+        private static final long serialVersionUID = 1L;
+        final String path;
+        final long offset;
+
+        private InvalidChunkException(String path, long offset) {
+            this.path = path;
+            this.offset = offset;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+    }
 }
@@ -40,6 +40,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.security.AccessController;
+import java.security.MessageDigest;
 import java.security.PrivilegedAction;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -48,7 +49,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.hamcrest.CoreMatchers;
@@ -125,6 +130,62 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of addContent method with an expected hash, of class ContentRepository.
+     */
+    @Test
+    public void testAddContentWithExpectedHash() throws Exception {
+        byte[] expected = HashUtil.hexStringToByteArray("0c40ffacd15b0f66d5081a93407d3ff5e3c65a71");
+        try (InputStream stream = getResourceAsStream("overlay.xhtml")) {
+            assertThat(repository.addContent(stream, expected), is(expected));
+        }
+        InputStream unreadable = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("The content is already present and should not be read");
+            }
+        };
+        assertThat(repository.addContent(unreadable, expected), is(expected));
+        try (InputStream stream = new ByteArrayInputStream("other".getBytes(StandardCharsets.UTF_8))) {
+            repository.addContent(stream, HashUtil.hexStringToByteArray("0000000000000000000000000000000000000000"));
+            fail("Content with an unexpected hash should be rejected");
+        } catch (IOException expectedException) {
+            // expected
+        }
+    }
+
+    /**
+     * Test of concurrent calls to the addContent method, of class ContentRepository.
+     */
+    @Test
+    public void testAddContentConcurrently() throws Exception {
+        final int threads = 8;
+        final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        final List<byte[]> contents = new ArrayList<>();
+        final List<String> hashes = new ArrayList<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < threads; i++) {
+            byte[] content = new byte[200 * 1024 + i];
+            random.nextBytes(content);
+            contents.add(content);
+            hashes.add(HashUtil.bytesToHexString(digest.digest(content)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (byte[] content : contents) {
+                results.add(executor.submit(() -> repository.addContent(new ByteArrayInputStream(content))));
+            }
+            for (int i = 0; i < threads; i++) {
+                byte[] hash = results.get(i).get();
+                assertThat(HashUtil.bytesToHexString(hash), is(hashes.get(i)));
+                assertTrue(repository.hasContent(hash));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
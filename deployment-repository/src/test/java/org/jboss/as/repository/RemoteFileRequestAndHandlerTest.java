@@ -0,0 +1,294 @@
+/*
+* JBoss, Home of Professional Open Source.
+* Copyright 2011, Red Hat Middleware LLC, and individual contributors
+* as indicated by the @author tags. See the copyright.txt file in the
+* distribution for a full listing of individual contributors.
+*
+* This is free software; you can redistribute it and/or modify it
+* under the terms of the GNU Lesser General Public License as
+* published by the Free Software Foundation; either version 2.1 of
+* the License, or (at your option) any later version.
+*
+* This software is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this software; if not, write to the Free
+* Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+* 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+*/
+package org.jboss.as.repository;
+
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+
+import org.jboss.as.protocol.mgmt.ActiveOperation;
+import org.jboss.as.protocol.mgmt.FlushableDataOutput;
+import org.jboss.logging.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Round trip tests of the chunked transfer of {@link RemoteFileRequestAndHandler}.
+ */
+public class RemoteFileRequestAndHandlerTest {
+
+    private static final RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper MAPPER = new RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper() {
+        public byte paramRootId() {
+            return 0x01;
+        }
+
+        public byte paramNumFiles() {
+            return 0x02;
+        }
+
+        public byte fileStart() {
+            return 0x03;
+        }
+
+        public byte paramFilePath() {
+            return 0x04;
+        }
+
+        public byte paramFileSize() {
+            return 0x05;
+        }
+
+        public byte fileEnd() {
+            return 0x06;
+        }
+
+        public byte paramFileOffset() {
+            return 0x07;
+        }
+
+        public byte paramChunkHash() {
+            return 0x08;
+        }
+    };
+
+    /** A protocol written before chunked transfers were added */
+    private static final RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper WHOLE_FILE_MAPPER = new RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper() {
+        public byte paramRootId() {
+            return 0x01;
+        }
+
+        public byte paramNumFiles() {
+            return 0x02;
+        }
+
+        public byte fileStart() {
+            return 0x03;
+        }
+
+        public byte paramFilePath() {
+            return 0x04;
+        }
+
+        public byte paramFileSize() {
+            return 0x05;
+        }
+
+        public byte fileEnd() {
+            return 0x06;
+        }
+    };
+
+    private static final Logger LOGGER = Logger.getLogger(RemoteFileRequestAndHandlerTest.class);
+
+    private final Path root = new File("target", "temp").toPath().resolve("remotefile");
+    private final RemoteFileRequestAndHandler handler = new RemoteFileRequestAndHandler(MAPPER) {
+    };
+    private File source;
+    private File target;
+    private byte[] content;
+
+    @Before
+    public void createDirectories() throws IOException {
+        if (Files.exists(root)) {
+            deleteRecursively(root);
+        }
+        source = Files.createDirectories(root.resolve("source")).toFile();
+        target = root.resolve("target").toFile();
+        content = new byte[RemoteFileRequestAndHandler.CHUNK_SIZE * 2 + RemoteFileRequestAndHandler.CHUNK_SIZE / 2];
+        new Random(42).nextBytes(content);
+        Files.write(source.toPath().resolve("content.bin"), content);
+    }
+
+    @After
+    public void deleteDirectories() throws IOException {
+        deleteRecursively(root);
+    }
+
+    @Test
+    public void testTransfer() throws Exception {
+        Files.createFile(source.toPath().resolve("empty.txt"));
+        Files.createDirectories(source.toPath().resolve("empty-dir"));
+        Files.write(Files.createDirectories(source.toPath().resolve("sub")).resolve("nested.txt"), "nested".getBytes("UTF-8"));
+
+        transfer(write(Collections.emptyMap()));
+
+        assertArrayEquals(content, Files.readAllBytes(target.toPath().resolve("content.bin")));
+        File empty = new File(target, "empty.txt");
+        assertTrue(empty.isFile());
+        assertEquals(0L, empty.length());
+        File emptyDir = new File(target, "empty-dir");
+        assertTrue(emptyDir.isDirectory());
+        assertEquals(0, emptyDir.list().length);
+        assertArrayEquals("nested".getBytes("UTF-8"), Files.readAllBytes(target.toPath().resolve("sub").resolve("nested.txt")));
+        assertFalse(RemoteFileRequestAndHandler.isPartial(target));
+    }
+
+    @Test
+    public void testResume() throws Exception {
+        final byte[] full = write(Collections.emptyMap());
+        // one and a half chunks were received, only the whole chunk was verified
+        Files.createDirectories(target.toPath());
+        final int received = RemoteFileRequestAndHandler.CHUNK_SIZE + RemoteFileRequestAndHandler.CHUNK_SIZE / 2;
+        Files.write(target.toPath().resolve("content.bin.part"), Arrays.copyOf(content, received));
+        assertTrue(RemoteFileRequestAndHandler.isPartial(target));
+
+        final Map<String, Long> offsets = RemoteFileRequestAndHandler.getResumeOffsets(target);
+        assertEquals(Collections.singletonMap("content.bin", (long) RemoteFileRequestAndHandler.CHUNK_SIZE), offsets);
+        final byte[] resumed = write(RemoteFileRequestAndHandler.getResumePoints(target));
+        assertEquals(full.length - RemoteFileRequestAndHandler.CHUNK_SIZE - 21, resumed.length);
+
+        transfer(resumed);
+        assertArrayEquals(content, Files.readAllBytes(target.toPath().resolve("content.bin")));
+        assertFalse(RemoteFileRequestAndHandler.isPartial(target));
+    }
+
+    @Test
+    public void testResumeChangedFile() throws Exception {
+        final byte[] full = write(Collections.emptyMap());
+        // a chunk of an earlier version of the file was received
+        Files.createDirectories(target.toPath());
+        final byte[] earlier = new byte[RemoteFileRequestAndHandler.CHUNK_SIZE];
+        new Random(7).nextBytes(earlier);
+        Files.write(target.toPath().resolve("content.bin.part"), earlier);
+
+        // the chunk does not match the start of the file, so all of it is sent again
+        final byte[] resumed = write(RemoteFileRequestAndHandler.getResumePoints(target));
+        assertEquals(full.length, resumed.length);
+
+        transfer(resumed);
+        assertArrayEquals(content, Files.readAllBytes(target.toPath().resolve("content.bin")));
+        assertFalse(RemoteFileRequestAndHandler.isPartial(target));
+    }
+
+    @Test
+    public void testHashMismatch() throws Exception {
+        final byte[] data = write(Collections.emptyMap());
+        // the last chunk is followed by its hash header, the hash and the file end header
+        data[data.length - 100] ^= 1;
+        try {
+            transfer(data);
+            fail("A corrupted chunk should be rejected");
+        } catch (RemoteFileRequestAndHandler.InvalidChunkException e) {
+            assertEquals("content.bin", e.getPath());
+            assertEquals(RemoteFileRequestAndHandler.CHUNK_SIZE * 2L, e.getOffset());
+        }
+        assertFalse(new File(target, "content.bin").exists());
+        assertEquals(Collections.singletonMap("content.bin", RemoteFileRequestAndHandler.CHUNK_SIZE * 2L), RemoteFileRequestAndHandler.getResumeOffsets(target));
+    }
+
+    @Test
+    public void testFileHashMismatch() throws Exception {
+        final byte[] data = write(Collections.emptyMap());
+        // the hash of the whole file is followed by the file end header
+        data[data.length - 2] ^= 1;
+        try {
+            transfer(data);
+            fail("A file not matching its hash should be rejected");
+        } catch (RemoteFileRequestAndHandler.InvalidChunkException e) {
+            assertEquals("content.bin", e.getPath());
+            assertEquals(0L, e.getOffset());
+        }
+        assertFalse(new File(target, "content.bin").exists());
+        assertFalse(RemoteFileRequestAndHandler.isPartial(target));
+    }
+
+    @Test
+    public void testChunkedTransferNotSupported() throws Exception {
+        final RemoteFileRequestAndHandler wholeFileHandler = new RemoteFileRequestAndHandler(WHOLE_FILE_MAPPER) {
+        };
+
+        final ByteArrayOutputStream chunkedRequest = new ByteArrayOutputStream();
+        try (Output output = new Output(chunkedRequest)) {
+            wholeFileHandler.sendChunkedRequest(output, (byte) 0x01, "content", target);
+        }
+        final ByteArrayOutputStream request = new ByteArrayOutputStream();
+        try (Output output = new Output(request)) {
+            wholeFileHandler.sendRequest(output, (byte) 0x01, "content");
+        }
+        assertArrayEquals(request.toByteArray(), chunkedRequest.toByteArray());
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output output = new Output(bytes)) {
+            wholeFileHandler.writeResponse(source, output, null);
+        }
+        final Result result = new Result();
+        wholeFileHandler.handleChunkedResponse(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), target, LOGGER, result, null);
+        assertEquals(target, result.file);
+        assertArrayEquals(content, Files.readAllBytes(target.toPath().resolve("content.bin")));
+    }
+
+    private byte[] write(Map<String, RemoteFileRequestAndHandler.ResumePoint> resumePoints) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output output = new Output(bytes)) {
+            handler.writeResponse(source, output, resumePoints);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void transfer(byte[] data) throws Exception {
+        final Result result = new Result();
+        handler.handleChunkedResponse(new DataInputStream(new ByteArrayInputStream(data)), target, LOGGER, result, null);
+        assertEquals(target, result.file);
+    }
+
+    private static class Output extends DataOutputStream implements FlushableDataOutput {
+        Output(ByteArrayOutputStream out) {
+            super(out);
+        }
+    }
+
+    private static class Result implements ActiveOperation.ResultHandler<File> {
+        private File file;
+
+        @Override
+        public boolean done(File result) {
+            this.file = result;
+            return true;
+        }
+
+        @Override
+        public boolean failed(Throwable t) {
+            return false;
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -30,6 +30,7 @@ interface CommonAttributes {
     String AUTO_DEPLOY_ZIPPED = "auto-deploy-zipped";
     String AUTO_DEPLOY_EXPLODED = "auto-deploy-exploded";
     String AUTO_DEPLOY_XML = "auto-deploy-xml";
+    String COMPLETION_CHECK_THREADS = "completion-check-threads";
     String DEPLOYMENT_SCANNER = "deployment-scanner";
     String DEPLOYMENT_TIMEOUT = "deployment-timeout";
     String NAME = "name";
@@ -38,6 +39,7 @@ interface CommonAttributes {
     String SCANNER = "scanner";
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
+    String SCAN_MODE = "scan-mode";
     String RUNTIME_FAILURE_CAUSES_ROLLBACK = "runtime-failure-causes-rollback";
 
 }
@@ -29,11 +29,13 @@ import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_EXPLODED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_XML;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_ZIPPED;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.COMPLETION_CHECK_THREADS;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.DEPLOYMENT_TIMEOUT;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RELATIVE_TO;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_MODE;
 
 import java.io.File;
 import java.io.IOException;
@@ -111,6 +113,8 @@ class DeploymentScannerAdd implements OperationStepHandler {
             final boolean autoDeployXml = AUTO_DEPLOY_XML.resolveModelAttribute(context, operation).asBoolean();
             final long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, operation).asLong();
             final int scanInterval = SCAN_INTERVAL.resolveModelAttribute(context, operation).asInt();
+            final ScanMode scanMode = ScanMode.forName(SCAN_MODE.resolveModelAttribute(context, operation).asString());
+            final int completionCheckThreads = COMPLETION_CHECK_THREADS.resolveModelAttribute(context, operation).asInt();
             final boolean rollback = RUNTIME_FAILURE_CAUSES_ROLLBACK.resolveModelAttribute(context, operation).asBoolean();
 
             final ScheduledExecutorService scheduledExecutorService = createScannerExecutorService();
@@ -129,6 +133,8 @@ class DeploymentScannerAdd implements OperationStepHandler {
                 bootTimeScanner.setAutoDeployXMLContent(autoDeployXml);
                 bootTimeScanner.setDeploymentTimeout(deploymentTimeout);
                 bootTimeScanner.setScanInterval(scanInterval);
+                bootTimeScanner.setScanMode(scanMode);
+                bootTimeScanner.setCompletionCheckThreads(completionCheckThreads);
                 bootTimeScanner.setRuntimeFailureCausesRollback(rollback);
             } else {
                 bootTimeScanner = null;
@@ -246,14 +252,16 @@ class DeploymentScannerAdd implements OperationStepHandler {
         final String path = DeploymentScannerDefinition.PATH.resolveModelAttribute(context, model).asString();
         final Boolean enabled = SCAN_ENABLED.resolveModelAttribute(context, model).asBoolean();
         final Integer interval = SCAN_INTERVAL.resolveModelAttribute(context, model).asInt();
+        final ScanMode scanMode = ScanMode.forName(SCAN_MODE.resolveModelAttribute(context, model).asString());
         final String relativeTo = operation.hasDefined(CommonAttributes.RELATIVE_TO) ? RELATIVE_TO.resolveModelAttribute(context, model).asString() : null;
         final Boolean autoDeployZip = AUTO_DEPLOY_ZIPPED.resolveModelAttribute(context, model).asBoolean();
         final Boolean autoDeployExp = AUTO_DEPLOY_EXPLODED.resolveModelAttribute(context, model).asBoolean();
         final Boolean autoDeployXml = AUTO_DEPLOY_XML.resolveModelAttribute(context, model).asBoolean();
         final Long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, model).asLong();
+        final Integer completionCheckThreads = COMPLETION_CHECK_THREADS.resolveModelAttribute(context, model).asInt();
         final Boolean rollback = RUNTIME_FAILURE_CAUSES_ROLLBACK.resolveModelAttribute(context, model).asBoolean();
-        DeploymentScannerService.addService(context, address, relativeTo, path, interval, TimeUnit.MILLISECONDS,
-                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, rollback, bootTimeScanner, executorService);
+        DeploymentScannerService.addService(context, address, relativeTo, path, interval, TimeUnit.MILLISECONDS, scanMode,
+                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, completionCheckThreads, rollback, bootTimeScanner, executorService);
 
     }
 
@@ -24,10 +24,14 @@ package org.jboss.as.server.deployment.scanner;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FILESYSTEM_PATH;
 
+import java.util.EnumSet;
+
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathInfoHandler;
@@ -92,6 +96,13 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setAllowExpression(true)
                     .setDefaultValue(ModelNode.ZERO)
                     .build();
+    protected static final SimpleAttributeDefinition SCAN_MODE =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.SCAN_MODE, ModelType.STRING, true)
+                    .setXmlName(CommonAttributes.SCAN_MODE)
+                    .setAllowExpression(true)
+                    .setDefaultValue(new ModelNode(ScanMode.POLL.toString()))
+                    .setValidator(new EnumValidator<>(ScanMode.class, EnumSet.allOf(ScanMode.class)))
+                    .build();
     protected static final SimpleAttributeDefinition AUTO_DEPLOY_ZIPPED =
             new SimpleAttributeDefinitionBuilder(CommonAttributes.AUTO_DEPLOY_ZIPPED, ModelType.BOOLEAN, true)
                     .setXmlName(CommonAttributes.AUTO_DEPLOY_ZIPPED)
@@ -119,6 +130,14 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setDefaultValue(new ModelNode().set(600))
                     .build();
 
+    protected static final SimpleAttributeDefinition COMPLETION_CHECK_THREADS =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.COMPLETION_CHECK_THREADS, ModelType.INT, true)
+                    .setXmlName(CommonAttributes.COMPLETION_CHECK_THREADS)
+                    .setAllowExpression(true)
+                    .setDefaultValue(new ModelNode(1))
+                    .setValidator(new IntRangeValidator(1, true, true))
+                    .build();
+
     protected static final SimpleAttributeDefinition RUNTIME_FAILURE_CAUSES_ROLLBACK =
             new SimpleAttributeDefinitionBuilder(CommonAttributes.RUNTIME_FAILURE_CAUSES_ROLLBACK, ModelType.BOOLEAN, true)
                     .setXmlName(CommonAttributes.RUNTIME_FAILURE_CAUSES_ROLLBACK)
@@ -126,7 +145,7 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setDefaultValue(ModelNode.FALSE)
                     .build();
 
-    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK};
+    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,SCAN_MODE,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,COMPLETION_CHECK_THREADS,RUNTIME_FAILURE_CAUSES_ROLLBACK};
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
@@ -136,10 +155,12 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
         UpdateScannerWriteAttributeHandler commonHandler = new UpdateScannerWriteAttributeHandler();
         resourceRegistration.registerReadWriteAttribute(SCAN_ENABLED, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(SCAN_INTERVAL, null, commonHandler);
+        resourceRegistration.registerReadWriteAttribute(SCAN_MODE, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_ZIPPED, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_EXPLODED, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_XML, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(DEPLOYMENT_TIMEOUT, null, commonHandler);
+        resourceRegistration.registerReadWriteAttribute(COMPLETION_CHECK_THREADS, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(RUNTIME_FAILURE_CAUSES_ROLLBACK, null, commonHandler);
     }
 
@@ -32,6 +32,7 @@ import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
 import static org.jboss.as.server.deployment.scanner.CommonAttributes.AUTO_DEPLOY_EXPLODED;
 import static org.jboss.as.server.deployment.scanner.CommonAttributes.AUTO_DEPLOY_XML;
 import static org.jboss.as.server.deployment.scanner.CommonAttributes.AUTO_DEPLOY_ZIPPED;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.COMPLETION_CHECK_THREADS;
 import static org.jboss.as.server.deployment.scanner.CommonAttributes.DEPLOYMENT_SCANNER;
 import static org.jboss.as.server.deployment.scanner.CommonAttributes.DEPLOYMENT_TIMEOUT;
 import static org.jboss.as.server.deployment.scanner.CommonAttributes.NAME;
@@ -40,6 +41,7 @@ import static org.jboss.as.server.deployment.scanner.CommonAttributes.RELATIVE_T
 import static org.jboss.as.server.deployment.scanner.CommonAttributes.RUNTIME_FAILURE_CAUSES_ROLLBACK;
 import static org.jboss.as.server.deployment.scanner.CommonAttributes.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.CommonAttributes.SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.SCAN_MODE;
 
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
@@ -57,6 +59,8 @@ import org.jboss.staxmapper.XMLExtendedStreamReader;
 import org.jboss.staxmapper.XMLExtendedStreamWriter;
 
 /**
+ * Parser for the 2.0 and 2.1 versions of the deployment scanner subsystem. Version 2.1 adds the scan-mode and
+ * completion-check-threads attributes.
  */
 class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReader<List<ModelNode>>, XMLElementWriter<SubsystemMarshallingContext> {
 
@@ -65,8 +69,8 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
      */
     @Override
     public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
-        context.startSubsystemElement(Namespace.CURRENT.getUriString(), false);
         ModelNode scanners = context.getModelNode();
+        context.startSubsystemElement(getNamespace(scanners).getUriString(), false);
         for (final Property list : scanners.asPropertyList()) {
 
             final ModelNode node = list.getValue();
@@ -86,16 +90,37 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
                 DeploymentScannerDefinition.RELATIVE_TO.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.SCAN_ENABLED.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.SCAN_INTERVAL.marshallAsAttribute(configuration, writer);
+                DeploymentScannerDefinition.SCAN_MODE.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.AUTO_DEPLOY_ZIPPED.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.AUTO_DEPLOY_EXPLODED.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.AUTO_DEPLOY_XML.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.DEPLOYMENT_TIMEOUT.marshallAsAttribute(configuration, writer);
+                DeploymentScannerDefinition.COMPLETION_CHECK_THREADS.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK.marshallAsAttribute(configuration, writer);
             }
             writer.writeEndElement();
         }
     }
 
+    /**
+     * Gets the namespace to marshal the subsystem with. The 2.0 namespace is used unless a scanner defines an
+     * attribute added in 2.1, so a configuration not using them is marshalled with the version it was parsed with.
+     *
+     * @param subsystem the subsystem model
+     * @return the namespace to marshal {@code subsystem} with
+     */
+    private static Namespace getNamespace(ModelNode subsystem) {
+        if (subsystem.hasDefined(CommonAttributes.SCANNER)) {
+            for (final Property scanner : subsystem.get(CommonAttributes.SCANNER).asPropertyList()) {
+                final ModelNode configuration = scanner.getValue();
+                if (configuration.hasDefined(SCAN_MODE) || configuration.hasDefined(COMPLETION_CHECK_THREADS)) {
+                    return Namespace.DEPLOYMENT_SCANNER_2_1;
+                }
+            }
+        }
+        return Namespace.DEPLOYMENT_SCANNER_2_0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -118,7 +143,8 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
             switch (Namespace.forUri(reader.getNamespaceURI())) {
                 case DEPLOYMENT_SCANNER_1_0:
                 case DEPLOYMENT_SCANNER_1_1:
-                case DEPLOYMENT_SCANNER_2_0: {
+                case DEPLOYMENT_SCANNER_2_0:
+                case DEPLOYMENT_SCANNER_2_1: {
                     final String element = reader.getLocalName();
                     switch (element) {
                         case DEPLOYMENT_SCANNER: {
@@ -140,6 +166,7 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
     void parseScanner(XMLExtendedStreamReader reader, final ModelNode address, List<ModelNode> list) throws XMLStreamException {
         // Handle attributes
 
+        final Namespace namespace = Namespace.forUri(reader.getNamespaceURI());
         String name = DeploymentScannerExtension.DEFAULT_SCANNER_NAME;
         String path = null;
         final ModelNode operation = new ModelNode();
@@ -167,6 +194,11 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
                     DeploymentScannerDefinition.SCAN_INTERVAL.parseAndSetParameter(value,operation,reader);
                     break;
                 }
+                case SCAN_MODE: {
+                    requireNamespace_2_1(reader, namespace, i);
+                    DeploymentScannerDefinition.SCAN_MODE.parseAndSetParameter(value,operation,reader);
+                    break;
+                }
                 case SCAN_ENABLED: {
                     DeploymentScannerDefinition.SCAN_ENABLED.parseAndSetParameter(value,operation,reader);
                     break;
@@ -187,6 +219,11 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
                     DeploymentScannerDefinition.DEPLOYMENT_TIMEOUT.parseAndSetParameter(value,operation,reader);
                     break;
                 }
+                case COMPLETION_CHECK_THREADS: {
+                    requireNamespace_2_1(reader, namespace, i);
+                    DeploymentScannerDefinition.COMPLETION_CHECK_THREADS.parseAndSetParameter(value,operation,reader);
+                    break;
+                }
                 case RUNTIME_FAILURE_CAUSES_ROLLBACK: {
                     DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK.parseAndSetParameter(value,operation,reader);
                     break;
@@ -206,4 +243,9 @@ class DeploymentScannerParser_2_0 implements XMLStreamConstants, XMLElementReade
         list.add(operation);
     }
 
+    private static void requireNamespace_2_1(XMLExtendedStreamReader reader, Namespace namespace, int index) throws XMLStreamException {
+        if (namespace != Namespace.DEPLOYMENT_SCANNER_2_1) {
+            throw ParseUtils.unexpectedAttribute(reader, index);
+        }
+    }
 }
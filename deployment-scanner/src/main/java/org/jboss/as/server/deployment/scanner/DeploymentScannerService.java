@@ -67,11 +67,13 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private final PathAddress resourceAddress;
     private final long interval;
     private TimeUnit unit = TimeUnit.MILLISECONDS;
+    private final ScanMode scanMode;
     private final boolean enabled;
     private final boolean autoDeployZipped;
     private final boolean autoDeployExploded;
     private final boolean autoDeployXml;
     private final long deploymentTimeout;
+    private final int completionCheckThreads;
     private final String relativeTo;
     private final String path;
     private final boolean rollbackOnRuntimeFailure;
@@ -119,19 +121,21 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @param path              the path
      * @param scanInterval      the scan interval
      * @param unit              the unit of {@code scanInterval}
+     * @param scanMode          how the scanner detects changes in the deployment directory
      * @param autoDeployZip     whether zipped content should be auto-deployed
      * @param autoDeployExploded whether exploded content should be auto-deployed
      * @param autoDeployXml     whether xml content should be auto-deployed
      * @param scanEnabled       scan enabled
      * @param deploymentTimeout the deployment timeout
+     * @param completionCheckThreads the number of threads checking whether archives are completely written
      * @param rollbackOnRuntimeFailure rollback on runtime failures
      * @param bootTimeService   the deployment scanner used in the boot time scan
      * @param scheduledExecutorService executor to use for asynchronous tasks
      * @return the controller for the deployment scanner service
      */
     public static void addService(final OperationContext context, final PathAddress resourceAddress, final String relativeTo, final String path,
-                                                                  final int scanInterval, TimeUnit unit, final boolean autoDeployZip,
-                                                                  final boolean autoDeployExploded, final boolean autoDeployXml, final boolean scanEnabled, final long deploymentTimeout, boolean rollbackOnRuntimeFailure,
+                                                                  final int scanInterval, TimeUnit unit, final ScanMode scanMode, final boolean autoDeployZip,
+                                                                  final boolean autoDeployExploded, final boolean autoDeployXml, final boolean scanEnabled, final long deploymentTimeout, final int completionCheckThreads, boolean rollbackOnRuntimeFailure,
                                                                   final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService) {
         final RuntimeCapability<Void> capName =  SCANNER_CAPABILITY.fromBaseCapability(resourceAddress.getLastElement().getValue());
         final CapabilityServiceBuilder<?> sb = context.getCapabilityServiceTarget().addCapability(capName);
@@ -143,8 +147,8 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         sb.requires(org.jboss.as.server.deployment.Services.JBOSS_DEPLOYMENT_CHAINS);
         final DeploymentScannerService service = new DeploymentScannerService(
                 serviceConsumer, pathManager, notificationRegistry, clientFactory, processStateNotifier, scheduledExecutorService,
-                resourceAddress, relativeTo, path, scanInterval, unit, autoDeployZip,
-                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, bootTimeService);
+                resourceAddress, relativeTo, path, scanInterval, unit, scanMode, autoDeployZip,
+                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, completionCheckThreads, rollbackOnRuntimeFailure, bootTimeService);
         sb.setInstance(service);
         sb.install();
     }
@@ -152,8 +156,8 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private DeploymentScannerService(final Consumer<DeploymentScanner> serviceConsumer, final Supplier<PathManager> pathManager,
                                      final Supplier<NotificationHandlerRegistry> notificationRegistry, final Supplier<ModelControllerClientFactory> clientFactory,
                                      final Supplier<ProcessStateNotifier> processStateNotifier, final ScheduledExecutorService scheduledExecutor,
-                                     final PathAddress resourceAddress, final String relativeTo, final String path, final int interval, final TimeUnit unit, final boolean autoDeployZipped,
-                                     final boolean autoDeployExploded, final boolean autoDeployXml, final boolean enabled, final long deploymentTimeout,
+                                     final PathAddress resourceAddress, final String relativeTo, final String path, final int interval, final TimeUnit unit, final ScanMode scanMode, final boolean autoDeployZipped,
+                                     final boolean autoDeployExploded, final boolean autoDeployXml, final boolean enabled, final long deploymentTimeout, final int completionCheckThreads,
                                      final boolean rollbackOnRuntimeFailure, final FileSystemDeploymentService bootTimeService) {
         this.serviceConsumer = serviceConsumer;
         this.pathManager = pathManager;
@@ -166,12 +170,14 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         this.path = path;
         this.interval = interval;
         this.unit = unit;
+        this.scanMode = scanMode;
         this.autoDeployZipped = autoDeployZipped;
         this.autoDeployExploded = autoDeployExploded;
         this.autoDeployXml = autoDeployXml;
         this.enabled = enabled;
         this.rollbackOnRuntimeFailure = rollbackOnRuntimeFailure;
         this.deploymentTimeout = deploymentTimeout;
+        this.completionCheckThreads = completionCheckThreads;
         this.scanner = bootTimeService;
     }
 
@@ -204,11 +210,13 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                         relativePath, factory, scheduledExecutor);
 
                 scanner.setScanInterval(unit.toMillis(interval));
+                scanner.setScanMode(scanMode);
                 scanner.setAutoDeployExplodedContent(autoDeployExploded);
                 scanner.setAutoDeployZippedContent(autoDeployZipped);
                 scanner.setAutoDeployXMLContent(autoDeployXml);
                 scanner.setRuntimeFailureCausesRollback(rollbackOnRuntimeFailure);
                 scanner.setDeploymentTimeout(deploymentTimeout);
+                scanner.setCompletionCheckThreads(completionCheckThreads);
                 this.scanner = scanner;
             } else {
                 // The boot-time scanner should use our DeploymentOperations.Factory
@@ -21,6 +21,7 @@
  */
 package org.jboss.as.server.deployment.scanner;
 
+import static java.security.AccessController.doPrivileged;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ARCHIVE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANCELLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
@@ -53,22 +54,32 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.DirectoryStream.Filter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
@@ -94,6 +105,7 @@ import org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger;
 import org.jboss.as.server.deployment.transformation.DeploymentTransformer;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
+import org.jboss.threads.JBossThreadFactory;
 
 /**
  * Service that monitors the filesystem for deployment content and if found deploys it.
@@ -126,8 +138,23 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Max period between two full scans when changes are detected with a watch service. Not every file system
+     * reports changes made by other hosts, and changes deep inside exploded content are not watched.
+     */
+    static final long RECONCILIATION_INTERVAL = 60000;
+
     private File deploymentDir;
     private long scanInterval = 0;
+    private volatile ScanMode scanMode = ScanMode.POLL;
+    // only closed outside of the scan lock, when the scanner is stopped
+    private volatile WatchService watchService;
+    // the following are guarded by the scan lock
+    private boolean watchUnavailable;
+    // package protected so tests can expire the reconciliation interval
+    long lastFullScan;
+    private boolean fullScanRequired = true;
+    private volatile int completionCheckThreads = 1;
     private volatile boolean scanEnabled = false;
     private volatile boolean firstScan = true;
     private volatile boolean deployedContentEstablished = false;
@@ -350,6 +377,29 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         startScan();
     }
 
+    int getCompletionCheckThreads() {
+        return completionCheckThreads;
+    }
+
+    /**
+     * Sets the number of threads used to check whether auto-deployable archives are completely written. With a
+     * single thread the archives are checked one by one while the deployment directory is walked.
+     */
+    void setCompletionCheckThreads(int completionCheckThreads) {
+        this.completionCheckThreads = completionCheckThreads;
+    }
+
+    ScanMode getScanMode() {
+        return scanMode;
+    }
+
+    /**
+     * Sets how changes in the deployment directory are detected. The watch service is created or closed by the next scan.
+     */
+    void setScanMode(ScanMode scanMode) {
+        this.scanMode = scanMode;
+    }
+
     @Override
     public void setDeploymentTimeout(long deploymentTimeout) {
         this.deploymentTimeout = deploymentTimeout;
@@ -388,6 +438,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     public synchronized void stopScanner() {
         this.scanEnabled = false;
         cancelScan();
+        closeWatchService();
         safeClose(deploymentOperations);
         this.deploymentOperations = null;
         if (undeployScanTask != null) {
@@ -598,6 +649,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 deployedContentEstablished = true;
             }
 
+            if (!oneOffScan && !isFullScanRequired()) {
+                ROOT_LOGGER.tracef("No changes reported in directory %s, skipping scan", deploymentDir.getAbsolutePath());
+                return scheduleRescan;
+            }
+            fullScanRequired = true;
+
             ScanContext scanContext = null;
             try {
                 scanContext = new ScanContext(deploymentOperations);
@@ -609,7 +666,14 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 throw ex;
             }
 
-            scanDirectory(deploymentDir, relativePath, scanContext);
+            try {
+                scanDirectory(deploymentDir, relativePath, scanContext);
+                addPendingArchives(scanContext);
+            } finally {
+                if (scanContext.completionCheckExecutor != null) {
+                    scanContext.completionCheckExecutor.shutdownNow();
+                }
+            }
 
             // WARN about markers with no associated content. Do this first in case any auto-deploy issue
             // is due to a file that wasn't meant to be auto-deployed, but has a misspelled marker
@@ -646,6 +710,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
             // Deal with any incomplete or non-scannable auto-deploy content
             ScanStatus status = handleAutoDeployFailures(scanContext);
+            // incomplete content has to be scanned again even if no further change is reported for it
+            fullScanRequired = status != ScanStatus.PROCEED;
             if (status != ScanStatus.PROCEED) {
                 if (status == ScanStatus.RETRY && scanInterval > 1000) {
                     // schedule a non-repeating task to try again more quickly
@@ -857,6 +923,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      * @param scanContext context of the scan
      */
     private void scanDirectory(final File directory, final String relativePath, final ScanContext scanContext) {
+        watch(directory);
         final List<File> children = listDirectoryChildren(directory, filter);
         for (File child : children) {
             final String fileName = child.getName();
@@ -934,6 +1001,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                     removeExtraneousMarker(child, fileName);
                 }
             } else if (isEEArchive(fileName)) {
+                if (child.isDirectory()) {
+                    watch(child);
+                }
                 boolean autoDeployable = child.isDirectory() ? autoDeployExploded : autoDeployZip;
                 if (autoDeployable) {
                     if (!isAutoDeployDisabled(child)) {
@@ -945,24 +1015,21 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
                         DeploymentMarker marker = deployed.get(fileName);
                         if (marker == null || marker.lastModified != timestamp) {
-                            try {
-                                if (isZipComplete(child)) {
-                                    final String path = relativeTo == null ? child.getAbsolutePath() : relativePath + fileName;
-                                    final boolean archive = child.isFile();
-                                    if(firstScan){
-                                        scanContext.firstScanDeployments.add(fileName);
-                                    }
-                                    addContentAddingTask(path, archive, fileName, child, timestamp, scanContext);
-                                } else {
-                                    //we need to make sure that the file was not deleted while
-                                    //the scanner was running
-                                    if (child.exists()) {
-                                        scanContext.incompleteFiles.put(child, new IncompleteDeploymentStatus(child, timestamp));
-                                    }
+                            if (completionCheckThreads > 1) {
+                                // checked by the completion check threads while the walk goes on. The name is
+                                // claimed now so a .failed marker of the same deployment is not deployed as well
+                                if (firstScan) {
+                                    scanContext.firstScanDeployments.add(fileName);
+                                }
+                                scanContext.pendingArchives.add(new PendingArchive(child, relativePath, timestamp,
+                                        scanContext.scannerTasks.size(), startCompletionChecks(child, scanContext)));
+                            } else {
+                                try {
+                                    addArchive(child, relativePath, timestamp, isZipComplete(child), scanContext.scannerTasks.size(), scanContext);
+                                } catch (NonScannableZipException e) {
+                                    // Track for possible logging in scan()
+                                    scanContext.nonscannable.put(child, new NonScannableStatus(e, timestamp));
                                 }
-                            } catch (NonScannableZipException e) {
-                                // Track for possible logging in scan()
-                                scanContext.nonscannable.put(child, new NonScannableStatus(e, timestamp));
                             }
                         }
                     }
@@ -1024,6 +1091,78 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Checks whether the periodic scan has to walk the deployment directory. In {@link ScanMode#WATCH} mode this is only
+     * the case if a change was reported since the last scan, if the last scan did not complete, or if the reconciliation
+     * scan is due. Invoke with the scan lock held.
+     */
+    private boolean isFullScanRequired() {
+        if (scanMode != ScanMode.WATCH) {
+            closeWatchService();
+            return true;
+        }
+        final long now = System.currentTimeMillis();
+        final WatchService watchService = this.watchService;
+        if (watchService == null) {
+            if (watchUnavailable) {
+                return true;
+            }
+            try {
+                this.watchService = deploymentDir.toPath().getFileSystem().newWatchService();
+            } catch (IOException | UnsupportedOperationException e) {
+                watchUnavailable = true;
+                ROOT_LOGGER.debugf(e, "Cannot watch %s for changes, scanning it periodically", deploymentDir.getAbsolutePath());
+                return true;
+            }
+            // the directories are registered by the full scan
+            lastFullScan = now;
+            return true;
+        }
+        boolean changed = false;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                changed = true;
+                key.pollEvents();
+                // a key that is no longer valid belongs to a deleted directory
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException e) {
+            this.watchService = null;
+            return true;
+        }
+        if (changed || fullScanRequired || firstScan || now - lastFullScan >= RECONCILIATION_INTERVAL) {
+            lastFullScan = now;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Registers a directory with the watch service, if there is one. Registering a directory twice has no effect.
+     * Invoke with the scan lock held.
+     */
+    private void watch(final File directory) {
+        final WatchService watchService = this.watchService;
+        if (watchService != null) {
+            try {
+                directory.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (IOException | ClosedWatchServiceException e) {
+                // the reconciliation scan will pick up any changes
+                ROOT_LOGGER.debugf(e, "Cannot watch %s for changes", directory.getAbsolutePath());
+            }
+        }
+    }
+
+    private void closeWatchService() {
+        final WatchService watchService = this.watchService;
+        if (watchService != null) {
+            this.watchService = null;
+            safeClose(watchService);
+        }
+    }
+
     private boolean isXmlComplete(final File xmlFile) {
         try {
             return XmlCompletionScanner.isCompleteDocument(xmlFile);
@@ -1076,6 +1215,11 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private long addContentAddingTask(final String path, final boolean archive, final String deploymentName,
                                       final File deploymentFile, final long timestamp, final ScanContext scanContext) {
+        return addContentAddingTask(path, archive, deploymentName, deploymentFile, timestamp, scanContext.scannerTasks.size(), scanContext);
+    }
+
+    private long addContentAddingTask(final String path, final boolean archive, final String deploymentName,
+                                      final File deploymentFile, final long timestamp, final int index, final ScanContext scanContext) {
         if (deploymentTransformer != null) {
             try {
                 deploymentTransformer.transform(deploymentFile.toPath(), deploymentFile.toPath());
@@ -1085,9 +1229,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
         }
         if (scanContext.registeredDeployments.containsKey(deploymentName)) {
-            scanContext.scannerTasks.add(new ReplaceTask(path, archive, deploymentName, deploymentFile, timestamp));
+            scanContext.scannerTasks.add(index, new ReplaceTask(path, archive, deploymentName, deploymentFile, timestamp));
         } else {
-            scanContext.scannerTasks.add(new DeployTask(path, archive, deploymentName, deploymentFile, timestamp));
+            scanContext.scannerTasks.add(index, new DeployTask(path, archive, deploymentName, deploymentFile, timestamp));
         }
         scanContext.toRemove.remove(deploymentName);
         return timestamp;
@@ -1125,6 +1269,123 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Adds the task deploying an auto-deployable archive found by {@link #scanDirectory}, or tracks the archive as
+     * incomplete.
+     *
+     * @param index the position of the task in the scanner tasks
+     * @return {@code true} if a task was added
+     */
+    private boolean addArchive(final File file, final String relativePath, final long timestamp, final boolean complete,
+                               final int index, final ScanContext scanContext) {
+        final String fileName = file.getName();
+        if (complete) {
+            final String path = relativeTo == null ? file.getAbsolutePath() : relativePath + fileName;
+            if(firstScan){
+                scanContext.firstScanDeployments.add(fileName);
+            }
+            addContentAddingTask(path, file.isFile(), fileName, file, timestamp, index, scanContext);
+            return true;
+        }
+        //we need to make sure that the file was not deleted while
+        //the scanner was running
+        if (file.exists()) {
+            scanContext.incompleteFiles.put(file, new IncompleteDeploymentStatus(file, timestamp));
+        }
+        return false;
+    }
+
+    /**
+     * Submits the zip files of an auto-deployable archive that {@link #isZipComplete} would check to the completion check
+     * threads, which are started by the first archive of the scan.
+     */
+    private Map<File, Future<Boolean>> startCompletionChecks(final File file, final ScanContext scanContext) {
+        final List<File> archives = new ArrayList<File>();
+        collectArchives(file, archives);
+        if (scanContext.completionCheckExecutor == null && !archives.isEmpty()) {
+            scanContext.completionCheckExecutor = createCompletionCheckExecutor(completionCheckThreads);
+        }
+        final Map<File, Future<Boolean>> completionChecks = new LinkedHashMap<File, Future<Boolean>>();
+        for (final File archive : archives) {
+            completionChecks.put(archive, scanContext.completionCheckExecutor.submit(() -> ZipCompletionScanner.isCompleteZip(archive)));
+        }
+        return completionChecks;
+    }
+
+    /**
+     * Waits for the completion checks of the archives found by {@link #scanDirectory} and adds their tasks where the
+     * walk found them, so the task order does not depend on the number of completion check threads.
+     */
+    private void addPendingArchives(final ScanContext scanContext) {
+        int added = 0;
+        for (PendingArchive pending : scanContext.pendingArchives) {
+            try {
+                if (addArchive(pending.file, pending.relativePath, pending.timestamp, isComplete(pending),
+                        pending.taskIndex + added, scanContext)) {
+                    added++;
+                }
+            } catch (NonScannableZipException e) {
+                // Track for possible logging in scan()
+                scanContext.nonscannable.put(pending.file, new NonScannableStatus(e, pending.timestamp));
+            }
+        }
+    }
+
+    private static boolean isComplete(final PendingArchive pending) throws NonScannableZipException {
+        for (Map.Entry<File, Future<Boolean>> completionCheck : pending.completionChecks.entrySet()) {
+            try {
+                if (!getCompletionCheckResult(completionCheck.getValue())) {
+                    return false;
+                }
+            } catch (IOException e) {
+                ROOT_LOGGER.failedCheckingZipFile(e, completionCheck.getKey().getPath());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void collectArchives(final File file, final List<File> archives) {
+        if (file.isDirectory()) {
+            for (File child : listDirectoryChildren(file)) {
+                collectArchives(child, archives);
+            }
+        } else if (isEEArchive(file.getName())) {
+            archives.add(file);
+        }
+    }
+
+    private static boolean getCompletionCheckResult(final Future<Boolean> completionCheck) throws IOException, NonScannableZipException {
+        try {
+            return completionCheck.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // treat it as incomplete, the next scan checks it again
+            return false;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof NonScannableZipException) {
+                throw (NonScannableZipException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static ExecutorService createCompletionCheckExecutor(final int threads) {
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<ThreadFactory>() {
+            public ThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("DeploymentScanner-completion-check-threads"), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
     private boolean isAutoDeployDisabled(File file) {
         final File parent = file.getParentFile();
         final String name = file.getName();
@@ -1709,6 +1970,14 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
          * Auto-deployable files detected by the scan where ZipScanner threw a NonScannableZipException
          */
         private final Map<File, NonScannableStatus> nonscannable = new HashMap<File, NonScannableStatus>();
+        /**
+         * Auto-deployable archives whose completeness is checked by the completion check threads
+         */
+        private final List<PendingArchive> pendingArchives = new ArrayList<PendingArchive>();
+        /**
+         * The completion check threads, started by the first archive to check
+         */
+        private ExecutorService completionCheckExecutor;
         /**
          * Timestamp when the scan started
          */
@@ -1720,6 +1989,26 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    private static class PendingArchive {
+        private final File file;
+        private final String relativePath;
+        private final long timestamp;
+        /**
+         * The number of scanner tasks added before the archive was found
+         */
+        private final int taskIndex;
+        private final Map<File, Future<Boolean>> completionChecks;
+
+        PendingArchive(final File file, final String relativePath, final long timestamp, final int taskIndex,
+                       final Map<File, Future<Boolean>> completionChecks) {
+            this.file = file;
+            this.relativePath = relativePath;
+            this.timestamp = timestamp;
+            this.taskIndex = taskIndex;
+            this.completionChecks = completionChecks;
+        }
+    }
+
     private static class IncompleteDeploymentStatus {
         private final long timestamp;
         private final long size;
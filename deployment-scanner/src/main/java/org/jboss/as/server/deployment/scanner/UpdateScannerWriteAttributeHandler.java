@@ -25,10 +25,12 @@ package org.jboss.as.server.deployment.scanner;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_EXPLODED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_XML;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_ZIPPED;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.COMPLETION_CHECK_THREADS;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.DEPLOYMENT_TIMEOUT;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_MODE;
 
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
@@ -46,8 +48,8 @@ import org.jboss.msc.service.ServiceController;
 final class UpdateScannerWriteAttributeHandler extends AbstractWriteAttributeHandler<DeploymentScanner> {
 
     UpdateScannerWriteAttributeHandler() {
-        super(AUTO_DEPLOY_EXPLODED, AUTO_DEPLOY_XML, AUTO_DEPLOY_ZIPPED, DEPLOYMENT_TIMEOUT,
-                RUNTIME_FAILURE_CAUSES_ROLLBACK, SCAN_ENABLED, SCAN_INTERVAL);
+        super(AUTO_DEPLOY_EXPLODED, AUTO_DEPLOY_XML, AUTO_DEPLOY_ZIPPED, COMPLETION_CHECK_THREADS, DEPLOYMENT_TIMEOUT,
+                RUNTIME_FAILURE_CAUSES_ROLLBACK, SCAN_ENABLED, SCAN_INTERVAL, SCAN_MODE);
     }
 
     @Override
@@ -82,12 +84,20 @@ final class UpdateScannerWriteAttributeHandler extends AbstractWriteAttributeHan
             scanner.setAutoDeployXMLContent(resolvedNewValue.asBoolean());
         } else if (ad == AUTO_DEPLOY_ZIPPED) {
             scanner.setAutoDeployZippedContent(resolvedNewValue.asBoolean());
+        } else if (ad == COMPLETION_CHECK_THREADS) {
+            if (scanner instanceof FileSystemDeploymentService) {
+                ((FileSystemDeploymentService) scanner).setCompletionCheckThreads(resolvedNewValue.asInt());
+            }
         } else if (ad == DEPLOYMENT_TIMEOUT) {
             scanner.setDeploymentTimeout(resolvedNewValue.asLong());
         } else if (ad == RUNTIME_FAILURE_CAUSES_ROLLBACK) {
             scanner.setRuntimeFailureCausesRollback(resolvedNewValue.asBoolean());
         } else if (ad == SCAN_INTERVAL) {
             scanner.setScanInterval(resolvedNewValue.asInt());
+        } else if (ad == SCAN_MODE) {
+            if (scanner instanceof FileSystemDeploymentService) {
+                ((FileSystemDeploymentService) scanner).setScanMode(ScanMode.forName(resolvedNewValue.asString()));
+            }
         } else if (ad == SCAN_ENABLED) {
             boolean enable = resolvedNewValue.asBoolean();
             if (enable) {
@@ -185,6 +185,45 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(deployed.exists());
     }
 
+    @Test
+    public void testWatchModeDeploy() throws Exception {
+        TesteeSet ts = createTestee();
+        ts.testee.setScanMode(ScanMode.WATCH);
+        // the first scan registers the deployment directory
+        ts.testee.scan();
+        File war = createFile("foo.war");
+        File dodeploy = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        ts.controller.addCompositeSuccessResponse(1);
+        // change notifications are delivered asynchronously
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (!deployed.exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            ts.testee.scan();
+        }
+        assertTrue(war.exists());
+        assertFalse(dodeploy.exists());
+        assertTrue(deployed.exists());
+
+        // every full scan reads the deployments, wait until the marker changes made by the deployment were reported
+        int requests;
+        do {
+            requests = ts.controller.requests.size();
+            Thread.sleep(200);
+            ts.testee.scan();
+        } while (ts.controller.requests.size() != requests && System.currentTimeMillis() < deadline);
+
+        // an unchanged directory is not scanned
+        ts.testee.scan();
+        assertEquals(requests, ts.controller.requests.size());
+
+        // but it is once the reconciliation interval has elapsed
+        ts.testee.lastFullScan -= FileSystemDeploymentService.RECONCILIATION_INTERVAL;
+        ts.testee.scan();
+        assertTrue(ts.controller.requests.size() > requests);
+        assertTrue(deployed.exists());
+    }
+
     @Test
     public void testBasicXmlDeploy() throws Exception {
         File xml = createXmlFile("foo.xml", "<rootElement/>");
@@ -1298,6 +1337,49 @@ public class FileSystemDeploymentServiceUnitTestCase {
 
     }
 
+    /**
+     * Test that archives checked by several threads are handled like archives checked by the scanning thread
+     */
+    @Test
+    public void testParallelCompletionChecks() throws Exception {
+
+        File incomplete = new File(tmpDir, "foo.war");
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        File pending = new File(tmpDir, "foo.war" + FileSystemDeploymentService.PENDING);
+        testSupport.createZip(incomplete, 0, false, true, true, false);
+        File complete = new File(tmpDir, "complete.jar");
+        File completeDeployed = new File(tmpDir, "complete.jar" + FileSystemDeploymentService.DEPLOYED);
+        testSupport.createZip(complete, 0, false, false, true, false);
+        File nested = new File(tmpDir, "nested");
+        nested.mkdirs();
+        File nestedComplete = new File(nested, "nested.jar");
+        File nestedDeployed = new File(nested, "nested.jar" + FileSystemDeploymentService.DEPLOYED);
+        testSupport.createZip(nestedComplete, 0, false, false, true, false);
+
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployZippedContent(true);
+        ts.testee.setCompletionCheckThreads(4);
+
+        ts.testee.scan();
+
+        assertFalse(deployed.exists());
+        assertFalse(completeDeployed.exists());
+        assertFalse(nestedDeployed.exists());
+        assertTrue(pending.exists());
+
+        incomplete.delete();
+        testSupport.createZip(incomplete, 0, false, false, false, false);
+
+        ts.controller.addCompositeSuccessResponse(3);
+        ts.testee.scan();
+
+        assertTrue(deployed.exists());
+        assertTrue(completeDeployed.exists());
+        assertTrue(nestedDeployed.exists());
+        assertFalse(pending.exists());
+
+    }
+
     /**
      * Tests that an incomplete deployment that makes no progress gets a .failed marker
      */
@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
@@ -75,6 +76,16 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
     static final List<SimpleAttributeDefinition> ATTRIBUTE_DEFINITIONS = Arrays.asList(LOG_BOOT, LOG_READ_ONLY, ENABLED);
 
+    public static final SimpleAttributeDefinition QUEUED_ITEM_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.QUEUED_ITEM_COUNT, ModelType.INT)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition DISCARDED_ITEM_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.DISCARDED_ITEM_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
     private final ManagedAuditLogger auditLogger;
 
     private AuditLogLoggerResourceDefinition(final PathElement pathElement, final ManagedAuditLogger auditLogger) {
@@ -100,6 +111,11 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
         resourceRegistration.registerReadWriteAttribute(LOG_READ_ONLY, null, new AuditLogReadOnlyWriteAttributeHandler(auditLogger));
         resourceRegistration.registerReadWriteAttribute(ENABLED, null, new AuditLogEnabledWriteAttributeHandler(auditLogger));
+
+        if (auditLogger != null) {
+            resourceRegistration.registerMetric(QUEUED_ITEM_COUNT, new AuditLogQueueMetricHandler(auditLogger));
+            resourceRegistration.registerMetric(DISCARDED_ITEM_COUNT, new AuditLogQueueMetricHandler(auditLogger));
+        }
     }
 
     @Override
@@ -207,6 +223,30 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    private static class AuditLogQueueMetricHandler extends AbstractRuntimeOnlyHandler {
+
+        private final ManagedAuditLogger auditLogger;
+
+        AuditLogQueueMetricHandler(ManagedAuditLogger auditLogger) {
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return true;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            String attr = operation.require(ModelDescriptionConstants.NAME).asString();
+            if (attr.equals(QUEUED_ITEM_COUNT.getName())) {
+                context.getResult().set(auditLogger.getQueuedItemCount());
+            } else if (attr.equals(DISCARDED_ITEM_COUNT.getName())) {
+                context.getResult().set(auditLogger.getDiscardedItemCount());
+            }
+        }
+    }
+
     private static class AuditLogEnabledWriteAttributeHandler extends AbstractWriteAttributeHandler<ManagedAuditLogger.Status> {
 
         private final ManagedAuditLogger auditLogger;
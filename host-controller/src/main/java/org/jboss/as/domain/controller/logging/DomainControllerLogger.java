@@ -805,4 +805,8 @@ public interface DomainControllerLogger extends BasicLogger {
 
     @Message(id = 98, value = "The following servers %s are starting; execution of remote management operations is not currently available")
     OperationFailedException serverManagementUnavailableDuringBoot(String serverNames);
+
+    @LogMessage(level = WARN)
+    @Message(id = 99, value = "Invalid value '%s' for system property '%s' -- value must be a non-negative integer; using %d")
+    void invalidNonNegativeIntegerProperty(String value, String name, int defaultValue);
 }
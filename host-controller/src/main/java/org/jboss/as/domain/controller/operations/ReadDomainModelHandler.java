@@ -38,11 +38,18 @@ class ReadDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
     private final boolean lock;
+    private final TransformedDomainModelCache cache;
 
     public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock) {
+        this(ignoredTransformationRegistry, transformers, lock, null);
+    }
+
+    ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers,
+                           final boolean lock, final TransformedDomainModelCache cache) {
         this.transformers = transformers;
         this.ignoredTransformationRegistry = ignoredTransformationRegistry != null ? ignoredTransformationRegistry : Transformers.DEFAULT;
         this.lock = lock;
+        this.cache = cache;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -53,6 +60,10 @@ class ReadDomainModelHandler implements OperationStepHandler {
         }
 
         final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
+        if (cache != null) {
+            context.getResult().set(cache.getDescribedResources(transformers, transformationInputs, ignoredTransformationRegistry));
+            return;
+        }
         final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
                 transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
         context.getResult().set(readUtil.getDescribedResources());
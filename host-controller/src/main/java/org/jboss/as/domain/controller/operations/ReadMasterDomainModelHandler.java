@@ -49,12 +49,28 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final ExtensionRegistry extensionRegistry;
     private final boolean lock;
+    private final TransformedDomainModelCache cache;
 
     public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock) {
+        this(hostInfo, transformers, extensionRegistry, lock, null);
+    }
+
+    /**
+     * Creates a handler sharing transformed domain models between hosts through the given cache.
+     *
+     * @param hostInfo the registering host
+     * @param transformers the transformers for the host
+     * @param extensionRegistry the extension registry
+     * @param lock whether to acquire the controller lock
+     * @param cache the cache of transformed domain models, or {@code null} to always transform the domain model
+     */
+    public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock,
+                                        final TransformedDomainModelCache cache) {
         this.hostInfo = hostInfo;
         this.transformers = transformers;
         this.extensionRegistry = extensionRegistry;
         this.lock = lock;
+        this.cache = cache;
     }
 
     @Override
@@ -74,7 +90,7 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
             ignoredTransformationRegistry = ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, rc);
         }
 
-        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock);
+        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock, cache);
         context.addStep(handler, OperationContext.Stage.MODEL);
     }
 
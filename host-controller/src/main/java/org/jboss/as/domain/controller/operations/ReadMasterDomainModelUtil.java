@@ -30,12 +30,19 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SER
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import org.jboss.as.controller.HashUtil;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -213,6 +220,33 @@ public class ReadMasterDomainModelUtil {
         return root;
     }
 
+    /**
+     * Computes the SHA-256 digest of a model node's serialized form.
+     *
+     * @param node the model node
+     * @return the hex encoded digest
+     * @throws IOException if serializing the node failed
+     * @throws NoSuchAlgorithmException if SHA-256 is not available
+     */
+    public static String digest(final ModelNode node) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        final OutputStream discard = new OutputStream() {
+            @Override
+            public void write(int b) {
+                // just digest
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                // just digest
+            }
+        };
+        try (DataOutputStream output = new DataOutputStream(new DigestOutputStream(discard, messageDigest))) {
+            node.writeExternal(output);
+        }
+        return HashUtil.bytesToHexString(messageDigest.digest());
+    }
+
     /**
      * Process the host info and determine which configuration elements are required on the slave host.
      *
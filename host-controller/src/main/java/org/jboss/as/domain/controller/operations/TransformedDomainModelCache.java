@@ -0,0 +1,193 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformationTarget;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.controller.transform.TransformersLogger;
+import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Cache of the transformed domain model sent to registering slave hosts. Hosts with the same management and
+ * subsystem versions, which ignore the same domain resources, are sent the same transformed domain model, so it
+ * only needs to be transformed once per distinct combination. The warnings logged while transforming are kept with
+ * the cached model and logged again for each host it is sent to.
+ * <p>
+ * The cache only holds entries for the latest version of the domain model, as given by a counter which the caller
+ * must change whenever the domain model changes. The counter is read while holding the controller lock, so it
+ * cannot change while the domain model is read.
+ * <p>
+ * Ignoring resources is decided on the top-level domain resources, as the registries created for registering hosts
+ * do, so the set of ignored top-level resources identifies the ignored registry.
+ */
+public class TransformedDomainModelCache {
+
+    private final LongSupplier domainModelVersion;
+    private long cachedVersion;
+    private final Map<Key, Entry> entries = new HashMap<>();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param domainModelVersion supplies a value which changes whenever the domain model changes
+     */
+    public TransformedDomainModelCache(final LongSupplier domainModelVersion) {
+        this.domainModelVersion = domainModelVersion;
+    }
+
+    /**
+     * Gets the description of the transformed domain model, transforming it if there is no cached description.
+     *
+     * @param transformers the transformers for the host
+     * @param transformationInputs parameters for the transformation
+     * @param ignoredTransformationRegistry registry of resources ignored by the transformation target
+     * @return the described resources
+     * @throws OperationFailedException if the transformation failed
+     */
+    ModelNode getDescribedResources(final Transformers transformers,
+                                    final Transformers.TransformationInputs transformationInputs,
+                                    final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry) throws OperationFailedException {
+        final long version = domainModelVersion.getAsLong();
+        final TransformationTarget target = transformers.getTarget();
+        final TransformersLogger logger = TransformersLogger.getLogger(target);
+        final Key key = new Key(target, transformationInputs.getRootResource(), ignoredTransformationRegistry);
+        synchronized (this) {
+            if (version == cachedVersion) {
+                final Entry cached = entries.get(key);
+                if (cached != null) {
+                    DomainControllerLogger.HOST_CONTROLLER_LOGGER.debugf("Using cached transformed domain model for host %s", target.getHostName());
+                    logger.logRecordedWarnings(cached.warnings);
+                    return cached.described.clone();
+                }
+            }
+        }
+        final ModelNode described;
+        final Set<String> warnings;
+        logger.startRecordingWarnings();
+        try {
+            described = describe(transformers, transformationInputs, ignoredTransformationRegistry);
+        } finally {
+            warnings = logger.stopRecordingWarnings();
+        }
+        synchronized (this) {
+            if (version != cachedVersion) {
+                cachedVersion = version;
+                entries.clear();
+            }
+            entries.put(key, new Entry(described.clone(), warnings));
+        }
+        return described;
+    }
+
+    private static ModelNode describe(final Transformers transformers, final Transformers.TransformationInputs transformationInputs,
+                                      final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry) throws OperationFailedException {
+        final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
+                transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
+        final ModelNode described = new ModelNode();
+        described.set(readUtil.getDescribedResources());
+        return described;
+    }
+
+    /**
+     * A cached transformed domain model along with the warnings logged while transforming it.
+     */
+    private static final class Entry {
+
+        private final ModelNode described;
+        private final Set<String> warnings;
+
+        private Entry(final ModelNode described, final Set<String> warnings) {
+            this.described = described;
+            this.warnings = warnings;
+        }
+    }
+
+    /**
+     * Identifies the transformation of a given domain model for a host.
+     */
+    private static final class Key {
+
+        private final TransformationTarget.TransformationTargetType type;
+        private final ModelVersion version;
+        private final Map<String, ModelVersion> subsystemVersions = new TreeMap<>();
+        private final Set<PathElement> ignored = new HashSet<>();
+
+        private Key(final TransformationTarget target, final Resource domainRoot,
+                    final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry) {
+            this.type = target.getTargetType();
+            this.version = target.getVersion();
+            for (final Resource.ResourceEntry profile : domainRoot.getChildren(PROFILE)) {
+                for (final String subsystem : profile.getChildrenNames(SUBSYSTEM)) {
+                    subsystemVersions.put(subsystem, target.getSubsystemVersion(subsystem));
+                }
+            }
+            for (final String childType : domainRoot.getChildTypes()) {
+                if (HOST.equals(childType)) {
+                    continue;
+                }
+                for (final String name : domainRoot.getChildrenNames(childType)) {
+                    final PathElement element = PathElement.pathElement(childType, name);
+                    if (ignoredTransformationRegistry.isResourceTransformationIgnored(PathAddress.pathAddress(element))) {
+                        ignored.add(element);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return type == other.type && version.equals(other.version)
+                    && subsystemVersions.equals(other.subsystemVersions) && ignored.equals(other.ignored);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, version, subsystemVersions, ignored);
+        }
+    }
+}
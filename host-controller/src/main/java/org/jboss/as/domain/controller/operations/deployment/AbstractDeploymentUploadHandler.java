@@ -32,6 +32,7 @@ import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.access.Action;
 import org.jboss.as.controller.access.AuthorizationResult;
 import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.controller.resources.DeploymentAttributes;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -63,10 +64,17 @@ public abstract class AbstractDeploymentUploadHandler implements OperationStepHa
             AuthorizationResult authorizationResult = context.authorize(operation, ACTION_EFFECT_SET);
             authorizationResult.failIfDenied(operation, context.getCurrentAddress());
 
+            final ModelNode expectedHashNode = DeploymentAttributes.UPLOAD_EXPECTED_HASH.resolveModelAttribute(context, operation);
+            final byte[] expectedHash = expectedHashNode.isDefined() ? expectedHashNode.asBytes() : null;
+            if (expectedHash != null && contentRepository.hasContent(expectedHash)) {
+                // Don't even open the content, it may be a large archive behind a URL
+                context.getResult().set(expectedHash);
+                return;
+            }
             try {
                 InputStream is = getContentInputStream(context, operation);
                 try {
-                    byte[] hash = contentRepository.addContent(is);
+                    byte[] hash = contentRepository.addContent(is, expectedHash);
                     context.getResult().set(hash);
                 }
                 finally {
@@ -33,29 +33,101 @@ import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.ServerIdentity;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * @author Emanuel Muckenhuber
  */
 class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask implements Runnable {
 
+    /**
+     * System property limiting how many servers of a single host may be awaiting a prepared response at once, to
+     * bound the load a rollout to a large server group puts on each host controller. {@code 0}, the default,
+     * means no limit.
+     */
+    static final String MAX_IN_FLIGHT_PER_HOST = "jboss.domain.rollout.max-in-flight-per-host";
+
+    private static final int MAX_IN_FLIGHT = parseMaxInFlight(WildFlySecurityManager.getPropertyPrivileged(MAX_IN_FLIGHT_PER_HOST, null));
+
+    private final int maxInFlight;
+
     public ConcurrentServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
                                            ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout) {
+        this(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout, MAX_IN_FLIGHT);
+    }
+
+    ConcurrentServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy,
+                                    ServerTaskExecutor executor, SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout,
+                                    int maxInFlight) {
         super(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Parse the value of the {@link #MAX_IN_FLIGHT_PER_HOST} system property.
+     *
+     * @param value the property value, may be {@code null}
+     * @return the maximum number of servers per host awaiting a prepared response, {@code 0} for no limit
+     */
+    static int parseMaxInFlight(final String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            final int maxInFlight = Integer.parseInt(value.trim());
+            if (maxInFlight >= 0) {
+                return maxInFlight;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidNonNegativeIntegerProperty(value, MAX_IN_FLIGHT_PER_HOST, 0);
+        return 0;
     }
 
     @Override
     public void execute() {
         final Map<ServerIdentity, ServerUpdateTask> outstanding = new HashMap<>();
+        final Map<String, Integer> inFlight = new HashMap<>();
+        final Map<ServerIdentity, Long> sendTimes = new HashMap<>();
         final ServerTaskExecutor.ServerOperationListener listener = new ServerTaskExecutor.ServerOperationListener();
+        final long start = System.currentTimeMillis();
+        boolean windowed = maxInFlight > 0;
+        boolean interrupted = false;
         int preparedTimeout = 0;
+        long windowDeadline = start;
+        long slowest = 0;
+        int dispatched = 0;
         for(final ServerUpdateTask task : tasks) {
             final ServerIdentity identity = task.getServerIdentity();
-            if (updatePolicy.canUpdateServer(identity) && !Thread.currentThread().isInterrupted()) {
+            final String hostName = identity.getHostName();
+            // Wait for prepared responses while the host has a full window of servers preparing
+            while (windowed && !interrupted && inFlight.getOrDefault(hostName, 0) >= maxInFlight) {
+                try {
+                    final long remaining = windowDeadline - System.currentTimeMillis();
+                    final TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> prepared =
+                            remaining > 0 ? listener.retrievePreparedOperation(remaining, TimeUnit.MILLISECONDS) : null;
+                    if (prepared == null) {
+                        // timed out; stop throttling and let the outstanding servers be handled below
+                        windowed = false;
+                    } else {
+                        slowest = Math.max(slowest, recordPrepared(prepared, outstanding, inFlight, sendTimes));
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            // Prepared results recorded while waiting above may already have failed the server group
+            if (!interrupted && updatePolicy.canUpdateServer(identity) && !Thread.currentThread().isInterrupted()) {
                 // Execute the task
+                final long sent = System.currentTimeMillis();
                 int serverTimeout = executor.executeTask(listener, task);
                 if (serverTimeout > -1) {
-                    outstanding.put(task.getServerIdentity(), task);
+                    outstanding.put(identity, task);
+                    inFlight.merge(hostName, 1, Integer::sum);
+                    sendTimes.put(identity, sent);
+                    dispatched++;
+                    windowDeadline = Math.max(windowDeadline, sent + serverTimeout);
                     if (serverTimeout > preparedTimeout) {
                         preparedTimeout = serverTimeout;
                     }
@@ -64,7 +136,6 @@ class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask imp
                 DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Skipping server update task for %s", identity);
             }
         }
-        boolean interrupted = false;
         long deadline = System.currentTimeMillis() + preparedTimeout;
         long remaining = preparedTimeout;
         while (!interrupted && !outstanding.isEmpty() && remaining > 0) {
@@ -75,14 +146,14 @@ class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask imp
                     // timed out
                     break;
                 }
-                final ServerIdentity identity = prepared.getOperation().getIdentity();
-                recordPreparedOperation(identity, prepared);
-                outstanding.remove(identity);
+                slowest = Math.max(slowest, recordPrepared(prepared, outstanding, inFlight, sendTimes));
             } catch (InterruptedException e) {
                 interrupted = true;
             }
             remaining = deadline - System.currentTimeMillis();
         }
+        DomainControllerLogger.HOST_CONTROLLER_LOGGER.debugf("Server group %s prepared %d of %d servers in %d ms, slowest server took %d ms",
+                updatePolicy.getServerGroupName(), dispatched - outstanding.size(), dispatched, System.currentTimeMillis() - start, slowest);
 
         if (!outstanding.isEmpty()) {
             if (interrupted) {
@@ -103,4 +174,21 @@ class ConcurrentServerGroupUpdateTask extends AbstractServerGroupRolloutTask imp
             Thread.currentThread().interrupt();
         }
     }
+
+    /**
+     * Record a prepared operation and remove its server from the outstanding ones.
+     *
+     * @return the time in ms the server took to prepare
+     */
+    private long recordPrepared(final TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> prepared,
+                                final Map<ServerIdentity, ServerUpdateTask> outstanding, final Map<String, Integer> inFlight,
+                                final Map<ServerIdentity, Long> sendTimes) {
+        final ServerIdentity identity = prepared.getOperation().getIdentity();
+        recordPreparedOperation(identity, prepared);
+        if (outstanding.remove(identity) != null) {
+            inFlight.merge(identity.getHostName(), -1, Integer::sum);
+        }
+        final Long sent = sendTimes.remove(identity);
+        return sent == null ? 0 : System.currentTimeMillis() - sent;
+    }
 }
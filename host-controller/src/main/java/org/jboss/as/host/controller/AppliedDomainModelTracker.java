@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the digest of the domain model last applied from the master, along with the number of domain model stores
+ * once it was applied. A later store means the local domain model may have diverged from the one the digest describes,
+ * so the digest is no longer offered to the master.
+ */
+final class AppliedDomainModelTracker {
+
+    private final LongSupplier domainModelStores;
+    private volatile AppliedDomainModel appliedDomainModel;
+
+    AppliedDomainModelTracker(final LongSupplier domainModelStores) {
+        this.domainModelStores = domainModelStores;
+    }
+
+    /**
+     * Forget the applied domain model, before a new one is applied.
+     */
+    void applying() {
+        appliedDomainModel = null;
+    }
+
+    /**
+     * Record that the domain model with the given digest was applied. This must be called after applying, since
+     * applying stores the synchronized domain model.
+     *
+     * @param digest the digest of the applied domain model
+     */
+    void applied(final String digest) {
+        appliedDomainModel = new AppliedDomainModel(digest, domainModelStores.getAsLong());
+    }
+
+    /**
+     * Gets the digest of the domain model last applied from the master, if the local domain model has not been
+     * changed since.
+     *
+     * @return the digest, or {@code null} if there is none or the domain model was changed
+     */
+    String getDigest() {
+        final AppliedDomainModel applied = appliedDomainModel;
+        return applied != null && applied.domainModelStores == domainModelStores.getAsLong() ? applied.digest : null;
+    }
+
+    /**
+     * Whether the domain model with the given digest is the one applied locally.
+     *
+     * @param digest the digest sent by the master
+     * @return {@code true} if the local domain model is unchanged from the one with this digest
+     */
+    boolean isApplied(final String digest) {
+        return digest.equals(getDigest());
+    }
+
+    private static final class AppliedDomainModel {
+        private final String digest;
+        private final long domainModelStores;
+
+        private AppliedDomainModel(String digest, long domainModelStores) {
+            this.digest = digest;
+            this.domainModelStores = domainModelStores;
+        }
+    }
+}
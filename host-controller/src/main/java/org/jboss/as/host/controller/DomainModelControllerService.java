@@ -826,7 +826,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
                                                 executor,
                                                 environment.getDomainTempDir(),
                                                 DomainModelControllerService.this,
-                                                domainHostExcludeRegistry);
+                                                domainHostExcludeRegistry,
+                                                hostControllerConfigurationPersister::getDomainModelStoreCount);
                                     }
                                 },
                                 DomainModelControllerService.SERVICE_NAME, ManagementRemotingServices.DOMAIN_CHANNEL,
@@ -1000,7 +1001,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
                 getExecutorService(),
                 currentRunningMode,
                 serverProxies,
-                domainConfigAvailable);
+                domainConfigAvailable,
+                hostControllerConfigurationPersister::getDomainModelStoreCount);
         masterDomainControllerClient = getFuture(clientFuture);
         //Registers us with the master and gets down the master copy of the domain model to our DC
         // if --cached-dc is used and the DC is unavailable, we'll use a cached copy of the domain config
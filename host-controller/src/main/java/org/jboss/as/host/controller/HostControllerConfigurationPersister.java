@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.jboss.as.controller.PathAddress;
@@ -60,6 +61,7 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
     private final ExtensionRegistry hostExtensionRegistry;
     private final ExtensionRegistry extensionRegistry;
     private Boolean slave;
+    private final AtomicLong domainModelStores = new AtomicLong();
 
     public HostControllerConfigurationPersister(final HostControllerEnvironment environment, final LocalHostControllerInfo localHostControllerInfo,
                                                 final ExecutorService executorService, final ExtensionRegistry hostExtensionRegistry, final ExtensionRegistry extensionRegistry) {
@@ -140,6 +142,16 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         return hostPersister;
     }
 
+    /**
+     * Gets the number of times a change to the domain part of the model was stored. Rolled back changes are
+     * counted as well, so an unchanged count means the domain model has certainly not changed.
+     *
+     * @return the count
+     */
+    long getDomainModelStoreCount() {
+        return domainModelStores.get();
+    }
+
     @Override
     public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
         final PersistenceResource[] delegates = new PersistenceResource[2];
@@ -149,6 +161,7 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
                 hostModel.set(model.get(HOST, hostControllerInfo.getLocalHostName()));
                 delegates[0] = hostPersister.store(hostModel, affectedAddresses);
             } else if (delegates[1] == null && (addr.size() == 0 || !HOST.equals(addr.getElement(0).getKey()))) {
+                domainModelStores.incrementAndGet();
                 delegates[1] = getDomainPersister().store(model, affectedAddresses);
             }
 
@@ -219,6 +232,14 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         }
     }
 
+    @Override
+    public void flush() {
+        hostPersister.flush();
+        if (domainPersister != null) {
+            domainPersister.flush();
+        }
+    }
+
     @Override
     public String snapshot(String name, String comment) throws ConfigurationPersistenceException {
         throw new UnsupportedOperationException();
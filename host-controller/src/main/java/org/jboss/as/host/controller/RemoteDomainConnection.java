@@ -43,6 +43,7 @@ import javax.security.auth.callback.CallbackHandler;
 
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.remote.ModelNodeProtocolUtil;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.management.CallbackHandlerFactory;
@@ -259,6 +260,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
     protected Future<Connection> reconnect() {
         // Reset the connection state
         channelHandler.getAttachments().removeAttachment(TransactionalProtocolClient.SEND_IDENTITY);
+        channelHandler.getAttachments().removeAttachment(TransactionalProtocolClient.SEND_COMPRESSED);
         return executorService.submit(new Callable<Connection>() {
             @Override
             public Connection call() throws Exception {
@@ -320,11 +322,14 @@ class RemoteDomainConnection extends FutureManagementChannel {
      * @return whether it was applied successfully or not
      */
     boolean applyDomainModel(ModelNode result) {
+        final String digest = result.hasDefined(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST)
+                ? result.get(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST).asString() : null;
         if(! result.hasDefined(ModelDescriptionConstants.RESULT)) {
-            return false;
+            // The master leaves out a domain model identical to the one we registered as already having
+            return digest != null && callback.isAppliedDomainModel(digest);
         }
         final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
-        return callback.applyDomainModel(bootOperations);
+        return callback.applyDomainModel(bootOperations, digest);
     }
 
     void registered() {
@@ -350,9 +355,19 @@ class RemoteDomainConnection extends FutureManagementChannel {
          * Apply the remote domain model.
          *
          * @param result the read-domain-model operation result
+         * @param digest the master's digest of the domain model, or {@code null} if the master did not provide one
          * @return {@code true} if the model was applied successfully, {@code false} otherwise
          */
-        boolean applyDomainModel(List<ModelNode> result);
+        boolean applyDomainModel(List<ModelNode> result, String digest);
+
+        /**
+         * Check whether the domain model with the given digest is the one last applied, with no local changes
+         * since.
+         *
+         * @param digest the master's digest of the domain model
+         * @return {@code true} if the local domain model is still the one with the digest, {@code false} otherwise
+         */
+        boolean isAppliedDomainModel(String digest);
 
         /**
          * Event that the registration was completed.
@@ -379,6 +394,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
              output.writeUTF(localHostName);
              ModelNode hostInfo = callback.createLocalHostInfo();
              hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).set(pongHandler.getConnectionId());
+             hostInfo.get(RemoteDomainConnectionService.ACCEPTS_COMPRESSION).set(true);
              hostInfo.writeExternal(output);
          }
 
@@ -455,14 +471,18 @@ class RemoteDomainConnection extends FutureManagementChannel {
          public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<Void> resultHandler, final ManagementRequestContext<Void> context) throws IOException {
              byte param = input.readByte();
              // If it failed
-             if(param != DomainControllerProtocol.PARAM_OK) {
+             if(param != DomainControllerProtocol.PARAM_OK && param != DomainControllerProtocol.PARAM_OK_COMPRESSED) {
                  final byte errorCode = input.readByte();
                  final String message =  input.readUTF();
                  resultHandler.failed(new SlaveRegistrationException(SlaveRegistrationException.ErrorCode.parseCode(errorCode), message));
                  return;
              }
-             final ModelNode domainModel = new ModelNode();
-             domainModel.readExternal(input);
+             // The master accepts compressed payloads as well
+             final boolean compressed = param == DomainControllerProtocol.PARAM_OK_COMPRESSED;
+             final ModelNode domainModel = ModelNodeProtocolUtil.read(input, compressed);
+             if (compressed) {
+                 channelHandler.getAttachments().attach(TransactionalProtocolClient.SEND_COMPRESSED, Boolean.TRUE);
+             }
              context.executeAsync(new ManagementRequestContext.AsyncTask<Void>() {
                  @Override
                  public void execute(ManagementRequestContext<Void> voidManagementRequestContext) throws Exception {
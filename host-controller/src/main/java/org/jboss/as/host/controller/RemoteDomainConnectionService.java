@@ -50,6 +50,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 
 import javax.net.ssl.SSLHandshakeException;
 import javax.security.sasl.SaslException;
@@ -106,8 +107,10 @@ import org.jboss.as.remoting.management.ManagementRemotingServices;
 import org.jboss.as.repository.ContentReference;
 import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.repository.HostFileRepository;
+import org.jboss.as.repository.RemoteFileRequestAndHandler;
 import org.jboss.as.repository.RemoteFileRequestAndHandler.CannotCreateLocalDirectoryException;
 import org.jboss.as.repository.RemoteFileRequestAndHandler.DidNotReadEntireFileException;
+import org.jboss.as.repository.RemoteFileRequestAndHandler.InvalidChunkException;
 import org.jboss.as.version.ProductConfig;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.Service;
@@ -138,6 +141,17 @@ import org.xnio.Options;
 public class RemoteDomainConnectionService implements MasterDomainControllerClient, Service<MasterDomainControllerClient> {
 
     public static final String DOMAIN_CONNECTION_ID = "domain-connection-id";
+    /**
+     * Digest of the domain model the master sends a registering slave. A slave includes it in its host info if its
+     * domain model is unchanged since it applied that model, in which case the master only sends the model if it
+     * has a different digest.
+     */
+    public static final String DOMAIN_MODEL_DIGEST = "domain-model-digest";
+    /**
+     * Set in the host info of a slave which accepts compressed payloads. A master which accepts them as well sends the
+     * domain model compressed, and from then on large operations and responses on the connection may be compressed.
+     */
+    public static final String ACCEPTS_COMPRESSION = "accepts-compression";
 
     private static final int CONNECTION_TIMEOUT_DEFAULT = 30000;
     private static final String CONNECTION_TIMEOUT_PROPERTY = "jboss.host.domain.connection.timeout";
@@ -192,6 +206,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private final InjectedValue<ScheduledExecutorService> scheduledExecutorInjector = new InjectedValue<>();
     private final ExecutorService executor;
     private final AtomicBoolean domainConfigAvailable;
+    private final AppliedDomainModelTracker appliedDomainModel;
 
     private ManagementChannelHandler handler;
     private volatile ResponseAttachmentInputStreamSupport responseAttachmentSupport;
@@ -209,7 +224,8 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                                           final ExecutorService executor,
                                           final RunningMode runningMode,
                                           final Map<String, ProxyController> serverProxies,
-                                          final AtomicBoolean domainConfigAvailable){
+                                          final AtomicBoolean domainConfigAvailable,
+                                          final LongSupplier domainModelStores){
         this.controller = controller;
         this.extensionRegistry = extensionRegistry;
         this.productConfig = hostControllerEnvironment.getProductConfig();
@@ -226,6 +242,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         this.tempDir = hostControllerEnvironment.getDomainTempDir();
         this.serverProxies = serverProxies;
         this.domainConfigAvailable = domainConfigAvailable;
+        this.appliedDomainModel = new AppliedDomainModelTracker(domainModelStores);
     }
 
     static Future<MasterDomainControllerClient> install(final ServiceTarget serviceTarget,
@@ -243,11 +260,12 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                                                         final ExecutorService executor,
                                                         final RunningMode currentRunningMode,
                                                         final Map<String, ProxyController> serverProxies,
-                                                        final AtomicBoolean domainConfigAvailable) {
+                                                        final AtomicBoolean domainConfigAvailable,
+                                                        final LongSupplier domainModelStores) {
         RemoteDomainConnectionService service = new RemoteDomainConnectionService(controller, extensionRegistry, localHostControllerInfo,
                 remoteFileRepository, contentRepository,
                 ignoredDomainResourceRegistry, operationExecutor, domainController,
-                hostControllerEnvironment, executor, currentRunningMode, serverProxies, domainConfigAvailable);
+                hostControllerEnvironment, executor, currentRunningMode, serverProxies, domainConfigAvailable, domainModelStores);
         ServiceBuilder<MasterDomainControllerClient> builder = serviceTarget.addService(MasterDomainControllerClient.SERVICE_NAME, service)
                 .addDependency(ManagementRemotingServices.MANAGEMENT_ENDPOINT, Endpoint.class, service.endpointInjector)
                 .addDependency(ServerInventoryService.SERVICE_NAME, ServerInventory.class, service.serverInventoryInjector)
@@ -531,7 +549,12 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                  */
                 @Override
                 public ModelNode createLocalHostInfo() {
-                    return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final ModelNode info = HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final String digest = appliedDomainModel.getDigest();
+                    if (digest != null) {
+                        info.get(DOMAIN_MODEL_DIGEST).set(digest);
+                    }
+                    return info;
                 }
 
                 @Override
@@ -540,10 +563,24 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 }
 
                 @Override
-                public boolean applyDomainModel(final List<ModelNode> bootOperations) {
+                public boolean applyDomainModel(final List<ModelNode> bootOperations, final String digest) {
                     // Apply the model..
+                    appliedDomainModel.applying();
                     final HostInfo info = HostInfo.fromModelNode(createLocalHostInfo());
-                    return applyRemoteDomainModel(bootOperations, info);
+                    final boolean applied = applyRemoteDomainModel(bootOperations, info);
+                    if (applied && digest != null) {
+                        appliedDomainModel.applied(digest);
+                    }
+                    return applied;
+                }
+
+                @Override
+                public boolean isAppliedDomainModel(final String digest) {
+                    if (appliedDomainModel.isApplied(digest)) {
+                        HostControllerLogger.ROOT_LOGGER.debug("Domain model provided by master is unchanged");
+                        return true;
+                    }
+                    return false;
                 }
 
                 @Override
@@ -712,44 +749,46 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
 
         @Override
         public byte getOperationType() {
-            return DomainControllerProtocol.GET_FILE_REQUEST;
+            return DomainControllerProtocol.GET_FILE_CHUNKED_REQUEST;
         }
 
         @Override
         protected void sendRequest(ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context, FlushableDataOutput output) throws IOException {
             output.write(DomainControllerProtocol.PARAM_HOST_ID);
             output.writeUTF(localHostInfo.getLocalHostName());
-            DomainRemoteFileRequestAndHandler.INSTANCE.sendRequest(output, rootId, filePath);
+            DomainRemoteFileRequestAndHandler.INSTANCE.sendChunkedRequest(output, rootId, filePath, getLocalPath());
         }
 
         @Override
         public void handleRequest(DataInput input, ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context) throws IOException {
-            final File localPath;
+            final File localPath = getLocalPath();
+            try {
+                DomainRemoteFileRequestAndHandler.INSTANCE.handleChunkedResponse(input, localPath, ROOT_LOGGER, resultHandler, context);
+            } catch (CannotCreateLocalDirectoryException e) {
+                throw HostControllerLogger.ROOT_LOGGER.cannotCreateLocalDirectory(e.getDir());
+            } catch (DidNotReadEntireFileException e) {
+                throw HostControllerLogger.ROOT_LOGGER.didNotReadEntireFile(e.getMissing());
+            } catch (InvalidChunkException e) {
+                throw HostControllerLogger.ROOT_LOGGER.invalidChunk(e.getPath(), e.getOffset());
+            }
+        }
+
+        private File getLocalPath() {
             switch (rootId) {
                 case DomainControllerProtocol.PARAM_ROOT_ID_FILE: {
-                    localPath = localFileRepository.getFile(filePath);
-                    break;
+                    return localFileRepository.getFile(filePath);
                 }
                 case DomainControllerProtocol.PARAM_ROOT_ID_CONFIGURATION: {
-                    localPath = localFileRepository.getConfigurationFile(filePath);
-                    break;
+                    return localFileRepository.getConfigurationFile(filePath);
                 }
                 case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT: {
                     byte[] hash = HashUtil.hexStringToByteArray(filePath);
-                    localPath = localFileRepository.getDeploymentRoot(new ContentReference(filePath, hash));
-                    break;
+                    return localFileRepository.getDeploymentRoot(new ContentReference(filePath, hash));
                 }
                 default: {
-                    localPath = null;
+                    return null;
                 }
             }
-            try {
-                DomainRemoteFileRequestAndHandler.INSTANCE.handleResponse(input, localPath, ROOT_LOGGER, resultHandler, context);
-            } catch (CannotCreateLocalDirectoryException e) {
-                throw HostControllerLogger.ROOT_LOGGER.cannotCreateLocalDirectory(e.getDir());
-            } catch (DidNotReadEntireFileException e) {
-                throw HostControllerLogger.ROOT_LOGGER.didNotReadEntireFile(e.getMissing());
-            }
         }
     }
 
@@ -780,7 +819,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         @Override
         public File getDeploymentRoot(ContentReference reference) {
             File file = localFileRepository.getDeploymentRoot(reference);
-            if(! file.exists()) {
+            if(! file.exists() || RemoteFileRequestAndHandler.isPartial(file)) {
                 return getFile(reference.getHexHash(), DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT);
             }
             return file;
@@ -1461,4 +1461,15 @@ public interface HostControllerLogger extends BasicLogger {
     @Message(id = 216, value = "The module option %s is not allowed.")
     OperationFailedException moduleOptionNotAllowed(String option);
 
+    /**
+     * Creates an exception indicating a chunk of a transferred file did not match its hash.
+     *
+     * @param path   the path of the file.
+     * @param offset the offset of the chunk.
+     *
+     * @return an {@link IOException} for the error.
+     */
+    @Message(id = 217, value = "The chunk of %s at offset %d did not match its hash")
+    IOException invalidChunk(String path, long offset);
+
 }
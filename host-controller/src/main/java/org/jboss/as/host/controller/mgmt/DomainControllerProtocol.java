@@ -37,6 +37,7 @@ public interface DomainControllerProtocol extends ModelControllerProtocol {
     byte FETCH_DOMAIN_CONFIGURATION_REQUEST = 0x57;
     byte COMPLETE_HOST_CONTROLLER_REGISTRATION = 0x58;
     byte REQUEST_SUBSYSTEM_VERSIONS = 0x59;
+    byte GET_FILE_CHUNKED_REQUEST = 0x5A;
 
     byte PARAM_HOST_ID = 0x20;
     byte PARAM_OK = 0x21;
@@ -51,5 +52,8 @@ public interface DomainControllerProtocol extends ModelControllerProtocol {
     byte PARAM_FILE_SIZE = 0x31;
     byte FILE_END = 0x32;
     byte PARAM_SERVER_ID = 0x33;
+    byte PARAM_FILE_OFFSET = 0x34;
+    byte PARAM_CHUNK_HASH = 0x35;
+    byte PARAM_OK_COMPRESSED = 0x36;
 
 }
@@ -55,6 +55,14 @@ public class DomainRemoteFileRequestAndHandler extends RemoteFileRequestAndHandl
         public byte fileEnd() {
             return DomainControllerProtocol.FILE_END;
         }
+
+        public byte paramFileOffset() {
+            return DomainControllerProtocol.PARAM_FILE_OFFSET;
+        }
+
+        public byte paramChunkHash() {
+            return DomainControllerProtocol.PARAM_CHUNK_HASH;
+        }
     };
 
     public static final DomainRemoteFileRequestAndHandler INSTANCE = new DomainRemoteFileRequestAndHandler(null);
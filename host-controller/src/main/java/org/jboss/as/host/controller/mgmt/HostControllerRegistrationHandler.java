@@ -33,6 +33,7 @@ import static org.jboss.as.process.protocol.ProtocolUtils.expectHeader;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -55,6 +56,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.remote.ModelNodeProtocolUtil;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.controller.transform.TransformationTarget;
 import org.jboss.as.controller.transform.TransformationTargetImpl;
@@ -66,6 +68,9 @@ import org.jboss.as.domain.controller.HostRegistrations;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.domain.controller.operations.ReadMasterDomainModelHandler;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
+import org.jboss.as.domain.controller.operations.TransformedDomainModelCache;
+import org.jboss.as.host.controller.RemoteDomainConnectionService;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.mgmt.ActiveOperation;
@@ -114,19 +119,53 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
     private final HostRegistrations slaveHostRegistrations;
     private final String address;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final TransformedDomainModelCache transformedDomainModelCache;
 
     public HostControllerRegistrationHandler(ManagementChannelHandler handler, DomainController domainController, OperationExecutor operationExecutor,
                                              Executor registrations, HostRegistrations slaveHostRegistrations,
-                                             DomainHostExcludeRegistry domainHostExcludeRegistry) {
+                                             DomainHostExcludeRegistry domainHostExcludeRegistry,
+                                             TransformedDomainModelCache transformedDomainModelCache) {
         this.handler = handler;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
         this.registrationExecutor = registrations;
         this.slaveHostRegistrations = slaveHostRegistrations;
         this.domainHostExcludeRegistry = domainHostExcludeRegistry;
+        this.transformedDomainModelCache = transformedDomainModelCache;
         this.address = HostControllerRegistrationHandler.this.handler.getRemoteAddress().getHostAddress();
     }
 
+    /**
+     * Attach the digest of the domain model to the result. If the host registered with the same digest, it already
+     * has this domain model and only the digest is sent.
+     *
+     * @param result the prepared result (domain model)
+     * @param hostDigest the digest of the domain model the host already has, or {@code null}
+     * @param hostName the name of the registering host
+     * @return the response to send to the host
+     */
+    static ModelNode createHostResponse(final ModelNode result, final String hostDigest, final String hostName) {
+        if (!result.hasDefined(RESULT)) {
+            return result;
+        }
+        final String digest;
+        try {
+            digest = ReadMasterDomainModelUtil.digest(result.get(RESULT));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            HostControllerLogger.ROOT_LOGGER.debugf(e, "Failed to digest the domain model for host %s", hostName);
+            return result;
+        }
+        if (digest.equals(hostDigest)) {
+            HostControllerLogger.ROOT_LOGGER.debugf("Domain model of host %s is unchanged, not sending it", hostName);
+            final ModelNode response = new ModelNode();
+            response.get(OUTCOME).set(SUCCESS);
+            response.get(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST).set(digest);
+            return response;
+        }
+        result.get(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST).set(digest);
+        return result;
+    }
+
     @Override
     public ManagementRequestHandler<?, ?> resolveHandler(final RequestHandlerChain handlers, final ManagementRequestHeader header) {
         if (header.getVersion() != 1) {
@@ -369,7 +408,8 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                 // Remotely resolve the subsystem versions and create the transformation
                 registrationContext.processSubsystems(transformers, extensions);
                 // Now run the read-domain model operation
-                final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo, transformers, domainController.getExtensionRegistry(), false);
+                final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo, transformers, domainController.getExtensionRegistry(), false,
+                        transformedDomainModelCache);
                 context.addStep(READ_DOMAIN_MODEL.getOperation(), handler, OperationContext.Stage.MODEL);
 
                 context.completeStep(new OperationContext.ResultHandler() {
@@ -568,10 +608,17 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         }
 
         private boolean sendResultToHost(ModelController.OperationTransaction transaction, final ModelNode result) {
+            final ModelNode response = createHostResponse(result);
             final Boolean registered = executeBlocking(new IOTask<Boolean>() {
                 @Override
                 void sendMessage(final FlushableDataOutput output) throws IOException {
-                    sendResponse(output, DomainControllerProtocol.PARAM_OK, result);
+                    if (hostInfo.isAcceptsCompression()) {
+                        // The host accepts compressed payloads, so send the domain model and later operations compressed
+                        handler.getAttachments().attach(TransactionalProtocolClient.SEND_COMPRESSED, Boolean.TRUE);
+                        sendCompressedResponse(output, response);
+                    } else {
+                        sendResponse(output, DomainControllerProtocol.PARAM_OK, response);
+                    }
                 }
             });
             if(! registered) {
@@ -581,6 +628,10 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
             return false;
         }
 
+        private ModelNode createHostResponse(final ModelNode result) {
+            return HostControllerRegistrationHandler.createHostResponse(result, hostInfo.getDomainModelDigest(), hostName);
+        }
+
         void completeRegistration(final ManagementRequestContext<RegistrationContext> responseChannel, boolean commit) {
             this.responseChannel = responseChannel;
             failed |= ! commit;
@@ -734,6 +785,23 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         output.close();
     }
 
+    /**
+     * Send a successful response to a host which accepts compressed payloads.
+     *
+     * @param output the output
+     * @param response the operation response
+     * @throws IOException for any error
+     */
+    static void sendCompressedResponse(final FlushableDataOutput output, final ModelNode response) throws IOException {
+        // response type
+        output.writeByte(DomainControllerProtocol.PARAM_OK_COMPRESSED);
+        // operation result
+        ModelNodeProtocolUtil.write(output, response, true);
+        // response end
+        output.writeByte(ManagementProtocol.RESPONSE_END);
+        output.close();
+    }
+
     /**
      * Send a failed operation response.
      *
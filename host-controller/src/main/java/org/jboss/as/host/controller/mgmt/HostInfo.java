@@ -125,6 +125,8 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
     private final String productName;
     private final String productVersion;
     private final Long remoteConnectionId;
+    private final String domainModelDigest;
+    private final boolean acceptsCompression;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredResources;
     private final boolean ignoreUnaffectedConfig;
     private final Set<ServerConfigInfo> serverConfigInfos;
@@ -144,6 +146,10 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         productVersion = hostInfo.hasDefined(PRODUCT_VERSION) ? hostInfo.require(PRODUCT_VERSION).asString() : null;
         remoteConnectionId = hostInfo.hasDefined(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID)
                 ? hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).asLong() : null;
+        domainModelDigest = hostInfo.hasDefined(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST)
+                ? hostInfo.get(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST).asString() : null;
+        acceptsCompression = hostInfo.hasDefined(RemoteDomainConnectionService.ACCEPTS_COMPRESSION)
+                && hostInfo.get(RemoteDomainConnectionService.ACCEPTS_COMPRESSION).asBoolean();
 
         Set<String> domainIgnoredExtensions = null;
         Set<String> domainActiveServerGroups = null;
@@ -217,6 +223,24 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return remoteConnectionId;
     }
 
+    /**
+     * Gets the digest of the domain model the host last applied, if its domain model is unchanged since.
+     *
+     * @return the digest, or {@code null} if the host did not provide one
+     */
+    public String getDomainModelDigest() {
+        return domainModelDigest;
+    }
+
+    /**
+     * Gets whether the host accepts compressed payloads.
+     *
+     * @return {@code true} if the host accepts compressed payloads
+     */
+    public boolean isAcceptsCompression() {
+        return acceptsCompression;
+    }
+
     public boolean isResourceTransformationIgnored(final PathAddress address) {
         // This resource transformation is only used when registering the host
         // Future operations will send an updated list of ignored-resources
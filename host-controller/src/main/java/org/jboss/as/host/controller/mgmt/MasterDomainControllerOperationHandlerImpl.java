@@ -67,7 +67,10 @@ class MasterDomainControllerOperationHandlerImpl implements ManagementRequestHan
                 return new UnregisterOperation();
             } case DomainControllerProtocol.GET_FILE_REQUEST: {
                 handlers.registerActiveOperation(header.getBatchId(), null);
-                return new GetFileOperation();
+                return new GetFileOperation(false);
+            } case DomainControllerProtocol.GET_FILE_CHUNKED_REQUEST: {
+                handlers.registerActiveOperation(header.getBatchId(), null);
+                return new GetFileOperation(true);
             } case DomainControllerProtocol.SERVER_INSTABILITY_REQUEST: {
                 handlers.registerActiveOperation(header.getBatchId(), null);
                 return new ServerUnstableHandler();
@@ -96,6 +99,11 @@ class MasterDomainControllerOperationHandlerImpl implements ManagementRequestHan
     private class GetFileOperation extends AbstractHostRequestHandler {
 
         private final DomainRemoteFileRequestAndHandler remoteSupport = new DomainRemoteFileRequestAndHandler(asyncExecutor);
+        private final boolean chunked;
+
+        GetFileOperation(boolean chunked) {
+            this.chunked = chunked;
+        }
 
         @Override
         void handleRequest(String hostId, DataInput input, ActiveOperation.ResultHandler<Void> resultHandler, ManagementRequestContext<Void> context) throws IOException {
@@ -122,7 +130,11 @@ class MasterDomainControllerOperationHandlerImpl implements ManagementRequestHan
                 }
             };
 
-            remoteSupport.handleRequest(input, reader, resultHandler, context);
+            if (chunked) {
+                remoteSupport.handleChunkedRequest(input, reader, resultHandler, context);
+            } else {
+                remoteSupport.handleRequest(input, reader, resultHandler, context);
+            }
         }
     }
 
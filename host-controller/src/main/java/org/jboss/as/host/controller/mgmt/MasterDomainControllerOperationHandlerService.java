@@ -29,6 +29,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.jboss.as.controller.CurrentOperationIdHolder;
@@ -48,6 +49,7 @@ import org.jboss.as.domain.controller.DomainController;
 import org.jboss.as.domain.controller.HostRegistrations;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.domain.controller.operations.FetchMissingConfigurationHandler;
+import org.jboss.as.domain.controller.operations.TransformedDomainModelCache;
 import org.jboss.as.domain.controller.operations.coordination.DomainControllerLockIdUtils;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.protocol.mgmt.ManagementChannelAssociation;
@@ -78,6 +80,7 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
     private final File tempDir;
     private final HostRegistrations slaveHostRegistrations;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final TransformedDomainModelCache transformedDomainModelCache;
 
     public MasterDomainControllerOperationHandlerService(
             final Consumer<AbstractModelControllerOperationHandlerFactoryService> serviceConsumer,
@@ -86,7 +89,8 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
             final Supplier<ScheduledExecutorService> scheduledExecutorSupplier,
             final DomainController domainController, final HostControllerRegistrationHandler.OperationExecutor operationExecutor,
             final TransactionalOperationExecutor txOperationExecutor,
-            final File tempDir, final HostRegistrations slaveHostRegistrations, DomainHostExcludeRegistry domainHostExcludeRegistry) {
+            final File tempDir, final HostRegistrations slaveHostRegistrations, DomainHostExcludeRegistry domainHostExcludeRegistry,
+            final LongSupplier domainModelVersion) {
         super(serviceConsumer, modelControllerSupplier, executorSupplier, scheduledExecutorSupplier);
         this.domainController = domainController;
         this.operationExecutor = operationExecutor;
@@ -94,6 +98,7 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
         this.tempDir = tempDir;
         this.slaveHostRegistrations = slaveHostRegistrations;
         this.domainHostExcludeRegistry = domainHostExcludeRegistry;
+        this.transformedDomainModelCache = new TransformedDomainModelCache(domainModelVersion);
     }
 
     @Override
@@ -109,7 +114,7 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
         handler.getAttachments().attach(ManagementChannelHandler.TEMP_DIR, tempDir);
         // Assemble the request handlers for the domain channel
         handler.addHandlerFactory(new HostControllerRegistrationHandler(handler, domainController, operationExecutor,
-                getExecutor(), slaveHostRegistrations, domainHostExcludeRegistry));
+                getExecutor(), slaveHostRegistrations, domainHostExcludeRegistry, transformedDomainModelCache));
         handler.addHandlerFactory(new ModelControllerClientOperationHandler(getController(), handler, getResponseAttachmentSupport(), getClientRequestExecutor()));
         handler.addHandlerFactory(new MasterDomainControllerOperationHandlerImpl(domainController, getExecutor()));
         handler.addHandlerFactory(pongRequestHandler);
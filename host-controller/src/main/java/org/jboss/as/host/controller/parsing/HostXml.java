@@ -33,6 +33,7 @@ import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.parsing.ExtensionXml;
 import org.jboss.as.controller.parsing.Namespace;
+import org.jboss.as.controller.persistence.FingerprintedParser;
 import org.jboss.as.controller.persistence.ModelMarshallingContext;
 import org.jboss.dmr.ModelNode;
 import org.jboss.modules.ModuleLoader;
@@ -48,7 +49,7 @@ import org.jboss.staxmapper.XMLExtendedStreamWriter;
  * @author <a href="mailto:darran.lofthouse@jboss.com">Darran Lofthouse</a>
  * @author <a href="mailto:jperkins@jboss.com">James R. Perkins</a>
  */
-public final class HostXml implements XMLElementReader<List<ModelNode>>, XMLElementWriter<ModelMarshallingContext> {
+public final class HostXml implements XMLElementReader<List<ModelNode>>, XMLElementWriter<ModelMarshallingContext>, FingerprintedParser {
 
     private final String defaultHostControllerName;
     private final RunningMode runningMode;
@@ -65,6 +66,15 @@ public final class HostXml implements XMLElementReader<List<ModelNode>>, XMLElem
         extensionXml = new ExtensionXml(loader, executorService, extensionRegistry);
     }
 
+    /**
+     * The parsed operations depend on the default host name, the running mode and whether a cached domain
+     * configuration is used.
+     */
+    @Override
+    public String getInputsFingerprint() {
+        return defaultHostControllerName + ";" + runningMode + ";" + isCachedDc;
+    }
+
     @Override
     public void readElement(final XMLExtendedStreamReader reader, final List<ModelNode> operationList)
             throws XMLStreamException {
@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.as.controller.transform.ResourceTransformationContext;
+import org.jboss.as.controller.transform.TransformationContext;
+import org.jboss.as.controller.transform.TransformationTarget;
+import org.jboss.as.controller.transform.TransformationTarget.TransformationTargetType;
+import org.jboss.as.controller.transform.TransformationTargetImpl;
+import org.jboss.as.controller.transform.TransformerRegistry;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link TransformedDomainModelCache}.
+ */
+public class TransformedDomainModelCacheTestCase {
+
+    private static final PathElement OTHER_PROFILE = PathElement.pathElement("profile", "other");
+
+    private final AtomicLong domainModelVersion = new AtomicLong();
+    private final TransformedDomainModelCache cache = new TransformedDomainModelCache(domainModelVersion::get);
+    private final TransformerRegistry registry = TransformerRegistry.Factory.create();
+    private Resource root;
+
+    @Before
+    public void createDomainModel() {
+        root = Resource.Factory.create();
+        root.registerChild(PathElement.pathElement("profile", "default"), createProfile());
+        root.registerChild(OTHER_PROFILE, createProfile());
+        final Resource sockets = Resource.Factory.create();
+        sockets.getModel().get("default-interface").set("public");
+        root.registerChild(PathElement.pathElement("socket-binding-group", "standard-sockets"), sockets);
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        final CountingTransformers first = new CountingTransformers(createTarget("first", 4));
+        final ModelNode described = cache.getDescribedResources(first, createInputs(), Transformers.DEFAULT);
+        Assert.assertEquals(1, first.transformations);
+
+        final CountingTransformers second = new CountingTransformers(createTarget("second", 4));
+        final ModelNode cached = cache.getDescribedResources(second, createInputs(), Transformers.DEFAULT);
+        Assert.assertEquals(0, second.transformations);
+        Assert.assertEquals(described, cached);
+
+        // the cached model is not shared with the callers
+        cached.setEmptyList();
+        Assert.assertEquals(described, cache.getDescribedResources(second, createInputs(), Transformers.DEFAULT));
+        Assert.assertEquals(0, second.transformations);
+    }
+
+    @Test
+    public void testCacheMissForOtherVersion() throws Exception {
+        final CountingTransformers first = new CountingTransformers(createTarget("first", 4));
+        cache.getDescribedResources(first, createInputs(), Transformers.DEFAULT);
+        Assert.assertEquals(1, first.transformations);
+
+        final CountingTransformers second = new CountingTransformers(createTarget("second", 5));
+        cache.getDescribedResources(second, createInputs(), Transformers.DEFAULT);
+        Assert.assertEquals(1, second.transformations);
+    }
+
+    @Test
+    public void testInvalidatedByModelChange() throws Exception {
+        final CountingTransformers first = new CountingTransformers(createTarget("first", 4));
+        final ModelNode described = cache.getDescribedResources(first, createInputs(), Transformers.DEFAULT);
+
+        root.registerChild(PathElement.pathElement("profile", "added"), createProfile());
+        domainModelVersion.incrementAndGet();
+
+        final CountingTransformers second = new CountingTransformers(createTarget("second", 4));
+        final ModelNode changed = cache.getDescribedResources(second, createInputs(), Transformers.DEFAULT);
+        Assert.assertEquals(1, second.transformations);
+        Assert.assertNotEquals(described, changed);
+
+        // the transformation of the changed domain model is cached in turn
+        cache.getDescribedResources(first, createInputs(), Transformers.DEFAULT);
+        Assert.assertEquals(1, first.transformations);
+    }
+
+    @Test
+    public void testSeparatedByIgnoredResources() throws Exception {
+        final Transformers.ResourceIgnoredTransformationRegistry ignoreOther = address -> address.getLastElement().equals(OTHER_PROFILE);
+
+        final CountingTransformers first = new CountingTransformers(createTarget("first", 4));
+        final ModelNode described = cache.getDescribedResources(first, createInputs(), Transformers.DEFAULT);
+
+        final CountingTransformers second = new CountingTransformers(createTarget("second", 4));
+        final ModelNode ignoring = cache.getDescribedResources(second, createInputs(), ignoreOther);
+        Assert.assertEquals(1, second.transformations);
+        Assert.assertNotEquals(described, ignoring);
+
+        final CountingTransformers third = new CountingTransformers(createTarget("third", 4));
+        Assert.assertEquals(ignoring, cache.getDescribedResources(third, createInputs(), ignoreOther));
+        Assert.assertEquals(described, cache.getDescribedResources(third, createInputs(), Transformers.DEFAULT));
+        Assert.assertEquals(0, third.transformations);
+    }
+
+    private static Resource createProfile() {
+        final Resource profile = Resource.Factory.create();
+        final Resource subsystem = Resource.Factory.create();
+        subsystem.getModel().get("attr").set("value");
+        profile.registerChild(PathElement.pathElement("subsystem", "thingy"), subsystem);
+        return profile;
+    }
+
+    private Transformers.TransformationInputs createInputs() {
+        final OperationContext context = mock(OperationContext.class);
+        when(context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS, true)).thenReturn(root);
+        return new Transformers.TransformationInputs(context);
+    }
+
+    private TransformationTarget createTarget(final String hostName, final int minor) {
+        return TransformationTargetImpl.create(hostName, registry, ModelVersion.create(1, minor),
+                Collections.<PathAddress, ModelVersion>emptyMap(), TransformationTargetType.DOMAIN);
+    }
+
+    /**
+     * Transformers which only drop the ignored top-level resources, counting the transformations.
+     */
+    private static class CountingTransformers implements Transformers {
+
+        private final TransformationTarget target;
+        private int transformations;
+
+        CountingTransformers(final TransformationTarget target) {
+            this.target = target;
+        }
+
+        @Override
+        public TransformationTarget getTarget() {
+            return target;
+        }
+
+        @Override
+        public Resource transformRootResource(final TransformationInputs transformationInputs, final Resource resource,
+                                              final ResourceIgnoredTransformationRegistry ignoredTransformationRegistry) {
+            transformations++;
+            final Resource transformed = Resource.Factory.create();
+            transformed.writeModel(resource.getModel());
+            for (final String type : resource.getChildTypes()) {
+                for (final Resource.ResourceEntry child : resource.getChildren(type)) {
+                    final PathElement element = child.getPathElement();
+                    if (!ignoredTransformationRegistry.isResourceTransformationIgnored(PathAddress.pathAddress(element))) {
+                        transformed.registerChild(element, child.clone());
+                    }
+                }
+            }
+            return transformed;
+        }
+
+        @Override
+        public Resource transformRootResource(final TransformationInputs transformationInputs, final Resource resource) {
+            return transformRootResource(transformationInputs, resource, Transformers.DEFAULT);
+        }
+
+        @Override
+        public Resource transformResource(final ResourceTransformationContext context, final Resource resource) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OperationTransformer.TransformedOperation transformOperation(final TransformationContext context, final ModelNode operation) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OperationTransformer.TransformedOperation transformOperation(final TransformationInputs transformationInputs, final ModelNode operation) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
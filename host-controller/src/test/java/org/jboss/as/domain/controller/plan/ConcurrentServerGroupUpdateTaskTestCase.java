@@ -0,0 +1,290 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.BlockingTimeout;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProxyController;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.remote.BlockingQueueOperationListener;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.controller.transform.OperationResultTransformer;
+import org.jboss.as.domain.controller.ServerIdentity;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of the per host in-flight window of {@link ConcurrentServerGroupUpdateTask}.
+ */
+public class ConcurrentServerGroupUpdateTaskTestCase {
+
+    private static final String GROUP = "main-server-group";
+
+    @Test
+    public void testParseMaxInFlight() {
+        Assert.assertEquals(0, ConcurrentServerGroupUpdateTask.parseMaxInFlight(null));
+        Assert.assertEquals(0, ConcurrentServerGroupUpdateTask.parseMaxInFlight("0"));
+        Assert.assertEquals(3, ConcurrentServerGroupUpdateTask.parseMaxInFlight(" 3 "));
+        Assert.assertEquals(0, ConcurrentServerGroupUpdateTask.parseMaxInFlight("-1"));
+        Assert.assertEquals(0, ConcurrentServerGroupUpdateTask.parseMaxInFlight("many"));
+    }
+
+    @Test
+    public void testUnlimited() {
+        final Rollout rollout = new Rollout(createServers("a", 4), 4, 10000);
+        rollout.execute(0);
+
+        Assert.assertEquals(4, rollout.executor.executed.size());
+        Assert.assertEquals(4, rollout.executor.maxOutstanding);
+        Assert.assertEquals(4, rollout.preparedResults.size());
+        Assert.assertFalse(rollout.policy.isFailed());
+    }
+
+    @Test
+    public void testWindow() {
+        final List<ServerIdentity> servers = createServers("a", 4);
+        servers.addAll(createServers("b", 4));
+        final Rollout rollout = new Rollout(servers, servers.size(), 10000);
+        rollout.execute(2);
+
+        Assert.assertEquals(servers, rollout.executor.executed);
+        Assert.assertEquals(2, rollout.executor.maxOutstanding);
+        Assert.assertEquals(servers.size(), rollout.preparedResults.size());
+        for (ServerTaskExecutor.ServerPreparedResponse response : rollout.preparedResults) {
+            Assert.assertFalse(response.isTimedOut());
+        }
+        Assert.assertFalse(rollout.policy.isFailed());
+    }
+
+    @Test
+    public void testWindowTimeout() {
+        final List<ServerIdentity> servers = createServers("a", 3);
+        final Rollout rollout = new Rollout(servers, servers.size(), 50);
+        rollout.executor.silentHosts.add("a");
+        rollout.execute(1);
+
+        // throttling stops once no prepared response arrives in time, the remaining servers are still updated
+        Assert.assertEquals(servers, rollout.executor.executed);
+        Assert.assertEquals(servers.size(), rollout.timeouts.size());
+        Assert.assertEquals(servers.size(), rollout.preparedResults.size());
+        for (ServerTaskExecutor.ServerPreparedResponse response : rollout.preparedResults) {
+            Assert.assertTrue(response.isTimedOut());
+        }
+    }
+
+    @Test
+    public void testWindowStopsAfterFailure() {
+        final List<ServerIdentity> servers = createServers("a", 3);
+        final Rollout rollout = new Rollout(servers, 0, 10000);
+        rollout.executor.failing.addAll(servers);
+        rollout.execute(1);
+
+        // the failure recorded while waiting on the window fails the server group before the next dispatch
+        Assert.assertEquals(servers.subList(0, 1), rollout.executor.executed);
+        Assert.assertTrue(rollout.policy.isFailed());
+
+        final Rollout unlimited = new Rollout(servers, 0, 10000);
+        unlimited.executor.failing.addAll(servers);
+        unlimited.execute(0);
+
+        Assert.assertEquals(servers, unlimited.executor.executed);
+        Assert.assertTrue(unlimited.policy.isFailed());
+    }
+
+    private static List<ServerIdentity> createServers(final String host, final int count) {
+        final List<ServerIdentity> servers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            servers.add(new ServerIdentity(host, GROUP, host + "-server-" + i));
+        }
+        return servers;
+    }
+
+    private static ModelNode createOperation() {
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set("test");
+        operation.get(OP_ADDR).setEmptyList();
+        return operation;
+    }
+
+    private static class Rollout {
+
+        private final List<ServerIdentity> servers;
+        private final ServerUpdatePolicy policy;
+        private final List<ServerTaskExecutor.ServerPreparedResponse> preparedResults = new ArrayList<>();
+        private final List<PathAddress> timeouts = new ArrayList<>();
+        private final TestServerTaskExecutor executor;
+
+        Rollout(final List<ServerIdentity> servers, final int maxFailures, final int serverTimeout) {
+            this.servers = servers;
+            final ConcurrentGroupServerUpdatePolicy parent = new ConcurrentGroupServerUpdatePolicy(null, Collections.singleton(GROUP));
+            this.policy = new ServerUpdatePolicy(parent, GROUP, new HashSet<>(servers), maxFailures);
+            this.executor = new TestServerTaskExecutor(preparedResults, serverTimeout);
+        }
+
+        void execute(final int maxInFlight) {
+            final List<ServerUpdateTask> tasks = new ArrayList<>();
+            for (final ServerIdentity server : servers) {
+                tasks.add(new ServerUpdateTask(server, policy) {
+                    @Override
+                    public ModelNode getOperation() {
+                        return createOperation();
+                    }
+                });
+            }
+            new ConcurrentServerGroupUpdateTask(tasks, policy, executor, null, null, new TestBlockingTimeout(timeouts), maxInFlight).execute();
+        }
+    }
+
+    private static class TestServerTaskExecutor extends ServerTaskExecutor {
+
+        private final int serverTimeout;
+        private final List<ServerIdentity> executed = new ArrayList<>();
+        private final Set<String> silentHosts = new HashSet<>();
+        private final Set<ServerIdentity> failing = new HashSet<>();
+        private final Map<String, Integer> outstanding = new HashMap<>();
+        private int maxOutstanding;
+
+        TestServerTaskExecutor(final List<ServerPreparedResponse> preparedResults, final int serverTimeout) {
+            super(null, new HashMap<ServerIdentity, ExecutedServerRequest>(), preparedResults);
+            this.serverTimeout = serverTimeout;
+        }
+
+        @Override
+        protected int execute(final TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener,
+                              final ServerIdentity identity, final ModelNode operation) throws OperationFailedException {
+            executed.add(identity);
+            maxOutstanding = Math.max(maxOutstanding, outstanding.merge(identity.getHostName(), 1, Integer::sum));
+            if (!silentHosts.contains(identity.getHostName())) {
+                final ServerOperation serverOperation = new ServerOperation(identity, operation, null, null, OperationResultTransformer.ORIGINAL_RESULT);
+                listener.operationPrepared(failing.contains(identity)
+                        ? BlockingQueueOperationListener.FailedOperation.create(serverOperation, "failed")
+                        : new PreparedServerOperation(serverOperation));
+            }
+            return serverTimeout;
+        }
+
+        @Override
+        void recordPreparedOperation(final TransactionalProtocolClient.PreparedOperation<ServerOperation> preparedOperation) {
+            outstanding.merge(preparedOperation.getOperation().getIdentity().getHostName(), -1, Integer::sum);
+            super.recordPreparedOperation(preparedOperation);
+        }
+    }
+
+    private static class PreparedServerOperation implements TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> {
+
+        private final ServerTaskExecutor.ServerOperation operation;
+
+        PreparedServerOperation(final ServerTaskExecutor.ServerOperation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public ServerTaskExecutor.ServerOperation getOperation() {
+            return operation;
+        }
+
+        @Override
+        public ModelNode getPreparedResult() {
+            final ModelNode result = new ModelNode();
+            result.get(OUTCOME).set(SUCCESS);
+            return result;
+        }
+
+        @Override
+        public boolean isFailed() {
+            return false;
+        }
+
+        @Override
+        public boolean isTimedOut() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> getFinalResult() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+        }
+    }
+
+    private static class TestBlockingTimeout implements BlockingTimeout {
+
+        private final List<PathAddress> timeouts;
+
+        TestBlockingTimeout(final List<PathAddress> timeouts) {
+            this.timeouts = timeouts;
+        }
+
+        @Override
+        public int getLocalBlockingTimeout() {
+            return 1000;
+        }
+
+        @Override
+        public int getProxyBlockingTimeout(final PathAddress targetAddress, final ProxyController proxyController) {
+            return 1000;
+        }
+
+        @Override
+        public int getDomainBlockingTimeout(final boolean multipleProxies) {
+            return 1000;
+        }
+
+        @Override
+        public void timeoutDetected() {
+        }
+
+        @Override
+        public void proxyTimeoutDetected(final PathAddress targetAddress) {
+            timeouts.add(targetAddress);
+        }
+    }
+}
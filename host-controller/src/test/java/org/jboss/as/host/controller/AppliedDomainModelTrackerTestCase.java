@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link AppliedDomainModelTracker}.
+ */
+public class AppliedDomainModelTrackerTestCase {
+
+    private final AtomicLong domainModelStores = new AtomicLong();
+    private final AppliedDomainModelTracker tracker = new AppliedDomainModelTracker(domainModelStores::get);
+
+    @Test
+    public void testNothingApplied() {
+        Assert.assertNull(tracker.getDigest());
+        Assert.assertFalse(tracker.isApplied("digest"));
+    }
+
+    @Test
+    public void testAppliedDigest() {
+        tracker.applying();
+        // Applying the domain model stores it locally
+        domainModelStores.incrementAndGet();
+        tracker.applied("digest");
+
+        Assert.assertEquals("digest", tracker.getDigest());
+        Assert.assertTrue(tracker.isApplied("digest"));
+        Assert.assertFalse(tracker.isApplied("other"));
+    }
+
+    @Test
+    public void testLocalStoreDropsDigest() {
+        tracker.applied("digest");
+        Assert.assertEquals("digest", tracker.getDigest());
+
+        // A local change to the domain model means the slave must not offer the digest anymore
+        domainModelStores.incrementAndGet();
+        Assert.assertNull(tracker.getDigest());
+        Assert.assertFalse(tracker.isApplied("digest"));
+    }
+
+    @Test
+    public void testApplyingDropsDigest() {
+        tracker.applied("digest");
+        tracker.applying();
+        Assert.assertNull(tracker.getDigest());
+    }
+}
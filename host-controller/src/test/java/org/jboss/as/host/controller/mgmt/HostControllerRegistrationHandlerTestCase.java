@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
+import org.jboss.as.host.controller.RemoteDomainConnectionService;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of the domain model digest handling when a host registers with the master.
+ */
+public class HostControllerRegistrationHandlerTestCase {
+
+    @Test
+    public void testMatchingDigestSkipsDomainModel() throws Exception {
+        final ModelNode result = createResult();
+        final String digest = ReadMasterDomainModelUtil.digest(result.get(RESULT));
+
+        final ModelNode response = HostControllerRegistrationHandler.createHostResponse(result, digest, "slave");
+        Assert.assertEquals(SUCCESS, response.get(OUTCOME).asString());
+        Assert.assertFalse(response.hasDefined(RESULT));
+        Assert.assertEquals(digest, response.get(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST).asString());
+    }
+
+    @Test
+    public void testMismatchedDigestSendsDomainModel() throws Exception {
+        final ModelNode result = createResult();
+        final ModelNode domainModel = result.get(RESULT).clone();
+        final String digest = ReadMasterDomainModelUtil.digest(domainModel);
+
+        final ModelNode response = HostControllerRegistrationHandler.createHostResponse(result, "not-the-digest", "slave");
+        Assert.assertEquals(domainModel, response.get(RESULT));
+        Assert.assertEquals(digest, response.get(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST).asString());
+    }
+
+    @Test
+    public void testNoDigestSendsDomainModel() throws Exception {
+        final ModelNode result = createResult();
+        final ModelNode domainModel = result.get(RESULT).clone();
+
+        final ModelNode response = HostControllerRegistrationHandler.createHostResponse(result, null, "slave");
+        Assert.assertEquals(domainModel, response.get(RESULT));
+        Assert.assertEquals(ReadMasterDomainModelUtil.digest(domainModel), response.get(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST).asString());
+    }
+
+    @Test
+    public void testDigestChangesWithDomainModel() throws Exception {
+        final ModelNode result = createResult();
+        final String digest = ReadMasterDomainModelUtil.digest(result.get(RESULT));
+        final ModelNode changed = createResult();
+        changed.get(RESULT).add(new ModelNode("profile=other"));
+
+        final ModelNode response = HostControllerRegistrationHandler.createHostResponse(changed, digest, "slave");
+        Assert.assertTrue(response.hasDefined(RESULT));
+        Assert.assertNotEquals(digest, response.get(RemoteDomainConnectionService.DOMAIN_MODEL_DIGEST).asString());
+    }
+
+    private static ModelNode createResult() {
+        final ModelNode result = new ModelNode();
+        result.get(OUTCOME).set(SUCCESS);
+        result.get(RESULT).add(new ModelNode("profile=default"));
+        result.get(RESULT).add(new ModelNode("socket-binding-group=standard-sockets"));
+        return result;
+    }
+}
@@ -90,6 +90,7 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
     private final AtomicInteger requestID = new AtomicInteger();
 
     private final Map<Integer, ActiveRequest<?, ?>> requests = new ConcurrentHashMap<Integer, ActiveRequest<?, ?>>(16, 0.75f, Runtime.getRuntime().availableProcessors());
+    private final ManagementChannelStatistics statistics = new ManagementChannelStatistics();
 
     // mutable variables, have to be guarded by the lock
     private int activeCount = 0;
@@ -112,6 +113,7 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
      * @param e the exception which occurred during close, if any
      */
     public void handleChannelClosed(final Channel closed, final IOException e) {
+        ProtocolLogger.ROOT_LOGGER.debugf("Channel %s closed, %s", closed, statistics);
         for(final ActiveOperationImpl<?, ?> activeOperation : activeRequests.values()) {
             if (activeOperation.getChannel() == closed) {
                 // Only call cancel, to also interrupt still active threads
@@ -120,6 +122,15 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
         }
     }
 
+    /**
+     * Get the throughput and latency counters of the requests handled by this handler.
+     *
+     * @return the statistics
+     */
+    public ManagementChannelStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Is shutdown.
      *
@@ -229,14 +240,17 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
                 ProtocolLogger.CONNECTION_LOGGER.noSuchRequest(response.getResponseId(), channel);
                 safeWriteErrorResponse(channel, header, ProtocolLogger.ROOT_LOGGER.responseHandlerNotFound(response.getResponseId()));
             } else if(response.getError() != null) {
+                statistics.responseReceived(System.nanoTime() - request.sent, true);
                 request.handleFailed(response);
             } else {
+                statistics.responseReceived(System.nanoTime() - request.sent, false);
                 handleRequest(channel, input, header, request);
             }
         } else {
             // Handle requests (or other messages)
             try {
                 final ManagementRequestHeader requestHeader = validateRequest(header);
+                statistics.requestReceived();
                 final ManagementRequestHandler<?, ?> handler = getRequestHandler(requestHeader);
                 if(handler == null) {
                     safeWriteErrorResponse(channel, header, ProtocolLogger.ROOT_LOGGER.responseHandlerNotFound(requestHeader.getBatchId()));
@@ -267,6 +281,7 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
         final ActiveOperation.ResultHandler<T> resultHandler = support.getResultHandler();
         try {
             request.sendRequest(resultHandler, new ManagementRequestContextImpl<T, A>(support, channel, header, getExecutor()));
+            statistics.requestSent();
         } catch (Exception e) {
             resultHandler.failed(e);
             requests.remove(requestId);
@@ -557,6 +572,7 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
 
         private final ActiveOperation<T, A> context;
         private final ManagementResponseHandler<T, A> handler;
+        private final long sent = System.nanoTime();
 
         ActiveRequest(ActiveOperation<T, A> context, ManagementResponseHandler<T, A> handler) {
             this.context = context;
@@ -18,6 +18,7 @@
  */
 package org.jboss.as.protocol.mgmt;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -39,6 +40,17 @@ class FlushableDataOutputImpl implements FlushableDataOutput, Closeable {
         return new FlushableDataOutputImpl(new DataOutputStream(output));
     }
 
+    /**
+     * Create a data output buffering writes to the given stream. Nothing may write to the stream directly, as
+     * buffered data only reaches it on {@link #flush()} or {@link #close()}.
+     *
+     * @param output the output stream
+     * @return the data output
+     */
+    static FlushableDataOutput createBuffered(OutputStream output) {
+        return new FlushableDataOutputImpl(new DataOutputStream(new BufferedOutputStream(output)));
+    }
+
     @Override
     public void write(int b) throws IOException {
         delegate.write(b);
@@ -111,4 +111,13 @@ public interface ManagementChannelAssociation {
      */
     Attachments getAttachments();
 
+    /**
+     * Get the throughput and latency counters of the requests exchanged through this association.
+     *
+     * @return the statistics, all counters are zero if this association does not record any
+     */
+    default ManagementChannelStatistics getStatistics() {
+        return ManagementChannelStatistics.NONE;
+    }
+
 }
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency counters of the requests exchanged by a management message handler.
+ *
+ * @see ManagementChannelAssociation#getStatistics()
+ */
+public final class ManagementChannelStatistics {
+
+    /** The statistics of an association that doesn't record any, nothing ever updates these. */
+    static final ManagementChannelStatistics NONE = new ManagementChannelStatistics();
+
+    private final LongAdder requestsSent = new LongAdder();
+    private final LongAdder responsesReceived = new LongAdder();
+    private final LongAdder failedResponses = new LongAdder();
+    private final LongAdder totalResponseTime = new LongAdder();
+    private final LongAccumulator maxResponseTime = new LongAccumulator(Math::max, 0);
+    private final LongAdder requestsReceived = new LongAdder();
+
+    ManagementChannelStatistics() {
+    }
+
+    void requestSent() {
+        requestsSent.increment();
+    }
+
+    void responseReceived(final long responseTime, final boolean failed) {
+        responsesReceived.increment();
+        if (failed) {
+            failedResponses.increment();
+        }
+        totalResponseTime.add(responseTime);
+        maxResponseTime.accumulate(responseTime);
+    }
+
+    void requestReceived() {
+        requestsReceived.increment();
+    }
+
+    /**
+     * Gets the number of requests sent.
+     *
+     * @return the number of requests
+     */
+    public long getRequestsSent() {
+        return requestsSent.sum();
+    }
+
+    /**
+     * Gets the number of responses received to sent requests, including failure responses.
+     *
+     * @return the number of responses
+     */
+    public long getResponsesReceived() {
+        return responsesReceived.sum();
+    }
+
+    /**
+     * Gets the number of failure responses received to sent requests.
+     *
+     * @return the number of failure responses
+     */
+    public long getFailedResponses() {
+        return failedResponses.sum();
+    }
+
+    /**
+     * Gets the total time between sending requests and receiving their responses.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTotalResponseTime() {
+        return totalResponseTime.sum();
+    }
+
+    /**
+     * Gets the longest time between sending a request and receiving its response.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getMaxResponseTime() {
+        return maxResponseTime.get();
+    }
+
+    /**
+     * Gets the number of requests received from the remote side.
+     *
+     * @return the number of requests
+     */
+    public long getRequestsReceived() {
+        return requestsReceived.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ManagementChannelStatistics{requests-sent=" + getRequestsSent()
+                + ", responses-received=" + getResponsesReceived()
+                + ", failed-responses=" + getFailedResponses()
+                + ", total-response-time=" + getTotalResponseTime()
+                + ", max-response-time=" + getMaxResponseTime()
+                + ", requests-received=" + getRequestsReceived() + "}";
+    }
+}
@@ -120,7 +120,11 @@ class ManagementRequestContextImpl<T, A> implements ManagementRequestContext<A>
     @Override
     public FlushableDataOutput writeMessage(final ManagementProtocolHeader header) throws IOException {
         final MessageOutputStream os = channel.writeMessage();
-        return AbstractMessageHandler.writeHeader(header, os);
+        // The returned output is the only writer of the message, so it can buffer the many small writes
+        // of a message body and pass them on to the message stream in larger chunks
+        final FlushableDataOutput output = FlushableDataOutputImpl.createBuffered(os);
+        header.write(output);
+        return output;
     }
 
     private abstract static class AsyncTaskRunner implements Runnable, Cancellable {
@@ -81,6 +81,28 @@ public class RemoteChannelManagementTestCase {
         Assert.assertEquals(Integer.valueOf(1400), client.executeForResult(request));
     }
 
+    @Test
+    public void testStatistics() throws Exception {
+        final SimpleClient client = SimpleClient.create(channels);
+
+        SimpleHandlers.Request request = new SimpleHandlers.Request(SimpleHandlers.SIMPLE_REQUEST, 600);
+        Assert.assertEquals(Integer.valueOf(1200), client.executeForResult(request));
+        request = new SimpleHandlers.Request(SimpleHandlers.REQUEST_WITH_NO_HANDLER, 600);
+        try {
+            client.executeForResult(request);
+            Assert.fail("Should have failed");
+        } catch (ExecutionException expected) {
+            // expected
+        }
+
+        final ManagementChannelStatistics statistics = client.getStatistics();
+        Assert.assertEquals(2, statistics.getRequestsSent());
+        Assert.assertEquals(2, statistics.getResponsesReceived());
+        Assert.assertEquals(1, statistics.getFailedResponses());
+        Assert.assertTrue(statistics.getMaxResponseTime() > 0);
+        Assert.assertTrue(statistics.getTotalResponseTime() >= statistics.getMaxResponseTime());
+    }
+
     @Test
     public void testSeveralConcurrentSimpleRequests() throws Exception {
         final SimpleClient client = SimpleClient.create(channels);
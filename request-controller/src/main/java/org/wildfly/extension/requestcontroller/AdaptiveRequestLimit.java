@@ -0,0 +1,199 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adjusts the maximum number of concurrent requests based on the observed request latency.
+ * <p/>
+ * Requests can complete on a different thread to the one that started them, so rather than timing individual
+ * requests the latency is derived using Little's law: the number of active requests is sampled every
+ * {@value #SAMPLE_INTERVAL}ms, and at the end of each window the average number of active requests is divided by the
+ * completion rate. This keeps the cost on the request path to a single {@link LongAdder} increment.
+ * <p/>
+ * The lowest latency seen is used as the baseline, which is periodically reset so that it can follow changes in the
+ * workload. If the latency inflates past {@value #TOLERANCE} times the baseline the server is considered overloaded
+ * and the limit is lowered, otherwise it is allowed to grow as long as the current limit is actually being used.
+ * <p/>
+ * If no upper bound is configured the limit starts out unbounded, so requests are never queued before anything is
+ * known about the workload. Once the first latency estimate is available the limit is set to {@value #TOLERANCE}
+ * times the average number of active requests seen in that window, and adjusted from there.
+ */
+final class AdaptiveRequestLimit {
+
+    /**
+     * The interval between samples of the active request count, in milliseconds
+     */
+    static final long SAMPLE_INTERVAL = 100;
+
+    private static final int SAMPLES_PER_WINDOW = 10;
+    private static final int MIN_COMPLETIONS_PER_WINDOW = 5;
+    private static final int BASELINE_RESET_WINDOWS = 60;
+    private static final double TOLERANCE = 2.0;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double SMOOTHING = 0.2;
+
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final LongAdder completed = new LongAdder();
+
+    private volatile int maxLimit;
+    private volatile int limit;
+    private volatile long latency;
+
+    //the following fields are only accessed by the sampling thread
+    private boolean sampling;
+    private long windowStart;
+    private long activeSum;
+    private int samples;
+    private long lastCompleted;
+    private long baseline = Long.MAX_VALUE;
+    private int windowsSinceBaselineReset;
+    private double smoothedLimit;
+
+    AdaptiveRequestLimit(LimitAlgorithm algorithm, int minLimit, int maxRequests) {
+        this.algorithm = algorithm;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = upperBound(maxRequests, this.minLimit);
+        this.limit = maxRequests > 0 ? this.maxLimit : -1;
+        this.smoothedLimit = limit;
+    }
+
+    void requestComplete() {
+        completed.increment();
+    }
+
+    /**
+     * @return The current request limit, or -1 if no upper bound is configured and the latency has not been estimated yet
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The most recent latency estimate in nanoseconds, or -1 if there has not been enough traffic to estimate it
+     */
+    long getLatency() {
+        return latency == 0 ? -1 : latency;
+    }
+
+    /**
+     * Sets the upper bound for the limit.
+     *
+     * @param maxRequests The configured max-requests, a value smaller than one means there is no upper bound
+     */
+    void setMaxLimit(int maxRequests) {
+        maxLimit = upperBound(maxRequests, minLimit);
+        final int current = limit;
+        if (current > 0) {
+            limit = clamp(current);
+        } else if (maxRequests > 0) {
+            limit = maxLimit;
+        }
+    }
+
+    /**
+     * Records a sample of the current load. This must only be called from a single thread.
+     *
+     * @param now    The current time from {@link System#nanoTime()}
+     * @param active The number of active requests
+     * @param queued The number of queued requests
+     * @return <code>true</code> if the limit has changed
+     */
+    boolean sample(long now, int active, int queued) {
+        if (!sampling) {
+            sampling = true;
+            windowStart = now;
+            lastCompleted = completed.sum();
+        }
+        activeSum += Math.max(active, 0);
+        if (++samples < SAMPLES_PER_WINDOW) {
+            return false;
+        }
+        final long done = completed.sum();
+        final long completions = done - lastCompleted;
+        final long elapsed = now - windowStart;
+        final double averageActive = (double) activeSum / samples;
+        windowStart = now;
+        lastCompleted = done;
+        activeSum = 0;
+        samples = 0;
+        if (completions < MIN_COMPLETIONS_PER_WINDOW || elapsed <= 0) {
+            return false;
+        }
+        final long rtt = Math.max(1, (long) (averageActive * elapsed / completions));
+        latency = rtt;
+        if (++windowsSinceBaselineReset >= BASELINE_RESET_WINDOWS) {
+            windowsSinceBaselineReset = 0;
+            baseline = rtt;
+        } else if (rtt < baseline) {
+            baseline = rtt;
+        }
+
+        final int previous = limit;
+        int current = previous;
+        if (current < 0) {
+            //still unbounded, start from the concurrency the server has actually been handling
+            current = clamp((long) Math.ceil(Math.max(averageActive, 1) * TOLERANCE));
+        }
+        if (smoothedLimit < 1) {
+            //the limit was unbounded when this started, or an upper bound has been configured since
+            smoothedLimit = current;
+        }
+        //only grow the limit if it is actually being used
+        final boolean saturated = queued > 0 || averageActive * 2 >= current;
+        final int newLimit;
+        if (algorithm == LimitAlgorithm.AIMD) {
+            if (rtt > baseline * TOLERANCE) {
+                newLimit = clamp((long) (current * BACKOFF_RATIO));
+            } else if (saturated) {
+                newLimit = clamp((long) current + 1);
+            } else {
+                newLimit = current;
+            }
+        } else {
+            final double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baseline / rtt));
+            double target = current * gradient + Math.sqrt(current);
+            if (!saturated) {
+                target = Math.min(target, current);
+            }
+            smoothedLimit = smoothedLimit * (1 - SMOOTHING) + target * SMOOTHING;
+            smoothedLimit = clamp((long) smoothedLimit);
+            newLimit = (int) smoothedLimit;
+        }
+        if (newLimit != previous) {
+            limit = newLimit;
+            return true;
+        }
+        return false;
+    }
+
+    private int clamp(long value) {
+        return (int) Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    private static int upperBound(int maxRequests, int minLimit) {
+        return maxRequests > 0 ? Math.max(maxRequests, minLimit) : Integer.MAX_VALUE;
+    }
+}
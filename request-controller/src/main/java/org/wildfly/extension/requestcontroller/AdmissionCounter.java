@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+/**
+ * Tracks the number of requests that are active in the {@link RequestController}, and enforces the maximum
+ * number of concurrent requests.
+ */
+abstract class AdmissionCounter {
+
+    /**
+     * Attempts to obtain a permit for a new request, within the limit last passed to
+     * {@link #maxRequestCountChanged(int, int)}.
+     *
+     * @return <code>true</code> if the request can run
+     */
+    abstract boolean tryAcquire();
+
+    /**
+     * Releases a permit that was obtained via {@link #tryAcquire()}
+     */
+    abstract void release();
+
+    /**
+     * Returns <code>true</code> if there are no active requests. This is only invoked on the suspend path, so
+     * implementations are free to make it more expensive than acquiring and releasing.
+     */
+    abstract boolean isIdle();
+
+    /**
+     * @return The number of currently active requests
+     */
+    abstract int getActiveCount();
+
+    /**
+     * Invoked when the maximum number of requests changes. Until this is first called there is no limit.
+     *
+     * @param oldMax The previous limit
+     * @param newMax The new limit, a value smaller than one means there is no limit
+     */
+    abstract void maxRequestCountChanged(int oldMax, int newMax);
+}
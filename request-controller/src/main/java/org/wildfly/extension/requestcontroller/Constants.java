@@ -31,4 +31,17 @@ interface Constants {
     String MAX_REQUESTS = "max-requests";
     String ACTIVE_REQUESTS = "active-requests";
     String TRACK_INDIVIDUAL_ENDPOINTS = "track-individual-endpoints";
+    String ADMISSION_MODE = "admission-mode";
+    String QUEUED_REQUESTS = "queued-requests";
+    String LIMIT_ALGORITHM = "limit-algorithm";
+    String MIN_REQUESTS = "min-requests";
+    String CURRENT_MAX_REQUESTS = "current-max-requests";
+    String CONTROL_POINTS = "control-points";
+    String CONTROL_POINT = "control-point";
+    String REJECTED_REQUESTS = "rejected-requests";
+    String PRIORITY_CLASS = "priority-class";
+    String WEIGHT = "weight";
+    String MAX_QUEUE_DEPTH = "max-queue-depth";
+    String DEPLOYMENTS = "deployments";
+    String ENTRY_POINTS = "entry-points";
 }
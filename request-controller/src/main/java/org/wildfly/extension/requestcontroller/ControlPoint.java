@@ -49,6 +49,8 @@ public class ControlPoint {
     private final String deployment;
     private final String entryPoint;
     private final boolean trackIndividualControlPoints;
+    private final PriorityClass priorityClass;
+    private final ControlPointStatistics statistics = new ControlPointStatistics();
 
     /**
      * The number of active requests that are using this entry point
@@ -70,11 +72,12 @@ public class ControlPoint {
      */
     private int referenceCount = 0;
 
-    ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints) {
+    ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints, PriorityClass priorityClass) {
         this.controller = controller;
         this.deployment = deployment;
         this.entryPoint = entryPoint;
         this.trackIndividualControlPoints = trackIndividualControlPoints;
+        this.priorityClass = priorityClass;
     }
 
     public String getEntryPoint() {
@@ -126,6 +129,9 @@ public class ControlPoint {
      */
     public RunResult beginRequest() throws Exception {
         if (paused) {
+            if (controller.isStatisticsEnabled()) {
+                statistics.requestRejected();
+            }
             return RunResult.REJECTED;
         }
         if(trackIndividualControlPoints) {
@@ -135,6 +141,7 @@ public class ControlPoint {
         if (runResult == RunResult.REJECTED) {
             decreaseRequestCount();
         }
+        recordBeginRequest(runResult);
         return runResult;
     }
 
@@ -153,7 +160,9 @@ public class ControlPoint {
         if(trackIndividualControlPoints) {
             activeRequestCountUpdater.incrementAndGet(this);
         }
-        return controller.beginRequest(true);
+        RunResult runResult = controller.beginRequest(true);
+        recordBeginRequest(runResult);
+        return runResult;
     }
 
     /**
@@ -165,6 +174,12 @@ public class ControlPoint {
         }
     }
 
+    private void recordBeginRequest(RunResult runResult) {
+        if (runResult == RunResult.REJECTED && controller.isStatisticsEnabled()) {
+            statistics.requestRejected();
+        }
+    }
+
     /**
      * Method that should be invoked once (and only once) to signify that a request has finished.
      * <p/>
@@ -175,6 +190,20 @@ public class ControlPoint {
         controller.requestComplete();
     }
 
+    /**
+     * Variant of {@link #requestComplete()} for callers that keep the time the request was started, as returned by
+     * {@link System#nanoTime()} before the request was begun. When statistics are enabled the elapsed time is recorded
+     * as the request time of this control point.
+     *
+     * @param requestStartTime The {@link System#nanoTime()} value taken when the request was started
+     */
+    public void requestComplete(long requestStartTime) {
+        if (controller.isStatisticsEnabled()) {
+            statistics.requestCompleted(requestStartTime);
+        }
+        requestComplete();
+    }
+
     private void decreaseRequestCount() {
         if (trackIndividualControlPoints) {
             int result = activeRequestCountUpdater.decrementAndGet(this);
@@ -232,6 +261,20 @@ public class ControlPoint {
         return paused;
     }
 
+    /**
+     * @return The priority class that is used when queuing tasks for this control point
+     */
+    PriorityClass getPriorityClass() {
+        return priorityClass;
+    }
+
+    /**
+     * @return The request statistics for this control point, these are only updated if statistics are enabled
+     */
+    ControlPointStatistics getStatistics() {
+        return statistics;
+    }
+
     public int getActiveRequestCount() {
         return activeRequestCountUpdater.get(this);
     }
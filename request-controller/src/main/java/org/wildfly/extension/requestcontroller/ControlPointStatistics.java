@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request statistics for a single {@link ControlPoint}.
+ * <p/>
+ * The control point API does not hand out a per request token, so the request time can only be recorded when the
+ * caller carries the start time through to completion, as queued tasks do via {@link ControlPointTask} and callers of
+ * {@link ControlPoint#requestComplete(long)} do explicitly. Requests completed via
+ * {@link ControlPoint#requestComplete()} are not timed. Nothing is tracked per thread, so requests may start and
+ * complete on different threads.
+ */
+final class ControlPointStatistics {
+
+    private final LatencyHistogram requestTime = new LatencyHistogram();
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    void requestCompleted(long requestStartTime) {
+        requestTime.record(System.nanoTime() - requestStartTime);
+    }
+
+    void taskDequeued(long queuedAt) {
+        queueTime.record(System.nanoTime() - queuedAt);
+    }
+
+    void requestRejected() {
+        rejected.increment();
+    }
+
+    void taskTimedOut() {
+        timedOut.increment();
+    }
+
+    /**
+     * @return A histogram of the time requests spent running, in microseconds
+     */
+    LatencyHistogram getRequestTime() {
+        return requestTime;
+    }
+
+    /**
+     * @return A histogram of the time tasks spent queued before they were run, in microseconds
+     */
+    LatencyHistogram getQueueTime() {
+        return queueTime;
+    }
+
+    long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    long getTimedOutCount() {
+        return timedOut.sum();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.MICROSECONDS;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Read handler for the per control point request statistics
+ */
+class ControlPointStatisticsReadHandler extends AbstractRuntimeOnlyHandler {
+
+    private static final String DEPLOYMENT = "deployment";
+    private static final String ENTRY_POINT = "entry-point";
+    private static final String PAUSED = "paused";
+    private static final String ACTIVE_REQUESTS = "active-requests";
+    private static final String REJECTED_REQUESTS = "rejected-requests";
+    private static final String TIMED_OUT_REQUESTS = "timed-out-requests";
+    private static final String REQUEST_TIME = "request-time";
+    private static final String QUEUE_TIME = "queue-time";
+
+    private static final String COUNT = "count";
+    private static final String MEAN = "mean";
+    private static final String P50 = "p50";
+    private static final String P90 = "p90";
+    private static final String P99 = "p99";
+    private static final String P999 = "p999";
+    private static final String MAX = "max";
+
+    static final ObjectListAttributeDefinition CONTROL_POINTS = ObjectListAttributeDefinition.Builder.of(Constants.CONTROL_POINTS,
+            ObjectTypeAttributeDefinition.Builder.of(Constants.CONTROL_POINT,
+                    metric(DEPLOYMENT, ModelType.STRING, null),
+                    metric(ENTRY_POINT, ModelType.STRING, null),
+                    metric(PAUSED, ModelType.BOOLEAN, null),
+                    metric(ACTIVE_REQUESTS, ModelType.INT, null),
+                    metric(REJECTED_REQUESTS, ModelType.LONG, null),
+                    metric(TIMED_OUT_REQUESTS, ModelType.LONG, null),
+                    histogram(REQUEST_TIME),
+                    histogram(QUEUE_TIME))
+                    .setStorageRuntime()
+                    .build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    @Override
+    protected boolean requiresRuntime(OperationContext context) {
+        return true;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ModelNode result = context.getResult().setEmptyList();
+        ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if (service != null) {
+            RequestController requestController = (RequestController) service.getService().getValue();
+            for (ControlPoint controlPoint : requestController.getControlPoints()) {
+                ControlPointStatistics statistics = controlPoint.getStatistics();
+                ModelNode node = result.add();
+                node.get(DEPLOYMENT).set(controlPoint.getDeployment());
+                node.get(ENTRY_POINT).set(controlPoint.getEntryPoint());
+                node.get(PAUSED).set(controlPoint.isPaused());
+                node.get(ACTIVE_REQUESTS).set(controlPoint.getActiveRequestCount());
+                node.get(REJECTED_REQUESTS).set(statistics.getRejectedCount());
+                node.get(TIMED_OUT_REQUESTS).set(statistics.getTimedOutCount());
+                write(node.get(REQUEST_TIME), statistics.getRequestTime());
+                write(node.get(QUEUE_TIME), statistics.getQueueTime());
+            }
+        }
+    }
+
+    private static void write(ModelNode node, LatencyHistogram histogram) {
+        node.get(COUNT).set(histogram.getCount());
+        node.get(MEAN).set(histogram.getMean());
+        node.get(P50).set(histogram.getValueAtPercentile(50));
+        node.get(P90).set(histogram.getValueAtPercentile(90));
+        node.get(P99).set(histogram.getValueAtPercentile(99));
+        node.get(P999).set(histogram.getValueAtPercentile(99.9));
+        node.get(MAX).set(histogram.getMax());
+    }
+
+    private static AttributeDefinition histogram(String name) {
+        return ObjectTypeAttributeDefinition.Builder.of(name,
+                metric(COUNT, ModelType.LONG, null),
+                metric(MEAN, ModelType.LONG, MICROSECONDS),
+                metric(P50, ModelType.LONG, MICROSECONDS),
+                metric(P90, ModelType.LONG, MICROSECONDS),
+                metric(P99, ModelType.LONG, MICROSECONDS),
+                metric(P999, ModelType.LONG, MICROSECONDS),
+                metric(MAX, ModelType.LONG, MICROSECONDS))
+                .setStorageRuntime()
+                .build();
+    }
+
+    private static AttributeDefinition metric(String name, ModelType type, MeasurementUnit unit) {
+        return SimpleAttributeDefinitionBuilder.create(name, type)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+}
@@ -41,11 +41,12 @@ public final class ControlPointTask implements Runnable {
 
     @Override
     public void run() {
+        final long start = System.nanoTime();
         try {
             controlPoint.beginExistingRequest();
             originalTask.run();
         } finally {
-            controlPoint.requestComplete();
+            controlPoint.requestComplete(start);
         }
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Admission counter that tracks all requests in a single field.
+ */
+final class GlobalAdmissionCounter extends AdmissionCounter {
+
+    private static final AtomicIntegerFieldUpdater<GlobalAdmissionCounter> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(GlobalAdmissionCounter.class, "activeRequestCount");
+
+    @SuppressWarnings("unused")
+    private volatile int activeRequestCount = 0;
+
+    private volatile int maxRequests = -1;
+
+    @Override
+    boolean tryAcquire() {
+        final int maxRequests = this.maxRequests;
+        int active = activeRequestCountUpdater.get(this);
+        while (maxRequests <= 0 || active < maxRequests) {
+            if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
+                return true;
+            }
+            active = activeRequestCountUpdater.get(this);
+        }
+        return false;
+    }
+
+    @Override
+    void release() {
+        activeRequestCountUpdater.decrementAndGet(this);
+    }
+
+    @Override
+    boolean isIdle() {
+        return activeRequestCountUpdater.get(this) == 0;
+    }
+
+    @Override
+    int getActiveCount() {
+        return activeRequestCountUpdater.get(this);
+    }
+
+    @Override
+    void maxRequestCountChanged(int oldMax, int newMax) {
+        maxRequests = newMax;
+    }
+}
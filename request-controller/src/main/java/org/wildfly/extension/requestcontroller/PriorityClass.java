@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class of control points that share a request queue. When the request limit has been hit queued requests
+ * are dequeued from the different classes in proportion to their weight.
+ * <p/>
+ * Control points are assigned to a class based on their deployment name first, and then their entry point name.
+ * Control points that do not match any class use the class named {@value #DEFAULT}, which is created with a weight
+ * of one and an unlimited queue if it has not been explicitly configured.
+ */
+final class PriorityClass {
+
+    static final String DEFAULT = "default";
+
+    private final String name;
+    private final int weight;
+    private final int maxQueueDepth;
+    private final Set<String> deployments;
+    private final Set<String> entryPoints;
+
+    final Deque<RequestController.QueuedTask> tasks = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    PriorityClass(String name, int weight, int maxQueueDepth, Set<String> deployments, Set<String> entryPoints) {
+        this.name = name;
+        this.weight = weight;
+        this.maxQueueDepth = maxQueueDepth;
+        this.deployments = deployments;
+        this.entryPoints = entryPoints;
+    }
+
+    static PriorityClass createDefault() {
+        return new PriorityClass(DEFAULT, 1, -1, Collections.emptySet(), Collections.emptySet());
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    boolean matchesDeployment(String deployment) {
+        return deployments.contains(deployment);
+    }
+
+    boolean matchesEntryPoint(String entryPoint) {
+        return entryPoints.contains(entryPoint);
+    }
+
+    /**
+     * @return The number of requests that are currently queued in this class
+     */
+    int getQueuedRequestCount() {
+        return queued.get();
+    }
+
+    /**
+     * @return The number of requests that were rejected because the queue for this class was full
+     */
+    long getRejectedRequestCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Reserves a slot in the queue.
+     *
+     * @param force If the queue depth limit should be ignored
+     * @return <code>true</code> if the task can be queued
+     */
+    boolean reserve(boolean force) {
+        if (force || maxQueueDepth <= 0) {
+            queued.incrementAndGet();
+            return true;
+        }
+        int current = queued.get();
+        while (current < maxQueueDepth) {
+            if (queued.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = queued.get();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    void dequeued() {
+        queued.decrementAndGet();
+    }
+
+    /**
+     * Removes a task that timed out before it was dequeued. Whoever removes a task from {@link #tasks} releases
+     * its slot, so a task that was already polled is not counted twice.
+     */
+    void timedOut(RequestController.QueuedTask task) {
+        if (tasks.removeFirstOccurrence(task)) {
+            dequeued();
+        }
+    }
+}
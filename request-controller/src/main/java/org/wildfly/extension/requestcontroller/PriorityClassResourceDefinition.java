@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.ReloadRequiredAddStepHandler;
+import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Definition of a priority class, which allows the request controller queue to favour some control points over
+ * others once the request limit has been hit.
+ */
+class PriorityClassResourceDefinition extends PersistentResourceDefinition {
+
+    static final PathElement PATH = PathElement.pathElement(Constants.PRIORITY_CLASS);
+
+    static final SimpleAttributeDefinition WEIGHT = SimpleAttributeDefinitionBuilder.create(Constants.WEIGHT, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1))
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setRestartAllServices()
+            .build();
+
+    static final SimpleAttributeDefinition MAX_QUEUE_DEPTH = SimpleAttributeDefinitionBuilder.create(Constants.MAX_QUEUE_DEPTH, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(-1))
+            .setRestartAllServices()
+            .build();
+
+    static final StringListAttributeDefinition DEPLOYMENTS = new StringListAttributeDefinition.Builder(Constants.DEPLOYMENTS)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .setRestartAllServices()
+            .build();
+
+    static final StringListAttributeDefinition ENTRY_POINTS = new StringListAttributeDefinition.Builder(Constants.ENTRY_POINTS)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .setRestartAllServices()
+            .build();
+
+    static final SimpleAttributeDefinition QUEUED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.QUEUED_REQUESTS, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition REJECTED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.REJECTED_REQUESTS, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = {WEIGHT, MAX_QUEUE_DEPTH, DEPLOYMENTS, ENTRY_POINTS};
+
+    private final boolean registerRuntimeOnly;
+
+    PriorityClassResourceDefinition(boolean registerRuntimeOnly) {
+        super(new SimpleResourceDefinition.Parameters(PATH, RequestControllerExtension.getResolver(Constants.PRIORITY_CLASS))
+                .setAddHandler(new ReloadRequiredAddStepHandler(ATTRIBUTES))
+                .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE));
+        this.registerRuntimeOnly = registerRuntimeOnly;
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return Arrays.asList(ATTRIBUTES);
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        ReloadRequiredWriteAttributeHandler handler = new ReloadRequiredWriteAttributeHandler(ATTRIBUTES);
+        for (AttributeDefinition attribute : ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attribute, null, handler);
+        }
+        if (registerRuntimeOnly) {
+            PriorityClassMetricsHandler metricsHandler = new PriorityClassMetricsHandler();
+            resourceRegistration.registerMetric(QUEUED_REQUESTS, metricsHandler);
+            resourceRegistration.registerMetric(REJECTED_REQUESTS, metricsHandler);
+        }
+    }
+
+    /**
+     * Creates the runtime representation of a configured priority class.
+     */
+    static PriorityClass createPriorityClass(OperationContext context, String name, ModelNode model) throws OperationFailedException {
+        int weight = WEIGHT.resolveModelAttribute(context, model).asInt();
+        int maxQueueDepth = MAX_QUEUE_DEPTH.resolveModelAttribute(context, model).asInt();
+        Set<String> deployments = toSet(DEPLOYMENTS.unwrap(context, model));
+        Set<String> entryPoints = toSet(ENTRY_POINTS.unwrap(context, model));
+        return new PriorityClass(name, weight, maxQueueDepth, deployments, entryPoints);
+    }
+
+    private static Set<String> toSet(List<String> values) {
+        return values.isEmpty() ? Collections.emptySet() : new HashSet<>(values);
+    }
+}
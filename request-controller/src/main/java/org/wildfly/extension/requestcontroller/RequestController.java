@@ -22,16 +22,18 @@
 package org.wildfly.extension.requestcontroller;
 
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.jboss.as.server.suspend.CountingRequestCountCallback;
@@ -62,26 +64,36 @@ public class RequestController implements Service<RequestController>, ServerActi
     @Deprecated
     public static final ServiceName SERVICE_NAME = RequestControllerRootDefinition.REQUEST_CONTROLLER_CAPABILITY.getCapabilityServiceName();
 
-    private static final AtomicIntegerFieldUpdater<RequestController> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(RequestController.class, "activeRequestCount");
     private static final AtomicReferenceFieldUpdater<RequestController, ServerActivityCallback> listenerUpdater = AtomicReferenceFieldUpdater.newUpdater(RequestController.class, ServerActivityCallback.class, "listener");
 
     private volatile int maxRequestCount = -1;
 
-    private volatile int activeRequestCount = 0;
-
     private volatile boolean paused = false;
 
-    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
+    private final AdmissionCounter admissionCounter;
+
+    private volatile AdaptiveRequestLimit adaptiveLimit;
+
+    private volatile boolean statisticsEnabled = false;
+
+    private final ConcurrentMap<ControlPointIdentifier, ControlPoint> entryPoints = new ConcurrentHashMap<>();
 
     private final InjectedValue<SuspendController> shutdownControllerInjectedValue = new InjectedValue<>();
 
+    private final InjectedValue<ScheduledExecutorService> scheduledExecutorInjectedValue = new InjectedValue<>();
+
     @SuppressWarnings("unused")
     private volatile ServerActivityCallback listener = null;
 
     private final boolean trackIndividualControlPoints;
 
     public RequestController(boolean trackIndividualControlPoints) {
+        this(trackIndividualControlPoints, AdmissionMode.GLOBAL);
+    }
+
+    RequestController(boolean trackIndividualControlPoints, AdmissionMode admissionMode) {
         this.trackIndividualControlPoints = trackIndividualControlPoints;
+        this.admissionCounter = admissionMode.createCounter();
     }
 
     @Override
@@ -91,7 +103,13 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private Timer timer;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    /**
+     * Samples the adaptive limit. This runs on the server's scheduled executor rather than the timer so a slow or failed
+     * sample can never delay or cancel the queue timeouts.
+     */
+    private ScheduledFuture<?> limitSampler;
+
+    private volatile RequestQueue taskQueue = new RequestQueue(Collections.emptyList());
 
     /**
      * Pause the controller. All existing requests will have a chance to finish, and once all requests are
@@ -105,7 +123,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         this.paused = true;
         listenerUpdater.set(this, requestCountListener);
 
-        if (activeRequestCountUpdater.get(this) == 0) {
+        if (admissionCounter.isIdle()) {
             if (listenerUpdater.compareAndSet(this, requestCountListener, null)) {
                 requestCountListener.done();
             }
@@ -122,7 +140,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         if (listener != null) {
             listenerUpdater.compareAndSet(this, listener, null);
         }
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        while (!taskQueue.isEmpty() && (admissionCounter.getActiveCount() < maxRequestCount || maxRequestCount < 0)) {
             runQueuedTask(false);
         }
     }
@@ -200,26 +218,19 @@ public class RequestController implements Service<RequestController>, ServerActi
         }
     }
 
-    public synchronized RequestControllerState getState() {
+    public RequestControllerState getState() {
         final List<RequestControllerState.EntryPointState> eps = new ArrayList<>();
         for (ControlPoint controlPoint : entryPoints.values()) {
             eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
         }
-        return new RequestControllerState(paused, activeRequestCount, maxRequestCount, eps);
+        return new RequestControllerState(paused, admissionCounter.getActiveCount(), maxRequestCount, eps);
     }
 
     RunResult beginRequest(boolean force) {
-        int maxRequests = maxRequestCount;
-        int active = activeRequestCountUpdater.get(this);
-        boolean success = false;
-        while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
-            if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
-                success = true;
-                break;
-            }
-            active = activeRequestCountUpdater.get(this);
+        if (paused && !force) {
+            return RunResult.REJECTED;
         }
-        if (success) {
+        if (admissionCounter.tryAcquire()) {
             //re-check the paused state
             //this is necessary because there is a race between checking paused and updating active requests
             //if this happens we just call requestComplete(), as the listener can only be invoked once it does not
@@ -235,14 +246,18 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
     void requestComplete() {
+        AdaptiveRequestLimit adaptiveLimit = this.adaptiveLimit;
+        if (adaptiveLimit != null) {
+            adaptiveLimit.requestComplete();
+        }
         runQueuedTask(true);
     }
 
     private void decrementRequestCount() {
 
-        int result = activeRequestCountUpdater.decrementAndGet(this);
+        admissionCounter.release();
         if (paused) {
-            if (paused && result == 0) {
+            if (admissionCounter.isIdle()) {
                 ServerActivityCallback listener = listenerUpdater.get(this);
                 if (listener != null) {
                     if (listenerUpdater.compareAndSet(this, listener, null)) {
@@ -264,15 +279,15 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param entryPointName The entry point name
      * @return The entry point, or null if the request controller is disabled
      */
-    public synchronized ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
         ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
-        ControlPoint ep = entryPoints.get(id);
-        if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
-            entryPoints.put(id, ep);
-        }
-        ep.increaseReferenceCount();
-        return ep;
+        return entryPoints.compute(id, (key, ep) -> {
+            if (ep == null) {
+                ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints, taskQueue.classify(deploymentName, entryPointName));
+            }
+            ep.increaseReferenceCount();
+            return ep;
+        });
     }
 
     /**
@@ -280,15 +295,14 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param controlPoint The entry point
      */
-    public synchronized void removeControlPoint(ControlPoint controlPoint) {
-        if (controlPoint.decreaseReferenceCount() == 0) {
-            ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
-            entryPoints.remove(id);
-        }
+    public void removeControlPoint(ControlPoint controlPoint) {
+        ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
+        entryPoints.computeIfPresent(id, (key, ep) -> ep.decreaseReferenceCount() == 0 ? null : ep);
     }
 
     /**
-     * @return The maximum number of requests that can be active at a time
+     * @return The maximum number of requests that can be active at a time. If an adaptive limit is in use this is the
+     * current limit, rather than the configured upper bound.
      */
     public int getMaxRequestCount() {
         return maxRequestCount;
@@ -299,18 +313,89 @@ public class RequestController implements Service<RequestController>, ServerActi
      * <p/>
      * If this is higher that the number of currently running requests the no new requests
      * will be able to run until the number of active requests has dropped below this level.
+     * <p/>
+     * If an adaptive limit is in use this is the upper bound for the limit.
      *
      * @param maxRequestCount The max request count
      */
-    public void setMaxRequestCount(int maxRequestCount) {
+    public synchronized void setMaxRequestCount(int maxRequestCount) {
+        AdaptiveRequestLimit adaptiveLimit = this.adaptiveLimit;
+        if (adaptiveLimit != null) {
+            adaptiveLimit.setMaxLimit(maxRequestCount);
+            applyMaxRequestCount(adaptiveLimit.getLimit());
+        } else {
+            applyMaxRequestCount(maxRequestCount);
+        }
+    }
+
+    /**
+     * Sets the algorithm used to determine the request limit. This must be called before the service is started.
+     *
+     * @param algorithm   The limit algorithm
+     * @param minRequests The lower bound for an adaptive limit
+     */
+    synchronized void setLimitAlgorithm(LimitAlgorithm algorithm, int minRequests) {
+        if (algorithm == LimitAlgorithm.STATIC) {
+            adaptiveLimit = null;
+        } else {
+            adaptiveLimit = new AdaptiveRequestLimit(algorithm, minRequests, maxRequestCount);
+            applyMaxRequestCount(adaptiveLimit.getLimit());
+        }
+    }
+
+    private synchronized void applyMaxRequestCount(int maxRequestCount) {
+        int oldMaxRequestCount = this.maxRequestCount;
         this.maxRequestCount = maxRequestCount;
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        admissionCounter.maxRequestCountChanged(oldMaxRequestCount, maxRequestCount);
+        while (!taskQueue.isEmpty() && (admissionCounter.getActiveCount() < maxRequestCount || maxRequestCount < 0)) {
             if(!runQueuedTask(false)) {
                 break;
             }
         }
     }
 
+    /**
+     * Sets the priority classes that are used to share out permits between queued requests. This must be called
+     * before any control points are created.
+     *
+     * @param priorityClasses The priority classes
+     */
+    void setPriorityClasses(Collection<PriorityClass> priorityClasses) {
+        this.taskQueue = new RequestQueue(priorityClasses);
+    }
+
+    /**
+     * @return The configured priority classes, including the default class
+     */
+    Collection<PriorityClass> getPriorityClasses() {
+        return taskQueue.getPriorityClasses();
+    }
+
+    /**
+     * @return The control points that are currently in use
+     */
+    Collection<ControlPoint> getControlPoints() {
+        return Collections.unmodifiableCollection(entryPoints.values());
+    }
+
+    /**
+     * @return <code>true</code> if per control point request statistics are being recorded
+     */
+    boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    /**
+     * @return The number of requests that are currently queued
+     */
+    public int getQueuedRequestCount() {
+        return taskQueue.size();
+    }
+
     /**
      * @return <code>true</code> If the server is currently pause
      */
@@ -322,6 +407,19 @@ public class RequestController implements Service<RequestController>, ServerActi
     public void start(StartContext startContext) throws StartException {
         shutdownControllerInjectedValue.getValue().registerActivity(this);
         timer = new Timer();
+        final AdaptiveRequestLimit adaptiveLimit = this.adaptiveLimit;
+        if (adaptiveLimit != null) {
+            limitSampler = scheduledExecutorInjectedValue.getValue().scheduleAtFixedRate(() -> {
+                //an exception would suppress all further samples, so the limit would be stuck at its current value
+                try {
+                    if (adaptiveLimit.sample(System.nanoTime(), getActiveRequestCount(), getQueuedRequestCount())) {
+                        applyMaxRequestCount(adaptiveLimit.getLimit());
+                    }
+                } catch (Throwable t) {
+                    RequestControllerLogger.ROOT_LOGGER.failedToUpdateAdaptiveLimit(t);
+                }
+            }, AdaptiveRequestLimit.SAMPLE_INTERVAL, AdaptiveRequestLimit.SAMPLE_INTERVAL, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
@@ -329,6 +427,10 @@ public class RequestController implements Service<RequestController>, ServerActi
         shutdownControllerInjectedValue.getValue().unRegisterActivity(this);
         timer.cancel();
         timer = null;
+        if (limitSampler != null) {
+            limitSampler.cancel(false);
+            limitSampler = null;
+        }
         while (!taskQueue.isEmpty()) {
             QueuedTask t = taskQueue.poll();
             if(t != null) {
@@ -346,19 +448,39 @@ public class RequestController implements Service<RequestController>, ServerActi
         return shutdownControllerInjectedValue;
     }
 
+    /**
+     * @return The executor used to sample the adaptive limit, this is only required if an adaptive limit is in use
+     */
+    InjectedValue<ScheduledExecutorService> getScheduledExecutorInjectedValue() {
+        return scheduledExecutorInjectedValue;
+    }
+
     public int getActiveRequestCount() {
-        return activeRequestCount;
+        return admissionCounter.getActiveCount();
     }
 
     void queueTask(ControlPoint controlPoint, Runnable task, Executor taskExecutor, long timeout, Runnable timeoutTask, boolean rejectOnSuspend, boolean forceRun) {
+        final boolean recordStatistics = statisticsEnabled && controlPoint != null;
         if(paused) {
             if(rejectOnSuspend && !forceRun) {
+                if (recordStatistics) {
+                    controlPoint.getStatistics().requestRejected();
+                }
                 taskExecutor.execute(timeoutTask);
                 return;
             }
         }
-        QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun, recordStatistics);
+        if (!taskQueue.offer(queuedTask)) {
+            //the queue for this priority class is full
+            if (recordStatistics) {
+                controlPoint.getStatistics().requestRejected();
+            }
+            if (timeoutTask != null) {
+                taskExecutor.execute(timeoutTask);
+            }
+            return;
+        }
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
@@ -383,7 +505,7 @@ public class RequestController implements Service<RequestController>, ServerActi
             task = taskQueue.poll();
         } else {
             //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
+            task = taskQueue.pollForced();
         }
         if (task != null) {
             if(!task.runRequest()) {
@@ -396,23 +518,6 @@ public class RequestController implements Service<RequestController>, ServerActi
         }
     }
 
-    private QueuedTask findForcedTask() {
-        QueuedTask forcedTask = null;
-        QueuedTask task;
-        List<QueuedTask> storage = new ArrayList<>();
-        while (forcedTask == null && (task = taskQueue.poll()) != null) {
-            if (task.forceRun) {
-                forcedTask = task;
-            } else {
-                storage.add(task);
-            }
-        }
-        // this screws the order somewhat, but the container is suspending anyway, and the order
-        // was never guarenteed. if we push them back onto the front we will need to just go through them again
-        taskQueue.addAll(storage);
-        return forcedTask;
-    }
-
     private static final class ControlPointIdentifier {
         private final String deployment, name;
 
@@ -448,30 +553,46 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
 
-    private static final class QueuedTask extends TimerTask {
+    static final class QueuedTask extends TimerTask {
 
         private final Executor executor;
         private final Runnable task;
         private final Runnable cancelTask;
         private final ControlPoint controlPoint;
         private final boolean forceRun;
+        private final boolean recordStatistics;
+        private final long queuedAt;
+        private volatile PriorityClass priorityClass;
 
         //0 == queued
         //1 == run
         //2 == cancelled
         private final AtomicInteger state = new AtomicInteger(0);
 
-        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+        QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+            this(executor, task, cancelTask, controlPoint, forceRun, false);
+        }
+
+        QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun, boolean recordStatistics) {
             this.executor = executor;
             this.task = task;
             this.cancelTask = cancelTask;
             this.controlPoint = controlPoint;
             this.forceRun = forceRun;
+            this.recordStatistics = recordStatistics;
+            this.queuedAt = recordStatistics ? System.nanoTime() : 0;
         }
 
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                final PriorityClass priorityClass = this.priorityClass;
+                if (priorityClass != null) {
+                    priorityClass.timedOut(this);
+                }
+                if (recordStatistics) {
+                    controlPoint.getStatistics().taskTimedOut();
+                }
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -486,6 +607,9 @@ public class RequestController implements Service<RequestController>, ServerActi
         public boolean runRequest() {
             if (state.compareAndSet(0, 1)) {
                 cancel();
+                if (recordStatistics) {
+                    controlPoint.getStatistics().taskDequeued(queuedAt);
+                }
                 executor.execute(new ControlPointTask(task, controlPoint));
                 return true;
             } else {
@@ -496,6 +620,23 @@ public class RequestController implements Service<RequestController>, ServerActi
         boolean isQueued() {
             return state.get() == 0;
         }
+
+        ControlPoint getControlPoint() {
+            return controlPoint;
+        }
+
+        boolean isForceRun() {
+            return forceRun;
+        }
+
+        void setPriorityClass(PriorityClass priorityClass) {
+            this.priorityClass = priorityClass;
+        }
+
+        PriorityClass getPriorityClass(PriorityClass defaultClass) {
+            PriorityClass priorityClass = controlPoint == null ? null : controlPoint.getPriorityClass();
+            return priorityClass == null ? defaultClass : priorityClass;
+        }
     }
 
 }
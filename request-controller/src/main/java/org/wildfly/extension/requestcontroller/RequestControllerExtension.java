@@ -43,6 +43,7 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 public class RequestControllerExtension implements Extension {
 
     public static final String SUBSYSTEM_NAME = "request-controller";
+    static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(1, 2);
     protected static final PathElement SUBSYSTEM_PATH = PathElement.pathElement(SUBSYSTEM, SUBSYSTEM_NAME);
     private static final String RESOURCE_NAME = RequestControllerExtension.class.getPackage().getName() + ".LocalDescriptions";
 
@@ -56,17 +57,17 @@ public class RequestControllerExtension implements Extension {
 
     @Override
     public void initializeParsers(ExtensionParsingContext context) {
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.REQUEST_CONTROLLER_1_0.getUriString(), RequestControllerSubsystemParser_1_0::new);
         // For the current version we don't use a Supplier as we want its description initialized
-        // TODO if any new xsd versions are added, use a Supplier for the old version
-        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.REQUEST_CONTROLLER_1_0.getUriString(), new RequestControllerSubsystemParser_1_0());
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.REQUEST_CONTROLLER_1_1.getUriString(), new RequestControllerSubsystemParser_1_1());
     }
 
     @Override
     public void initialize(ExtensionContext context) {
-        final SubsystemRegistration subsystem = context.registerSubsystem(SUBSYSTEM_NAME, ModelVersion.create(1, 1));
+        final SubsystemRegistration subsystem = context.registerSubsystem(SUBSYSTEM_NAME, CURRENT_MODEL_VERSION);
         final ManagementResourceRegistration registration = subsystem.registerSubsystemModel(new RequestControllerRootDefinition(context.isRuntimeOnlyRegistrationValid()));
         registration.registerOperationHandler(GenericSubsystemDescribeHandler.DEFINITION, GenericSubsystemDescribeHandler.INSTANCE, false);
-        subsystem.registerXMLElementWriter(RequestControllerSubsystemParser_1_0::new);
+        subsystem.registerXMLElementWriter(RequestControllerSubsystemParser_1_1::new);
     }
 
 
@@ -27,6 +27,7 @@ package org.wildfly.extension.requestcontroller;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -37,6 +38,9 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -60,9 +64,44 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    public static final SimpleAttributeDefinition ADMISSION_MODE = SimpleAttributeDefinitionBuilder.create(Constants.ADMISSION_MODE, ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(AdmissionMode.GLOBAL.toString()))
+            .setValidator(new EnumValidator<>(AdmissionMode.class, EnumSet.allOf(AdmissionMode.class)))
+            .setRestartAllServices()
+            .build();
+
+    public static final SimpleAttributeDefinition LIMIT_ALGORITHM = SimpleAttributeDefinitionBuilder.create(Constants.LIMIT_ALGORITHM, ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(LimitAlgorithm.STATIC.toString()))
+            .setValidator(new EnumValidator<>(LimitAlgorithm.class, EnumSet.allOf(LimitAlgorithm.class)))
+            .setRestartAllServices()
+            .build();
+
+    public static final SimpleAttributeDefinition MIN_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.MIN_REQUESTS, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1))
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setRestartAllServices()
+            .build();
+
+    public static final SimpleAttributeDefinition STATISTICS_ENABLED = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.STATISTICS_ENABLED, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .build();
+
     public static final SimpleAttributeDefinition ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, true)
             .setStorageRuntime()
             .build();
+
+    public static final SimpleAttributeDefinition QUEUED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.QUEUED_REQUESTS, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition CURRENT_MAX_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.CURRENT_MAX_REQUESTS, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
     public static final RequestControllerRootDefinition INSTANCE = new RequestControllerRootDefinition(true);
 
     static final RuntimeCapability<Void> REQUEST_CONTROLLER_CAPABILITY =
@@ -86,15 +125,15 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
 
     private static Collection<AttributeDefinition> getAttributeDefinitions(boolean registerRuntimeOnly) {
         if(registerRuntimeOnly) {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ACTIVE_REQUESTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADMISSION_MODE, LIMIT_ALGORITHM, MIN_REQUESTS, STATISTICS_ENABLED, ACTIVE_REQUESTS, QUEUED_REQUESTS, CURRENT_MAX_REQUESTS, ControlPointStatisticsReadHandler.CONTROL_POINTS});
         } else {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADMISSION_MODE, LIMIT_ALGORITHM, MIN_REQUESTS, STATISTICS_ENABLED});
         }
     }
 
     @Override
     protected List<? extends PersistentResourceDefinition> getChildren() {
-        return Collections.emptyList();
+        return Collections.singletonList(new PriorityClassResourceDefinition(registerRuntimeOnly));
     }
 
     @Override
@@ -102,8 +141,15 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
         MaxRequestsWriteHandler handler = new MaxRequestsWriteHandler(MAX_REQUESTS);
         resourceRegistration.registerReadWriteAttribute(MAX_REQUESTS, null, handler);
         resourceRegistration.registerReadWriteAttribute(TRACK_INDIVIDUAL_ENDPOINTS, null, new ReloadRequiredWriteAttributeHandler(TRACK_INDIVIDUAL_ENDPOINTS));
+        resourceRegistration.registerReadWriteAttribute(ADMISSION_MODE, null, new ReloadRequiredWriteAttributeHandler(ADMISSION_MODE));
+        resourceRegistration.registerReadWriteAttribute(LIMIT_ALGORITHM, null, new ReloadRequiredWriteAttributeHandler(LIMIT_ALGORITHM));
+        resourceRegistration.registerReadWriteAttribute(MIN_REQUESTS, null, new ReloadRequiredWriteAttributeHandler(MIN_REQUESTS));
+        resourceRegistration.registerReadWriteAttribute(STATISTICS_ENABLED, null, new StatisticsEnabledWriteHandler());
         if(registerRuntimeOnly) {
             resourceRegistration.registerMetric(ACTIVE_REQUESTS, new ActiveRequestsReadHandler());
+            resourceRegistration.registerMetric(QUEUED_REQUESTS, new QueuedRequestsReadHandler());
+            resourceRegistration.registerMetric(CURRENT_MAX_REQUESTS, new CurrentMaxRequestsReadHandler());
+            resourceRegistration.registerMetric(ControlPointStatisticsReadHandler.CONTROL_POINTS, new ControlPointStatisticsReadHandler());
         }
     }
 }
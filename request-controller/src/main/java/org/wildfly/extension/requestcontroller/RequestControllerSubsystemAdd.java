@@ -30,14 +30,20 @@ import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
+import org.jboss.as.server.ServerService;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.as.server.suspend.SuspendController;
 import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceBuilder;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 
 
 /**
@@ -68,14 +74,29 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
 
         int maxRequests = RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
         boolean trackIndividual = RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS.resolveModelAttribute(context, resource.getModel()).asBoolean();
+        AdmissionMode admissionMode = AdmissionMode.forName(RequestControllerRootDefinition.ADMISSION_MODE.resolveModelAttribute(context, resource.getModel()).asString());
+        LimitAlgorithm limitAlgorithm = LimitAlgorithm.forName(RequestControllerRootDefinition.LIMIT_ALGORITHM.resolveModelAttribute(context, resource.getModel()).asString());
+        int minRequests = RequestControllerRootDefinition.MIN_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
+        boolean statisticsEnabled = RequestControllerRootDefinition.STATISTICS_ENABLED.resolveModelAttribute(context, resource.getModel()).asBoolean();
 
-        RequestController requestController = new RequestController(trackIndividual);
+        RequestController requestController = new RequestController(trackIndividual, admissionMode);
 
         requestController.setMaxRequestCount(maxRequests);
+        requestController.setLimitAlgorithm(limitAlgorithm, minRequests);
+        requestController.setStatisticsEnabled(statisticsEnabled);
 
-        context.getServiceTarget().addService(RequestController.SERVICE_NAME, requestController)
-                .addDependency(JBOSS_SUSPEND_CONTROLLER, SuspendController.class, requestController.getShutdownControllerInjectedValue())
-                .install();
+        List<PriorityClass> priorityClasses = new ArrayList<>();
+        for (Resource.ResourceEntry entry : context.readResource(PathAddress.EMPTY_ADDRESS).getChildren(Constants.PRIORITY_CLASS)) {
+            priorityClasses.add(PriorityClassResourceDefinition.createPriorityClass(context, entry.getName(), entry.getModel()));
+        }
+        requestController.setPriorityClasses(priorityClasses);
+
+        ServiceBuilder<RequestController> builder = context.getServiceTarget().addService(RequestController.SERVICE_NAME, requestController)
+                .addDependency(JBOSS_SUSPEND_CONTROLLER, SuspendController.class, requestController.getShutdownControllerInjectedValue());
+        if (limitAlgorithm != LimitAlgorithm.STATIC) {
+            builder.addDependency(ServerService.JBOSS_SERVER_SCHEDULED_EXECUTOR, ScheduledExecutorService.class, requestController.getScheduledExecutorInjectedValue());
+        }
+        builder.install();
 
     }
 }
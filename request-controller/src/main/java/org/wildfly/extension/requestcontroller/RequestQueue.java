@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The queue of tasks that are waiting for the request controller to allow them to run.
+ * <p/>
+ * Tasks are held in a queue per {@link PriorityClass}, and are dequeued using smooth weighted round robin, so that
+ * over time each class that has queued work gets a share of the available permits proportional to its weight. Within
+ * a class tasks are run in FIFO order. If only the default class exists this is a plain FIFO queue.
+ */
+final class RequestQueue {
+
+    private final PriorityClass[] classes;
+    private final PriorityClass defaultClass;
+    /**
+     * The smooth weighted round robin state, guarded by this
+     */
+    private final int[] current;
+
+    RequestQueue(Collection<PriorityClass> priorityClasses) {
+        PriorityClass defaultClass = null;
+        List<PriorityClass> classes = new ArrayList<>(priorityClasses);
+        for (PriorityClass priorityClass : classes) {
+            if (priorityClass.getName().equals(PriorityClass.DEFAULT)) {
+                defaultClass = priorityClass;
+            }
+        }
+        if (defaultClass == null) {
+            defaultClass = PriorityClass.createDefault();
+            classes.add(defaultClass);
+        }
+        this.defaultClass = defaultClass;
+        this.classes = classes.toArray(new PriorityClass[classes.size()]);
+        this.current = new int[this.classes.length];
+    }
+
+    /**
+     * Determines the priority class for a control point.
+     */
+    PriorityClass classify(String deployment, String entryPoint) {
+        for (PriorityClass priorityClass : classes) {
+            if (priorityClass.matchesDeployment(deployment)) {
+                return priorityClass;
+            }
+        }
+        for (PriorityClass priorityClass : classes) {
+            if (priorityClass.matchesEntryPoint(entryPoint)) {
+                return priorityClass;
+            }
+        }
+        return defaultClass;
+    }
+
+    /**
+     * Adds a task to the queue of its priority class.
+     *
+     * @return <code>false</code> if the queue for the class is full
+     */
+    boolean offer(RequestController.QueuedTask task) {
+        PriorityClass priorityClass = task.getPriorityClass(defaultClass);
+        if (!priorityClass.reserve(task.isForceRun())) {
+            return false;
+        }
+        task.setPriorityClass(priorityClass);
+        priorityClass.tasks.add(task);
+        return true;
+    }
+
+    /**
+     * Removes the next task to run, or returns null if no tasks are queued.
+     */
+    RequestController.QueuedTask poll() {
+        if (classes.length == 1) {
+            return dequeued(defaultClass, defaultClass.tasks.poll());
+        }
+        synchronized (this) {
+            for (;;) {
+                int total = 0;
+                int selected = -1;
+                for (int i = 0; i < classes.length; ++i) {
+                    if (classes[i].tasks.isEmpty()) {
+                        current[i] = 0;
+                    } else {
+                        current[i] += classes[i].getWeight();
+                        total += classes[i].getWeight();
+                        if (selected < 0 || current[i] > current[selected]) {
+                            selected = i;
+                        }
+                    }
+                }
+                if (selected < 0) {
+                    return null;
+                }
+                current[selected] -= total;
+                RequestController.QueuedTask task = classes[selected].tasks.poll();
+                if (task != null) {
+                    return dequeued(classes[selected], task);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the first task that must run even though the container is suspended.
+     */
+    RequestController.QueuedTask pollForced() {
+        for (PriorityClass priorityClass : classes) {
+            Iterator<RequestController.QueuedTask> it = priorityClass.tasks.iterator();
+            while (it.hasNext()) {
+                RequestController.QueuedTask task = it.next();
+                if (task.isForceRun() && priorityClass.tasks.removeFirstOccurrence(task)) {
+                    return dequeued(priorityClass, task);
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean isEmpty() {
+        for (PriorityClass priorityClass : classes) {
+            if (!priorityClass.tasks.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of queued tasks
+     */
+    int size() {
+        int size = 0;
+        for (PriorityClass priorityClass : classes) {
+            size += priorityClass.getQueuedRequestCount();
+        }
+        return size;
+    }
+
+    Collection<PriorityClass> getPriorityClasses() {
+        return Collections.unmodifiableList(Arrays.asList(classes));
+    }
+
+    private static RequestController.QueuedTask dequeued(PriorityClass priorityClass, RequestController.QueuedTask task) {
+        if (task != null) {
+            priorityClass.dequeued();
+        }
+        return task;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission counter that avoids a single hot counter by spreading request accounting over a number of stripes.
+ * <p/>
+ * Started and completed requests are counted in {@link LongAdder}s, which are only summed when the active request
+ * count is actually needed (e.g. when the server is suspending). The request limit is enforced using permits:
+ * each stripe leases a small batch of permits from the shared pool and hands them out locally, only going back to
+ * the shared pool when its local batch has been used up. If the shared pool is exhausted the stripe reconciles by
+ * reclaiming the unused permits held by all other stripes before a request is rejected.
+ * <p/>
+ * The total number of permits (shared + leased + in use) always equals the request limit, so newly admitted requests
+ * never take the active count over the limit, although a request may occasionally be rejected while another stripe
+ * is in the middle of returning its permits. When the limit is lowered the permits leased to the stripes are revoked,
+ * but requests that are already running are not interrupted. Until enough of them have completed the active count
+ * can stay above the new limit, in the same way as with the global counter, and no new requests are admitted.
+ */
+final class StripedAdmissionCounter extends AdmissionCounter {
+
+    /**
+     * The number of permits used to represent an unlimited request count
+     */
+    static final int UNLIMITED = 1 << 30;
+
+    /**
+     * Stripes are spaced out in the array so that two stripes never share a cache line
+     */
+    private static final int PADDING = 32;
+
+    private static final int MAX_BATCH = 64;
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicInteger available = new AtomicInteger(UNLIMITED);
+    private final AtomicIntegerArray leased;
+    private final int mask;
+    private volatile int batchSize;
+
+    StripedAdmissionCounter(int concurrency) {
+        int stripes = 1;
+        while (stripes < concurrency) {
+            stripes <<= 1;
+        }
+        this.mask = stripes - 1;
+        this.leased = new AtomicIntegerArray(stripes * PADDING);
+        this.batchSize = batchSize(UNLIMITED);
+    }
+
+    @Override
+    boolean tryAcquire() {
+        final int stripe = stripe();
+        if (acquireLeased(stripe) || lease(stripe) || (reconcile(stripe) && lease(stripe))) {
+            started.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    void release() {
+        completed.increment();
+        if (available.get() < 0) {
+            //the limit has been lowered, give the permit straight back to the shared pool
+            available.incrementAndGet();
+            return;
+        }
+        final int stripe = stripe();
+        final int batch = batchSize;
+        final int local = leased.incrementAndGet(stripe);
+        if (local > batch * 2 && leased.compareAndSet(stripe, local, batch)) {
+            available.addAndGet(local - batch);
+        }
+    }
+
+    @Override
+    boolean isIdle() {
+        //completed must be read first, as both counters only ever increase this guarantees that there was a
+        //point in time when there were no active requests
+        final long done = completed.sum();
+        return started.sum() == done;
+    }
+
+    @Override
+    int getActiveCount() {
+        final long done = completed.sum();
+        return (int) (started.sum() - done);
+    }
+
+    @Override
+    void maxRequestCountChanged(int oldMax, int newMax) {
+        final int oldPermits = permits(oldMax);
+        final int newPermits = permits(newMax);
+        batchSize = batchSize(newPermits);
+        available.addAndGet(newPermits - oldPermits);
+        if (newPermits < oldPermits) {
+            //revoke the leased permits, otherwise they could still be handed out over the new limit
+            reconcile(-1);
+        }
+    }
+
+    private boolean acquireLeased(int stripe) {
+        if (available.get() < 0) {
+            //the limit has been lowered and the shared pool is in debt, so leased permits must not be used
+            return false;
+        }
+        for (;;) {
+            int local = leased.get(stripe);
+            if (local <= 0) {
+                return false;
+            }
+            if (leased.compareAndSet(stripe, local, local - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean lease(int stripe) {
+        for (;;) {
+            int shared = available.get();
+            if (shared <= 0) {
+                return false;
+            }
+            int batch = Math.min(batchSize, shared);
+            if (available.compareAndSet(shared, shared - batch)) {
+                if (batch > 1) {
+                    leased.addAndGet(stripe, batch - 1);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the permits leased by all other stripes to the shared pool. A stripe of <code>-1</code> revokes the
+     * permits of every stripe.
+     *
+     * @return <code>true</code> if any permits were reclaimed
+     */
+    private boolean reconcile(int stripe) {
+        boolean reclaimed = false;
+        for (int i = 0; i <= mask; ++i) {
+            int index = i * PADDING;
+            if (index != stripe && leased.get(index) > 0) {
+                int local = leased.getAndSet(index, 0);
+                if (local > 0) {
+                    available.addAndGet(local);
+                    reclaimed = true;
+                }
+            }
+        }
+        return reclaimed;
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return ((int) (id >>> 32) & mask) * PADDING;
+    }
+
+    private int batchSize(int permits) {
+        return Math.max(1, Math.min(MAX_BATCH, permits / ((mask + 1) * 4)));
+    }
+
+    private static int permits(int maxRequests) {
+        return maxRequests <= 0 ? UNLIMITED : maxRequests;
+    }
+}
@@ -49,4 +49,8 @@ public interface RequestControllerLogger extends BasicLogger {
     @Message(id = 1, value = "Failed to cancel queued task %s")
     void failedToCancelTask(Object task, @Cause Exception e);
 
+    @LogMessage(level = WARN)
+    @Message(id = 2, value = "Failed to update the adaptive request limit")
+    void failedToUpdateAdaptiveLimit(@Cause Throwable cause);
+
 }
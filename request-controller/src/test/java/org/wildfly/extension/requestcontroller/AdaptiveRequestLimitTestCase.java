@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AdaptiveRequestLimitTestCase {
+
+    private static final long SAMPLE_NANOS = TimeUnit.MILLISECONDS.toNanos(AdaptiveRequestLimit.SAMPLE_INTERVAL);
+
+    private long now = 1;
+
+    @Test
+    public void aimdBacksOffWhenLatencyInflates() {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(LimitAlgorithm.AIMD, 10, 100);
+        assertEquals(100, limit.getLimit());
+        //~1ms latency, the limit is already at the upper bound
+        assertFalse(window(limit, 50, 0, 5000));
+        assertEquals(100, limit.getLimit());
+        //~5ms latency
+        assertTrue(window(limit, 50, 0, 1000));
+        assertEquals(90, limit.getLimit());
+        for (int i = 0; i < 50; ++i) {
+            window(limit, 50, 0, 1000);
+        }
+        assertEquals(10, limit.getLimit());
+        //latency has recovered, the limit grows while it is in use
+        assertTrue(window(limit, 10, 5, 1000));
+        assertEquals(11, limit.getLimit());
+        //the limit does not grow if it is not being used
+        assertFalse(window(limit, 1, 0, 100));
+        assertEquals(11, limit.getLimit());
+    }
+
+    @Test
+    public void gradientFollowsLatency() {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(LimitAlgorithm.GRADIENT, 1, -1);
+        assertEquals(-1, limit.getLimit());
+        assertTrue(window(limit, 100, 20, 10000));
+        int initial = limit.getLimit();
+        assertTrue(initial >= 200);
+        for (int i = 0; i < 10; ++i) {
+            window(limit, 100, 20, 10000);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > initial);
+        for (int i = 0; i < 10; ++i) {
+            window(limit, 100, 20, 1000);
+        }
+        assertTrue(limit.getLimit() < grown);
+        assertTrue(limit.getLatency() > 0);
+    }
+
+    @Test
+    public void unboundedLimitStartsFromObservedConcurrency() {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(LimitAlgorithm.AIMD, 5, -1);
+        assertEquals(-1, limit.getLimit());
+        //not enough traffic to estimate the latency
+        assertFalse(window(limit, 1, 0, 1));
+        assertEquals(-1, limit.getLimit());
+        assertEquals(-1, limit.getLatency());
+        //twice the average concurrency, plus one as the limit is in use
+        assertTrue(window(limit, 40, 0, 5000));
+        assertEquals(81, limit.getLimit());
+        limit.setMaxLimit(-1);
+        assertEquals(81, limit.getLimit());
+    }
+
+    @Test
+    public void upperBoundIsApplied() {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(LimitAlgorithm.AIMD, 5, -1);
+        assertEquals(-1, limit.getLimit());
+        limit.setMaxLimit(50);
+        assertEquals(50, limit.getLimit());
+        limit.setMaxLimit(2);
+        assertEquals(5, limit.getLimit());
+    }
+
+    private boolean window(AdaptiveRequestLimit limit, int active, int queued, int completions) {
+        boolean changed = false;
+        for (int i = 0; i < 10; ++i) {
+            now += SAMPLE_NANOS;
+            if (i == 9) {
+                for (int j = 0; j < completions; ++j) {
+                    limit.requestComplete();
+                }
+            }
+            changed |= limit.sample(now, active, queued);
+        }
+        return changed;
+    }
+}
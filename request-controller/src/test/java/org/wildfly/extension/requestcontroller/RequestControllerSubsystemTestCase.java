@@ -27,12 +27,15 @@ package org.wildfly.extension.requestcontroller;
 import static org.jboss.as.server.Services.JBOSS_SUSPEND_CONTROLLER;
 
 import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.notification.NotificationFilter;
 import org.jboss.as.controller.notification.NotificationHandler;
 import org.jboss.as.controller.notification.NotificationHandlerRegistry;
+import org.jboss.as.server.ServerService;
 import org.jboss.as.server.suspend.SuspendController;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
@@ -40,6 +43,7 @@ import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.KernelServicesBuilder;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.ValueService;
 import org.jboss.msc.value.ImmediateValue;
 import org.junit.Assert;
 import org.junit.Test;
@@ -56,7 +60,12 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("request-controller-1.0.xml");
+        return readResource("request-controller-1.1.xml");
+    }
+
+    @Test
+    public void testParse_1_0() throws Exception {
+        standardSubsystemTest("request-controller-1.0.xml", false);
     }
 
     @Test
@@ -72,6 +81,11 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
         workerServiceController.awaitValue();
         RequestController controller = workerServiceController.getService().getValue();
         Assert.assertEquals(100, controller.getMaxRequestCount());
+        Assert.assertEquals(0, controller.getActiveRequestCount());
+        Assert.assertEquals(3, controller.getPriorityClasses().size());
+        Assert.assertEquals("admin", controller.getControlPoint("app.war", "management").getPriorityClass().getName());
+        Assert.assertEquals("batch", controller.getControlPoint("batch.war", "management").getPriorityClass().getName());
+        Assert.assertEquals(PriorityClass.DEFAULT, controller.getControlPoint("app.war", "undertow").getPriorityClass().getName());
     }
 
     @Override
@@ -95,6 +109,9 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
                 target.addService(JBOSS_SUSPEND_CONTROLLER, suspendController)
                         .addAliases(SuspendController.SERVICE_NAME)
                         .install();
+                ScheduledExecutorService scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+                target.addService(ServerService.JBOSS_SERVER_SCHEDULED_EXECUTOR, new ValueService<>(new ImmediateValue<>(scheduledExecutor)))
+                        .install();
             }
 
             @Override
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.model.test.FailedOperationTransformationConfig.REJECTED_RESOURCE;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.model.test.FailedOperationTransformationConfig;
+import org.jboss.as.model.test.ModelTestControllerVersion;
+import org.jboss.as.model.test.ModelTestUtils;
+import org.jboss.as.subsystem.test.AbstractSubsystemTest;
+import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.as.subsystem.test.KernelServicesBuilder;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the transformers to the 1.1 model, which doesn't know the admission mode, limit algorithm,
+ * statistics or priority classes.
+ */
+public class RequestControllerSubsystemTransformersTestCase extends AbstractSubsystemTest {
+
+    private static final PathAddress SUBSYSTEM_ADDRESS = PathAddress.pathAddress(ModelDescriptionConstants.SUBSYSTEM, RequestControllerExtension.SUBSYSTEM_NAME);
+
+    public RequestControllerSubsystemTransformersTestCase() {
+        super(RequestControllerExtension.SUBSYSTEM_NAME, new RequestControllerExtension());
+    }
+
+    @Test
+    public void testTransformerEAP720() throws Exception {
+        testTransformation(ModelTestControllerVersion.EAP_7_2_0);
+    }
+
+    @Test
+    public void testRejectingTransformersEAP720() throws Exception {
+        testRejectingTransformers(ModelTestControllerVersion.EAP_7_2_0);
+    }
+
+    private void testTransformation(ModelTestControllerVersion controllerVersion) throws Exception {
+        final ModelVersion version = RequestControllerSubsystemTransformers.VERSION_1_1;
+        KernelServicesBuilder builder = createKernelServicesBuilder(AdditionalInitialization.MANAGEMENT)
+                .setSubsystemXmlResource("request-controller-transform-1.1.xml");
+        builder.createLegacyKernelServicesBuilder(AdditionalInitialization.MANAGEMENT, controllerVersion, version)
+                .addMavenResourceURL(getArtifact(controllerVersion))
+                .skipReverseControllerCheck()
+                .dontPersistXml();
+
+        KernelServices services = builder.build();
+        assertTrue(services.isSuccessfulBoot());
+        assertTrue(services.getLegacyServices(version).isSuccessfulBoot());
+
+        // the new attributes are set to their defaults, so they are discarded
+        checkSubsystemModelTransformation(services, version, null, false);
+    }
+
+    private void testRejectingTransformers(ModelTestControllerVersion controllerVersion) throws Exception {
+        final ModelVersion version = RequestControllerSubsystemTransformers.VERSION_1_1;
+        KernelServicesBuilder builder = createKernelServicesBuilder(AdditionalInitialization.MANAGEMENT);
+        builder.createLegacyKernelServicesBuilder(AdditionalInitialization.MANAGEMENT, controllerVersion, version)
+                .addMavenResourceURL(getArtifact(controllerVersion))
+                .dontPersistXml();
+
+        KernelServices services = builder.build();
+        assertTrue(services.isSuccessfulBoot());
+        assertTrue(services.getLegacyServices(version).isSuccessfulBoot());
+
+        List<ModelNode> ops = builder.parseXmlResource("request-controller-1.1.xml");
+        ModelTestUtils.checkFailedTransformedBootOperations(services, version, ops, new FailedOperationTransformationConfig()
+                .addFailedAttribute(SUBSYSTEM_ADDRESS,
+                        new FailedOperationTransformationConfig.NewAttributesConfig(RequestControllerRootDefinition.ADMISSION_MODE,
+                                RequestControllerRootDefinition.LIMIT_ALGORITHM, RequestControllerRootDefinition.MIN_REQUESTS,
+                                RequestControllerRootDefinition.STATISTICS_ENABLED))
+                .addFailedAttribute(SUBSYSTEM_ADDRESS.append(PathElement.pathElement(Constants.PRIORITY_CLASS, "admin")), REJECTED_RESOURCE)
+                .addFailedAttribute(SUBSYSTEM_ADDRESS.append(PathElement.pathElement(Constants.PRIORITY_CLASS, "batch")), REJECTED_RESOURCE)
+                .addFailedAttribute(SUBSYSTEM_ADDRESS.append(PathElement.pathElement(Constants.PRIORITY_CLASS, PriorityClass.DEFAULT)), REJECTED_RESOURCE));
+    }
+
+    private static String getArtifact(ModelTestControllerVersion controllerVersion) {
+        return controllerVersion.getCoreMavenGroupId() + ":wildfly-request-controller:" + controllerVersion.getCoreVersion();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class RequestQueueTestCase {
+
+    @Test
+    public void tasksAreDequeuedByWeight() {
+        RequestController controller = new RequestController(false);
+        controller.setPriorityClasses(Arrays.asList(
+                new PriorityClass("high", 3, -1, Collections.emptySet(), Collections.singleton("high")),
+                new PriorityClass("low", 1, -1, Collections.emptySet(), Collections.singleton("low"))));
+        ControlPoint high = controller.getControlPoint("app.war", "high");
+        ControlPoint low = controller.getControlPoint("app.war", "low");
+
+        RequestQueue queue = new RequestQueue(controller.getPriorityClasses());
+        for (int i = 0; i < 40; ++i) {
+            assertTrue(queue.offer(task(high, false)));
+            assertTrue(queue.offer(task(low, false)));
+        }
+        assertEquals(80, queue.size());
+
+        Map<ControlPoint, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 40; ++i) {
+            counts.merge(queue.poll().getControlPoint(), 1, Integer::sum);
+        }
+        assertEquals(30, counts.get(high).intValue());
+        assertEquals(10, counts.get(low).intValue());
+    }
+
+    @Test
+    public void queueDepthIsEnforced() {
+        PriorityClass limited = new PriorityClass("limited", 1, 2, Collections.singleton("app.war"), Collections.emptySet());
+        RequestController controller = new RequestController(false);
+        controller.setPriorityClasses(Collections.singletonList(limited));
+        ControlPoint controlPoint = controller.getControlPoint("app.war", "undertow");
+        assertSame(limited, controlPoint.getPriorityClass());
+
+        RequestQueue queue = new RequestQueue(controller.getPriorityClasses());
+        assertTrue(queue.offer(task(controlPoint, false)));
+        assertTrue(queue.offer(task(controlPoint, false)));
+        assertFalse(queue.offer(task(controlPoint, false)));
+        assertEquals(1, limited.getRejectedRequestCount());
+        //forced tasks are never rejected
+        RequestController.QueuedTask forced = task(controlPoint, true);
+        assertTrue(queue.offer(forced));
+        assertSame(forced, queue.pollForced());
+        assertNull(queue.pollForced());
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void timedOutTasksReleaseTheirSlot() {
+        PriorityClass limited = new PriorityClass("limited", 1, 2, Collections.singleton("app.war"), Collections.emptySet());
+        RequestController controller = new RequestController(false);
+        controller.setPriorityClasses(Collections.singletonList(limited));
+        ControlPoint controlPoint = controller.getControlPoint("app.war", "undertow");
+
+        RequestQueue queue = new RequestQueue(controller.getPriorityClasses());
+        RequestController.QueuedTask first = task(controlPoint, false);
+        RequestController.QueuedTask second = task(controlPoint, false);
+        assertTrue(queue.offer(first));
+        assertTrue(queue.offer(second));
+        assertFalse(queue.offer(task(controlPoint, false)));
+
+        //the timer fires for both queued tasks
+        first.run();
+        second.run();
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+
+        RequestController.QueuedTask third = task(controlPoint, false);
+        RequestController.QueuedTask fourth = task(controlPoint, false);
+        assertTrue(queue.offer(third));
+        assertTrue(queue.offer(fourth));
+        assertEquals(2, queue.size());
+        assertSame(third, queue.poll());
+        //a task that was already dequeued does not release its slot again when it times out
+        third.run();
+        assertEquals(1, queue.size());
+        assertSame(fourth, queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+        assertEquals(1, limited.getRejectedRequestCount());
+    }
+
+    private static RequestController.QueuedTask task(ControlPoint controlPoint, boolean force) {
+        return new RequestController.QueuedTask(Runnable::run, () -> { }, null, controlPoint, force);
+    }
+}
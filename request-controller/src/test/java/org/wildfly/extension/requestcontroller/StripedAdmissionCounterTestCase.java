@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class StripedAdmissionCounterTestCase {
+
+    private static final int THREADS_QTY = 16;
+    private static final int ITERATIONS = 10000;
+
+    @Test
+    public void limitIsEnforced() {
+        StripedAdmissionCounter counter = new StripedAdmissionCounter(8);
+        counter.maxRequestCountChanged(-1, 10);
+        for (int i = 0; i < 10; ++i) {
+            assertTrue(counter.tryAcquire());
+        }
+        assertFalse(counter.tryAcquire());
+        assertEquals(10, counter.getActiveCount());
+        counter.release();
+        assertTrue(counter.tryAcquire());
+        for (int i = 0; i < 10; ++i) {
+            counter.release();
+        }
+        assertTrue(counter.isIdle());
+        assertEquals(0, counter.getActiveCount());
+    }
+
+    @Test
+    public void loweringTheLimitDrainsPermits() {
+        StripedAdmissionCounter counter = new StripedAdmissionCounter(8);
+        counter.maxRequestCountChanged(-1, 10);
+        for (int i = 0; i < 5; ++i) {
+            assertTrue(counter.tryAcquire());
+        }
+        counter.maxRequestCountChanged(10, 2);
+        assertFalse(counter.tryAcquire());
+        for (int i = 0; i < 3; ++i) {
+            counter.release();
+        }
+        assertEquals(2, counter.getActiveCount());
+        assertFalse(counter.tryAcquire());
+        counter.release();
+        assertTrue(counter.tryAcquire());
+        assertFalse(counter.tryAcquire());
+    }
+
+    @Test
+    public void loweringTheLimitRevokesLeasedPermits() {
+        //a single stripe leases a batch of permits on the first request
+        StripedAdmissionCounter counter = new StripedAdmissionCounter(1);
+        counter.maxRequestCountChanged(-1, 100);
+        for (int i = 0; i < 3; ++i) {
+            assertTrue(counter.tryAcquire());
+        }
+        counter.maxRequestCountChanged(100, 2);
+        assertFalse(counter.tryAcquire());
+        assertEquals(3, counter.getActiveCount());
+        counter.release();
+        assertFalse(counter.tryAcquire());
+        assertEquals(2, counter.getActiveCount());
+        counter.release();
+        assertTrue(counter.tryAcquire());
+        assertFalse(counter.tryAcquire());
+        assertEquals(2, counter.getActiveCount());
+    }
+
+    @Test
+    public void limitIsEnforcedUnderContention() throws InterruptedException {
+        final int max = 5;
+        final StripedAdmissionCounter counter = new StripedAdmissionCounter(THREADS_QTY);
+        counter.maxRequestCountChanged(-1, max);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(THREADS_QTY);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS_QTY; ++t) {
+            threads.add(new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < ITERATIONS; ++i) {
+                    if (counter.tryAcquire()) {
+                        int current = running.incrementAndGet();
+                        maxRunning.accumulateAndGet(current, Math::max);
+                        running.decrementAndGet();
+                        counter.release();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(maxRunning.get() <= max);
+        assertTrue(counter.isIdle());
+        for (int i = 0; i < max; ++i) {
+            assertTrue(counter.tryAcquire());
+        }
+        assertFalse(counter.tryAcquire());
+    }
+}
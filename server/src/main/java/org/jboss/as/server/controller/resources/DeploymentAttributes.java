@@ -415,19 +415,24 @@ public class DeploymentAttributes {
             .setRequired(true)
             .build();
 
+    /** Optional parameter of the upload-deployment-xxx operations, content that is already present is not read again */
+    public static final SimpleAttributeDefinition UPLOAD_EXPECTED_HASH = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.EXPECTED_HASH, ModelType.BYTES, true)
+            .setValidator(new HashValidator(true))
+            .build();
+
 
     //Upload deployment bytes definitions
     public static final AttributeDefinition BYTES_NOT_NULL = SimpleAttributeDefinitionBuilder.create(DeploymentAttributes.CONTENT_BYTES)
             .setRequired(true)
             .build();
     public static final OperationDefinition UPLOAD_BYTES_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.UPLOAD_DEPLOYMENT_BYTES, DEPLOYMENT_RESOLVER)
-            .setParameters(BYTES_NOT_NULL)
+            .setParameters(BYTES_NOT_NULL, UPLOAD_EXPECTED_HASH)
             .setReplyParameters(UPLOAD_HASH_REPLY)
             .setRuntimeOnly()
             .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
             .build();
     public static final OperationDefinition DOMAIN_UPLOAD_BYTES_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.UPLOAD_DEPLOYMENT_BYTES, DEPLOYMENT_RESOLVER)
-            .setParameters(BYTES_NOT_NULL)
+            .setParameters(BYTES_NOT_NULL, UPLOAD_EXPECTED_HASH)
             .setReplyParameters(UPLOAD_HASH_REPLY)
             .withFlag(Flag.MASTER_HOST_CONTROLLER_ONLY)
             .setRuntimeOnly()
@@ -440,13 +445,13 @@ public class DeploymentAttributes {
             .addArbitraryDescriptor(WEB_URL, ModelNode.TRUE)
             .build();
     public static final OperationDefinition UPLOAD_URL_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.UPLOAD_DEPLOYMENT_URL, DEPLOYMENT_RESOLVER)
-            .setParameters(URL_NOT_NULL)
+            .setParameters(URL_NOT_NULL, UPLOAD_EXPECTED_HASH)
             .setReplyParameters(UPLOAD_HASH_REPLY)
             .setRuntimeOnly()
             .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
             .build();
     public static final OperationDefinition DOMAIN_UPLOAD_URL_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.UPLOAD_DEPLOYMENT_URL, DEPLOYMENT_RESOLVER)
-            .setParameters(URL_NOT_NULL)
+            .setParameters(URL_NOT_NULL, UPLOAD_EXPECTED_HASH)
             .setReplyParameters(UPLOAD_HASH_REPLY)
             .withFlag(Flag.MASTER_HOST_CONTROLLER_ONLY)
             .setRuntimeOnly()
@@ -459,13 +464,13 @@ public class DeploymentAttributes {
             .build();
     //public static Map<String, AttributeDefinition> UPLOAD_INPUT_STREAM_INDEX_ATTRIBUTES = Collections.singletonMap(INPUT_STREAM_INDEX_NOT_NULL.getName(), INPUT_STREAM_INDEX_NOT_NULL);
     public static final OperationDefinition UPLOAD_STREAM_ATTACHMENT_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.UPLOAD_DEPLOYMENT_STREAM, DEPLOYMENT_RESOLVER)
-            .setParameters(INPUT_STREAM_INDEX_NOT_NULL)
+            .setParameters(INPUT_STREAM_INDEX_NOT_NULL, UPLOAD_EXPECTED_HASH)
             .setReplyParameters(UPLOAD_HASH_REPLY)
             .setRuntimeOnly()
             .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
             .build();
     public static final OperationDefinition DOMAIN_UPLOAD_STREAM_ATTACHMENT_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.UPLOAD_DEPLOYMENT_STREAM, DEPLOYMENT_RESOLVER)
-            .setParameters(INPUT_STREAM_INDEX_NOT_NULL)
+            .setParameters(INPUT_STREAM_INDEX_NOT_NULL, UPLOAD_EXPECTED_HASH)
             .setReplyParameters(UPLOAD_HASH_REPLY)
             .withFlag(Flag.MASTER_HOST_CONTROLLER_ONLY)
             .setRuntimeOnly()
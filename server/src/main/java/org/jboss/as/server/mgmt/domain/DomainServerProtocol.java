@@ -47,4 +47,6 @@ public interface DomainServerProtocol {
     byte PARAM_FILE_SIZE = 0x31;
     byte FILE_END = 0x32;
     byte PARAM_ROOT_ID = 0x33;
+    byte PARAM_FILE_OFFSET = 0x34;
+    byte PARAM_CHUNK_HASH = 0x35;
 }
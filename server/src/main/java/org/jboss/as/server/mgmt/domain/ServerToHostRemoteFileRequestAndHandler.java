@@ -53,6 +53,14 @@ public class ServerToHostRemoteFileRequestAndHandler extends RemoteFileRequestAn
         public byte fileEnd() {
             return DomainServerProtocol.FILE_END;
         }
+
+        public byte paramFileOffset() {
+            return DomainServerProtocol.PARAM_FILE_OFFSET;
+        }
+
+        public byte paramChunkHash() {
+            return DomainServerProtocol.PARAM_CHUNK_HASH;
+        }
     };
 
     public static final ServerToHostRemoteFileRequestAndHandler INSTANCE = new ServerToHostRemoteFileRequestAndHandler(MAPPER);